@@ -0,0 +1,253 @@
+package mcinterfaceheadless;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import minecrafttransportsimulator.baseclasses.DormantVehicleStore;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.entities.instances.AEntityVehicleE_Powered;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.entities.instances.PartEngine;
+import minecrafttransportsimulator.items.instances.ItemVehicle;
+import minecrafttransportsimulator.jsondefs.JSONPart.EngineType;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Headless simulation driver.  This is the headless equivalent of the loader in the
+ * MC interface modules: it sets up the {@link InterfaceManager} with headless interfaces,
+ * loads the configs and packs, and then lets callers spawn vehicles into a world and tick
+ * them without MC present.  Only server-side interfaces are registered, so all code runs
+ * as it would on a dedicated server.
+ * <br><br>
+ * Packs are loaded from the built-in benchmark pack, plus any pack jars found in the
+ * directory set by the {@link #PACK_DIRECTORY_PROPERTY} system property.  Time only advances
+ * via {@link #tick(int)}, so two simulations with the same inputs will run identically,
+ * save for random events on vehicles that haven't had their random source seeded, and the "random" variable.
+ *
+ * @author don_bruce
+ */
+public class HeadlessSimulation {
+    public static final String PACK_DIRECTORY_PROPERTY = "mts.packs";
+    public static final String BENCHMARK_PACK_ID = "mtsbench";
+    public static final String BENCHMARK_VEHICLE = "benchcar";
+    private static final String BENCHMARK_PACK_PREFIX = "/benchpack/";
+    private static final String[] BENCHMARK_PACK_FILES = {"packdefinition.json", "assets/mtsbench/jsondefs/vehicles/benchcar.json", "assets/mtsbench/jsondefs/parts/benchengine.json", "assets/mtsbench/jsondefs/decors/benchcontroller.json", "assets/mtsbench/jsondefs/decors/benchemitter.json", "assets/mtsbench/jsondefs/poles/benchpole.json", "assets/mtsbench/jsondefs/poles/benchsignal.json", "assets/mtsbench/objmodels/vehicles/benchcar.obj", "assets/mtsbench/objmodels/parts/benchengine.obj"};
+
+    private static InterfaceCore coreInterface;
+    private static InterfacePacket packetInterface;
+
+    public final WrapperWorld world;
+    public final WrapperPlayer player;
+
+    public HeadlessSimulation(WrapperWorld world) {
+        init();
+        this.world = world;
+        this.player = world.addPlayer("HeadlessPlayer", new Point3D());
+    }
+
+    /**
+     * Creates a new simulation in a flat world with the ground at Y=64.
+     */
+    public HeadlessSimulation() {
+        this(WrapperWorld.createFlat("headless", 64));
+    }
+
+    /**
+     * Initializes the interfaces, configs, and packs.  Only the first call does anything,
+     * as packs can only be loaded once per JVM.
+     */
+    public static synchronized void init() {
+        if (coreInterface == null) {
+            try {
+                File gameDirectory = Files.createTempDirectory("mts-headless").toFile();
+                //Delete the whole directory when we're done.  deleteOnExit can't do this, as it only deletes empty directories.
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteDirectory(gameDirectory)));
+                coreInterface = new InterfaceCore();
+                packetInterface = new InterfacePacket();
+                new InterfaceManager("mts", gameDirectory.getAbsolutePath(), coreInterface, packetInterface, null, null, null, null);
+
+                //The MC interfaces register two packets of their own first, so skip those to keep the same indexes for recorded packets.
+                APacketBase.initPackets((byte) 2);
+
+                File configDirectory = new File(gameDirectory, "config");
+                configDirectory.mkdirs();
+                ConfigSystem.loadFromDisk(configDirectory, false);
+
+                //Write the benchmark pack out as a jar so it goes through the same loading as any other pack.
+                List<File> packDirectories = new ArrayList<>();
+                File modDirectory = new File(gameDirectory, "mods");
+                modDirectory.mkdirs();
+                File benchmarkJar = new File(modDirectory, BENCHMARK_PACK_ID + ".jar");
+                try (ZipOutputStream jarStream = new ZipOutputStream(new FileOutputStream(benchmarkJar))) {
+                    for (String packFile : BENCHMARK_PACK_FILES) {
+                        jarStream.putNextEntry(new ZipEntry(packFile));
+                        try (InputStream fileStream = HeadlessSimulation.class.getResourceAsStream(BENCHMARK_PACK_PREFIX + packFile)) {
+                            byte[] buffer = new byte[4096];
+                            int bytesRead;
+                            while ((bytesRead = fileStream.read(buffer)) != -1) {
+                                jarStream.write(buffer, 0, bytesRead);
+                            }
+                        }
+                        jarStream.closeEntry();
+                    }
+                }
+                packDirectories.add(modDirectory);
+
+                String externalPackDirectory = System.getProperty(PACK_DIRECTORY_PROPERTY);
+                if (externalPackDirectory != null) {
+                    packDirectories.add(new File(externalPackDirectory));
+                }
+                for (File directory : packDirectories) {
+                    for (File file : directory.listFiles()) {
+                        if (file.getName().endsWith(".jar")) {
+                            coreInterface.addPackJar(file);
+                        }
+                    }
+                }
+
+                PackParser.addDefaultItems();
+                PackParser.parsePacks(packDirectories);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not set up headless game directory.", e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the passed-in directory and everything in it.
+     */
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Returns the core interface.  Useful for checking for logged errors.
+     */
+    public static InterfaceCore getCoreInterface() {
+        return coreInterface;
+    }
+
+    /**
+     * Returns the packet interface.  Useful for checking packet counts.
+     */
+    public static InterfacePacket getPacketInterface() {
+        return packetInterface;
+    }
+
+    /**
+     * Spawns the benchmark vehicle at the passed-in position.
+     */
+    public EntityVehicleF_Physics spawnVehicle(Point3D position, double yaw) {
+        return spawnVehicle(BENCHMARK_PACK_ID, BENCHMARK_VEHICLE, "", position, yaw);
+    }
+
+    /**
+     * Spawns the specified vehicle at the passed-in position, with all its default parts and fuel.
+     * This follows the same logic as placing a vehicle item, so the vehicle will move itself out
+     * of the ground on its first tick.
+     */
+    public EntityVehicleF_Physics spawnVehicle(String packID, String systemName, String subName, Point3D position, double yaw) {
+        ItemVehicle item = PackParser.getItem(packID, systemName, subName);
+        if (item == null) {
+            throw new IllegalArgumentException("No vehicle found for " + packID + ":" + systemName + subName + ".  Check the pack directory.");
+        }
+        IWrapperNBT data = new WrapperNBT();
+        item.populateDefaultData(data);
+        EntityVehicleF_Physics vehicle = new EntityVehicleF_Physics(world, player, data);
+        vehicle.addPartsPostAddition(player, data);
+
+        //Add the default fuel, using the most potent fluid for the first engine.
+        if (vehicle.definition.motorized.defaultFuelQty > 0) {
+            for (APart part : vehicle.parts) {
+                if (part instanceof PartEngine) {
+                    String mostPotentFluid = "";
+                    if (part.definition.engine.type == EngineType.ELECTRIC) {
+                        mostPotentFluid = PartEngine.ELECTRICITY_FUEL;
+                    } else {
+                        for (String fluidName : ConfigSystem.settings.fuel.fuels.get(part.definition.engine.fuelType).keySet()) {
+                            if (mostPotentFluid.isEmpty() || ConfigSystem.settings.fuel.fuels.get(part.definition.engine.fuelType).get(mostPotentFluid) < ConfigSystem.settings.fuel.fuels.get(part.definition.engine.fuelType).get(fluidName)) {
+                                mostPotentFluid = fluidName;
+                            }
+                        }
+                    }
+                    vehicle.fuelTank.manuallySet(mostPotentFluid, vehicle.definition.motorized.defaultFuelQty);
+                    break;
+                }
+            }
+        }
+
+        vehicle.position.set(position);
+        vehicle.prevPosition.set(position);
+        vehicle.orientation.setToAngles(new Point3D(0, yaw, 0));
+        vehicle.prevOrientation.set(vehicle.orientation);
+        world.spawnEntity(vehicle);
+        return vehicle;
+    }
+
+    /**
+     * Loads a vehicle from saved data, the same way the MC interfaces do when the chunk it is in loads.
+     * Parked vehicles are handed to the world's dormant store, so they may not be made until a later tick.
+     * The passed-in consumer is given the vehicle once it is made.
+     */
+    public void loadVehicle(IWrapperNBT data, Consumer<EntityVehicleF_Physics> onLoad) {
+        if (DormantVehicleStore.shouldLoadDormant(EntityVehicleF_Physics.class.getSimpleName(), data)) {
+            world.dormantVehicles.add(data, () -> onLoad.accept(makeVehicle(data)));
+        } else {
+            onLoad.accept(makeVehicle(data));
+        }
+    }
+
+    private EntityVehicleF_Physics makeVehicle(IWrapperNBT data) {
+        EntityVehicleF_Physics vehicle = new EntityVehicleF_Physics(world, null, data);
+        vehicle.addPartsPostAddition(null, data);
+        world.addEntity(vehicle);
+        return vehicle;
+    }
+
+    /**
+     * Starts all engines on the vehicle, shifts them into first gear, and sets the throttle.
+     * This skips the starter, so the engines will be running on the next tick.
+     */
+    public void startEngines(EntityVehicleF_Physics vehicle, double throttle) {
+        for (APart part : vehicle.parts) {
+            if (part instanceof PartEngine) {
+                PartEngine engine = (PartEngine) part;
+                engine.autoStartEngine();
+                engine.shiftUp();
+            }
+        }
+        vehicle.setVariable(AEntityVehicleE_Powered.THROTTLE_VARIABLE, throttle);
+    }
+
+    /**
+     * Ticks the world the passed-in number of times.
+     */
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; ++i) {
+            world.tick();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package mcinterfaceheadless;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.guis.components.AGUIBase;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IInterfaceClient;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+
+/**
+ * Headless client interface.  There is no game window here, so this just hands out a player and their world
+ * to stand in for the client's.  Headless simulations run without a client interface, as servers do, so this is
+ * only set by benchmarks that need to run client-side code, like particles.
+ *
+ * @author don_bruce
+ */
+public class InterfaceClient implements IInterfaceClient {
+    private final WrapperPlayer player;
+
+    public InterfaceClient(WrapperPlayer player) {
+        this.player = player;
+    }
+
+    @Override
+    public boolean isGamePaused() {
+        return false;
+    }
+
+    @Override
+    public String getLanguageName() {
+        return "en_us";
+    }
+
+    @Override
+    public boolean usingDefaultLanguage() {
+        return true;
+    }
+
+    @Override
+    public String getFluidName(String fluidID) {
+        return fluidID;
+    }
+
+    @Override
+    public Map<String, String> getAllFluidNames() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public boolean isChatOpen() {
+        return false;
+    }
+
+    @Override
+    public boolean isGUIOpen() {
+        return false;
+    }
+
+    @Override
+    public boolean inFirstPerson() {
+        return true;
+    }
+
+    @Override
+    public boolean inThirdPerson() {
+        return false;
+    }
+
+    @Override
+    public boolean changedCameraState() {
+        return false;
+    }
+
+    @Override
+    public void toggleFirstPerson() {
+        //No camera in headless mode.
+    }
+
+    @Override
+    public int getCameraDefaultZoom() {
+        return 4;
+    }
+
+    @Override
+    public long getPackedDisplaySize() {
+        return (854L << Integer.SIZE) | 480;
+    }
+
+    @Override
+    public float getFOV() {
+        return 70;
+    }
+
+    @Override
+    public void setFOV(float setting) {
+        //No camera in headless mode.
+    }
+
+    @Override
+    public float getMouseSensitivity() {
+        return 0.5F;
+    }
+
+    @Override
+    public void setMouseSensitivity(float setting) {
+        //No mouse in headless mode.
+    }
+
+    @Override
+    public void closeGUI() {
+        //No GUIs in headless mode.
+    }
+
+    @Override
+    public void setActiveGUI(AGUIBase gui) {
+        //No GUIs in headless mode.
+    }
+
+    @Override
+    public AWrapperWorld getClientWorld() {
+        return player.getWorld();
+    }
+
+    @Override
+    public IWrapperPlayer getClientPlayer() {
+        return player;
+    }
+
+    @Override
+    public Point3D getCameraPosition() {
+        return player.getEyePosition();
+    }
+
+    @Override
+    public void playBlockBreakSound(Point3D position) {
+        //No sounds in headless mode.
+    }
+
+    @Override
+    public List<String> getTooltipLines(IWrapperItemStack stack) {
+        return new ArrayList<>();
+    }
+}
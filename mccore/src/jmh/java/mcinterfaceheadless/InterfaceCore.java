@@ -0,0 +1,146 @@
+package mcinterfaceheadless;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.items.components.AItemBase;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.mcinterface.IInterfaceCore;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.packloading.PackParser;
+
+/**
+ * Headless core interface.  Resources are resolved from the pack jars handed to
+ * {@link #addPackJar(File)} first, and then from the classpath, which is where the
+ * core mod's own assets live.  Errors are collected rather than logged to a game log
+ * so simulations can assert there were none.
+ *
+ * @author don_bruce
+ */
+public class InterfaceCore implements IInterfaceCore {
+    private static final Map<String, AItemBase> itemsByName = new HashMap<>();
+    private static final Map<String, List<String>> oreDictionary = new HashMap<>();
+    private final List<URL> packJarURLs = new ArrayList<>();
+    private ClassLoader packLoader = InterfaceCore.class.getClassLoader();
+    public final List<String> loggedErrors = new ArrayList<>();
+    public boolean printErrors = true;
+
+    /**
+     * Adds the passed-in jar as a source for pack resources.
+     */
+    public void addPackJar(File jarFile) {
+        try {
+            packJarURLs.add(jarFile.toURI().toURL());
+            packLoader = new URLClassLoader(packJarURLs.toArray(new URL[0]), InterfaceCore.class.getClassLoader());
+        } catch (MalformedURLException e) {
+            logError("Could not add pack jar to resource path: " + jarFile);
+        }
+    }
+
+    /**
+     * Registers the item with the passed-in name as a member of the passed-in ore dictionary entry.
+     */
+    public static void registerOre(String oreName, String itemName) {
+        oreDictionary.computeIfAbsent(oreName.toLowerCase(), k -> new ArrayList<>()).add(itemName);
+    }
+
+    /**
+     * Returns the pack item registered under the passed-in name, or null if no such item exists.
+     * Non-pack materials will always return null here.
+     */
+    protected static AItemBase getItemByName(String name) {
+        if (itemsByName.isEmpty()) {
+            for (AItemPack<?> item : PackParser.getAllPackItems()) {
+                itemsByName.put(item.getRegistrationName(), item);
+            }
+        }
+        return itemsByName.get(name);
+    }
+
+    @Override
+    public boolean isGameFlattened() {
+        return true;
+    }
+
+    @Override
+    public boolean isModPresent(String modID) {
+        return false;
+    }
+
+    @Override
+    public boolean isFluidValid(String fluidID) {
+        return true;
+    }
+
+    @Override
+    public String getModName(String modID) {
+        return modID;
+    }
+
+    @Override
+    public InputStream getPackResource(String resource) {
+        InputStream stream = packLoader.getResourceAsStream(resource.startsWith("/") ? resource.substring(1) : resource);
+        return stream != null ? stream : InterfaceCore.class.getResourceAsStream(resource);
+    }
+
+    @Override
+    public void logError(String message) {
+        loggedErrors.add(message);
+        if (printErrors) {
+            System.err.println("[MTS-HEADLESS] " + message);
+        }
+    }
+
+    @Override
+    public IWrapperNBT getNewNBTWrapper() {
+        return new WrapperNBT();
+    }
+
+    @Override
+    public IWrapperItemStack getAutoGeneratedStack(AItemBase item, IWrapperNBT data) {
+        WrapperItemStack newStack = new WrapperItemStack(item, 1);
+        newStack.setData(data);
+        return newStack;
+    }
+
+    @Override
+    public IWrapperItemStack getStackForProperties(String name, int meta, int qty) {
+        AItemBase item = getItemByName(name);
+        return new WrapperItemStack(item, meta != 0 ? name + ":" + meta : name, qty);
+    }
+
+    @Override
+    public String getStackItemName(IWrapperItemStack stack) {
+        return ((WrapperItemStack) stack).name;
+    }
+
+    @Override
+    public boolean isOredictMatch(IWrapperItemStack stackA, IWrapperItemStack stackB) {
+        return ((WrapperItemStack) stackA).name.equals(((WrapperItemStack) stackB).name);
+    }
+
+    @Override
+    public Object getOredictMatchKey(IWrapperItemStack stack) {
+        return ((WrapperItemStack) stack).name;
+    }
+
+    @Override
+    public List<IWrapperItemStack> getOredictMaterials(String oreName, int stackSize) {
+        List<IWrapperItemStack> stacks = new ArrayList<>();
+        List<String> names = oreDictionary.get(oreName.toLowerCase());
+        if (names != null) {
+            for (String name : names) {
+                stacks.add(new WrapperItemStack(getItemByName(name), name, stackSize));
+            }
+        }
+        return stacks;
+    }
+}
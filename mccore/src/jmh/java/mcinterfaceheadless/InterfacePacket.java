@@ -0,0 +1,111 @@
+package mcinterfaceheadless;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import minecrafttransportsimulator.mcinterface.IInterfacePacket;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**
+ * Headless packet interface.  There is no network here, so packets are only counted
+ * by class.  This lets simulations check how much traffic a given tick would have
+ * generated without needing any clients connected.  Packets can still be created from
+ * buffers via {@link #createPacket(ByteBuf)}, for replaying packets that were recorded.
+ * Counts are kept in a concurrent map, as vehicles ticked in parallel send packets from worker threads.
+ *
+ * @author don_bruce
+ */
+public class InterfacePacket implements IInterfacePacket {
+    private final Map<Class<? extends APacketBase>, Byte> packetMappings = new HashMap<>();
+    private final Map<Byte, Class<? extends APacketBase>> packetClasses = new HashMap<>();
+    public final Map<Class<? extends APacketBase>, Integer> packetsSent = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass) {
+        packetMappings.put(packetClass, packetIndex);
+        packetClasses.put(packetIndex, packetClass);
+    }
+
+    @Override
+    public byte getPacketIndex(APacketBase packet) {
+        return packetMappings.get(packet.getClass());
+    }
+
+    @Override
+    public void sendToServer(APacketBase packet) {
+        packetsSent.merge(packet.getClass(), 1, Integer::sum);
+    }
+
+    @Override
+    public void sendToAllClients(APacketBase packet) {
+        packetsSent.merge(packet.getClass(), 1, Integer::sum);
+    }
+
+    @Override
+    public void sendToPlayer(APacketBase packet, IWrapperPlayer player) {
+        packetsSent.merge(packet.getClass(), 1, Integer::sum);
+        player.sendPacket(packet);
+    }
+
+    @Override
+    public void writeDataToBuffer(IWrapperNBT data, ByteBuf buf) {
+        //Same format MC uses, so data written by the MC interfaces can be read here.
+        try {
+            ByteBufOutputStream stream = new ByteBufOutputStream(buf);
+            stream.writeByte(10);
+            stream.writeUTF("");
+            ((WrapperNBT) data).write(stream);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public IWrapperNBT readDataFromBuffer(ByteBuf buf) {
+        try {
+            ByteBufInputStream stream = new ByteBufInputStream(buf);
+            if (stream.readByte() == 0) {
+                return null;
+            }
+            stream.readUTF();
+            return WrapperNBT.read(stream);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates a packet from the passed-in buffer, as the network would when it received it.
+     * The buffer should start with the packet's index, as written by {@link APacketBase#writeToBuffer(ByteBuf)}.
+     */
+    public APacketBase createPacket(ByteBuf buf) {
+        byte packetIndex = buf.readByte();
+        Class<? extends APacketBase> packetClass = packetClasses.get(packetIndex);
+        if (packetClass == null) {
+            throw new IllegalArgumentException("No packet registered for index " + packetIndex);
+        }
+        try {
+            return packetClass.getConstructor(ByteBuf.class).newInstance(buf);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create packet " + packetClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Returns the total number of packets sent since the last reset.
+     */
+    public int getTotalPacketsSent() {
+        int total = 0;
+        for (int count : packetsSent.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
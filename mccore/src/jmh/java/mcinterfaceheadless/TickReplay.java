@@ -0,0 +1,277 @@
+package mcinterfaceheadless;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.TickRecording;
+import minecrafttransportsimulator.baseclasses.TickRecording.RecordedPacket;
+import minecrafttransportsimulator.baseclasses.TickRecording.RecordedPlayer;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.items.components.IItemEntityProvider;
+import minecrafttransportsimulator.items.components.IItemEntityProvider.IItemEntityFactory;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.packloading.PackParser;
+
+/**
+ * Replays a {@link TickRecording} without MC.  Each run builds a new headless world with the recorded ground,
+ * adds the recorded players, and loads the recorded vehicles the same way the MC interfaces load saved ones.
+ * Then for each recorded tick, the packets the server handled before that tick are handled again, and the world
+ * is ticked.  Once done, the vehicles are checked against their recorded final states.
+ * <br><br>
+ * Runs report timings for loading, handling packets, ticking, and checking, plus per-tick percentiles.
+ * If run with the {@link EntityProfiler}, the per-category and per-phase profiler stats are included too.
+ * This can be run from the command line with a recording file, or used in benchmarks via {@link #run(boolean, double)}.
+ * <br><br>
+ * Note that saved vehicles don't have every bit of their physics state, like how fast their wheels are spinning,
+ * so a replay won't follow the recorded ticks exactly, and vehicles that crash into each other can end up far from
+ * where they were recorded.  Replays of the same recording will always match each other exactly, though, so
+ * for checking that code changes don't change behavior, compare runs with {@link #checkEntities(List, List, double)}.
+ *
+ * @author don_bruce
+ */
+public class TickReplay {
+    /**Default distance vehicles can end up from where they were recorded, in blocks, and still match.**/
+    public static final double DEFAULT_TOLERANCE = 0.1;
+    private static final int MAX_REPORTED_MISMATCHES = 20;
+
+    public final TickRecording recording;
+    private final Map<String, IItemEntityFactory> entityFactories = new HashMap<>();
+
+    public TickReplay(TickRecording recording) {
+        HeadlessSimulation.init();
+        this.recording = recording;
+        List<String> missingPacks = new ArrayList<>(recording.packIDs);
+        missingPacks.removeAll(PackParser.getAllPackIDs());
+        if (!missingPacks.isEmpty()) {
+            throw new IllegalStateException("Recording needs packs that aren't loaded: " + missingPacks + ".  Put their jars in the directory set by -D" + HeadlessSimulation.PACK_DIRECTORY_PROPERTY + ".");
+        }
+        for (AItemPack<?> packItem : PackParser.getAllPackItems()) {
+            if (packItem instanceof IItemEntityProvider) {
+                ((IItemEntityProvider) packItem).registerEntities(entityFactories);
+            }
+        }
+    }
+
+    /**
+     * Loads the recording in the passed-in file for replay.
+     */
+    public static TickReplay load(File file) throws IOException {
+        //Need the interfaces set up before reading, as they read the entity data.
+        HeadlessSimulation.init();
+        return new TickReplay(TickRecording.read(new FileInputStream(file)));
+    }
+
+    /**
+     * Replays the recording, and returns the result.  If profile is true, the {@link EntityProfiler} is
+     * enabled for the run.  Vehicles that end up further than the tolerance from where they were recorded,
+     * or with variables off by more than the tolerance, are reported as mismatches.
+     */
+    public Result run(boolean profile, double tolerance) {
+        Result result = new Result(recording.tickCount);
+        boolean wasProfiling = EntityProfiler.enabled;
+        if (profile) {
+            EntityProfiler.handleCommand(new String[] { "reset" });
+            EntityProfiler.enabled = true;
+        }
+
+        //Load the world and everything in it.
+        long startTime = System.nanoTime();
+        int defaultGroundHeight = recording.getLowestGroundHeight();
+        WrapperWorld world = new WrapperWorld("replay", (x, z) -> recording.getGroundHeight(x, z, defaultGroundHeight));
+        world.setTime(recording.startTime);
+        for (RecordedPlayer player : recording.players) {
+            world.addPlayer(player.id, player.name, player.position);
+        }
+        for (IWrapperNBT data : recording.initialEntities) {
+            WrapperNBT entityData = ((WrapperNBT) data).copy();
+            IItemEntityFactory factory = entityFactories.get(entityData.getString(TickRecording.ENTITY_ID_KEY));
+            if (factory != null) {
+                AEntityB_Existing entity = factory.createEntity(world, null, entityData);
+                if (entity instanceof AEntityF_Multipart) {
+                    ((AEntityF_Multipart<?>) entity).addPartsPostAddition(null, entityData);
+                }
+                if (entity instanceof EntityVehicleF_Physics) {
+                    ((EntityVehicleF_Physics) entity).seedRandom();
+                }
+                world.addEntity(entity);
+            } else {
+                result.mismatches.add("No entity type " + entityData.getString(TickRecording.ENTITY_ID_KEY) + " to load " + entityData.getUUID("uniqueUUID"));
+            }
+        }
+        result.loadNanos = System.nanoTime() - startTime;
+
+        //Run the ticks, handling packets before the tick they were handled before when recorded.
+        InterfacePacket packetInterface = HeadlessSimulation.getPacketInterface();
+        int packetIndex = 0;
+        for (int tick = 0; tick < recording.tickCount; ++tick) {
+            startTime = System.nanoTime();
+            while (packetIndex < recording.packets.size() && recording.packets.get(packetIndex).tick <= tick) {
+                RecordedPacket packet = recording.packets.get(packetIndex++);
+                packetInterface.createPacket(Unpooled.wrappedBuffer(packet.data)).handle(world);
+                ++result.packetsHandled;
+            }
+            long tickStartTime = System.nanoTime();
+            result.inputNanos += tickStartTime - startTime;
+            world.tick();
+            result.tickNanos[tick] = System.nanoTime() - tickStartTime;
+        }
+        if (profile) {
+            result.profilerStats.addAll(EntityProfiler.getStats());
+            EntityProfiler.enabled = wasProfiling;
+        }
+
+        //Check the vehicles ended up where they did when recorded.
+        startTime = System.nanoTime();
+        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            result.finalEntities.add(vehicle.save(new WrapperNBT()));
+        }
+        result.mismatches.addAll(checkEntities(recording.finalEntities, result.finalEntities, tolerance));
+        result.verifyNanos = System.nanoTime() - startTime;
+        result.entities = recording.initialEntities.size();
+        return result;
+    }
+
+    /**
+     * Checks the passed-in saved entities against the expected ones, and returns a line for each mismatch.
+     * Entities are matched by ID.  Entities match if they are within the tolerance of their expected position,
+     * and their variables are within the tolerance of their expected values, scaled by the value for values over 1.
+     * Pass in a tolerance of 0 to only match if they are exactly the same.
+     */
+    public static List<String> checkEntities(List<IWrapperNBT> expectedEntities, List<IWrapperNBT> actualEntities, double tolerance) {
+        List<String> mismatches = new ArrayList<>();
+        Map<UUID, IWrapperNBT> actualByID = new LinkedHashMap<>();
+        for (IWrapperNBT data : actualEntities) {
+            actualByID.put(data.getUUID("uniqueUUID"), data);
+        }
+        for (IWrapperNBT expected : expectedEntities) {
+            UUID entityID = expected.getUUID("uniqueUUID");
+            String entityName = expected.getString("packID") + ":" + expected.getString("systemName") + " " + entityID;
+            IWrapperNBT actual = actualByID.remove(entityID);
+            if (actual == null) {
+                mismatches.add(entityName + " is missing.");
+                continue;
+            }
+            Point3D expectedPosition = expected.getPoint3d("position");
+            Point3D actualPosition = actual.getPoint3d("position");
+            double distance = expectedPosition.distanceTo(actualPosition);
+            if (distance > tolerance) {
+                mismatches.add(String.format(Locale.ROOT, "%s ended at %.2f,%.2f,%.2f instead of %.2f,%.2f,%.2f, off by %.3f blocks.", entityName, actualPosition.x, actualPosition.y, actualPosition.z, expectedPosition.x, expectedPosition.y, expectedPosition.z, distance));
+            }
+            Map<String, Double> actualVariables = getVariables(actual);
+            for (Entry<String, Double> variable : getVariables(expected).entrySet()) {
+                double expectedValue = variable.getValue();
+                double actualValue = actualVariables.getOrDefault(variable.getKey(), 0D);
+                if (Math.abs(actualValue - expectedValue) > tolerance * Math.max(1, Math.abs(expectedValue))) {
+                    mismatches.add(String.format(Locale.ROOT, "%s variable %s is %.4f instead of %.4f.", entityName, variable.getKey(), actualValue, expectedValue));
+                }
+            }
+        }
+        for (IWrapperNBT extra : actualByID.values()) {
+            mismatches.add(extra.getString("packID") + ":" + extra.getString("systemName") + " " + extra.getUUID("uniqueUUID") + " wasn't expected.");
+        }
+        return mismatches;
+    }
+
+    private static Map<String, Double> getVariables(IWrapperNBT data) {
+        Map<String, Double> variables = new HashMap<>();
+        for (String variableName : data.getStrings("variables")) {
+            variables.put(variableName, data.getDouble(variableName));
+        }
+        return variables;
+    }
+
+    /**
+     * Replays the recording file passed in as the first argument with the profiler on, and prints the report.
+     * The optional second argument is the tolerance.  Exits with 1 if the final states don't match.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: TickReplay <recording file> [tolerance]");
+            return;
+        }
+        TickReplay replay = load(new File(args[0]));
+        Result result = replay.run(true, args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_TOLERANCE);
+        result.getReport(10).forEach(System.out::println);
+        System.exit(result.mismatches.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Timings and mismatches from a run.  Times are in nanoseconds.
+     */
+    public static class Result {
+        public int entities;
+        public int packetsHandled;
+        public long loadNanos;
+        public long inputNanos;
+        public final long[] tickNanos;
+        public long verifyNanos;
+        public final List<EntityProfiler.Stats> profilerStats = new ArrayList<>();
+        public final List<IWrapperNBT> finalEntities = new ArrayList<>();
+        public final List<String> mismatches = new ArrayList<>();
+
+        private Result(int ticks) {
+            this.tickNanos = new long[ticks];
+        }
+
+        /**
+         * Returns the total time spent ticking the world.
+         */
+        public long getTotalTickNanos() {
+            long total = 0;
+            for (long nanos : tickNanos) {
+                total += nanos;
+            }
+            return total;
+        }
+
+        /**
+         * Returns the lines of a report on this run, with up to the passed-in number of lines of profiler stats.
+         */
+        public List<String> getReport(int maxProfilerLines) {
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format(Locale.ROOT, "Replayed %d ticks of %d vehicles, with %d packets.", tickNanos.length, entities, packetsHandled));
+            lines.add(String.format(Locale.ROOT, "Load: %.3f ms, Packets: %.3f ms, Ticks: %.3f ms, Check: %.3f ms", loadNanos / 1E6D, inputNanos / 1E6D, getTotalTickNanos() / 1E6D, verifyNanos / 1E6D));
+            if (tickNanos.length > 0) {
+                long[] sortedNanos = Arrays.copyOf(tickNanos, tickNanos.length);
+                Arrays.sort(sortedNanos);
+                lines.add(String.format(Locale.ROOT, "Per tick: mean %.3f ms, p50 %.3f ms, p95 %.3f ms, p99 %.3f ms, max %.3f ms", getTotalTickNanos() / 1E6D / tickNanos.length, getPercentile(sortedNanos, 0.50), getPercentile(sortedNanos, 0.95), getPercentile(sortedNanos, 0.99), sortedNanos[sortedNanos.length - 1] / 1E6D));
+            }
+            if (!profilerStats.isEmpty()) {
+                lines.add("category phase: p50/p95/p99/max ms per tick, calls per tick");
+                for (int i = 0; i < maxProfilerLines && i < profilerStats.size(); ++i) {
+                    EntityProfiler.Stats entry = profilerStats.get(i);
+                    lines.add(String.format(Locale.ROOT, "%s %s: %.3f/%.3f/%.3f/%.3f, %.1f", entry.category, entry.phase, entry.p50Millis, entry.p95Millis, entry.p99Millis, entry.maxMillis, entry.callsPerTick));
+                }
+            }
+            if (mismatches.isEmpty()) {
+                lines.add("Final states match.");
+            } else {
+                lines.add(mismatches.size() + " final state mismatches:");
+                for (int i = 0; i < MAX_REPORTED_MISMATCHES && i < mismatches.size(); ++i) {
+                    lines.add(mismatches.get(i));
+                }
+            }
+            return lines;
+        }
+
+        private static double getPercentile(long[] sortedNanos, double percentile) {
+            return sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1)] / 1E6D;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package mcinterfaceheadless;
+
+import java.util.UUID;
+
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.baseclasses.RotationMatrix;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.jsondefs.JSONPotionEffect;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperEntity;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+
+/**
+ * Headless entity.  Holds position, motion, and rotation state and nothing else.
+ * Damage is tracked so simulations can check if something was hurt.
+ *
+ * @author don_bruce
+ */
+public class WrapperEntity implements IWrapperEntity {
+    private static final double EYE_HEIGHT = 1.62;
+    private static final double WIDTH_RADIUS = 0.3;
+    private static final double HEIGHT_RADIUS = 0.9;
+
+    protected final WrapperWorld world;
+    private final UUID uniqueID;
+    private final String name;
+    private final Point3D position = new Point3D();
+    private final Point3D velocity = new Point3D();
+    private final RotationMatrix orientation = new RotationMatrix();
+    private final BoundingBox bounds = new BoundingBox(new Point3D(), WIDTH_RADIUS, HEIGHT_RADIUS, WIDTH_RADIUS);
+    private final Point3D mutableSight = new Point3D();
+    private AEntityB_Existing entityRiding;
+    private IWrapperNBT data = new WrapperNBT();
+    private boolean valid = true;
+    public double damageTaken;
+
+    public WrapperEntity(WrapperWorld world, UUID uniqueID, String name) {
+        this.world = world;
+        this.uniqueID = uniqueID;
+        this.name = name;
+    }
+
+    /**
+     * Marks this entity as removed.  Any vehicles it is riding will see it as invalid.
+     */
+    public void remove() {
+        valid = false;
+    }
+
+    @Override
+    public boolean isValid() {
+        return valid;
+    }
+
+    @Override
+    public UUID getID() {
+        return uniqueID;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public AWrapperWorld getWorld() {
+        return world;
+    }
+
+    @Override
+    public AEntityB_Existing getEntityRiding() {
+        return entityRiding;
+    }
+
+    @Override
+    public void setRiding(AEntityB_Existing entityToRide) {
+        this.entityRiding = entityToRide;
+    }
+
+    @Override
+    public double getVerticalScale() {
+        return 1.0;
+    }
+
+    @Override
+    public double getSeatOffset() {
+        return 0;
+    }
+
+    @Override
+    public double getEyeHeight() {
+        return EYE_HEIGHT;
+    }
+
+    @Override
+    public Point3D getPosition() {
+        return position.copy();
+    }
+
+    @Override
+    public Point3D getEyePosition() {
+        return entityRiding != null ? entityRiding.riderEyePosition : getPosition().add(0, getEyeHeight() + getSeatOffset(), 0);
+    }
+
+    @Override
+    public Point3D getHeadPosition() {
+        return entityRiding != null ? entityRiding.riderHeadPosition : getPosition().add(0, getEyeHeight() + getSeatOffset(), 0);
+    }
+
+    @Override
+    public void setPosition(Point3D position, boolean onGround) {
+        this.position.set(position);
+        bounds.globalCenter.set(position).add(0, HEIGHT_RADIUS, 0);
+    }
+
+    @Override
+    public Point3D getVelocity() {
+        return velocity.copy();
+    }
+
+    @Override
+    public void setVelocity(Point3D motion) {
+        velocity.set(motion);
+    }
+
+    @Override
+    public RotationMatrix getOrientation() {
+        return orientation;
+    }
+
+    @Override
+    public void setOrientation(RotationMatrix rotation) {
+        orientation.set(rotation);
+        orientation.convertToAngles();
+    }
+
+    @Override
+    public float getPitch() {
+        return (float) orientation.angles.x;
+    }
+
+    @Override
+    public float getPitchDelta() {
+        return 0;
+    }
+
+    @Override
+    public float getYaw() {
+        return (float) -orientation.angles.y;
+    }
+
+    @Override
+    public float getYawDelta() {
+        return 0;
+    }
+
+    @Override
+    public float getBodyYaw() {
+        return getYaw();
+    }
+
+    @Override
+    public Point3D getLineOfSight(double distance) {
+        mutableSight.set(0, 0, distance).rotate(orientation);
+        return mutableSight;
+    }
+
+    @Override
+    public void setYaw(double yaw) {
+        orientation.angles.y = -yaw;
+        orientation.updateToAngles();
+    }
+
+    @Override
+    public void setBodyYaw(double yaw) {
+        //No bodies in headless mode, just heads.
+    }
+
+    @Override
+    public void setPitch(double pitch) {
+        orientation.angles.x = pitch;
+        orientation.updateToAngles();
+    }
+
+    @Override
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+
+    @Override
+    public IWrapperNBT getData() {
+        return data;
+    }
+
+    @Override
+    public void setData(IWrapperNBT data) {
+        this.data = data;
+    }
+
+    @Override
+    public boolean leashTo(IWrapperPlayer player) {
+        return false;
+    }
+
+    @Override
+    public synchronized void attack(Damage damage) {
+        damageTaken += damage.amount;
+    }
+
+    @Override
+    public void addPotionEffect(JSONPotionEffect effect) {
+        //No effects in headless mode.
+    }
+
+    @Override
+    public void removePotionEffect(JSONPotionEffect effect) {
+        //No effects in headless mode.
+    }
+}
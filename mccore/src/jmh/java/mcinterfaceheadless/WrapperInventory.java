@@ -0,0 +1,37 @@
+package mcinterfaceheadless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import minecrafttransportsimulator.mcinterface.IWrapperInventory;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+
+/**
+ * Headless inventory.  Just a fixed-size list of stacks.
+ *
+ * @author don_bruce
+ */
+public class WrapperInventory implements IWrapperInventory {
+    private final List<IWrapperItemStack> stacks = new ArrayList<>();
+
+    public WrapperInventory(int size) {
+        for (int i = 0; i < size; ++i) {
+            stacks.add(new WrapperItemStack(null, 0));
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return stacks.size();
+    }
+
+    @Override
+    public IWrapperItemStack getStack(int index) {
+        return stacks.get(index);
+    }
+
+    @Override
+    public void setStack(IWrapperItemStack stackToSet, int index) {
+        stacks.set(index, stackToSet);
+    }
+}
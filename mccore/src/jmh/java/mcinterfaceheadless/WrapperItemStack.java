@@ -0,0 +1,150 @@
+package mcinterfaceheadless;
+
+import minecrafttransportsimulator.entities.instances.EntityFluidTank;
+import minecrafttransportsimulator.items.components.AItemBase;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+
+/**
+ * Headless item stack.  Stacks are identified by their registry name, which is either
+ * the registration name of the pack item they represent, or an arbitrary name for
+ * "vanilla" materials created via {@link InterfaceCore#getStackForProperties(String, int, int)}.
+ *
+ * @author don_bruce
+ */
+public class WrapperItemStack implements IWrapperItemStack {
+    private static final int DEFAULT_MAX_SIZE = 64;
+
+    protected final String name;
+    protected final AItemBase item;
+    private int size;
+    private WrapperNBT data;
+
+    public WrapperItemStack(AItemBase item, int size) {
+        this(item, item != null ? item.getRegistrationName() : "", size);
+    }
+
+    public WrapperItemStack(AItemBase item, String name, int size) {
+        this.item = item;
+        this.name = name;
+        this.size = size;
+    }
+
+    @Override
+    public boolean isCompleteMatch(IWrapperItemStack other) {
+        WrapperItemStack otherStack = (WrapperItemStack) other;
+        return otherStack.name.equals(name) && (otherStack.data != null ? otherStack.data.equals(data) : data == null);
+    }
+
+    @Override
+    public int getFuelValue() {
+        return 0;
+    }
+
+    @Override
+    public IWrapperItemStack getSmeltedItem(AWrapperWorld world) {
+        return new WrapperItemStack(null, 0);
+    }
+
+    @Override
+    public int getSmeltingTime(AWrapperWorld world) {
+        return 0;
+    }
+
+    @Override
+    public AItemBase getItem() {
+        return item;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size <= 0 || name.isEmpty();
+    }
+
+    @Override
+    public int getSize() {
+        return isEmpty() ? 0 : size;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return item != null ? item.getStackSize() : DEFAULT_MAX_SIZE;
+    }
+
+    @Override
+    public int add(int qty) {
+        if (qty < 0) {
+            int amountToRemove = -qty;
+            if (amountToRemove > getSize()) {
+                amountToRemove = getSize();
+            }
+            size -= amountToRemove;
+            return qty + amountToRemove;
+        } else {
+            int amountToAdd = qty;
+            if (amountToAdd + getSize() > getMaxSize()) {
+                amountToAdd = getMaxSize() - getSize();
+            }
+            size += amountToAdd;
+            return qty - amountToAdd;
+        }
+    }
+
+    @Override
+    public IWrapperItemStack copy() {
+        WrapperItemStack copy = new WrapperItemStack(item, name, size);
+        copy.data = data != null ? data.copy() : null;
+        return copy;
+    }
+
+    @Override
+    public IWrapperItemStack split(int qty) {
+        int amountSplit = Math.min(qty, getSize());
+        WrapperItemStack splitStack = (WrapperItemStack) copy();
+        splitStack.size = amountSplit;
+        size -= amountSplit;
+        return splitStack;
+    }
+
+    @Override
+    public boolean interactWith(EntityFluidTank tank, IWrapperPlayer player) {
+        return false;
+    }
+
+    @Override
+    public IWrapperNBT getData() {
+        return data != null ? data.copy() : new WrapperNBT();
+    }
+
+    @Override
+    public void setData(IWrapperNBT data) {
+        this.data = (WrapperNBT) data;
+    }
+
+    /**
+     * Saves this stack to the passed-in data.  Used when stacks are stored in inventories.
+     */
+    protected WrapperNBT save(WrapperNBT stackData) {
+        stackData.setString("id", name);
+        stackData.setInteger("count", size);
+        if (data != null) {
+            stackData.setData("tag", data.copy());
+        }
+        return stackData;
+    }
+
+    /**
+     * Loads a stack from data saved via {@link #save(WrapperNBT)}.
+     */
+    protected static WrapperItemStack load(WrapperNBT stackData) {
+        String name = stackData.getString("id");
+        WrapperItemStack stack = new WrapperItemStack(InterfaceCore.getItemByName(name), name, stackData.getInteger("count"));
+        WrapperNBT tag = stackData.getData("tag");
+        if (tag != null) {
+            stack.data = tag.copy();
+        }
+        return stack;
+    }
+}
@@ -0,0 +1,339 @@
+package mcinterfaceheadless;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+
+/**
+ * In-memory NBT wrapper.  Values are kept in a simple map using the same key
+ * layout as the MC wrappers, so data written here reads back identically to
+ * data that went through a real tag compound.
+ *
+ * @author don_bruce
+ */
+public class WrapperNBT implements IWrapperNBT {
+    private static final String STACKS_KEY = "Items";
+    private final Map<String, Object> tag = new LinkedHashMap<>();
+
+    public WrapperNBT() {
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        Object value = tag.get(name);
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    @Override
+    public void setBoolean(String name, boolean value) {
+        tag.put(name, value);
+    }
+
+    @Override
+    public int getInteger(String name) {
+        Object value = tag.get(name);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    @Override
+    public void setInteger(String name, int value) {
+        tag.put(name, value);
+    }
+
+    @Override
+    public double getDouble(String name) {
+        Object value = tag.get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    @Override
+    public void setDouble(String name, double value) {
+        tag.put(name, value);
+    }
+
+    @Override
+    public String getString(String name) {
+        Object value = tag.get(name);
+        return value instanceof String ? (String) value : "";
+    }
+
+    @Override
+    public void setString(String name, String value) {
+        tag.put(name, value);
+    }
+
+    @Override
+    public List<String> getStrings(String name) {
+        return getStrings(name, getInteger(name + "count"));
+    }
+
+    @Override
+    public List<String> getStrings(String name, int count) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            values.add(getString(name + i));
+        }
+        return values;
+    }
+
+    @Override
+    public void setStrings(String name, Collection<String> values) {
+        setInteger(name + "count", values.size());
+        int index = 0;
+        for (String value : values) {
+            setString(name + index++, value);
+        }
+    }
+
+    @Override
+    public UUID getUUID(String name) {
+        return tag.containsKey(name) ? UUID.fromString(getString(name)) : null;
+    }
+
+    @Override
+    public void setUUID(String name, UUID value) {
+        tag.put(name, value.toString());
+    }
+
+    @Override
+    public List<IWrapperItemStack> getStacks(int count) {
+        List<IWrapperItemStack> stacks = new ArrayList<>();
+        WrapperNBT stackData = (WrapperNBT) getDataOrNew(STACKS_KEY);
+        for (int i = 0; i < count; ++i) {
+            WrapperNBT slotData = stackData.getData("slot" + i);
+            stacks.add(slotData != null ? WrapperItemStack.load(slotData) : new WrapperItemStack(null, 0));
+        }
+        return stacks;
+    }
+
+    @Override
+    public void setStacks(List<IWrapperItemStack> stacks) {
+        WrapperNBT stackData = new WrapperNBT();
+        for (int i = 0; i < stacks.size(); ++i) {
+            WrapperItemStack stack = (WrapperItemStack) stacks.get(i);
+            if (!stack.isEmpty()) {
+                stackData.setData("slot" + i, stack.save(new WrapperNBT()));
+            }
+        }
+        setData(STACKS_KEY, stackData);
+    }
+
+    @Override
+    public Point3D getPoint3d(String name) {
+        return new Point3D(getDouble(name + "x"), getDouble(name + "y"), getDouble(name + "z"));
+    }
+
+    @Override
+    public void setPoint3d(String name, Point3D value) {
+        setDouble(name + "x", value.x);
+        setDouble(name + "y", value.y);
+        setDouble(name + "z", value.z);
+    }
+
+    @Override
+    public List<Point3D> getPoint3ds(String name) {
+        List<Point3D> values = new ArrayList<>();
+        int count = getInteger(name + "count");
+        for (int i = 0; i < count; ++i) {
+            Point3D point = getPoint3d(name + i);
+            if (!point.isZero()) {
+                values.add(point);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void setPoint3ds(String name, Collection<Point3D> values) {
+        setInteger(name + "count", values.size());
+        int index = 0;
+        for (Point3D value : values) {
+            setPoint3d(name + index++, value);
+        }
+    }
+
+    @Override
+    public Point3D getPoint3dCompact(String name) {
+        return new Point3D(getInteger(name + "x"), getInteger(name + "y"), getInteger(name + "z"));
+    }
+
+    @Override
+    public void setPoint3dCompact(String name, Point3D value) {
+        setInteger(name + "x", (int) Math.floor(value.x));
+        setInteger(name + "y", (int) Math.floor(value.y));
+        setInteger(name + "z", (int) Math.floor(value.z));
+    }
+
+    @Override
+    public List<Point3D> getPoint3dsCompact(String name) {
+        List<Point3D> values = new ArrayList<>();
+        int count = getInteger(name + "count");
+        for (int i = 0; i < count; ++i) {
+            Point3D point = getPoint3dCompact(name + i);
+            if (!point.isZero()) {
+                values.add(point);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void setPoint3dsCompact(String name, Collection<Point3D> values) {
+        setInteger(name + "count", values.size());
+        int index = 0;
+        for (Point3D value : values) {
+            setPoint3dCompact(name + index++, value);
+        }
+    }
+
+    @Override
+    public WrapperNBT getData(String name) {
+        Object value = tag.get(name);
+        return value instanceof WrapperNBT ? (WrapperNBT) value : null;
+    }
+
+    @Override
+    public IWrapperNBT getDataOrNew(String name) {
+        WrapperNBT value = getData(name);
+        return value != null ? value : new WrapperNBT();
+    }
+
+    @Override
+    public void setData(String name, IWrapperNBT value) {
+        tag.put(name, value);
+    }
+
+    @Override
+    public void deleteData(String name) {
+        tag.remove(name);
+    }
+
+    @Override
+    public Set<String> getAllNames() {
+        return tag.keySet();
+    }
+
+    /**
+     * Returns a deep copy of this data.  Nested data blocks are copied as well,
+     * so modifying the copy will never affect the original.
+     */
+    public WrapperNBT copy() {
+        WrapperNBT copy = new WrapperNBT();
+        for (Entry<String, Object> entry : tag.entrySet()) {
+            Object value = entry.getValue();
+            copy.tag.put(entry.getKey(), value instanceof WrapperNBT ? ((WrapperNBT) value).copy() : value);
+        }
+        return copy;
+    }
+
+    /**
+     * Writes this data in the same binary format MC uses for tag compounds in region files.
+     * This lets benchmarks see how much space data takes up, and how long it takes to write.
+     */
+    public void write(DataOutput output) throws IOException {
+        for (Entry<String, Object> entry : tag.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof WrapperNBT) {
+                output.writeByte(10);
+                output.writeUTF(entry.getKey());
+                ((WrapperNBT) value).write(output);
+            } else if (value instanceof String) {
+                output.writeByte(8);
+                output.writeUTF(entry.getKey());
+                output.writeUTF((String) value);
+            } else if (value instanceof Double) {
+                output.writeByte(6);
+                output.writeUTF(entry.getKey());
+                output.writeDouble((Double) value);
+            } else if (value instanceof Integer) {
+                output.writeByte(3);
+                output.writeUTF(entry.getKey());
+                output.writeInt((Integer) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte(1);
+                output.writeUTF(entry.getKey());
+                output.writeByte((Boolean) value ? 1 : 0);
+            }
+        }
+        output.writeByte(0);
+    }
+
+    /**
+     * Reads data written by {@link #write(DataOutput)}, or by MC for a tag compound.  Tags that MC
+     * can write but this wrapper has no use for, such as lists and longs, are skipped.
+     */
+    public static WrapperNBT read(DataInput input) throws IOException {
+        WrapperNBT data = new WrapperNBT();
+        byte tagType;
+        while ((tagType = input.readByte()) != 0) {
+            String name = input.readUTF();
+            Object value = readValue(input, tagType);
+            if (value != null) {
+                data.tag.put(name, value);
+            }
+        }
+        return data;
+    }
+
+    private static Object readValue(DataInput input, byte tagType) throws IOException {
+        switch (tagType) {
+            case 1:
+                return input.readByte() != 0;
+            case 2:
+                return (int) input.readShort();
+            case 3:
+                return input.readInt();
+            case 4:
+                input.readLong();
+                return null;
+            case 5:
+                return (double) input.readFloat();
+            case 6:
+                return input.readDouble();
+            case 7:
+                input.skipBytes(input.readInt());
+                return null;
+            case 8:
+                return input.readUTF();
+            case 9: {
+                byte listType = input.readByte();
+                for (int i = input.readInt(); i > 0; --i) {
+                    readValue(input, listType);
+                }
+                return null;
+            }
+            case 10:
+                return read(input);
+            case 11:
+                input.skipBytes(input.readInt() * 4);
+                return null;
+            case 12:
+                input.skipBytes(input.readInt() * 8);
+                return null;
+            default:
+                throw new IOException("Unknown tag type " + tagType);
+        }
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof WrapperNBT && ((WrapperNBT) object).tag.equals(tag);
+    }
+
+    @Override
+    public int hashCode() {
+        return tag.hashCode();
+    }
+}
@@ -0,0 +1,113 @@
+package mcinterfaceheadless;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import minecrafttransportsimulator.items.components.AItemBase;
+import minecrafttransportsimulator.items.instances.ItemItem;
+import minecrafttransportsimulator.jsondefs.JSONConfigLanguage.LanguageEntry;
+import minecrafttransportsimulator.jsondefs.JSONItem.ItemComponentType;
+import minecrafttransportsimulator.mcinterface.IWrapperEntity;
+import minecrafttransportsimulator.mcinterface.IWrapperInventory;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**
+ * Headless player.  Has an inventory and a hotbar slot, and records any packets
+ * or chat messages sent to it rather than sending them anywhere.
+ *
+ * @author don_bruce
+ */
+public class WrapperPlayer extends WrapperEntity implements IWrapperPlayer {
+    private static final int INVENTORY_SIZE = 36;
+
+    private final WrapperInventory inventory = new WrapperInventory(INVENTORY_SIZE);
+    public final List<APacketBase> packetsReceived = new ArrayList<>();
+    public final List<LanguageEntry> chatReceived = new ArrayList<>();
+    public boolean isOP = true;
+    public boolean isCreative = true;
+    public boolean isSneaking;
+    public int hotbarIndex;
+
+    public WrapperPlayer(WrapperWorld world, UUID uniqueID, String name) {
+        super(world, uniqueID, name);
+    }
+
+    @Override
+    public boolean isOP() {
+        return isOP;
+    }
+
+    @Override
+    public void displayChatMessage(LanguageEntry language, Object... args) {
+        chatReceived.add(language);
+    }
+
+    @Override
+    public boolean isCreative() {
+        return isCreative;
+    }
+
+    @Override
+    public boolean isSpectator() {
+        return false;
+    }
+
+    @Override
+    public boolean isSneaking() {
+        return isSneaking;
+    }
+
+    @Override
+    public boolean isRightHanded() {
+        return true;
+    }
+
+    @Override
+    public IWrapperEntity getLeashedEntity() {
+        return null;
+    }
+
+    @Override
+    public boolean isHoldingItemType(ItemComponentType type) {
+        AItemBase heldItem = getHeldItem();
+        return heldItem instanceof ItemItem && ((ItemItem) heldItem).definition.item.type.equals(type);
+    }
+
+    @Override
+    public AItemBase getHeldItem() {
+        return getHeldStack().getItem();
+    }
+
+    @Override
+    public IWrapperItemStack getHeldStack() {
+        return inventory.getStack(hotbarIndex);
+    }
+
+    @Override
+    public void setHeldStack(IWrapperItemStack stack) {
+        inventory.setStack(stack, hotbarIndex);
+    }
+
+    @Override
+    public int getHotbarIndex() {
+        return hotbarIndex;
+    }
+
+    @Override
+    public IWrapperInventory getInventory() {
+        return inventory;
+    }
+
+    @Override
+    public void sendPacket(APacketBase packet) {
+        packetsReceived.add(packet);
+    }
+
+    @Override
+    public void openCraftingGUI() {
+        //No GUIs in headless mode.
+    }
+}
@@ -0,0 +1,553 @@
+package mcinterfaceheadless;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntBinaryOperator;
+
+import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.EntityIslandTicker;
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.blocks.components.ABlockBase;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.blocks.components.ABlockBase.BlockMaterial;
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperEntity;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+
+/**
+ * Headless world.  Terrain is a height-field: every block column at X/Z is solid
+ * from the bottom of the world up to (but not including) the height returned
+ * by the terrain function, and air above that.  This is enough to drive vehicles
+ * around, and to build flat, sloped, or stepped test tracks.  Time only advances
+ * when {@link #tick()} is called, so runs are repeatable tick-for-tick.
+ *
+ * @author don_bruce
+ */
+public class WrapperWorld extends AWrapperWorld {
+    private static final int MAX_HEIGHT = 256;
+    private static final float BLOCK_HARDNESS = 1.5F;
+    private static final float BLOCK_SLIPPERINESS = 0.6F;
+    /**
+     * If true, headless worlds tick vehicles in parallel via {@link EntityIslandTicker}.  This is an experiment
+     * for benchmarks only.  Headless worlds are safe to read from multiple threads, as the terrain never changes
+     * and there are no shared collision caches, but MC worlds aren't.
+     */
+    public static boolean parallelVehicleTicking;
+
+    private final String name;
+    private final IntBinaryOperator terrain;
+    private final IWrapperNBT savedData = new WrapperNBT();
+    private final List<WrapperEntity> externalEntities = new ArrayList<>();
+    private final Map<Long, ATileEntityBase<?>> tileEntities = new HashMap<>();
+    private EntityIslandTicker islandTicker;
+    private long time;
+
+    /**
+     * Creates a new world with the passed-in terrain function.  The function
+     * takes the X and Z block coordinates, and returns the Y coordinate of the
+     * first air block in that column.
+     */
+    public WrapperWorld(String name, IntBinaryOperator terrain) {
+        this.name = name;
+        this.terrain = terrain;
+    }
+
+    /**
+     * Creates a new world with flat terrain, with the first air block at the passed-in height.
+     */
+    public static WrapperWorld createFlat(String name, int groundHeight) {
+        return new WrapperWorld(name, (x, z) -> groundHeight);
+    }
+
+    /**
+     * Advances the world by one tick.  This ticks all entities, and then increments the world time.
+     */
+    public void tick() {
+        tickAll();
+        ++time;
+    }
+
+    /**
+     * Adds the passed-in tile entity to the world, as if its block had been placed or its chunk loaded.
+     * Headless worlds have no blocks other than the terrain, so this doesn't change any collisions.
+     */
+    public void addTileEntity(ATileEntityBase<?> tile) {
+        tileEntities.put(getBlockKey(tile.position), tile);
+        addEntity(tile);
+    }
+
+    /**
+     * Removes the tile entity at the passed-in position, as if its chunk unloaded.
+     */
+    public void removeTileEntity(Point3D position) {
+        ATileEntityBase<?> tile = tileEntities.remove(getBlockKey(position));
+        if (tile != null) {
+            tile.remove();
+        }
+    }
+
+    private static long getBlockKey(Point3D position) {
+        return (((long) Math.floor(position.x) & 0x3FFFFFFL) << 38) | (((long) Math.floor(position.z) & 0x3FFFFFFL) << 12) | ((long) Math.floor(position.y) & 0xFFFL);
+    }
+
+    /**
+     * Sets the world time.  Useful for starting a world at the same time as the one it's standing in for.
+     */
+    public void setTime(long time) {
+        this.time = time;
+    }
+
+    /**
+     * Adds a new player to this world at the passed-in position.
+     */
+    public WrapperPlayer addPlayer(String playerName, Point3D position) {
+        return addPlayer(UUID.nameUUIDFromBytes(playerName.getBytes()), playerName, position);
+    }
+
+    /**
+     * Adds a new player with the passed-in ID to this world at the passed-in position.
+     */
+    public WrapperPlayer addPlayer(UUID playerID, String playerName, Point3D position) {
+        WrapperPlayer player = new WrapperPlayer(this, playerID, playerName);
+        player.setPosition(position, true);
+        externalEntities.add(player);
+        return player;
+    }
+
+    /**
+     * Returns true if the block at the passed-in block coordinates is solid.
+     */
+    public boolean isSolid(int x, int y, int z) {
+        return y < terrain.applyAsInt(x, z);
+    }
+
+    private boolean isSolid(Point3D position) {
+        return isSolid((int) Math.floor(position.x), (int) Math.floor(position.y), (int) Math.floor(position.z));
+    }
+
+    @Override
+    protected void tickEntities() {
+        //Profiler isn't thread-safe, so don't tick in parallel when it's running.
+        if (parallelVehicleTicking && !EntityProfiler.enabled) {
+            if (islandTicker == null) {
+                islandTicker = new EntityIslandTicker(this);
+            }
+            islandTicker.tickEntities();
+        } else {
+            super.tickEntities();
+        }
+    }
+
+    @Override
+    public boolean isClient() {
+        return false;
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getMaxHeight() {
+        return MAX_HEIGHT;
+    }
+
+    @Override
+    public void beginProfiling(String name, boolean subProfile) {
+        //No profiler in headless mode.
+    }
+
+    @Override
+    public void endProfiling() {
+        //No profiler in headless mode.
+    }
+
+    @Override
+    public IWrapperNBT getData(String name) {
+        return name.isEmpty() ? savedData : savedData.getData(name);
+    }
+
+    @Override
+    public void setData(String name, IWrapperNBT value) {
+        savedData.setData(name, value);
+    }
+
+    @Override
+    public File getDataFile() {
+        return null;
+    }
+
+    @Override
+    public IWrapperEntity getExternalEntity(UUID entityID) {
+        for (WrapperEntity entity : externalEntities) {
+            if (entity.getID().equals(entityID)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<IWrapperEntity> getEntitiesWithin(BoundingBox box) {
+        List<IWrapperEntity> entities = new ArrayList<>();
+        for (WrapperEntity entity : externalEntities) {
+            if (entity.isValid() && box.intersects(entity.getBounds())) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    @Override
+    public List<IWrapperPlayer> getPlayersWithin(BoundingBox box) {
+        List<IWrapperPlayer> players = new ArrayList<>();
+        for (WrapperEntity entity : externalEntities) {
+            if (entity instanceof WrapperPlayer && entity.isValid() && box.intersects(entity.getBounds())) {
+                players.add((WrapperPlayer) entity);
+            }
+        }
+        return players;
+    }
+
+    @Override
+    public boolean isPlayerWithin(Point3D position, double distance) {
+        for (WrapperEntity entity : externalEntities) {
+            if (entity instanceof WrapperPlayer && entity.isValid() && entity.getPosition().isDistanceToCloserThan(position, distance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public void spawnEntity(AEntityB_Existing entity) {
+        addEntity(entity);
+    }
+
+    @Override
+    public List<IWrapperEntity> attackEntities(Damage damage, Point3D motion, boolean generateList) {
+        List<IWrapperEntity> hitEntities = getEntitiesWithin(damage.box);
+        if (!generateList) {
+            hitEntities.forEach(entity -> entity.attack(damage));
+        }
+        return hitEntities;
+    }
+
+    @Override
+    public void loadEntities(BoundingBox box, AEntityE_Interactable<?> entityToLoad) {
+        //No external entities to load into things in headless mode.
+    }
+
+    @Override
+    public boolean chunkLoaded(Point3D position) {
+        return true;
+    }
+
+    @Override
+    public ABlockBase getBlock(Point3D position) {
+        return null;
+    }
+
+    @Override
+    public float getBlockHardness(Point3D position) {
+        return isSolid(position) ? BLOCK_HARDNESS : 0;
+    }
+
+    @Override
+    public float getBlockSlipperiness(Point3D position) {
+        return BLOCK_SLIPPERINESS;
+    }
+
+    @Override
+    public BlockMaterial getBlockMaterial(Point3D position) {
+        return isSolid(position) ? BlockMaterial.NORMAL : null;
+    }
+
+    @Override
+    public List<IWrapperItemStack> getBlockDrops(Point3D position) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public BlockHitResult getBlockHit(Point3D position, Point3D delta) {
+        double distance = delta.length();
+        Point3D testPoint = new Point3D();
+        for (double step = 0; step <= distance; step += 0.1) {
+            testPoint.set(delta).scale(step / distance).add(position);
+            if (isSolid(testPoint)) {
+                return new BlockHitResult(new Point3D(Math.floor(testPoint.x), Math.floor(testPoint.y), Math.floor(testPoint.z)), Axis.UP);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isBlockSolid(Point3D position, Axis axis) {
+        return isSolid(position);
+    }
+
+    @Override
+    public boolean isBlockLiquid(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public boolean isBlockBelowBottomSlab(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public boolean isBlockAboveTopSlab(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public double getHeight(Point3D position) {
+        return position.y - terrain.applyAsInt((int) Math.floor(position.x), (int) Math.floor(position.z));
+    }
+
+    @Override
+    public void updateBoundingBoxCollisions(BoundingBox box, Point3D collisionMotion, boolean ignoreIfGreater) {
+        double minX = box.globalCenter.x - box.widthRadius;
+        double maxX = box.globalCenter.x + box.widthRadius;
+        double minY = box.globalCenter.y - box.heightRadius;
+        double maxY = box.globalCenter.y + box.heightRadius;
+        double minZ = box.globalCenter.z - box.depthRadius;
+        double maxZ = box.globalCenter.z + box.depthRadius;
+        box.collidingBlockPositions.clear();
+        List<BoundingBox> collidingBoxes = new ArrayList<>();
+        for (int i = (int) Math.floor(minX); i < Math.ceil(maxX); ++i) {
+            for (int k = (int) Math.floor(minZ); k < Math.ceil(maxZ); ++k) {
+                int columnHeight = terrain.applyAsInt(i, k);
+                for (int j = (int) Math.floor(minY); j < Math.ceil(maxY) && j < columnHeight; ++j) {
+                    //Blocks are full cubes, so any block in the box's range is a collision as long as the box isn't just touching it.
+                    if (maxX > i && minX < i + 1 && maxY > j && minY < j + 1 && maxZ > k && minZ < k + 1) {
+                        Point3D blockPosition = new Point3D(i, j, k);
+                        box.collidingBlockPositions.add(blockPosition);
+                        collidingBoxes.add(new BoundingBox(blockPosition.copy().add(0.5, 0.5, 0.5), 0.5));
+                    }
+                }
+            }
+        }
+
+        //If we are in the depth bounds for this collision, set it as the collision depth.
+        box.currentCollisionDepth.set(0D, 0D, 0D);
+        double boxCollisionDepth;
+        for (BoundingBox colBox : collidingBoxes) {
+            if (collisionMotion.x > 0) {
+                boxCollisionDepth = maxX - (colBox.globalCenter.x - 0.5);
+                if (box.currentCollisionDepth.x < boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            } else if (collisionMotion.x < 0) {
+                boxCollisionDepth = -((colBox.globalCenter.x + 0.5) - minX);
+                if (box.currentCollisionDepth.x > boxCollisionDepth) {
+                    box.currentCollisionDepth.x = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.y > 0) {
+                boxCollisionDepth = maxY - (colBox.globalCenter.y - 0.5);
+                if (box.currentCollisionDepth.y < boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            } else if (collisionMotion.y < 0) {
+                boxCollisionDepth = -((colBox.globalCenter.y + 0.5) - minY);
+                if (box.currentCollisionDepth.y > boxCollisionDepth) {
+                    box.currentCollisionDepth.y = boxCollisionDepth;
+                }
+            }
+            if (collisionMotion.z > 0) {
+                boxCollisionDepth = maxZ - (colBox.globalCenter.z - 0.5);
+                if (box.currentCollisionDepth.z < boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            } else if (collisionMotion.z < 0) {
+                boxCollisionDepth = -((colBox.globalCenter.z + 0.5) - minZ);
+                if (box.currentCollisionDepth.z > boxCollisionDepth) {
+                    box.currentCollisionDepth.z = boxCollisionDepth;
+                }
+            }
+        }
+
+        if (ignoreIfGreater) {
+            if (collisionMotion.x > 0 && box.currentCollisionDepth.x > collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            } else if (collisionMotion.x < 0 && box.currentCollisionDepth.x < collisionMotion.x) {
+                box.currentCollisionDepth.x = collisionMotion.x;
+            }
+            if (collisionMotion.y > 0 && box.currentCollisionDepth.y > collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            } else if (collisionMotion.y < 0 && box.currentCollisionDepth.y < collisionMotion.y) {
+                box.currentCollisionDepth.y = collisionMotion.y;
+            }
+            if (collisionMotion.z > 0 && box.currentCollisionDepth.z > collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            } else if (collisionMotion.z < 0 && box.currentCollisionDepth.z < collisionMotion.z) {
+                box.currentCollisionDepth.z = collisionMotion.z;
+            }
+        }
+
+        if (box.currentCollisionDepth.isZero()) {
+            box.collidingBlockPositions.clear();
+        }
+    }
+
+    @Override
+    public boolean checkForCollisions(BoundingBox box, Point3D offset, boolean clearCache) {
+        double minX = box.globalCenter.x - box.widthRadius + offset.x;
+        double maxX = box.globalCenter.x + box.widthRadius + offset.x;
+        double minY = box.globalCenter.y - box.heightRadius + offset.y;
+        double maxY = box.globalCenter.y + box.heightRadius + offset.y;
+        double minZ = box.globalCenter.z - box.depthRadius + offset.z;
+        double maxZ = box.globalCenter.z + box.depthRadius + offset.z;
+        for (int i = (int) Math.floor(minX); i < Math.ceil(maxX); ++i) {
+            for (int k = (int) Math.floor(minZ); k < Math.ceil(maxZ); ++k) {
+                int columnHeight = terrain.applyAsInt(i, k);
+                int j = (int) Math.floor(minY);
+                if (j < columnHeight && j < Math.ceil(maxY) && maxX > i && minX < i + 1 && maxZ > k && minZ < k + 1 && maxY > j && minY < j + 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getRedstonePower(Point3D position) {
+        return 0;
+    }
+
+    @Override
+    public float getRainStrength(Point3D position) {
+        return 0;
+    }
+
+    @Override
+    public float getTemperature(Point3D position) {
+        return 0.8F;
+    }
+
+    @Override
+    public <TileEntityType extends ATileEntityBase<JSONDefinition>, JSONDefinition extends AJSONMultiModelProvider> boolean setBlock(ABlockBase block, Point3D position, IWrapperPlayer playerWrapper, Axis axis) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <TileEntityType extends ATileEntityBase<?>> TileEntityType getTileEntity(Point3D position) {
+        return (TileEntityType) tileEntities.get(getBlockKey(position));
+    }
+
+    @Override
+    public void markTileEntityChanged(Point3D position) {
+        //Nothing to save in headless mode.
+    }
+
+    @Override
+    public float getLightBrightness(Point3D position, boolean calculateBlock) {
+        return 1.0F;
+    }
+
+    @Override
+    public void updateLightBrightness(Point3D position) {
+        //No lighting in headless mode.
+    }
+
+    @Override
+    public void destroyBlock(Point3D position, boolean spawnDrops) {
+        //Terrain is fixed in headless mode.
+    }
+
+    @Override
+    public boolean isAir(Point3D position) {
+        return !isSolid(position);
+    }
+
+    @Override
+    public boolean isFire(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public void setToFire(BlockHitResult hitResult) {
+        //No fire in headless mode.
+    }
+
+    @Override
+    public void extinguish(BlockHitResult hitResult) {
+        //No fire in headless mode.
+    }
+
+    @Override
+    public boolean placeBlock(Point3D position, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public boolean fertilizeBlock(Point3D position, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public List<IWrapperItemStack> harvestBlock(Point3D position) {
+        return null;
+    }
+
+    @Override
+    public boolean plantBlock(Point3D position, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public boolean plowBlock(Point3D position) {
+        return false;
+    }
+
+    @Override
+    public void removeSnow(Point3D position) {
+        //No snow in headless mode.
+    }
+
+    @Override
+    public boolean insertStack(Point3D position, Axis axis, IWrapperItemStack stack) {
+        return false;
+    }
+
+    @Override
+    public IWrapperItemStack extractStack(Point3D position, Axis axis) {
+        return null;
+    }
+
+    @Override
+    public void spawnItemStack(IWrapperItemStack stack, Point3D point) {
+        //Items just vanish in headless mode.
+    }
+
+    @Override
+    public void spawnExplosion(Point3D location, double strength, boolean flames) {
+        //Explosions do nothing to fixed terrain.
+    }
+}
@@ -0,0 +1,62 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+
+/**
+ * Benchmarks for {@link AnimationSwitchbox}.  Runs all animated object switchboxes on a
+ * running vehicle and its parts, which is what the renderer does each frame.  The switchboxes
+ * are forced to re-run each call, as otherwise they would just return their cached value.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnimationSwitchboxBenchmark {
+    private final List<AnimationSwitchbox> switchboxes = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        HeadlessSimulation simulation = new HeadlessSimulation();
+        EntityVehicleF_Physics vehicle = simulation.spawnVehicle(new Point3D(0, 65, 0), 0);
+        simulation.tick(20);
+        simulation.startEngines(vehicle, 0.5);
+        vehicle.setVariable("door_left", 1);
+        simulation.tick(5);
+        switchboxes.addAll(vehicle.animatedObjectSwitchboxes.values());
+        for (APart part : vehicle.allParts) {
+            switchboxes.addAll(part.animatedObjectSwitchboxes.values());
+        }
+    }
+
+    @Benchmark
+    public int runSwitchboxes() {
+        int enabled = 0;
+        for (AnimationSwitchbox switchbox : switchboxes) {
+            if (switchbox.runSwitchbox(0.5F, true)) {
+                ++enabled;
+            }
+        }
+        return enabled;
+    }
+}
@@ -0,0 +1,109 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for what a vehicle does when it looks for a road lane to follow.  The road is a junction
+ * with 8 lanes, each of which goes straight, left and right with long curves.  Contact points are
+ * placed near random points on random curves.  The scan lookup steps along every curve of every lane
+ * one block at a time like vehicles used to, while the index lookup uses the bounds tree in
+ * {@link BezierCurve}.  Both stop at the first curve the point is on.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BezierCurveBenchmark {
+    private static final int LANES = 8;
+    private static final double LANE_WIDTH = 3;
+    private static final double CURVE_LENGTH = 96;
+    private static final int CONTACT_POINTS = 256;
+
+    @Param({"scan", "index"})
+    public String lookup;
+
+    private final List<List<BezierCurve>> lanes = new ArrayList<>();
+    private final List<Point3D> contactPoints = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        RotationMatrix north = new RotationMatrix().setToAngles(new Point3D(0, 0, 0));
+        RotationMatrix east = new RotationMatrix().setToAngles(new Point3D(0, 90, 0));
+        RotationMatrix west = new RotationMatrix().setToAngles(new Point3D(0, 270, 0));
+        for (int i = 0; i < LANES; ++i) {
+            double laneX = (i - (LANES - 1) / 2D) * LANE_WIDTH;
+            Point3D start = new Point3D(laneX, 64, 0);
+            List<BezierCurve> curves = new ArrayList<>();
+            curves.add(new BezierCurve(start, new Point3D(laneX, 64, CURVE_LENGTH), north, north));
+            curves.add(new BezierCurve(start, new Point3D(laneX - CURVE_LENGTH / 2, 64, CURVE_LENGTH / 2 + laneX), north, east));
+            curves.add(new BezierCurve(start, new Point3D(laneX + CURVE_LENGTH / 2, 64, CURVE_LENGTH / 2 - laneX), north, west));
+            lanes.add(curves);
+        }
+
+        //Put the contact points near the curves, but not right on the cached points.
+        Random random = new Random(1234);
+        for (int i = 0; i < CONTACT_POINTS; ++i) {
+            BezierCurve curve = lanes.get(random.nextInt(LANES)).get(random.nextInt(3));
+            Point3D contactPoint = new Point3D();
+            curve.setPointToPositionAt(contactPoint, random.nextFloat() * curve.pathLength);
+            contactPoint.add(random.nextDouble() - 0.5, random.nextDouble() * 0.5, random.nextDouble() - 0.5);
+            contactPoints.add(contactPoint);
+        }
+    }
+
+    @Benchmark
+    public double findLanes() {
+        double segmentTotal = 0;
+        boolean useIndex = lookup.equals("index");
+        for (Point3D contactPoint : contactPoints) {
+            segmentTotal += useIndex ? findWithIndex(contactPoint) : findWithScan(contactPoint);
+        }
+        return segmentTotal;
+    }
+
+    private float findWithIndex(Point3D contactPoint) {
+        for (List<BezierCurve> curves : lanes) {
+            for (BezierCurve curve : curves) {
+                float closestSegment = curve.getClosestSegmentPoint(contactPoint, 1);
+                if (closestSegment != -1) {
+                    return closestSegment;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private float findWithScan(Point3D contactPoint) {
+        Point3D testPoint = new Point3D();
+        for (List<BezierCurve> curves : lanes) {
+            for (BezierCurve curve : curves) {
+                for (float f = 0; f < curve.pathLength; ++f) {
+                    curve.setPointToPositionAt(testPoint, f);
+                    if (testPoint.isDistanceToCloserThan(contactPoint, 1)) {
+                        return f;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+}
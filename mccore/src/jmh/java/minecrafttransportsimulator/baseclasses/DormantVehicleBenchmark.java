@@ -0,0 +1,160 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import minecrafttransportsimulator.baseclasses.DormantVehicleStore.DormantVehicle;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Benchmarks for loading a big parked fleet, like a server does when a player flies over one.  The fleet is
+ * saved once, then loaded vehicle by vehicle as if their chunks were loading, with {@link DormantVehicleStore}
+ * either disabled or enabled.  {@link #loadFleet()} loads the whole fleet at once and ticks, which is the stall
+ * a server sees when a player's view distance reaches the fleet.  {@link #flyOver()} flies a player over the fleet,
+ * loading and unloading vehicles as they come in and out of view, which is the total work done.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DormantVehicleBenchmark {
+    private static final int VEHICLES = 400;
+    private static final int PARKING_SPACING = 8;
+    /**View distance of the flying player, in blocks.  Vehicles load when they come within this distance.**/
+    private static final int VIEW_DISTANCE = 160;
+    /**Extra distance past the view distance vehicles unload at, same as MC keeps chunks loaded a bit past view.**/
+    private static final int UNLOAD_MARGIN = 32;
+    private static final double FLYING_HEIGHT = 100;
+    private static final double FLYING_SPEED = 4;
+
+    @Param({"false", "true"})
+    public boolean dormant;
+
+    private HeadlessSimulation simulation;
+    private final List<FleetVehicle> fleet = new ArrayList<>();
+    private int fleetSize;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        simulation = new HeadlessSimulation();
+        int rowSize = (int) Math.ceil(Math.sqrt(VEHICLES));
+        fleetSize = rowSize * PARKING_SPACING;
+        List<EntityVehicleF_Physics> vehicles = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; ++i) {
+            vehicles.add(simulation.spawnVehicle(new Point3D((i % rowSize) * PARKING_SPACING, 65, (i / rowSize) * PARKING_SPACING), 0));
+        }
+        simulation.tick(100);
+        for (EntityVehicleF_Physics vehicle : vehicles) {
+            fleet.add(new FleetVehicle(vehicle.save(InterfaceManager.coreInterface.getNewNBTWrapper())));
+            vehicle.remove();
+        }
+        simulation.player.setPosition(new Point3D(-VIEW_DISTANCE * 4, FLYING_HEIGHT, fleetSize / 2D), false);
+        ConfigSystem.settings.general.dormantVehicleDistance.value = dormant ? 128 : 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigSystem.settings.general.dormantVehicleDistance.value = 128;
+    }
+
+    @TearDown(Level.Invocation)
+    public void unloadFleet() {
+        for (FleetVehicle vehicle : fleet) {
+            vehicle.unload();
+        }
+        simulation.tick(1);
+    }
+
+    @Benchmark
+    public int loadFleet() {
+        for (FleetVehicle vehicle : fleet) {
+            vehicle.load();
+        }
+        simulation.tick(1);
+        return simulation.world.getEntitiesOfType(EntityVehicleF_Physics.class).size();
+    }
+
+    @Benchmark
+    public int flyOver() {
+        Point3D playerPosition = new Point3D(-VIEW_DISTANCE - UNLOAD_MARGIN, FLYING_HEIGHT, fleetSize / 2D);
+        int vehiclesMade = 0;
+        while (playerPosition.x < fleetSize + VIEW_DISTANCE + UNLOAD_MARGIN) {
+            playerPosition.x += FLYING_SPEED;
+            simulation.player.setPosition(playerPosition, false);
+            for (FleetVehicle vehicle : fleet) {
+                double distance = vehicle.position.distanceTo(playerPosition);
+                if (distance < VIEW_DISTANCE) {
+                    vehicle.load();
+                } else if (distance > VIEW_DISTANCE + UNLOAD_MARGIN) {
+                    vehicle.unload();
+                }
+            }
+            simulation.tick(1);
+            vehiclesMade += simulation.world.dormantVehicles.getVehiclesPromotedLastTick();
+        }
+        simulation.player.setPosition(new Point3D(-VIEW_DISTANCE * 4, FLYING_HEIGHT, fleetSize / 2D), false);
+        return vehiclesMade;
+    }
+
+    /**
+     * A vehicle in the fleet, which may be unloaded, dormant, or made.
+     */
+    private class FleetVehicle {
+        private final IWrapperNBT data;
+        private final Point3D position;
+        private boolean loaded;
+        private DormantVehicle dormantVehicle;
+        private EntityVehicleF_Physics vehicle;
+
+        private FleetVehicle(IWrapperNBT data) {
+            this.data = data;
+            this.position = data.getPoint3d("position");
+        }
+
+        private void load() {
+            if (!loaded) {
+                loaded = true;
+                simulation.loadVehicle(data, madeVehicle -> vehicle = madeVehicle);
+                if (vehicle == null) {
+                    dormantVehicle = simulation.world.dormantVehicles.get(data.getUUID("uniqueUUID"));
+                }
+            }
+        }
+
+        private void unload() {
+            if (loaded) {
+                loaded = false;
+                if (vehicle != null) {
+                    vehicle.remove();
+                    vehicle = null;
+                } else if (dormantVehicle != null) {
+                    simulation.world.dormantVehicles.remove(dormantVehicle);
+                }
+                dormantVehicle = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mcinterfaceheadless.HeadlessSimulation;
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.BuilderHandshakeManager;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Benchmarks for a player joining a world with lots of loaded vehicles.  Each vehicle's builder asks the
+ * server for its data, and the server finds the builder and sends its data back.  The single mode does this
+ * like the handshake used to: one request packet per builder, a search of the entity list for each request,
+ * and one response packet per builder.  The batched mode goes through a {@link BuilderHandshakeManager} like
+ * the MC interfaces do now: requests are queued and sent per-chunk, builders are found by UUID, and responses
+ * are queued and sent per-chunk.  The vehicles stand in for their builders here, as there are no MC entities.
+ * <br><br>
+ * All packets are written to a buffer and read back like the network would, and the trial fails if
+ * the client doesn't get data back for every vehicle.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityHandshakeBenchmark {
+    private static final int PARKING_SPACING = 8;
+
+    @Param({"1000"})
+    public int vehicleCount;
+
+    @Param({"single", "batched"})
+    public String handshake;
+
+    private HeadlessSimulation simulation;
+    private final List<EntityVehicleF_Physics> vehicles = new ArrayList<>();
+    private final BuilderHandshakeManager<EntityVehicleF_Physics> handshakes = new BuilderHandshakeManager<>();
+    private final ByteBuf buffer = Unpooled.buffer();
+    private int packetsSent;
+    private int buildersLoaded;
+
+    @Setup
+    public void setup() {
+        simulation = new HeadlessSimulation();
+        int rowSize = (int) Math.ceil(Math.sqrt(vehicleCount));
+        for (int i = 0; i < vehicleCount; ++i) {
+            EntityVehicleF_Physics vehicle = simulation.spawnVehicle(new Point3D((i % rowSize) * PARKING_SPACING, 65, (i / rowSize) * PARKING_SPACING), 0);
+            handshakes.addBuilder(vehicle.uniqueUUID, vehicle);
+            vehicles.add(vehicle);
+        }
+        simulation.tick(1);
+
+        playerJoin();
+        if (buildersLoaded != vehicleCount) {
+            throw new IllegalStateException("Only " + buildersLoaded + " of " + vehicleCount + " builders got their data from the server.");
+        }
+    }
+
+    @Benchmark
+    public int playerJoin() {
+        packetsSent = 0;
+        buildersLoaded = 0;
+        if (handshake.equals("batched")) {
+            //Client side: builders queue their requests as they are created, and they are sent at the end of the tick.
+            for (EntityVehicleF_Physics vehicle : vehicles) {
+                handshakes.queueRequest(vehicle.uniqueUUID.toString(), (int) Math.floor(vehicle.position.x) >> 4, (int) Math.floor(vehicle.position.z) >> 4);
+            }
+            handshakes.sendRequests(this::handleBatchedRequest);
+
+            //Server side: responses not already sent as full packets are sent at the end of the world tick.
+            handshakes.sendResponses((player, batch) -> sendResponse(batch.builderIDs, batch.builderData));
+        } else {
+            for (EntityVehicleF_Physics vehicle : vehicles) {
+                List<String> builderIDs = new ArrayList<>();
+                builderIDs.add(vehicle.uniqueUUID.toString());
+                buffer.clear();
+                writeRequest(builderIDs);
+                for (String builderID : readRequest()) {
+                    AEntityA_Base builder = scanForBuilder(builderID);
+                    if (builder != null) {
+                        List<IWrapperNBT> builderData = new ArrayList<>();
+                        builderData.add(builder.save(InterfaceManager.coreInterface.getNewNBTWrapper()));
+                        sendResponse(builderIDs, builderData);
+                    }
+                }
+            }
+        }
+        return packetsSent;
+    }
+
+    private void handleBatchedRequest(List<String> builderIDs) {
+        buffer.clear();
+        writeRequest(builderIDs);
+        for (String builderID : readRequest()) {
+            EntityVehicleF_Physics builder = handshakes.getBuilder(UUID.fromString(builderID));
+            if (builder != null) {
+                IWrapperNBT data = builder.save(InterfaceManager.coreInterface.getNewNBTWrapper());
+                BuilderHandshakeManager.ResponseBatch fullBatch = handshakes.queueResponse(simulation.player, builderID, data, (int) Math.floor(builder.position.x) >> 4, (int) Math.floor(builder.position.z) >> 4);
+                if (fullBatch != null) {
+                    sendResponse(fullBatch.builderIDs, fullBatch.builderData);
+                }
+            }
+        }
+    }
+
+    private AEntityA_Base scanForBuilder(String builderID) {
+        for (AEntityA_Base entity : simulation.world.allEntities) {
+            if (entity.uniqueUUID.toString().equals(builderID)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+
+    private void writeRequest(List<String> builderIDs) {
+        buffer.writeInt(builderIDs.size());
+        for (String builderID : builderIDs) {
+            writeString(builderID);
+        }
+        ++packetsSent;
+    }
+
+    private List<String> readRequest() {
+        int builderCount = buffer.readInt();
+        List<String> builderIDs = new ArrayList<>(builderCount);
+        for (int i = 0; i < builderCount; ++i) {
+            builderIDs.add(readString());
+        }
+        return builderIDs;
+    }
+
+    private void sendResponse(List<String> builderIDs, List<IWrapperNBT> builderData) {
+        buffer.clear();
+        buffer.writeInt(builderIDs.size());
+        for (int i = 0; i < builderIDs.size(); ++i) {
+            writeString(builderIDs.get(i));
+            InterfaceManager.packetInterface.writeDataToBuffer(builderData.get(i), buffer);
+        }
+        ++packetsSent;
+
+        //Client side: load the data into the builders.
+        int builderCount = buffer.readInt();
+        for (int i = 0; i < builderCount; ++i) {
+            readString();
+            if (InterfaceManager.packetInterface.readDataFromBuffer(buffer) != null) {
+                ++buildersLoaded;
+            }
+        }
+    }
+
+    private void writeString(String string) {
+        byte[] stringAsBytes = string.getBytes(StandardCharsets.UTF_8);
+        buffer.writeShort(stringAsBytes.length);
+        buffer.writeBytes(stringAsBytes);
+    }
+
+    private String readString() {
+        short stringLength = buffer.readShort();
+        String string = buffer.toString(buffer.readerIndex(), stringLength, StandardCharsets.UTF_8);
+        buffer.readerIndex(buffer.readerIndex() + stringLength);
+        return string;
+    }
+}
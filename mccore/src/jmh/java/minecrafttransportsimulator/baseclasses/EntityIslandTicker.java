@@ -0,0 +1,247 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntitySignalController;
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+import minecrafttransportsimulator.entities.components.AEntityG_Towable;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.entities.instances.PartEffector;
+import minecrafttransportsimulator.entities.instances.PartGun;
+
+/**
+ * Experimental ticker that ticks vehicles in groups, or islands, on a pool of worker threads.  This is only used
+ * by the headless world for benchmarks, see {@link mcinterfaceheadless.WrapperWorld#parallelVehicleTicking}, as
+ * MC worlds keep shared collision scratch state, and 1.16.5 chunk lookups block on the main thread.
+ * <br><br>
+ * Vehicles are put in the same island if they are connected via {@link TowingConnection}s, or if their
+ * encompassing boxes overlap, as these are the only cases where one vehicle's update can change another
+ * vehicle's state.  Islands share no state, so they can be ticked at the same time.  Nothing in the main
+ * code knows about this: changes vehicles make to the world from worker threads go right to the headless world,
+ * which has fixed terrain, drops items and explosions, and counts packets and damage in thread-safe ways.
+ * <br><br>
+ * Islands with vehicles that have guns, effectors, linked parts, or connection groups are ticked on the main thread.
+ * Guns spawn bullets and look at other vehicles for targets, effectors need the result of their block changes right away,
+ * the linked part variable check uses a static guard, and connection requests change the vehicle being connected to.
+ * Worlds with signal controllers are ticked on the main thread entirely, as their trigger volumes get events
+ * from vehicle updates.
+ *
+ * @author don_bruce
+ */
+public class EntityIslandTicker {
+    /**Extra space added around encompassing boxes when checking for overlaps.  Accounts for vehicles moving into each other this tick.**/
+    private static final double ISLAND_MARGIN = 2.0D;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService workerPool = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), runnable -> {
+        Thread thread = new Thread(runnable, "MTS Vehicle Island Ticker #" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final EntityManager manager;
+    private final List<EntityVehicleF_Physics> vehicles = new ArrayList<>();
+    private final Map<EntityVehicleF_Physics, Integer> vehicleIndexes = new IdentityHashMap<>();
+    private final List<List<EntityVehicleF_Physics>> parallelIslands = new ArrayList<>();
+    private final List<List<EntityVehicleF_Physics>> mainThreadIslands = new ArrayList<>();
+    private int[] islandParents = new int[0];
+
+    public EntityIslandTicker(EntityManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Ticks all entities in the manager.  Vehicles get ticked in islands, everything else gets ticked first like normal.
+     */
+    public void tickEntities() {
+        boolean canTickIslands = manager.getEntitiesOfType(TileEntitySignalController.class).isEmpty();
+        for (AEntityA_Base entity : manager.allEntities) {
+            if (entity.shouldAutomaticallyUpdate() && (!canTickIslands || !(entity instanceof EntityVehicleF_Physics))) {
+                tickEntity(entity, true);
+            }
+        }
+        if (canTickIslands) {
+            tickIslands(manager.getEntitiesOfType(EntityVehicleF_Physics.class));
+        }
+    }
+
+    /**
+     * Ticks the passed-in entity like {@link EntityManager#tickEntities()} does.  Profiling is only done on
+     * the main thread, as the profiler isn't thread-safe.
+     */
+    private void tickEntity(AEntityA_Base entity, boolean profile) {
+        if (!(entity instanceof AEntityG_Towable) || !(((AEntityG_Towable<?>) entity).blockMainUpdateCall())) {
+            if (!entity.shouldUpdateThisTick()) {
+                return;
+            }
+            if (profile) {
+                entity.world.beginProfiling(EntityProfiler.getSectionName(entity), true);
+            }
+            long startTime = EntityProfiler.start();
+            entity.update();
+            if (entity instanceof AEntityD_Definable) {
+                ((AEntityD_Definable<?>) entity).doPostUpdateLogic();
+            }
+            manager.profiler.end(entity, EntityProfiler.Phase.TICK, startTime);
+            if (profile) {
+                entity.world.endProfiling();
+            }
+        }
+    }
+
+    /**
+     * Splits the passed-in vehicles into islands and ticks them.  Returns once all vehicles have been ticked.
+     */
+    private void tickIslands(Collection<EntityVehicleF_Physics> allVehicles) {
+        vehicles.clear();
+        vehicles.addAll(allVehicles);
+        if (vehicles.isEmpty()) {
+            return;
+        }
+
+        //Sort vehicles by their min X bound, then sweep along X to find overlaps.
+        //Any two vehicles that overlap, or are towing one another, are joined into the same island.
+        vehicles.sort((vehicle1, vehicle2) -> Double.compare(getMinX(vehicle1), getMinX(vehicle2)));
+        int vehicleCount = vehicles.size();
+        if (islandParents.length < vehicleCount) {
+            islandParents = new int[vehicleCount];
+        }
+        vehicleIndexes.clear();
+        for (int i = 0; i < vehicleCount; ++i) {
+            islandParents[i] = i;
+            vehicleIndexes.put(vehicles.get(i), i);
+        }
+        for (int i = 0; i < vehicleCount; ++i) {
+            BoundingBox box1 = vehicles.get(i).encompassingBox;
+            double maxX = box1.globalCenter.x + box1.widthRadius + ISLAND_MARGIN;
+            for (int j = i + 1; j < vehicleCount && getMinX(vehicles.get(j)) <= maxX; ++j) {
+                BoundingBox box2 = vehicles.get(j).encompassingBox;
+                if (Math.abs(box1.globalCenter.y - box2.globalCenter.y) <= box1.heightRadius + box2.heightRadius + 2 * ISLAND_MARGIN && Math.abs(box1.globalCenter.z - box2.globalCenter.z) <= box1.depthRadius + box2.depthRadius + 2 * ISLAND_MARGIN) {
+                    joinIslands(i, j);
+                }
+            }
+            for (TowingConnection connection : vehicles.get(i).towingConnections) {
+                Integer towedIndex = vehicleIndexes.get(connection.towedVehicle);
+                if (towedIndex != null) {
+                    joinIslands(i, towedIndex);
+                }
+            }
+        }
+
+        //Collect the islands.  Islands are kept in sorted order so ticking order is the same every tick.
+        List<List<EntityVehicleF_Physics>> islands = new ArrayList<>();
+        int[] islandIndexes = new int[vehicleCount];
+        for (int i = 0; i < vehicleCount; ++i) {
+            int root = getIsland(i);
+            if (root == i) {
+                islandIndexes[i] = islands.size();
+                islands.add(new ArrayList<>());
+            }
+            islands.get(islandIndexes[root]).add(vehicles.get(i));
+        }
+
+        parallelIslands.clear();
+        mainThreadIslands.clear();
+        for (List<EntityVehicleF_Physics> island : islands) {
+            if (canTickInParallel(island)) {
+                parallelIslands.add(island);
+            } else {
+                mainThreadIslands.add(island);
+            }
+        }
+
+        //No point in using threads for just one island.
+        if (parallelIslands.size() > 1) {
+            List<Callable<Void>> islandTasks = new ArrayList<>(parallelIslands.size());
+            for (List<EntityVehicleF_Physics> island : parallelIslands) {
+                islandTasks.add(() -> {
+                    for (EntityVehicleF_Physics vehicle : island) {
+                        tickEntity(vehicle, false);
+                    }
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> result : workerPool.invokeAll(islandTasks)) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                } else {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } else {
+            mainThreadIslands.addAll(parallelIslands);
+        }
+        for (List<EntityVehicleF_Physics> island : mainThreadIslands) {
+            for (EntityVehicleF_Physics vehicle : island) {
+                tickEntity(vehicle, true);
+            }
+        }
+    }
+
+    private static double getMinX(EntityVehicleF_Physics vehicle) {
+        return vehicle.encompassingBox.globalCenter.x - vehicle.encompassingBox.widthRadius - ISLAND_MARGIN;
+    }
+
+    private int getIsland(int index) {
+        while (islandParents[index] != index) {
+            islandParents[index] = islandParents[islandParents[index]];
+            index = islandParents[index];
+        }
+        return index;
+    }
+
+    private void joinIslands(int index1, int index2) {
+        int root1 = getIsland(index1);
+        int root2 = getIsland(index2);
+        if (root1 != root2) {
+            //Keep the lower index as the root so islands keep their sorted order.
+            if (root1 < root2) {
+                islandParents[root2] = root1;
+            } else {
+                islandParents[root1] = root2;
+            }
+        }
+    }
+
+    /**
+     * Returns true if the island can be ticked on a worker thread.  This is false if any vehicle in it
+     * has a gun, effector, linked part, or connection group, as those need to be ticked on the main thread.
+     */
+    private static boolean canTickInParallel(List<EntityVehicleF_Physics> island) {
+        for (EntityVehicleF_Physics vehicle : island) {
+            if (hasConnectionGroups(vehicle)) {
+                return false;
+            }
+            for (APart part : vehicle.allParts) {
+                if (part instanceof PartGun || part instanceof PartEffector || !part.linkedParts.isEmpty() || hasConnectionGroups(part)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasConnectionGroups(AEntityE_Interactable<?> entity) {
+        return entity.definition.connectionGroups != null && !entity.definition.connectionGroups.isEmpty();
+    }
+}
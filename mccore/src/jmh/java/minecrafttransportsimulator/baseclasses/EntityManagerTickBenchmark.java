@@ -0,0 +1,69 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import mcinterfaceheadless.WrapperWorld;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+
+/**
+ * Benchmarks for {@link EntityManager#tickAll()} with lots of running vehicles.  Vehicles are
+ * spread out on a grid so they don't touch, which is the best case for parallel island ticking.
+ * Run with both settings of the parallel flag to compare against the normal sequential ticking.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityManagerTickBenchmark {
+    private static final int GRID_SPACING = 16;
+
+    @Param({"300"})
+    public int vehicleCount;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private HeadlessSimulation simulation;
+
+    @Setup
+    public void setup() {
+        simulation = new HeadlessSimulation();
+        int gridSize = (int) Math.ceil(Math.sqrt(vehicleCount));
+        for (int i = 0; i < vehicleCount; ++i) {
+            EntityVehicleF_Physics vehicle = simulation.spawnVehicle(new Point3D((i % gridSize) * GRID_SPACING, 65, (i / gridSize) * GRID_SPACING), 0);
+            simulation.tick(1);
+            simulation.startEngines(vehicle, 0.25);
+        }
+        simulation.tick(20);
+        WrapperWorld.parallelVehicleTicking = parallel;
+    }
+
+    @TearDown
+    public void tearDown() {
+        WrapperWorld.parallelVehicleTicking = false;
+    }
+
+    @Benchmark
+    public long tickAll() {
+        simulation.tick(1);
+        return simulation.world.getTime();
+    }
+}
@@ -0,0 +1,111 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import mcinterfaceheadless.WrapperWorld;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+
+/**
+ * Benchmarks for a base defended by automated guns.  50 turrets are placed together in the middle of
+ * the world, each looking in a different direction, with 200 vehicles around them in range.  The terrain
+ * has low walls on it, so some vehicles are hidden from some turrets.  Each invocation is one tick of every
+ * turret looking for a target.  The scan lookup raytraces to every vehicle and then checks its distance and
+ * angle like guns used to, while the staged lookup uses {@link GunTargetFinder}.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GunTargetFinderBenchmark {
+    private static final int TURRETS = 50;
+    private static final int VEHICLES = 200;
+    private static final double LOCK_RANGE = 150;
+    private static final double CONE_ANGLE = 30;
+
+    @Param({"scan", "staged"})
+    public String lookup;
+
+    private WrapperWorld world;
+    private final List<Point3D> turretPositions = new ArrayList<>();
+    private final List<Point3D> searchVectors = new ArrayList<>();
+    private final List<GunTargetFinder> targetFinders = new ArrayList<>();
+    private long tick;
+
+    @Setup
+    public void setup() {
+        //Walls 4 blocks high every 24 blocks, with the turrets on towers above them in the middle.
+        world = new WrapperWorld("turrets", (x, z) -> Math.floorMod(x, 24) == 12 || Math.floorMod(z, 24) == 12 ? 68 : 64);
+        HeadlessSimulation simulation = new HeadlessSimulation(world);
+        for (int i = 0; i < VEHICLES; ++i) {
+            double angle = Math.toRadians(i * 360D / VEHICLES);
+            double distance = 30 + (i * 37) % 100;
+            simulation.spawnVehicle(new Point3D(Math.cos(angle) * distance, 65, Math.sin(angle) * distance), 0);
+        }
+        for (int i = 0; i < TURRETS; ++i) {
+            turretPositions.add(new Point3D((i % 10) * 3 - 14, 72, (i / 10) * 3 - 7));
+            searchVectors.add(new Point3D(0, 0, LOCK_RANGE).rotate(new RotationMatrix().setToAngles(new Point3D(5, i * 360D / TURRETS, 0))));
+            targetFinders.add(new GunTargetFinder(world));
+        }
+    }
+
+    @Benchmark
+    public int findTargets() {
+        int targetsFound = 0;
+        boolean useStaged = lookup.equals("staged");
+        for (int i = 0; i < TURRETS; ++i) {
+            EntityVehicleF_Physics target;
+            if (useStaged) {
+                target = targetFinders.get(i).getVehicleTarget(turretPositions.get(i), searchVectors.get(i), CONE_ANGLE, vehicle -> true, tick);
+            } else {
+                target = findWithScan(turretPositions.get(i), searchVectors.get(i));
+            }
+            if (target != null) {
+                ++targetsFound;
+            }
+        }
+        ++tick;
+        return targetsFound;
+    }
+
+    private EntityVehicleF_Physics findWithScan(Point3D startPoint, Point3D searchVector) {
+        Point3D targetVector = new Point3D();
+        Point3D normalizedConeVector = searchVector.copy().normalize();
+        Point3D normalizedEntityVector = new Point3D();
+        EntityVehicleF_Physics vehicleTarget = null;
+        double smallestDistance = searchVector.length();
+        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            targetVector.set(vehicle.position).subtract(startPoint);
+            if (world.getBlockHit(startPoint, targetVector) == null) {
+                double entityDistance = vehicle.position.distanceTo(startPoint);
+                if (entityDistance < smallestDistance) {
+                    normalizedEntityVector.set(vehicle.position).subtract(startPoint).normalize();
+                    double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
+                    if (targetAngle < CONE_ANGLE) {
+                        smallestDistance = entityDistance;
+                        vehicleTarget = vehicle;
+                    }
+                }
+            }
+        }
+        return vehicleTarget;
+    }
+}
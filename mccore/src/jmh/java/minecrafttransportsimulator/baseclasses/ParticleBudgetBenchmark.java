@@ -0,0 +1,120 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import mcinterfaceheadless.InterfaceClient;
+import minecrafttransportsimulator.blocks.tileentities.instances.TileEntityDecor;
+import minecrafttransportsimulator.entities.instances.EntityParticle;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.jsondefs.JSONConfigClient;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Benchmarks for particles in a traffic jam.  600 emitters are lined up in lanes going away from the player,
+ * each with exhaust, tire smoke, and a horn flash that goes off now and then.  The exhaust also has a sub-particle.
+ * Each invocation is one client tick: all emitters spawn their particles like they do when rendered, and then the world
+ * ticks, which moves all live particles, spawns their sub-particles, and removes the ones that are done.
+ * The unbounded mode has no budget or LOD, like particles used to, while the budget mode uses the default config.
+ * <br><br>
+ * This also checks that the budget holds: if more particles are ever alive at once in the world than the budget allows,
+ * or if the budget's count of live particles doesn't match the world's, the benchmark fails.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParticleBudgetBenchmark {
+    private static final int LANES = 6;
+    private static final int EMITTERS_PER_LANE = 100;
+    private static final double EMITTER_SPACING = 6;
+    private static final double GROUND_HEIGHT = 65;
+
+    @Param({"unbounded", "budget"})
+    public String particles;
+
+    private HeadlessSimulation simulation;
+    private int maxParticles;
+    private final TileEntityDecor[] emitters = new TileEntityDecor[LANES * EMITTERS_PER_LANE];
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HeadlessSimulation.init();
+        if (ConfigSystem.client == null) {
+            ConfigSystem.client = new JSONConfigClient();
+        }
+        if (particles.equals("unbounded")) {
+            ConfigSystem.client.renderingSettings.maxParticles.value = 0;
+            ConfigSystem.client.renderingSettings.particleLODDistance.value = 0D;
+        } else {
+            ConfigSystem.client.renderingSettings.maxParticles.value = 4000;
+            ConfigSystem.client.renderingSettings.particleLODDistance.value = 48D;
+        }
+        maxParticles = ConfigSystem.client.renderingSettings.maxParticles.value;
+        simulation = new HeadlessSimulation();
+        simulation.player.setPosition(new Point3D(0, GROUND_HEIGHT, 0), true);
+        InterfaceManager.clientInterface = new InterfaceClient(simulation.player);
+
+        //Player stands at the front of the middle lanes.
+        AItemPack<?> item = PackParser.getItem(HeadlessSimulation.BENCHMARK_PACK_ID, "benchemitter", "");
+        for (int i = 0; i < emitters.length; ++i) {
+            double laneOffset = (i % LANES - LANES / 2D) * 4;
+            double depth = 4 + (i / LANES) * EMITTER_SPACING;
+            IWrapperNBT data = InterfaceManager.coreInterface.getNewNBTWrapper();
+            item.populateDefaultData(data);
+            emitters[i] = new TileEntityDecor(simulation.world, new Point3D(laneOffset, GROUND_HEIGHT, depth), null, data);
+            emitters[i].setVariable("exhaust", 1);
+            simulation.world.addTileEntity(emitters[i]);
+        }
+        simulation.tick(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        InterfaceManager.clientInterface = null;
+    }
+
+    @Benchmark
+    public int tickParticles() {
+        for (int i = 0; i < emitters.length; ++i) {
+            TileEntityDecor emitter = emitters[i];
+            emitter.setVariable("tire_smoke", (tick + i) % 2 == 0 ? 1 : 0);
+            emitter.setVariable("horn_flash", (tick + i) % 200 == 0 ? 1 : 0);
+            emitter.spawnParticles(0);
+        }
+        simulation.tick(1);
+        ++tick;
+
+        ParticleBudget budget = simulation.world.particleBudget;
+        int liveParticles = simulation.world.getEntitiesOfType(EntityParticle.class).size();
+        if (liveParticles != budget.getLiveParticles()) {
+            throw new IllegalStateException("Particle budget counted " + budget.getLiveParticles() + " live particles, but the world has " + liveParticles + ".");
+        }
+        if (maxParticles > 0 && budget.getPeakParticles() > maxParticles) {
+            throw new IllegalStateException("Particle budget of " + maxParticles + " was exceeded with " + budget.getPeakParticles() + " particles alive at once.");
+        }
+        return liveParticles;
+    }
+}
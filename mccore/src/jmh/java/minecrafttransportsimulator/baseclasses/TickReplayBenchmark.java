@@ -0,0 +1,125 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import mcinterfaceheadless.TickReplay;
+import mcinterfaceheadless.WrapperWorld;
+import minecrafttransportsimulator.entities.instances.AEntityVehicleE_Powered;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
+import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
+
+/**
+ * Benchmarks for replaying a {@link TickRecording}.  Each invocation is a full {@link TickReplay} run: loading
+ * the recorded vehicles, then handling the recorded packets and ticking for every recorded tick.  The recording
+ * is read from the file set by the {@link #RECORDING_PROPERTY} system property, so recordings made on real servers
+ * with /{@link TickRecorder#COMMAND_NAME} can be benchmarked.  If that isn't set, one is made here by recording
+ * vehicles driving over rolling, stepped ground, with drivers steering and flicking lights on and off.
+ * <br><br>
+ * This also checks that replays are repeatable: if any replay doesn't end up exactly the same as the first one
+ * of the trial, the trial fails.  Drift from the recording itself is expected, see {@link TickReplay}.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickReplayBenchmark {
+    public static final String RECORDING_PROPERTY = "mts.recording";
+    private static final int VEHICLES = 48;
+    private static final int GRID_SPACING = 12;
+    private static final int RECORDED_TICKS = 200;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private TickReplay replay;
+    private List<IWrapperNBT> firstReplayEntities;
+    private final List<String> mismatches = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        HeadlessSimulation.init();
+        String recordingFile = System.getProperty(RECORDING_PROPERTY);
+        File file = recordingFile != null ? new File(recordingFile) : recordScenario();
+        replay = new TickReplay(TickRecording.read(new FileInputStream(file)));
+        WrapperWorld.parallelVehicleTicking = parallel;
+        firstReplayEntities = replay.run(false, TickReplay.DEFAULT_TOLERANCE).finalEntities;
+    }
+
+    private static File recordScenario() {
+        //Ground rolls up and down in one-block steps every 8 blocks.
+        HeadlessSimulation simulation = new HeadlessSimulation(new WrapperWorld("recorded", (x, z) -> 64 + Math.abs(Math.floorMod(Math.floorDiv(x, 8) + Math.floorDiv(z, 8), 6) - 3)));
+        int gridSize = (int) Math.ceil(Math.sqrt(VEHICLES));
+        List<EntityVehicleF_Physics> vehicles = new ArrayList<>();
+        for (int i = 0; i < VEHICLES; ++i) {
+            EntityVehicleF_Physics vehicle = simulation.spawnVehicle(new Point3D((i % gridSize) * GRID_SPACING, 70, (i / gridSize) * GRID_SPACING), 0);
+            simulation.tick(1);
+            simulation.startEngines(vehicle, 0.4);
+            vehicles.add(vehicle);
+        }
+        simulation.tick(20);
+
+        //Packets are handled the same way the server would when they come in from clients.
+        TickRecorder.handleCommand(new String[] { "start", String.valueOf(RECORDED_TICKS) });
+        for (int tick = 0; tick < RECORDED_TICKS; ++tick) {
+            for (int i = 0; i < vehicles.size(); ++i) {
+                EntityVehicleF_Physics vehicle = vehicles.get(i);
+                if ((tick + i) % 10 == 0) {
+                    new PacketEntityVariableSet(vehicle, EntityVehicleF_Physics.RUDDER_INPUT_VARIABLE, 20 * Math.sin((tick + i * 7) / 30D)).handle(simulation.world);
+                }
+                if ((tick + i) % 50 == 0) {
+                    new PacketEntityVariableToggle(vehicle, AEntityVehicleE_Powered.HEADLIGHT_VARIABLE).handle(simulation.world);
+                }
+            }
+            simulation.tick(1);
+        }
+        try {
+            TickRecorder.waitForWrite();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return TickRecorder.getLastRecordingFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        WrapperWorld.parallelVehicleTicking = false;
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Replays didn't match each other: " + mismatches);
+        }
+    }
+
+    @Benchmark
+    public long replay() {
+        TickReplay.Result result = replay.run(false, TickReplay.DEFAULT_TOLERANCE);
+        if (mismatches.isEmpty()) {
+            mismatches.addAll(TickReplay.checkEntities(firstReplayEntities, result.finalEntities, 0));
+        }
+        return result.getTotalTickNanos();
+    }
+}
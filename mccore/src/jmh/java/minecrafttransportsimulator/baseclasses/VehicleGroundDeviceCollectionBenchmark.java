@@ -0,0 +1,73 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import mcinterfaceheadless.WrapperWorld;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+
+/**
+ * Benchmarks for {@link VehicleGroundDeviceCollection}.  The vehicle is parked with its
+ * front wheels up on a one-block step, so the collision and correction code has actual
+ * work to do rather than taking the all-grounded fast path.  Orientation is reset before
+ * each correction so the vehicle doesn't rotate away from the step between invocations.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VehicleGroundDeviceCollectionBenchmark {
+    private EntityVehicleF_Physics vehicle;
+    private VehicleGroundDeviceCollection collection;
+    private final RotationMatrix startingOrientation = new RotationMatrix();
+    private final Point3D groundMotion = new Point3D();
+
+    @Setup
+    public void setup() {
+        HeadlessSimulation simulation = new HeadlessSimulation(new WrapperWorld("step", (x, z) -> z >= 1 ? 65 : 64));
+        vehicle = simulation.spawnVehicle(new Point3D(0.5, 66, 0), 0);
+        simulation.tick(40);
+        collection = vehicle.groundDeviceCollective;
+        startingOrientation.set(vehicle.orientation);
+    }
+
+    @Benchmark
+    public int updateCollisions() {
+        collection.updateBounds();
+        collection.updateCollisions();
+        return collection.groundedGroundDevices.size();
+    }
+
+    @Benchmark
+    public double getMaxCollisionDepth() {
+        return collection.getMaxCollisionDepth();
+    }
+
+    @Benchmark
+    public Point3D pitchAndRollCorrection() {
+        vehicle.orientation.set(startingOrientation);
+        groundMotion.set(0, -0.1, 0);
+        collection.updateBounds();
+        collection.updateCollisions();
+        collection.performPitchCorrection(groundMotion);
+        if (collection.canDoRollChecks()) {
+            collection.performRollCorrection(groundMotion);
+        }
+        return groundMotion;
+    }
+}
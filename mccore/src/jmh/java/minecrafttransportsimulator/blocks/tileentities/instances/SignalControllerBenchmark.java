@@ -0,0 +1,115 @@
+package minecrafttransportsimulator.blocks.tileentities.instances;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packloading.PackParser;
+
+/**
+ * Benchmarks for ticking signal controllers and the traffic signals they control.  Each controller has a pole with
+ * a signal on each side of its intersection.  Half the controllers are loaded after their poles, and half before,
+ * like when the poles are in a chunk that loads later.  Poles are always made with their own position objects, as
+ * they would be when loaded from the world, so setup fails if any signal isn't linked to its controller.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignalControllerBenchmark {
+    private static final int CONTROLLERS = 64;
+    private static final int CONTROLLER_SPACING = 32;
+    private static final int POLE_OFFSET = 6;
+
+    private HeadlessSimulation simulation;
+
+    @Setup
+    public void setup() {
+        HeadlessSimulation.init();
+        simulation = new HeadlessSimulation();
+        List<TileEntityPole_TrafficSignal> signals = new ArrayList<>();
+        List<TileEntitySignalController> lateControllers = new ArrayList<>();
+        List<TileEntityPole> latePoles = new ArrayList<>();
+        for (int i = 0; i < CONTROLLERS; ++i) {
+            Point3D controllerPosition = new Point3D(i * CONTROLLER_SPACING, 64, 0);
+            List<Point3D> poleLocations = new ArrayList<>();
+            List<TileEntityPole> poles = new ArrayList<>();
+            for (Axis axis : Axis.values()) {
+                if (axis.xzPlanar) {
+                    TileEntityPole pole = createPole(controllerPosition.copy().add(axis.xOffset * POLE_OFFSET, 0, axis.zOffset * POLE_OFFSET), axis);
+                    poleLocations.add(pole.position.copy());
+                    signals.add((TileEntityPole_TrafficSignal) pole.components.get(axis));
+                    poles.add(pole);
+                }
+            }
+            TileEntitySignalController controller = createController(controllerPosition, poleLocations);
+            if (i % 2 == 0) {
+                poles.forEach(simulation.world::addTileEntity);
+                simulation.world.addTileEntity(controller);
+            } else {
+                lateControllers.add(controller);
+                latePoles.addAll(poles);
+            }
+        }
+        lateControllers.forEach(simulation.world::addTileEntity);
+        simulation.tick(5);
+        latePoles.forEach(simulation.world::addTileEntity);
+        simulation.tick(5);
+
+        int unlinkedSignals = 0;
+        for (TileEntityPole_TrafficSignal signal : signals) {
+            if (signal.linkedController == null) {
+                ++unlinkedSignals;
+            }
+        }
+        if (unlinkedSignals != 0) {
+            throw new IllegalStateException(unlinkedSignals + " of " + signals.size() + " traffic signals weren't linked to their controllers.");
+        }
+    }
+
+    private TileEntityPole createPole(Point3D position, Axis signalAxis) {
+        IWrapperNBT data = getItemData("benchpole");
+        data.setData(signalAxis.name(), getItemData("benchsignal"));
+        return new TileEntityPole(simulation.world, position, null, data);
+    }
+
+    private TileEntitySignalController createController(Point3D position, List<Point3D> poleLocations) {
+        IWrapperNBT data = getItemData("benchcontroller");
+        data.setPoint3dsCompact("componentLocations", poleLocations);
+        return new TileEntitySignalController(simulation.world, position, null, data);
+    }
+
+    private static IWrapperNBT getItemData(String systemName) {
+        AItemPack<?> item = PackParser.getItem(HeadlessSimulation.BENCHMARK_PACK_ID, systemName, "");
+        IWrapperNBT data = InterfaceManager.coreInterface.getNewNBTWrapper();
+        item.populateDefaultData(data);
+        return data;
+    }
+
+    @Benchmark
+    public int tick() {
+        simulation.tick(1);
+        return simulation.world.getEntitiesOfType(TileEntitySignalController.class).size();
+    }
+}
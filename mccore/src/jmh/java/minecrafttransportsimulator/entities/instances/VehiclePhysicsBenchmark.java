@@ -0,0 +1,73 @@
+package minecrafttransportsimulator.entities.instances;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Benchmarks for the core vehicle physics.  A single vehicle is spawned, driven up to
+ * speed on flat ground, and then the force calculations, engine update, and full world
+ * tick are timed on it.  Motion is reset before each force calculation so the vehicle
+ * state doesn't drift between invocations.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VehiclePhysicsBenchmark {
+    private HeadlessSimulation simulation;
+    private EntityVehicleF_Physics vehicle;
+    private PartEngine engine;
+    private final Point3D startingMotion = new Point3D();
+
+    @Setup
+    public void setup() {
+        simulation = new HeadlessSimulation();
+        vehicle = simulation.spawnVehicle(new Point3D(0, 65, 0), 0);
+        simulation.tick(20);
+        simulation.startEngines(vehicle, 1.0);
+        simulation.tick(40);
+        for (APart part : vehicle.parts) {
+            if (part instanceof PartEngine) {
+                engine = (PartEngine) part;
+                break;
+            }
+        }
+        startingMotion.set(vehicle.motion);
+    }
+
+    @Benchmark
+    public Point3D getForcesAndMotions() {
+        vehicle.motion.set(startingMotion);
+        vehicle.getForcesAndMotions();
+        return vehicle.motion;
+    }
+
+    @Benchmark
+    public double engineUpdate() {
+        engine.update();
+        return engine.rpm;
+    }
+
+    @Benchmark
+    public Point3D worldTick() {
+        simulation.tick(1);
+        return vehicle.position;
+    }
+}
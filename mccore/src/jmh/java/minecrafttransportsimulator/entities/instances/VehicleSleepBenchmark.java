@@ -0,0 +1,67 @@
+package minecrafttransportsimulator.entities.instances;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import minecrafttransportsimulator.baseclasses.Point3D;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Benchmarks for a parking lot full of parked vehicles.  None of the vehicles have riders or
+ * running engines, so with sleeping enabled they should all be asleep once the setup is done.
+ * Run with both settings of the sleeping flag to see what sleeping saves.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VehicleSleepBenchmark {
+    private static final int PARKING_SPACING = 8;
+
+    @Param({"500"})
+    public int vehicleCount;
+
+    @Param({"false", "true"})
+    public boolean sleeping;
+
+    private HeadlessSimulation simulation;
+
+    @Setup
+    public void setup() {
+        simulation = new HeadlessSimulation();
+        ConfigSystem.settings.general.vehicleSleeping.value = sleeping;
+        int rowSize = (int) Math.ceil(Math.sqrt(vehicleCount));
+        for (int i = 0; i < vehicleCount; ++i) {
+            simulation.spawnVehicle(new Point3D((i % rowSize) * PARKING_SPACING, 65, (i / rowSize) * PARKING_SPACING), 0);
+        }
+        simulation.tick(200);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ConfigSystem.settings.general.vehicleSleeping.value = true;
+    }
+
+    @Benchmark
+    public long tickAll() {
+        simulation.tick(1);
+        return simulation.world.getTime();
+    }
+}
@@ -0,0 +1,120 @@
+package minecrafttransportsimulator.packloading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mcinterfaceheadless.HeadlessSimulation;
+import mcinterfaceheadless.InterfaceCore;
+import minecrafttransportsimulator.entities.instances.EntityInventoryContainer;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Benchmarks for what a crafting bench does every frame: checks if each ingredient of a recipe is
+ * present, then checks if the whole recipe can be crafted.  Uses a 40-slot inventory and a recipe
+ * with 10 OreDict ingredients, each of which has several possible items.  The scan mode re-parses the
+ * recipe and searches every slot for every possible item like the bench used to, while the index mode
+ * uses the cached recipe and the inventory's item counts.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackMaterialComponentBenchmark {
+    private static final int INVENTORY_SLOTS = 40;
+    private static final int INGREDIENTS = 10;
+    private static final int ITEMS_PER_ORE = 5;
+    private static final int INGREDIENT_QTY = 4;
+
+    @Param({"scan", "index"})
+    public String lookup;
+
+    private AItemPack<?> item;
+    private List<List<String>> originalMaterialLists;
+    private EntityInventoryContainer inventory;
+
+    @Setup
+    public void setup() {
+        HeadlessSimulation simulation = new HeadlessSimulation();
+        item = PackParser.getItem(HeadlessSimulation.BENCHMARK_PACK_ID, HeadlessSimulation.BENCHMARK_VEHICLE);
+        List<String> recipe = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS; ++i) {
+            for (int j = 0; j < ITEMS_PER_ORE; ++j) {
+                InterfaceCore.registerOre("benchore" + i, "benchmetal" + i + "_" + j);
+            }
+            recipe.add("oredict:benchore" + i + ":" + INGREDIENT_QTY);
+        }
+        originalMaterialLists = item.definition.general.materialLists;
+        List<List<String>> materialLists = new ArrayList<>();
+        materialLists.add(recipe);
+        item.definition.general.materialLists = materialLists;
+        PackMaterialComponent.clearCache();
+
+        //Fill the inventory with a few of each possible item, using the last possible item of each ore so scans have to check them all.
+        inventory = new EntityInventoryContainer(simulation.world, InterfaceManager.coreInterface.getNewNBTWrapper(), INVENTORY_SLOTS);
+        for (int i = 0; i < INVENTORY_SLOTS; ++i) {
+            inventory.setStack(InterfaceManager.coreInterface.getStackForProperties("benchmetal" + (i % INGREDIENTS) + "_" + (ITEMS_PER_ORE - 1), 0, 1), i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        item.definition.general.materialLists = originalMaterialLists;
+        PackMaterialComponent.clearCache();
+    }
+
+    @Benchmark
+    public boolean checkRecipe() {
+        boolean missingAny = false;
+        if (lookup.equals("index")) {
+            for (int i = 0; i < INGREDIENTS; ++i) {
+                missingAny |= inventory.hasSpecificMaterial(item, 0, i, true, false, false, false);
+            }
+            return !missingAny && inventory.hasMaterials(PackMaterialComponent.parseFromJSON(item, 0, true, false, false, false));
+        } else {
+            for (int i = 0; i < INGREDIENTS; ++i) {
+                PackMaterialComponent.clearCache();
+                missingAny |= scanForMaterial(PackMaterialComponent.parseFromJSON(item, 0, true, false, false, false).get(i)) < INGREDIENT_QTY;
+            }
+            PackMaterialComponent.clearCache();
+            for (PackMaterialComponent material : PackMaterialComponent.parseFromJSON(item, 0, true, false, false, false)) {
+                if (scanForMaterial(material) < material.qty) {
+                    return false;
+                }
+            }
+            return !missingAny;
+        }
+    }
+
+    private int scanForMaterial(PackMaterialComponent material) {
+        int count = 0;
+        for (IWrapperItemStack materialStack : material.possibleItems) {
+            for (int i = 0; i < inventory.getSize(); ++i) {
+                IWrapperItemStack testStack = inventory.getStack(i);
+                if (InterfaceManager.coreInterface.isOredictMatch(testStack, materialStack)) {
+                    count += testStack.getSize();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,93 @@
+package minecrafttransportsimulator.rendering;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import minecrafttransportsimulator.jsondefs.JSONText;
+import minecrafttransportsimulator.rendering.TextFormatter.CachedText;
+
+/**
+ * Benchmarks for the variable text on a vehicle dashboard.  Each invocation is one client tick of a vehicle with a
+ * speed display, odometer, fuel gauge and route sign, driving at a slowly changing speed.  The format mode calls
+ * {@link String#format(String, Object...)} for every field every tick like entities used to, while the cached mode uses
+ * {@link TextFormatter} and a {@link CachedText} per field.  Run with -prof gc to see the garbage made per tick.
+ *
+ * @author don_bruce
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextFormatterBenchmark {
+    private static final String ROUTE = "42 DOWNTOWN";
+
+    @Param({"format", "cached"})
+    public String formatting;
+
+    private JSONText speedText;
+    private JSONText odometerText;
+    private JSONText fuelText;
+    private JSONText routeText;
+    private final CachedText speedCache = new CachedText();
+    private final CachedText odometerCache = new CachedText();
+    private final CachedText fuelCache = new CachedText();
+    private final CachedText routeCache = new CachedText();
+    private TextFormatter speedFormatter;
+    private TextFormatter odometerFormatter;
+    private TextFormatter fuelFormatter;
+    private TextFormatter routeFormatter;
+    private long tick;
+
+    @Setup
+    public void setup() {
+        speedText = createText("%3.0f km/h");
+        odometerText = createText("%07.1f");
+        fuelText = createText("FUEL:%.0f%%");
+        routeText = createText("%s");
+    }
+
+    private static JSONText createText(String format) {
+        JSONText textDef = new JSONText();
+        textDef.variableFormat = format;
+        return textDef;
+    }
+
+    @Benchmark
+    public void updateText(Blackhole blackhole) {
+        //Speed wanders between 80 and 100 km/h, odometer goes up with it, and fuel slowly drops.
+        double speed = 90 + 10 * Math.sin(tick / 200D);
+        double odometer = 12345 + tick * speed / 72000D;
+        double fuel = 100 - tick / 1000D % 100;
+        if (formatting.equals("cached")) {
+            //Formatters are kept and checked against the format each time, like entities do.
+            speedFormatter = TextFormatter.get(speedFormatter, speedText.variableFormat);
+            odometerFormatter = TextFormatter.get(odometerFormatter, odometerText.variableFormat);
+            fuelFormatter = TextFormatter.get(fuelFormatter, fuelText.variableFormat);
+            routeFormatter = TextFormatter.get(routeFormatter, routeText.variableFormat);
+            blackhole.consume(speedCache.getText(speedFormatter, speed));
+            blackhole.consume(odometerCache.getText(odometerFormatter, odometer));
+            blackhole.consume(fuelCache.getText(fuelFormatter, fuel));
+            blackhole.consume(routeCache.getText(routeFormatter, ROUTE));
+        } else {
+            blackhole.consume(String.format(speedText.variableFormat, speed));
+            blackhole.consume(String.format(odometerText.variableFormat, odometer));
+            blackhole.consume(String.format(fuelText.variableFormat, fuel));
+            blackhole.consume(String.format(routeText.variableFormat, ROUTE));
+        }
+        ++tick;
+    }
+}
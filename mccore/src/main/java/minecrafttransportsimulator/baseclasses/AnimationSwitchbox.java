@@ -30,7 +30,7 @@ public class AnimationSwitchbox {
     //Computational variables.
     protected final AEntityD_Definable<?> entity;
     private final String applyAfter;
-    private final List<DurationDelayClock> clocks = new ArrayList<>();
+    protected final List<DurationDelayClock> clocks = new ArrayList<>();
     private final Point3D helperPoint = new Point3D();
     private final Point3D helperScalingVector = new Point3D();
     private final RotationMatrix helperRotationMatrix = new RotationMatrix();
@@ -39,6 +39,10 @@ public class AnimationSwitchbox {
     private boolean switchboxEnabled;
     private long lastTickRun;
     private float lastPartialTickRun;
+    /**
+     * Clock time for the current run.  All clocks are evaluated in one pass, so they all use the same time.
+     **/
+    private long clockTime;
 
     public AnimationSwitchbox(AEntityD_Definable<?> entity, List<JSONAnimationDefinition> animations, String applyAfter) {
         this.entity = entity;
@@ -74,6 +78,7 @@ public class AnimationSwitchbox {
                 netMatrix.resetTransforms();
             }
 
+            clockTime = DurationDelayClock.getClockTime(entity, partialTicks);
             inhibitAnimations = false;
             switchboxEnabled = true;
             anyClockMovedThisUpdate = false;
@@ -94,7 +99,7 @@ public class AnimationSwitchbox {
                     case VISIBILITY: {
                         if (!inhibitAnimations) {
                             lastVisibilityClock = clock;
-                            lastVisibilityValue = entity.getAnimatedVariableValue(clock, 1.0, partialTicks);
+                            lastVisibilityValue = getClockValue(clock, 1.0, partialTicks);
                             if (!anyClockMovedThisUpdate) {
                                 anyClockMovedThisUpdate = clock.movedThisUpdate;
                             }
@@ -107,7 +112,7 @@ public class AnimationSwitchbox {
                     }
                     case INHIBITOR: {
                         if (!inhibitAnimations) {
-                            double variableValue = entity.getAnimatedVariableValue(clock, 1.0, partialTicks);
+                            double variableValue = getClockValue(clock, 1.0, partialTicks);
                             if (variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax) {
                                 inhibitAnimations = true;
                             }
@@ -116,7 +121,7 @@ public class AnimationSwitchbox {
                     }
                     case ACTIVATOR: {
                         if (inhibitAnimations) {
-                            double variableValue = entity.getAnimatedVariableValue(clock, 1.0, partialTicks);
+                            double variableValue = getClockValue(clock, 1.0, partialTicks);
                             if (variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax) {
                                 inhibitAnimations = false;
                             }
@@ -137,9 +142,24 @@ public class AnimationSwitchbox {
         }
     }
 
+    /**
+     * Returns the animated value of the passed-in clock for this run of the switchbox.  Sub-classes should use this
+     * rather than calling the entity directly so all clocks in a run use the same time.
+     */
+    protected double getClockValue(DurationDelayClock clock, double scaleFactor, float partialTicks) {
+        return getClockValue(clock, scaleFactor, 0, partialTicks);
+    }
+
+    /**
+     * Like {@link #getClockValue(DurationDelayClock, double, float)}, but with an offset.
+     */
+    protected double getClockValue(DurationDelayClock clock, double scaleFactor, double offset, float partialTicks) {
+        return entity.getAnimatedVariableValue(clock, scaleFactor, offset, partialTicks, clockTime);
+    }
+
     public void runTranslation(DurationDelayClock clock, float partialTicks) {
         //Found translation.  This gets applied in the translation axis direction directly.
-        double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
+        double variableValue = getClockValue(clock, clock.animationAxisMagnitude, partialTicks);
         if (variableValue != 0) {
             helperPoint.set(clock.animationAxisNormalized).scale(variableValue);
             netMatrix.applyTranslation(helperPoint);
@@ -149,7 +169,7 @@ public class AnimationSwitchbox {
 
     public void runRotation(DurationDelayClock clock, float partialTicks) {
         //Found rotation.  Get angles that needs to be applied.
-        double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
+        double variableValue = getClockValue(clock, clock.animationAxisMagnitude, partialTicks);
         if (variableValue != 0) {
             helperRotationMatrix.setToAxisAngle(clock.animationAxisNormalized, variableValue);
 
@@ -180,7 +200,7 @@ public class AnimationSwitchbox {
 
     public void runScaling(DurationDelayClock clock, float partialTicks) {
         //Found scaling.  Get scale that needs to be applied.
-        double variableValue = entity.getAnimatedVariableValue(clock, clock.animationAxisMagnitude, partialTicks);
+        double variableValue = getClockValue(clock, clock.animationAxisMagnitude, partialTicks);
         helperScalingVector.set(clock.animationAxisNormalized).scale(variableValue);
         //Check for 0s and remove them.
         if (helperScalingVector.x == 0)
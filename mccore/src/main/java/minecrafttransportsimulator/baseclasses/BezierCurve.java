@@ -6,6 +6,8 @@ import java.util.Arrays;
  * Curve class used for paths.
  * Needs a start point,  end point, start angle, and an end angle to calculate the curve.
  * For all calls, segmentPoint should be a value between 0 and the pathLength of this curve.
+ * Curves also keep a hierarchy of bounds over their cached points, so the closest point on
+ * the curve to any position can be found without checking every point.
  *
  * @author don_bruce
  */
@@ -20,10 +22,22 @@ public class BezierCurve {
     private final float[][] cachedPathPoints;
     private final RotationMatrix[] cachedPathRotations;
 
+    /**
+     * Bounds of groups of cached points, stored as a binary tree in an array.  Node 1 is the root, and node n
+     * has children 2n and 2n+1.  Leaves start at {@link #firstLeafNode} and each cover {@link #POINTS_PER_LEAF}
+     * cached points.  Each node is minX, minY, minZ, maxX, maxY, maxZ.  Unused leaves have inverted bounds.
+     **/
+    private final float[][] boundsTree;
+    private final int firstLeafNode;
+
     /**
      * Steps between curve calculations.  This is how many intermediate calculations we do between 1-block steps.
      **/
     public static final int CURVE_STEP = 16;
+    /**
+     * Number of cached point steps in each leaf of the bounds tree.  This works out to one block per leaf.
+     **/
+    private static final int POINTS_PER_LEAF = CURVE_STEP;
 
     public BezierCurve(Point3D startPos, Point3D endPos, RotationMatrix startRotation, RotationMatrix endRotation) {
         this.startPos = startPos.copy();
@@ -60,6 +74,34 @@ public class BezierCurve {
 
         //Add point 0 rotations.  We couldn't do those in the loop.
         cachedPathRotations[0] = cachedPathRotations[1];
+
+        //Create bounds tree.  Leaves first, then work up to the root.
+        int leafCount = Math.max(1, (cachedPathPoints.length - 1 + POINTS_PER_LEAF - 1) / POINTS_PER_LEAF);
+        int leafSlots = Integer.highestOneBit(leafCount);
+        if (leafSlots < leafCount) {
+            leafSlots <<= 1;
+        }
+        this.firstLeafNode = leafSlots;
+        this.boundsTree = new float[2 * leafSlots][];
+        for (int i = 0; i < leafSlots; ++i) {
+            float[] bounds = new float[]{Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+            if (i < leafCount) {
+                int lastPoint = Math.min((i + 1) * POINTS_PER_LEAF, cachedPathPoints.length - 1);
+                for (int j = i * POINTS_PER_LEAF; j <= lastPoint; ++j) {
+                    expandBounds(bounds, cachedPathPoints[j]);
+                }
+            }
+            boundsTree[firstLeafNode + i] = bounds;
+        }
+        for (int i = firstLeafNode - 1; i > 0; --i) {
+            float[] bounds = boundsTree[2 * i].clone();
+            float[] otherBounds = boundsTree[2 * i + 1];
+            for (int j = 0; j < 3; ++j) {
+                bounds[j] = Math.min(bounds[j], otherBounds[j]);
+                bounds[j + 3] = Math.max(bounds[j + 3], otherBounds[j + 3]);
+            }
+            boundsTree[i] = bounds;
+        }
     }
 
     /**
@@ -105,6 +147,82 @@ public class BezierCurve {
         point.add(cachedLowPoint[0] + (cachedHighPoint[0] - cachedLowPoint[0]) * delta, cachedLowPoint[1] + (cachedHighPoint[1] - cachedLowPoint[1]) * delta, cachedLowPoint[2] + (cachedHighPoint[2] - cachedLowPoint[2]) * delta);
     }
 
+    /**
+     * Returns the segment point on this curve closest to the passed-in point, or -1 if no point on the curve is
+     * within the passed-in distance.  The returned segment point is not limited to the cached points, as the closest
+     * point on the segment between two cached points is found.  This is safe to call from multiple threads at once.
+     */
+    public float getClosestSegmentPoint(Point3D point, double maxDistance) {
+        float[] closestSegment = new float[]{-1};
+        searchBoundsTree(1, point.x, point.y, point.z, maxDistance * maxDistance, closestSegment);
+        return closestSegment[0] > pathLength ? pathLength : closestSegment[0];
+    }
+
+    /**
+     * Searches the passed-in node of the bounds tree for the closest segment point to x/y/z.  The closest segment point
+     * found, if any, is put into the passed-in array.  Returns the squared distance to the closest point found, or the passed-in
+     * distance if none was closer.
+     */
+    private double searchBoundsTree(int node, double x, double y, double z, double closestDistanceSquared, float[] closestSegment) {
+        if (node >= firstLeafNode) {
+            //Leaf node, check the segments between the points in it.
+            int firstPoint = (node - firstLeafNode) * POINTS_PER_LEAF;
+            int lastPoint = Math.min(firstPoint + POINTS_PER_LEAF, cachedPathPoints.length - 1);
+            for (int i = firstPoint; i < lastPoint; ++i) {
+                float[] start = cachedPathPoints[i];
+                float[] end = cachedPathPoints[i + 1];
+                double deltaX = end[0] - start[0];
+                double deltaY = end[1] - start[1];
+                double deltaZ = end[2] - start[2];
+                double lengthSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+                double factor = lengthSquared != 0 ? ((x - start[0]) * deltaX + (y - start[1]) * deltaY + (z - start[2]) * deltaZ) / lengthSquared : 0;
+                if (factor < 0) {
+                    factor = 0;
+                } else if (factor > 1) {
+                    factor = 1;
+                }
+                double offsetX = start[0] + deltaX * factor - x;
+                double offsetY = start[1] + deltaY * factor - y;
+                double offsetZ = start[2] + deltaZ * factor - z;
+                double distanceSquared = offsetX * offsetX + offsetY * offsetY + offsetZ * offsetZ;
+                if (distanceSquared < closestDistanceSquared) {
+                    closestDistanceSquared = distanceSquared;
+                    closestSegment[0] = (float) ((i + factor) / CURVE_STEP);
+                }
+            }
+            //Single-point curves don't have segments, so check the point itself.
+            if (cachedPathPoints.length == 1) {
+                float[] onlyPoint = cachedPathPoints[0];
+                double distanceSquared = (onlyPoint[0] - x) * (onlyPoint[0] - x) + (onlyPoint[1] - y) * (onlyPoint[1] - y) + (onlyPoint[2] - z) * (onlyPoint[2] - z);
+                if (distanceSquared < closestDistanceSquared) {
+                    closestDistanceSquared = distanceSquared;
+                    closestSegment[0] = 0;
+                }
+            }
+            return closestDistanceSquared;
+        } else {
+            //Branch node, check the closer child first, as it'll likely let us skip the other.
+            int firstChild = 2 * node;
+            int secondChild = firstChild + 1;
+            double firstDistanceSquared = getDistanceSquaredToBounds(boundsTree[firstChild], x, y, z);
+            double secondDistanceSquared = getDistanceSquaredToBounds(boundsTree[secondChild], x, y, z);
+            if (secondDistanceSquared < firstDistanceSquared) {
+                firstChild = secondChild;
+                secondChild = 2 * node;
+                double swap = firstDistanceSquared;
+                firstDistanceSquared = secondDistanceSquared;
+                secondDistanceSquared = swap;
+            }
+            if (firstDistanceSquared < closestDistanceSquared) {
+                closestDistanceSquared = searchBoundsTree(firstChild, x, y, z, closestDistanceSquared, closestSegment);
+            }
+            if (secondDistanceSquared < closestDistanceSquared) {
+                closestDistanceSquared = searchBoundsTree(secondChild, x, y, z, closestDistanceSquared, closestSegment);
+            }
+            return closestDistanceSquared;
+        }
+    }
+
     /**
      * Returns the cached rotation matrix value of rotation at the passed-in segment location.
      */
@@ -112,6 +230,30 @@ public class BezierCurve {
         return cachedPathRotations[Math.round(segmentPoint * CURVE_STEP)];
     }
 
+    /**
+     * Helper function to expand the passed-in bounds to include the passed-in point.
+     */
+    private static void expandBounds(float[] bounds, float[] point) {
+        for (int i = 0; i < 3; ++i) {
+            bounds[i] = Math.min(bounds[i], point[i]);
+            bounds[i + 3] = Math.max(bounds[i + 3], point[i]);
+        }
+    }
+
+    /**
+     * Helper function to get the squared distance from the passed-in bounds to the passed-in point.
+     * Returns 0 if the point is inside the bounds, and infinity if the bounds are unused.
+     */
+    private static double getDistanceSquaredToBounds(float[] bounds, double x, double y, double z) {
+        if (bounds[0] > bounds[3]) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double deltaX = x < bounds[0] ? bounds[0] - x : (x > bounds[3] ? x - bounds[3] : 0);
+        double deltaY = y < bounds[1] ? bounds[1] - y : (y > bounds[4] ? y - bounds[4] : 0);
+        double deltaZ = z < bounds[2] ? bounds[2] - z : (z > bounds[5] ? z - bounds[5] : 0);
+        return deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+    }
+
     /**
      * Helper function to calculate the total path length for the passed-in parameters.
      */
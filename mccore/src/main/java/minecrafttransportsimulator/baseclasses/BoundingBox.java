@@ -107,6 +107,15 @@ public class BoundingBox {
         return "LocalCenter:" + localCenter.toString() + " GlobalCenter:" + globalCenter.toString() + " Width:" + widthRadius + " Height:" + heightRadius + " Depth:" + depthRadius;
     }
 
+    /**
+     * Returns a new, simple box with the same global center and radius as this box.
+     * Used when a box needs to be used after this box has moved or changed size, such as
+     * for deferred damage.  Local center, definition, and collision states are not copied.
+     */
+    public BoundingBox copyGlobalBounds() {
+        return new BoundingBox(globalCenter.copy(), widthRadius, heightRadius, depthRadius);
+    }
+
     /**
      * Populates the collidingBlocks list with all currently-colliding blocks.
      * Note that the passed-in offset is only applied for this check,  and is reverted after this call.
@@ -0,0 +1,259 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.instances.EntityBullet;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.items.components.AItemPack;
+import minecrafttransportsimulator.items.instances.ItemVehicle;
+import minecrafttransportsimulator.jsondefs.JSONCollisionBox;
+import minecrafttransportsimulator.jsondefs.JSONCollisionGroup;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.packloading.PackParser;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Store for vehicles that have been loaded from saved data, but not yet made into full entities.  Making a vehicle
+ * creates all its parts, switchboxes, and animations, which is a lot of work to do for a vehicle in a chunk at the
+ * edge of view that nobody will go near.  Flying over a big parked fleet loads lots of these at once, and making them
+ * all on the tick their chunks load stalls the server.  Instead, the interfaces hand parked vehicles to this store
+ * when they are loaded, and the store keeps just their position, orientation, and saved data.  Once a player gets
+ * within {@link #getDormantDistance()} of one, it's queued to be made, and a limited number of queued vehicles are
+ * made each tick, in the order they were queued.
+ * <br><br>
+ * Dormant vehicles still have the collision boxes from their definition, so the interfaces can have MC entities
+ * collide with and click on them.  Our own entities don't look at dormant vehicles, so any moving vehicle or bullet
+ * that gets close to one queues it to be made, same as a player would.
+ * <br><br>
+ * The interfaces are responsible for saving dormant vehicles, since their saved data is just the data they loaded,
+ * and for removing them from this store if their chunk unloads before they are made.  On clients, vehicles are always
+ * queued right away, as they need to be rendered, but they still go through the per-tick limit.  This class is
+ * not thread-safe: it should only be used on the main thread of its world.
+ *
+ * @author don_bruce
+ */
+public class DormantVehicleStore {
+    /**How many ticks apart dormant vehicles check for players near them.  Checks are spread out over these ticks.**/
+    private static final int CHECK_INTERVAL = 5;
+    /**Speed, in blocks per tick, below which a vehicle is considered parked and may be dormant.**/
+    private static final double PARKED_SPEED = 0.01;
+    /**How far, in blocks, moving vehicles and bullets need to be from a dormant vehicle's boxes to not make it.**/
+    private static final double WAKE_DISTANCE = 16;
+
+    private final AWrapperWorld world;
+    private final Map<UUID, DormantVehicle> dormantVehicles = new LinkedHashMap<>();
+    private final Deque<DormantVehicle> queuedVehicles = new ArrayDeque<>();
+    private int ticks;
+    private int vehiclesAdded;
+    private int vehiclesPromotedLastTick;
+
+    public DormantVehicleStore(AWrapperWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Returns the distance players need to be from dormant vehicles for them to stay dormant.
+     * If 0, vehicles are never dormant.
+     */
+    public static int getDormantDistance() {
+        return ConfigSystem.settings.general.dormantVehicleDistance.value;
+    }
+
+    /**
+     * Returns true if the entity with the passed-in saved data should be loaded dormant via {@link #add(IWrapperNBT, Runnable)}.
+     * Only parked vehicles can be dormant.  Vehicles towing or being towed are loaded right away, as they only look
+     * for the other vehicles in their connections for a few seconds after being made.
+     */
+    public static boolean shouldLoadDormant(String entityID, IWrapperNBT data) {
+        if (getDormantDistance() <= 0 || !EntityVehicleF_Physics.class.getSimpleName().equals(entityID)) {
+            return false;
+        }
+        if (data.getData("towedByConnection") != null || data.getInteger("towingConnectionCount") > 0) {
+            return false;
+        }
+        Point3D motion = data.getPoint3d("motion");
+        return motion.length() < PARKED_SPEED && data.getUUID("uniqueUUID") != null;
+    }
+
+    /**
+     * Adds a dormant vehicle with the passed-in saved data.  The passed-in promoter is run when it's the vehicle's
+     * turn to be made.  It should make the vehicle from the data and add it to the world.
+     */
+    public DormantVehicle add(IWrapperNBT data, Runnable promoter) {
+        DormantVehicle vehicle = new DormantVehicle(data, promoter, vehiclesAdded++ % CHECK_INTERVAL);
+        DormantVehicle oldVehicle = dormantVehicles.put(vehicle.uniqueUUID, vehicle);
+        if (oldVehicle != null) {
+            queuedVehicles.remove(oldVehicle);
+        }
+        if (world.isClient() || world.isPlayerWithin(vehicle.position, getDormantDistance())) {
+            vehicle.queued = true;
+            queuedVehicles.add(vehicle);
+        }
+        return vehicle;
+    }
+
+    /**
+     * Removes the passed-in dormant vehicle without making it.  This should be called when
+     * the chunk it is in is unloaded, or it is otherwise removed from the world.
+     */
+    public void remove(DormantVehicle vehicle) {
+        if (dormantVehicles.get(vehicle.uniqueUUID) == vehicle) {
+            dormantVehicles.remove(vehicle.uniqueUUID);
+            if (vehicle.queued) {
+                queuedVehicles.remove(vehicle);
+            }
+        }
+    }
+
+    /**
+     * Returns the dormant vehicle with the passed-in UUID, or null if there isn't one.
+     */
+    public DormantVehicle get(UUID uniqueUUID) {
+        return dormantVehicles.get(uniqueUUID);
+    }
+
+    /**
+     * Returns all dormant vehicles, including those queued to be made.
+     */
+    public Collection<DormantVehicle> getAll() {
+        return Collections.unmodifiableCollection(dormantVehicles.values());
+    }
+
+    /**
+     * Returns how many vehicles were made on the last tick.
+     */
+    public int getVehiclesPromotedLastTick() {
+        return vehiclesPromotedLastTick;
+    }
+
+    /**
+     * Queues dormant vehicles that players have gotten close to, and makes as many queued vehicles as
+     * the per-tick limit allows.  This should be called once per tick, before entities are updated.
+     */
+    public void tick() {
+        vehiclesPromotedLastTick = 0;
+        if (dormantVehicles.isEmpty()) {
+            return;
+        }
+
+        int checkOffset = ticks++ % CHECK_INTERVAL;
+        int dormantDistance = getDormantDistance();
+        List<AEntityB_Existing> movingEntities = null;
+        for (DormantVehicle vehicle : dormantVehicles.values()) {
+            if (!vehicle.queued && vehicle.checkOffset == checkOffset) {
+                if (movingEntities == null) {
+                    movingEntities = getMovingEntities();
+                }
+                if (dormantDistance <= 0 || world.isPlayerWithin(vehicle.position, dormantDistance) || isAnyEntityNear(vehicle, movingEntities)) {
+                    vehicle.queued = true;
+                    queuedVehicles.add(vehicle);
+                }
+            }
+        }
+
+        int promotionsLeft = ConfigSystem.settings.general.dormantVehiclePromotionsPerTick.value;
+        if (promotionsLeft <= 0) {
+            promotionsLeft = Integer.MAX_VALUE;
+        }
+        DormantVehicle vehicle;
+        while (promotionsLeft > 0 && (vehicle = queuedVehicles.poll()) != null) {
+            dormantVehicles.remove(vehicle.uniqueUUID);
+            vehicle.promoter.run();
+            ++vehiclesPromotedLastTick;
+            --promotionsLeft;
+        }
+    }
+
+    /**
+     * Returns all vehicles and bullets in the world that are moving.  Parked vehicles are left out, as
+     * they won't hit anything, and making dormant vehicles next to them would make whole fleets at once.
+     */
+    private List<AEntityB_Existing> getMovingEntities() {
+        List<AEntityB_Existing> movingEntities = new ArrayList<>();
+        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            if (vehicle.motion.length() >= PARKED_SPEED) {
+                movingEntities.add(vehicle);
+            }
+        }
+        movingEntities.addAll(world.getEntitiesOfType(EntityBullet.class));
+        return movingEntities;
+    }
+
+    /**
+     * Returns true if any of the passed-in entities are within {@link #WAKE_DISTANCE} of the vehicle's encompassing box.
+     */
+    private static boolean isAnyEntityNear(DormantVehicle vehicle, List<AEntityB_Existing> entities) {
+        BoundingBox box = vehicle.encompassingBox;
+        for (AEntityB_Existing entity : entities) {
+            Point3D entityPosition = entity.position;
+            if (Math.abs(entityPosition.x - box.globalCenter.x) < box.widthRadius + WAKE_DISTANCE && Math.abs(entityPosition.y - box.globalCenter.y) < box.heightRadius + WAKE_DISTANCE && Math.abs(entityPosition.z - box.globalCenter.z) < box.depthRadius + WAKE_DISTANCE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A vehicle that hasn't been made yet.  Only what's needed to know when to make it is read from the data,
+     * plus the collision boxes of its definition, placed where the vehicle is parked.
+     */
+    public static class DormantVehicle {
+        public final UUID uniqueUUID;
+        public final Point3D position;
+        public final RotationMatrix orientation;
+        public final IWrapperNBT data;
+        public final List<BoundingBox> collisionBoxes = new ArrayList<>();
+        public final BoundingBox encompassingBox;
+        private final Runnable promoter;
+        private final int checkOffset;
+        private boolean queued;
+
+        private DormantVehicle(IWrapperNBT data, Runnable promoter, int checkOffset) {
+            this.uniqueUUID = data.getUUID("uniqueUUID");
+            this.position = data.getPoint3d("position");
+            this.orientation = new RotationMatrix().setToAngles(data.getPoint3d("angles"));
+            this.data = data;
+            this.promoter = promoter;
+            this.checkOffset = checkOffset;
+
+            //Make collision boxes like the vehicle would, but without animations since those need the full vehicle.
+            this.encompassingBox = new BoundingBox(position.copy(), 0, 0, 0);
+            AItemPack<?> item = PackParser.getItem(data.getString("packID"), data.getString("systemName"), data.getString("subName"));
+            if (item instanceof ItemVehicle && ((ItemVehicle) item).definition.collisionGroups != null) {
+                double scale = ConfigSystem.settings.general.packVehicleScales.value.getOrDefault(item.definition.packID, 1D);
+                for (JSONCollisionGroup groupDef : ((ItemVehicle) item).definition.collisionGroups) {
+                    if (!groupDef.isInterior) {
+                        for (JSONCollisionBox boxDef : groupDef.collisions) {
+                            BoundingBox box = new BoundingBox(boxDef, groupDef);
+                            box.globalCenter.set(box.localCenter).scale(scale).rotate(orientation).add(position);
+                            box.widthRadius *= scale;
+                            box.heightRadius *= scale;
+                            box.depthRadius *= scale;
+                            collisionBoxes.add(box);
+                            encompassingBox.widthRadius = Math.max(encompassingBox.widthRadius, Math.abs(box.globalCenter.x - position.x) + box.widthRadius);
+                            encompassingBox.heightRadius = Math.max(encompassingBox.heightRadius, Math.abs(box.globalCenter.y - position.y) + box.heightRadius);
+                            encompassingBox.depthRadius = Math.max(encompassingBox.depthRadius, Math.abs(box.globalCenter.z - position.z) + box.depthRadius);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns true if this vehicle is queued to be made.
+         */
+        public boolean isQueued() {
+            return queued;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.entities.components.AEntityG_Towable;
 import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.entities.instances.EntityBullet;
+import minecrafttransportsimulator.entities.instances.EntityParticle;
 import minecrafttransportsimulator.entities.instances.EntityPlacedPart;
 import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.entities.instances.PartGun;
@@ -34,6 +35,12 @@ public class EntityManager {
     private final ConcurrentHashMap<UUID, AEntityA_Base> trackedEntityMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, PartGun> gunMap = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, Map<Integer, EntityBullet>> bulletMap = new ConcurrentHashMap<>();
+    public final EntityProfiler profiler = new EntityProfiler();
+    public final TowingConnectionIndex towingConnectionIndex = new TowingConnectionIndex();
+    public final TriggerVolumeIndex triggerVolumeIndex = new TriggerVolumeIndex();
+    public final HazardVolumeIndex hazardVolumeIndex = new HazardVolumeIndex();
+    public final RadarContactIndex radarContactIndex = new RadarContactIndex(this);
+    public final ParticleBudget particleBudget = new ParticleBudget();
 
     /**
      * Adds the entity to the world.  This will make it get update ticks and be rendered
@@ -58,13 +65,12 @@ public class EntityManager {
             EntityBullet bullet = (EntityBullet) entity;
             bulletMap.get(bullet.gun.uniqueUUID).put(bullet.bulletNumber, bullet);
         }
+        if (entity instanceof EntityParticle) {
+            particleBudget.particleAdded();
+        }
 
         @SuppressWarnings("unchecked")
-        ConcurrentLinkedQueue<EntityType> classList = (ConcurrentLinkedQueue<EntityType>) entitiesByClass.get(entity.getClass());
-        if (classList == null) {
-            classList = new ConcurrentLinkedQueue<>();
-            entitiesByClass.put(entity.getClass(), classList);
-        }
+        ConcurrentLinkedQueue<EntityType> classList = (ConcurrentLinkedQueue<EntityType>) entitiesByClass.computeIfAbsent(entity.getClass(), k -> new ConcurrentLinkedQueue<>());
         classList.add(entity);
         if (entity.shouldSync()) {
             trackedEntityMap.put(entity.uniqueUUID, entity);
@@ -72,7 +78,9 @@ public class EntityManager {
     }
 
     /**
-     * Gets the entity with the requested UUID.
+     * Gets the entity with the requested UUID.  Only entities that sync are tracked here.
+     * The map is kept in sync by {@link #addEntity(AEntityA_Base)} and {@link #removeEntity(AEntityA_Base)},
+     * so this should be used for any by-ID lookups, such as those done when handling packets.
      */
     @SuppressWarnings("unchecked")
     public <EntityType extends AEntityA_Base> EntityType getEntity(UUID uniqueUUID) {
@@ -102,12 +110,7 @@ public class EntityManager {
      */
     @SuppressWarnings("unchecked")
     public <EntityType extends AEntityA_Base> ConcurrentLinkedQueue<EntityType> getEntitiesOfType(Class<EntityType> entityClass) {
-        ConcurrentLinkedQueue<EntityType> classListing = (ConcurrentLinkedQueue<EntityType>) entitiesByClass.get(entityClass);
-        if (classListing == null) {
-            classListing = new ConcurrentLinkedQueue<>();
-            entitiesByClass.put(entityClass, classListing);
-        }
-        return classListing;
+        return (ConcurrentLinkedQueue<EntityType>) entitiesByClass.computeIfAbsent(entityClass, k -> new ConcurrentLinkedQueue<>());
     }
 
     /**
@@ -132,13 +135,38 @@ public class EntityManager {
      * are not parts, since parts are ticked by their parents.
      */
     public void tickAll() {
+        //Let the recorder see the world before anything moves.
+        TickRecorder.startTick(this);
+
+        //Radars get a new snapshot of vehicles each tick.
+        radarContactIndex.tick();
+        particleBudget.tick();
+
+        tickEntities();
+
+        //Now that everything has moved, hurt anything in hazard volumes.
+        hazardVolumeIndex.applyDamage();
+        profiler.endTick();
+        TickRecorder.endTick(this);
+    }
+
+    /**
+     * Ticks all entities that need ticking, unless they are being towed, as then the towing entity ticks them.
+     * Split out from {@link #tickAll()} so the headless benchmark world can try other ways of ticking them.
+     */
+    protected void tickEntities() {
         for (AEntityA_Base entity : allTickableEntities) {
             if (!(entity instanceof AEntityG_Towable) || !(((AEntityG_Towable<?>) entity).blockMainUpdateCall())) {
-                entity.world.beginProfiling("MTSEntity_" + entity.uniqueUUID, true);
+                if (!entity.shouldUpdateThisTick()) {
+                    continue;
+                }
+                entity.world.beginProfiling(EntityProfiler.getSectionName(entity), true);
+                long startTime = EntityProfiler.start();
                 entity.update();
                 if (entity instanceof AEntityD_Definable) {
                     ((AEntityD_Definable<?>) entity).doPostUpdateLogic();
                 }
+                profiler.end(entity, EntityProfiler.Phase.TICK, startTime);
                 entity.world.endProfiling();
             }
         }
@@ -191,6 +219,9 @@ public class EntityManager {
             EntityBullet bullet = (EntityBullet) entity;
             bulletMap.get(bullet.gun.uniqueUUID).remove(bullet.bulletNumber);
         }
+        if (entity instanceof EntityParticle) {
+            particleBudget.particleRemoved();
+        }
     }
 
     /**
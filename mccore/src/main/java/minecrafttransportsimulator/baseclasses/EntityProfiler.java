@@ -0,0 +1,344 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * Timing profiler for entities.  Times are kept per entity category and per {@link Phase}, where the category
+ * is the pack item for entities with definitions, and the class for those without.  This lets operators see
+ * which vehicle type, or which part of the update, is eating the tick.
+ * <br><br>
+ * Each {@link EntityManager} has its own profiler, as servers and clients tick on different threads.  Each
+ * profiler adds up the time spent in each category and phase over a tick, and stores that sum in a ring buffer
+ * at the end of the tick via {@link #endTick()}.  Percentiles are then taken from the buffer.  All storage is in
+ * primitive arrays, so nothing is allocated while profiling, and when profiling is disabled, {@link #start()}
+ * and {@link #end(AEntityA_Base, Phase, long)} are just a check of {@link #enabled}.
+ * <br><br>
+ * Stats may be asked for from any thread.  Each profiler locks itself when it changes its buffers, which is at most
+ * once per tick, and {@link #getStats()} copies the buffers out under that same lock.
+ * <br><br>
+ * Times for a phase include any phases run inside it.  For example, the {@link Phase#TICK} time for
+ * a vehicle includes its {@link Phase#PHYSICS} and {@link Phase#COLLISION} times.
+ *
+ * @author don_bruce
+ */
+public class EntityProfiler {
+    /**True if profiling is enabled.  Checked in all recording calls, so these do nothing if this is false.**/
+    public static boolean enabled;
+    /**How many ticks of samples to keep for percentiles.**/
+    public static final int SAMPLE_WINDOW = 200;
+    private static final int PHASE_COUNT = Phase.values().length;
+    /**Name of the command that runs {@link #handleCommand(String[])}.**/
+    public static final String COMMAND_NAME = "mtsprofiler";
+    public static final String COMMAND_USAGE = "/" + COMMAND_NAME + " <start|stop|reset|report [lines]|dump>";
+
+    //Categories are shared between all profilers so the indexes cached on entities are valid for all of them.
+    private static final Map<String, Integer> categoryIndexes = new HashMap<>();
+    private static volatile String[] categoryNames = new String[0];
+    private static final Set<EntityProfiler> profilers = Collections.newSetFromMap(new WeakHashMap<>());
+
+    //Per-profiler storage.  Slots are category index * PHASE_COUNT + phase ordinal.
+    private long[] tickNanos = new long[0];
+    private int[] tickCalls = new int[0];
+    private long[][] sampleNanos = new long[0][];
+    private long[] totalCalls = new long[0];
+    private int[] usedSlots = new int[16];
+    private int usedSlotCount;
+    private int sampleIndex;
+    private int samplesTaken;
+    private long ticksProfiled;
+
+    public EntityProfiler() {
+        synchronized (profilers) {
+            profilers.add(this);
+        }
+    }
+
+    /**
+     * Returns the time to pass to {@link #end(AEntityA_Base, Phase, long)}, or 0 if profiling is disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since the passed-in start time to the entity's category for the passed-in phase.
+     * Does nothing if the start time is 0, which means profiling was disabled when {@link #start()} was called.
+     */
+    public void end(AEntityA_Base entity, Phase phase, long startTime) {
+        if (startTime != 0) {
+            int slot = getCategory(entity) * PHASE_COUNT + phase.ordinal();
+            if (slot >= tickNanos.length || sampleNanos[slot] == null) {
+                addSlot(slot);
+            }
+            tickNanos[slot] += System.nanoTime() - startTime;
+            ++tickCalls[slot];
+        }
+    }
+
+    /**
+     * Stores the times added this tick into the sample buffer, and resets them for the next tick.
+     * Should be called once per tick, after all entities have been ticked.
+     */
+    public void endTick() {
+        if (enabled && usedSlotCount > 0) {
+            synchronized (this) {
+                for (int i = 0; i < usedSlotCount; ++i) {
+                    int slot = usedSlots[i];
+                    sampleNanos[slot][sampleIndex] = tickNanos[slot];
+                    totalCalls[slot] += tickCalls[slot];
+                    tickNanos[slot] = 0;
+                    tickCalls[slot] = 0;
+                }
+                sampleIndex = (sampleIndex + 1) % SAMPLE_WINDOW;
+                ++ticksProfiled;
+                if (samplesTaken < SAMPLE_WINDOW) {
+                    ++samplesTaken;
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears all samples from this profiler.
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < usedSlotCount; ++i) {
+            int slot = usedSlots[i];
+            Arrays.fill(sampleNanos[slot], 0);
+            tickNanos[slot] = 0;
+            tickCalls[slot] = 0;
+            totalCalls[slot] = 0;
+        }
+        sampleIndex = 0;
+        samplesTaken = 0;
+        ticksProfiled = 0;
+    }
+
+    /**
+     * Returns the profiling section name for this entity.  This is the entity's category, so it
+     * is created once per category rather than once per entity per tick.
+     */
+    public static String getSectionName(AEntityA_Base entity) {
+        int category = getCategory(entity);
+        return categoryNames[category];
+    }
+
+    private static int getCategory(AEntityA_Base entity) {
+        if (entity.profilerCategory == -1) {
+            String name;
+            if (entity instanceof AEntityD_Definable) {
+                AEntityD_Definable<?> definable = (AEntityD_Definable<?>) entity;
+                name = definable.definition.packID + ":" + definable.definition.systemName;
+            } else {
+                name = entity.getClass().getSimpleName();
+            }
+            synchronized (categoryIndexes) {
+                entity.profilerCategory = categoryIndexes.computeIfAbsent(name, k -> {
+                    String[] newNames = Arrays.copyOf(categoryNames, categoryNames.length + 1);
+                    newNames[categoryNames.length] = k;
+                    categoryNames = newNames;
+                    return categoryNames.length - 1;
+                });
+            }
+        }
+        return entity.profilerCategory;
+    }
+
+    private synchronized void addSlot(int slot) {
+        if (slot >= tickNanos.length) {
+            int newLength = Math.max(slot + 1, tickNanos.length * 2);
+            tickNanos = Arrays.copyOf(tickNanos, newLength);
+            tickCalls = Arrays.copyOf(tickCalls, newLength);
+            sampleNanos = Arrays.copyOf(sampleNanos, newLength);
+            totalCalls = Arrays.copyOf(totalCalls, newLength);
+        }
+        sampleNanos[slot] = new long[SAMPLE_WINDOW];
+        if (usedSlotCount == usedSlots.length) {
+            usedSlots = Arrays.copyOf(usedSlots, usedSlotCount * 2);
+        }
+        usedSlots[usedSlotCount++] = slot;
+    }
+
+    /**
+     * Returns the stats for all categories and phases, combined over all profilers.
+     * Per-tick times from different profilers are added together, as they are for different worlds.
+     * Profilers may have started at different times, so their samples are lined up newest-first
+     * before being added, rather than by their place in each profiler's buffer.
+     * Sorted by 95th percentile time, highest first.
+     */
+    public static List<Stats> getStats() {
+        Map<Integer, long[]> combinedSamples = new HashMap<>();
+        Map<Integer, long[]> combinedCalls = new HashMap<>();
+        int maxSamples = 0;
+        long maxTicks = 0;
+        synchronized (profilers) {
+            for (EntityProfiler profiler : profilers) {
+                synchronized (profiler) {
+                    maxSamples = Math.max(maxSamples, profiler.samplesTaken);
+                    maxTicks = Math.max(maxTicks, profiler.ticksProfiled);
+                    for (int i = 0; i < profiler.usedSlotCount; ++i) {
+                        int slot = profiler.usedSlots[i];
+                        long[] samples = combinedSamples.computeIfAbsent(slot, k -> new long[SAMPLE_WINDOW]);
+                        long[] profilerSamples = profiler.sampleNanos[slot];
+                        for (int j = 0; j < profiler.samplesTaken; ++j) {
+                            samples[j] += profilerSamples[(profiler.sampleIndex - 1 - j + SAMPLE_WINDOW) % SAMPLE_WINDOW];
+                        }
+                        combinedCalls.computeIfAbsent(slot, k -> new long[1])[0] += profiler.totalCalls[slot];
+                    }
+                }
+            }
+        }
+
+        List<Stats> stats = new ArrayList<>();
+        if (maxSamples > 0) {
+            for (Map.Entry<Integer, long[]> slotEntry : combinedSamples.entrySet()) {
+                int slot = slotEntry.getKey();
+                stats.add(new Stats(categoryNames[slot / PHASE_COUNT], Phase.values()[slot % PHASE_COUNT], slotEntry.getValue(), maxSamples, (double) combinedCalls.get(slot)[0] / maxTicks));
+            }
+            stats.sort((stats1, stats2) -> Double.compare(stats2.p95Millis, stats1.p95Millis));
+        }
+        return stats;
+    }
+
+    /**
+     * Writes the current stats to a CSV file in the game directory, and returns that file.
+     */
+    public static File dumpStats() throws IOException {
+        File file = new File(InterfaceManager.gameDirectory, "mts_profile_" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".csv");
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.println("category,phase,ticks,callsPerTick,meanMs,p50Ms,p95Ms,p99Ms,maxMs");
+            for (Stats stats : getStats()) {
+                writer.println(String.format(Locale.ROOT, "%s,%s,%d,%.2f,%.4f,%.4f,%.4f,%.4f,%.4f", stats.category, stats.phase, stats.ticks, stats.callsPerTick, stats.meanMillis, stats.p50Millis, stats.p95Millis, stats.p99Millis, stats.maxMillis));
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Handles the profiler command, returning the lines to show to the player that ran it.
+     * The command is registered by the interfaces, as each MC version does commands differently.
+     */
+    public static List<String> handleCommand(String[] args) {
+        List<String> lines = new ArrayList<>();
+        String action = args.length > 0 ? args[0].toLowerCase(Locale.ROOT) : "";
+        switch (action) {
+            case "start": {
+                enabled = true;
+                lines.add("MTS profiler started.  Stats cover the last " + SAMPLE_WINDOW + " ticks.");
+                break;
+            }
+            case "stop": {
+                enabled = false;
+                lines.add("MTS profiler stopped.  Collected stats are kept until reset.");
+                break;
+            }
+            case "reset": {
+                synchronized (profilers) {
+                    profilers.forEach(EntityProfiler::reset);
+                }
+                lines.add("MTS profiler stats reset.");
+                break;
+            }
+            case "report": {
+                int maxLines = 10;
+                if (args.length > 1) {
+                    try {
+                        maxLines = Integer.parseInt(args[1]);
+                    } catch (NumberFormatException e) {
+                        lines.add("Usage: " + COMMAND_USAGE);
+                        break;
+                    }
+                }
+                List<Stats> stats = getStats();
+                if (stats.isEmpty()) {
+                    lines.add("No profiler stats.  Run /" + COMMAND_NAME + " start first.");
+                } else {
+                    lines.add("category phase: p50/p95/p99/max ms per tick, calls per tick");
+                    for (int i = 0; i < maxLines && i < stats.size(); ++i) {
+                        Stats entry = stats.get(i);
+                        lines.add(String.format(Locale.ROOT, "%s %s: %.3f/%.3f/%.3f/%.3f, %.1f", entry.category, entry.phase, entry.p50Millis, entry.p95Millis, entry.p99Millis, entry.maxMillis, entry.callsPerTick));
+                    }
+                }
+                break;
+            }
+            case "dump": {
+                try {
+                    lines.add("MTS profiler stats written to " + dumpStats().getAbsolutePath());
+                } catch (IOException e) {
+                    lines.add("Could not write MTS profiler stats: " + e.getMessage());
+                }
+                break;
+            }
+            default:
+                lines.add("Usage: " + COMMAND_USAGE);
+        }
+        return lines;
+    }
+
+    /**
+     * The phases that are profiled.
+     */
+    public enum Phase {
+        TICK,
+        PHYSICS,
+        COLLISION,
+        ANIMATION,
+        PACKETS,
+        RENDER;
+    }
+
+    /**
+     * Rolling stats for one category and phase.  Times are per tick, in milliseconds.
+     */
+    public static class Stats {
+        public final String category;
+        public final Phase phase;
+        public final int ticks;
+        public final double callsPerTick;
+        public final double meanMillis;
+        public final double p50Millis;
+        public final double p95Millis;
+        public final double p99Millis;
+        public final double maxMillis;
+
+        private Stats(String category, Phase phase, long[] samples, int ticks, double callsPerTick) {
+            this.category = category;
+            this.phase = phase;
+            this.ticks = ticks;
+            long[] sortedSamples = Arrays.copyOf(samples, ticks);
+            Arrays.sort(sortedSamples);
+            long sum = 0;
+            for (long sample : sortedSamples) {
+                sum += sample;
+            }
+            this.callsPerTick = callsPerTick;
+            this.meanMillis = sum / 1E6D / ticks;
+            this.p50Millis = getPercentile(sortedSamples, 0.50);
+            this.p95Millis = getPercentile(sortedSamples, 0.95);
+            this.p99Millis = getPercentile(sortedSamples, 0.99);
+            this.maxMillis = sortedSamples[ticks - 1] / 1E6D;
+        }
+
+        private static double getPercentile(long[] sortedSamples, double percentile) {
+            return sortedSamples[(int) Math.min(sortedSamples.length - 1, Math.ceil(percentile * sortedSamples.length) - 1)] / 1E6D;
+        }
+    }
+}
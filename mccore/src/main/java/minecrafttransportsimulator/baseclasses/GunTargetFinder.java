@@ -0,0 +1,168 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperEntity;
+
+/**
+ * Finds targets for guns.  Targets are found in stages, going from cheapest to most expensive:
+ * first the squared distance to each possible target is checked, then if the target is inside the
+ * search cone via a dot product, and finally if the gun has line of sight to the target.  Line of
+ * sight is only checked for targets that pass the other stages, starting with the closest one, so
+ * most searches only need one raytrace.  Line of sight results are also cached per target for
+ * {@link #LINE_OF_SIGHT_CACHE_TICKS}, as guns re-check the same targets every tick.
+ * <br><br>
+ * Each gun should have its own finder, as finders aren't thread-safe, and the cache is per-gun.
+ *
+ * @author don_bruce
+ */
+public class GunTargetFinder {
+    /**How many ticks line of sight results are kept before the raytrace is done again.**/
+    public static final int LINE_OF_SIGHT_CACHE_TICKS = 5;
+    /**How often we remove old results from the cache.  This keeps it from growing as targets come and go.**/
+    private static final int CACHE_PRUNE_TICKS = 100;
+
+    private final AWrapperWorld world;
+    private final Map<Object, LineOfSight> lineOfSightCache = new HashMap<>();
+    private final List<Candidate> candidatePool = new ArrayList<>();
+    private final List<Candidate> candidates = new ArrayList<>();
+    private final Point3D normalizedConeVector = new Point3D();
+    private final Point3D targetVector = new Point3D();
+    private long lastPruneTick;
+
+    public GunTargetFinder(AWrapperWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Returns the closest vehicle that is inside the cone defined by the passed-in start point, search vector
+     * and cone angle, and that the start point has line of sight to.  The length of the search vector is the
+     * max distance to search.  Only vehicles that match the passed-in filter are checked.  Returns null if
+     * no vehicles are found.
+     */
+    public EntityVehicleF_Physics getVehicleTarget(Point3D startPoint, Point3D searchVector, double coneAngle, Predicate<EntityVehicleF_Physics> filter, long tick) {
+        startSearch(searchVector);
+        double maxDistance = searchVector.length();
+        double maxDistanceSquared = maxDistance * maxDistance;
+        double coneCos = Math.cos(Math.toRadians(coneAngle));
+        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            if (filter.test(vehicle)) {
+                addCandidate(vehicle, vehicle.position, startPoint, maxDistanceSquared, coneCos);
+            }
+        }
+        return (EntityVehicleF_Physics) getClosestVisibleCandidate(startPoint, tick);
+    }
+
+    /**
+     * Like {@link #getVehicleTarget(Point3D, Point3D, double, Predicate, long)}, but for the passed-in entities.
+     * Entities that are not valid, or are the ignored entity, are not checked.
+     */
+    public IWrapperEntity getEntityTarget(Point3D startPoint, Point3D searchVector, double coneAngle, Collection<IWrapperEntity> entities, IWrapperEntity ignoredEntity, long tick) {
+        startSearch(searchVector);
+        double maxDistance = searchVector.length();
+        double maxDistanceSquared = maxDistance * maxDistance;
+        double coneCos = Math.cos(Math.toRadians(coneAngle));
+        for (IWrapperEntity entity : entities) {
+            if (entity.isValid() && entity != ignoredEntity) {
+                addCandidate(entity, entity.getPosition(), startPoint, maxDistanceSquared, coneCos);
+            }
+        }
+        return (IWrapperEntity) getClosestVisibleCandidate(startPoint, tick);
+    }
+
+    /**
+     * Returns true if there are no blocks between the start point and the start point plus the delta.
+     * Results are cached per target, so if this was called for the target within the last
+     * {@link #LINE_OF_SIGHT_CACHE_TICKS}, the last result is returned instead of doing a new raytrace.
+     */
+    public boolean hasLineOfSight(Object target, Point3D startPoint, Point3D delta, long tick) {
+        if (tick - lastPruneTick >= CACHE_PRUNE_TICKS || tick < lastPruneTick) {
+            lineOfSightCache.values().removeIf(lineOfSight -> !lineOfSight.isCurrent(tick));
+            lastPruneTick = tick;
+        }
+        LineOfSight lineOfSight = lineOfSightCache.get(target);
+        if (lineOfSight == null) {
+            lineOfSight = new LineOfSight();
+            lineOfSightCache.put(target, lineOfSight);
+        } else if (lineOfSight.isCurrent(tick)) {
+            return lineOfSight.isClear;
+        }
+        lineOfSight.isClear = world.getBlockHit(startPoint, delta) == null;
+        lineOfSight.tickChecked = tick;
+        return lineOfSight.isClear;
+    }
+
+    private void startSearch(Point3D searchVector) {
+        normalizedConeVector.set(searchVector).normalize();
+        candidates.clear();
+    }
+
+    private void addCandidate(Object target, Point3D targetPosition, Point3D startPoint, double maxDistanceSquared, double coneCos) {
+        double deltaX = targetPosition.x - startPoint.x;
+        double deltaY = targetPosition.y - startPoint.y;
+        double deltaZ = targetPosition.z - startPoint.z;
+        double distanceSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+        if (distanceSquared < maxDistanceSquared) {
+            //Close enough, check if we are inside the cone.  This compares the cosine of the angle
+            //to the cone's cosine, squared to avoid getting the length of the delta.
+            double dotProduct = normalizedConeVector.x * deltaX + normalizedConeVector.y * deltaY + normalizedConeVector.z * deltaZ;
+            double limitSquared = coneCos * coneCos * distanceSquared;
+            boolean insideCone = coneCos >= 0 ? (dotProduct > 0 && dotProduct * dotProduct > limitSquared) : (dotProduct >= 0 || dotProduct * dotProduct < limitSquared);
+            if (insideCone) {
+                Candidate candidate;
+                if (candidates.size() < candidatePool.size()) {
+                    candidate = candidatePool.get(candidates.size());
+                } else {
+                    candidate = new Candidate();
+                    candidatePool.add(candidate);
+                }
+                candidate.target = target;
+                candidate.position = targetPosition;
+                candidate.distanceSquared = distanceSquared;
+                candidates.add(candidate);
+            }
+        }
+    }
+
+    private Object getClosestVisibleCandidate(Point3D startPoint, long tick) {
+        Object closestTarget = null;
+        if (!candidates.isEmpty()) {
+            candidates.sort((first, second) -> Double.compare(first.distanceSquared, second.distanceSquared));
+            for (Candidate candidate : candidates) {
+                targetVector.set(candidate.position).subtract(startPoint);
+                if (hasLineOfSight(candidate.target, startPoint, targetVector, tick)) {
+                    closestTarget = candidate.target;
+                    break;
+                }
+            }
+            //Don't hold onto targets, they may be removed from the world.
+            for (Candidate candidate : candidates) {
+                candidate.target = null;
+                candidate.position = null;
+            }
+        }
+        return closestTarget;
+    }
+
+    private static class Candidate {
+        private Object target;
+        private Point3D position;
+        private double distanceSquared;
+    }
+
+    private static class LineOfSight {
+        private boolean isClear;
+        private long tickChecked;
+
+        private boolean isCurrent(long tick) {
+            return tick >= tickChecked && tick - tickChecked < LINE_OF_SIGHT_CACHE_TICKS;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.jsondefs.JSONConfigLanguage.LanguageEntry;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperEntity;
+
+/**
+ * Index of all hazard volumes that are active in a world this tick.  Hazard volumes are areas around parts
+ * that hurt any entities in them, such as spinning propellers, jet intakes, and fast wheels.  Parts keep their
+ * volumes and update them in place, and call {@link #activate(HazardVolume)} every tick they are dangerous.
+ * Once all entities have ticked, {@link #applyDamage()} groups the active volumes into grid cells and does one
+ * entity query per cell, rather than one per volume, and then damages all entities inside each volume.
+ * The query goes through {@link AWrapperWorld#attackEntities(Damage, Point3D, boolean)}, so volumes hit the
+ * same entities they did when each one attacked on its own, including non-living ones like items and boats.
+ * This keeps things like airfields full of idling aircraft from doing dozens of entity queries every tick.
+ * Only used on servers, as that's where damage is done.
+ *
+ * @author don_bruce
+ */
+public class HazardVolumeIndex {
+    /**Size of the grid cells, in blocks.**/
+    private static final int CELL_SIZE = 16;
+
+    private final Set<HazardVolume> activeVolumes = ConcurrentHashMap.newKeySet();
+    private final Map<Long, List<HazardVolume>> cells = new HashMap<>();
+    private final BoundingBox queryBox = new BoundingBox(new Point3D(), 0, 0, 0);
+    /**Damage used only to find the entities in {@link #queryBox}.  Has no source, as each volume checks its own riders.**/
+    private final Damage queryDamage = new Damage(0, queryBox, null, null, null);
+
+    /**
+     * Activates the passed-in volume for this tick.  The volume will damage entities in it when
+     * {@link #applyDamage()} is next called.  Volumes that are activated more than once in a tick only damage once.
+     * It is safe to call this for different volumes from multiple threads at once.
+     */
+    public void activate(HazardVolume volume) {
+        activeVolumes.add(volume);
+    }
+
+    /**
+     * Damages all entities in all active volumes, and then de-activates them.  This should be called
+     * once per tick on the main thread after all entities have been ticked.
+     */
+    public void applyDamage() {
+        if (activeVolumes.isEmpty()) {
+            return;
+        }
+
+        //Put volumes into cells based on their centers.  Volumes can stick out of their cell,
+        //but that's fine since we query the combined bounds of all volumes in the cell.
+        for (HazardVolume volume : activeVolumes) {
+            if (volume.source.isValid) {
+                long cellKey = getCellKey(getCellCoord(volume.box.globalCenter.x), getCellCoord(volume.box.globalCenter.z));
+                cells.computeIfAbsent(cellKey, k -> new ArrayList<>()).add(volume);
+            }
+        }
+        activeVolumes.clear();
+
+        for (List<HazardVolume> cellVolumes : cells.values()) {
+            double minX = Double.MAX_VALUE;
+            double minY = Double.MAX_VALUE;
+            double minZ = Double.MAX_VALUE;
+            double maxX = -Double.MAX_VALUE;
+            double maxY = -Double.MAX_VALUE;
+            double maxZ = -Double.MAX_VALUE;
+            for (HazardVolume volume : cellVolumes) {
+                BoundingBox box = volume.box;
+                minX = Math.min(minX, box.globalCenter.x - box.widthRadius);
+                minY = Math.min(minY, box.globalCenter.y - box.heightRadius);
+                minZ = Math.min(minZ, box.globalCenter.z - box.depthRadius);
+                maxX = Math.max(maxX, box.globalCenter.x + box.widthRadius);
+                maxY = Math.max(maxY, box.globalCenter.y + box.heightRadius);
+                maxZ = Math.max(maxZ, box.globalCenter.z + box.depthRadius);
+            }
+            queryBox.globalCenter.set((minX + maxX) / 2D, (minY + maxY) / 2D, (minZ + maxZ) / 2D);
+            queryBox.widthRadius = (maxX - minX) / 2D;
+            queryBox.heightRadius = (maxY - minY) / 2D;
+            queryBox.depthRadius = (maxZ - minZ) / 2D;
+
+            for (IWrapperEntity entity : cellVolumes.get(0).source.world.attackEntities(queryDamage, null, true)) {
+                BoundingBox entityBounds = entity.getBounds();
+                AEntityB_Existing entityRiding = entity.getEntityRiding();
+                for (HazardVolume volume : cellVolumes) {
+                    if (volume.box.intersects(entityBounds) && !volume.isOwnRider(entityRiding)) {
+                        entity.attack(volume.createDamage());
+                    }
+                }
+            }
+        }
+        cells.clear();
+    }
+
+    private static int getCellCoord(double coord) {
+        return (int) Math.floor(coord / CELL_SIZE);
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A single hazard volume.  Owned by a part, which should update it via {@link #set(BoundingBox, double, IWrapperEntity, LanguageEntry)}
+     * before activating it.  Entities riding the multipart the part is on are never hurt by the volume.
+     */
+    public static class HazardVolume {
+        public final APart source;
+        public final BoundingBox box = new BoundingBox(new Point3D(), 0, 0, 0);
+        private final boolean isFire;
+        private double amount;
+        private IWrapperEntity entityResponsible;
+        private LanguageEntry language;
+
+        public HazardVolume(APart source, boolean isFire) {
+            this.source = source;
+            this.isFire = isFire;
+        }
+
+        /**
+         * Sets the bounds and damage of this volume.  The bounds are copied from the passed-in box.
+         */
+        public void set(BoundingBox bounds, double amount, IWrapperEntity entityResponsible, LanguageEntry language) {
+            box.globalCenter.set(bounds.globalCenter);
+            box.widthRadius = bounds.widthRadius;
+            box.heightRadius = bounds.heightRadius;
+            box.depthRadius = bounds.depthRadius;
+            this.amount = amount;
+            this.entityResponsible = entityResponsible;
+            this.language = language;
+        }
+
+        /**
+         * Returns true if the passed-in entity being ridden is our part, or is a part on the same multipart as
+         * our part.  Riders on these can't be hurt by us.
+         */
+        private boolean isOwnRider(AEntityB_Existing entityRiding) {
+            return entityRiding != null && (entityRiding == source || (entityRiding instanceof APart && ((APart) entityRiding).masterEntity == source.masterEntity));
+        }
+
+        private Damage createDamage() {
+            Damage damage = new Damage(amount, box.copyGlobalBounds(), source, entityResponsible, language);
+            return isFire ? damage.setFire() : damage;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.baseclasses;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -7,6 +8,7 @@ import minecrafttransportsimulator.entities.components.AEntityA_Base;
 import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.instances.ItemBullet;
+import minecrafttransportsimulator.mcinterface.IInterfaceCore;
 import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packloading.PackMaterialComponent;
@@ -217,22 +219,45 @@ public interface IInventoryProvider {
         }
     }
 
+    /**
+     * Returns a map of the match keys of all stacks in this inventory to the number of items with that key.
+     * Keys come from {@link IInterfaceCore#getOredictMatchKey(IWrapperItemStack)}, so the count for a key is the number
+     * of items that are an OreDict match for stacks with that key.  The map is built from scratch each call here, so
+     * inventories that know when their slots change should override this to cache the map.  The returned map may not be modified.
+     */
+    default Map<Object, Integer> getItemCounts() {
+        Map<Object, Integer> itemCounts = new HashMap<>();
+        for (int i = 0; i < getSize(); ++i) {
+            IWrapperItemStack stack = getStack(i);
+            if (!stack.isEmpty()) {
+                itemCounts.merge(InterfaceManager.coreInterface.getOredictMatchKey(stack), stack.getSize(), Integer::sum);
+            }
+        }
+        return itemCounts;
+    }
+
+    /**
+     * Returns the number of items in this inventory that can be used for the passed-in material.
+     */
+    default int getMaterialCount(PackMaterialComponent material) {
+        Map<Object, Integer> itemCounts = getItemCounts();
+        int count = 0;
+        for (Object key : material.possibleItemKeys) {
+            Integer keyCount = itemCounts.get(key);
+            if (keyCount != null) {
+                count += keyCount;
+            }
+        }
+        return count;
+    }
+
     /**
      * Returns true if this inventory has all the materials to make the pack-based item..  Normally uses the output
-     * of {@link PackMaterialComponent#parseFromJSON(AItemPack, int, boolean, boolean, boolean)}, but can use any input.
+     * of {@link PackMaterialComponent#parseFromJSON(AItemPack, int, boolean, boolean, boolean, boolean)}, but can use any input.
      */
     default boolean hasMaterials(List<PackMaterialComponent> materials) {
         for (PackMaterialComponent material : materials) {
-            int requiredMaterialCount = material.qty;
-            for (IWrapperItemStack materialStack : material.possibleItems) {
-                for (int i = 0; i < getSize(); ++i) {
-                    IWrapperItemStack testStack = getStack(i);
-                    if (InterfaceManager.coreInterface.isOredictMatch(testStack, materialStack)) {
-                        requiredMaterialCount -= testStack.getSize();
-                    }
-                }
-            }
-            if (requiredMaterialCount > 0) {
+            if (getMaterialCount(material) < material.qty) {
                 return false;
             }
         }
@@ -240,20 +265,11 @@ public interface IInventoryProvider {
     }
 
     /**
-     * Returns true if this inventory has the specified material index to make the pack-based item.
+     * Returns true if this inventory is missing the specified material index to make the pack-based item.
      */
     default boolean hasSpecificMaterial(AItemPack<?> item, int recipeIndex, int index, boolean includeMain, boolean includeSub, boolean forRepair, boolean includeRepair) {
         PackMaterialComponent material = PackMaterialComponent.parseFromJSON(item, recipeIndex, includeMain, includeSub, forRepair, includeRepair).get(index);
-        int requiredMaterialCount = material.qty;
-        for (IWrapperItemStack materialStack : material.possibleItems) {
-            for (int i = 0; i < getSize(); ++i) {
-                IWrapperItemStack testStack = getStack(i);
-                if (InterfaceManager.coreInterface.isOredictMatch(testStack, materialStack)) {
-                    requiredMaterialCount -= testStack.getSize();
-                }
-            }
-        }
-        return requiredMaterialCount > 0;
+        return getMaterialCount(material) < material.qty;
     }
 
     /**
@@ -0,0 +1,152 @@
+package minecrafttransportsimulator.baseclasses;
+
+import minecrafttransportsimulator.jsondefs.JSONParticle;
+import minecrafttransportsimulator.jsondefs.JSONParticle.ParticlePriority;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**
+ * Budget for all particles in a world.  Particles are only ever spawned on clients, and a big traffic jam
+ * can easily have thousands of exhaust, smoke, and tire particles alive at once.  To keep this in check,
+ * entities ask this class how many particles to spawn via {@link #getParticlesToSpawn(Emitter, JSONParticle, int, double)}.
+ * Particles past the particle LOD distance are spawned at a lower rate, with the ones that are spawned made
+ * larger to make up for the ones that aren't.  No particles are spawned once the number of live particles hits
+ * the budget for the particle's {@link ParticlePriority}, so low-priority particles leave room for important ones.
+ * <br><br>
+ * Live particles are counted by the {@link EntityManager} as they are added and removed, so particles spawned
+ * any other way count too.  This class is not thread-safe, but since particles are only added, removed, and
+ * spawned on the main client thread, that's not a problem.
+ *
+ * @author don_bruce
+ */
+public class ParticleBudget {
+    /**Lowest rate particles are spawned at, no matter how far away they are.**/
+    private static final double MIN_SPAWN_RATE = 0.25;
+
+    private int liveParticles;
+    private int peakParticles;
+    private int skippedParticles;
+    private int mergedParticles;
+    private int lastTickSkippedParticles;
+    private int lastTickMergedParticles;
+
+    /**
+     * Saves the counts from the last tick for {@link #getDebugText()}, and resets them for this tick.
+     * This should be called at the start of each tick.
+     */
+    public void tick() {
+        lastTickSkippedParticles = skippedParticles;
+        lastTickMergedParticles = mergedParticles;
+        skippedParticles = 0;
+        mergedParticles = 0;
+        peakParticles = liveParticles;
+    }
+
+    void particleAdded() {
+        if (++liveParticles > peakParticles) {
+            peakParticles = liveParticles;
+        }
+    }
+
+    void particleRemoved() {
+        --liveParticles;
+    }
+
+    /**
+     * Returns the number of particles alive in the world.
+     */
+    public int getLiveParticles() {
+        return liveParticles;
+    }
+
+    /**
+     * Returns the most particles that were alive at once this tick.
+     */
+    public int getPeakParticles() {
+        return peakParticles;
+    }
+
+    /**
+     * Returns the most particles that can be alive at once for the passed-in priority.
+     * Returns {@link Integer#MAX_VALUE} if there is no budget.
+     */
+    public int getLimit(ParticlePriority priority) {
+        int maxParticles = ConfigSystem.client.renderingSettings.maxParticles.value;
+        if (maxParticles <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        switch (priority != null ? priority : ParticlePriority.NORMAL) {
+            case LOW:
+                return maxParticles / 2;
+            case HIGH:
+                return maxParticles;
+            default:
+                return maxParticles * 4 / 5;
+        }
+    }
+
+    /**
+     * Returns true if there's room in the budget for another particle of the passed-in priority.
+     * Use this for one-off particles that aren't spawned from an {@link Emitter}.  If this returns false,
+     * the particle is counted as skipped.
+     */
+    public boolean hasRoom(ParticlePriority priority) {
+        if (liveParticles < getLimit(priority)) {
+            return true;
+        } else {
+            ++skippedParticles;
+            return false;
+        }
+    }
+
+    /**
+     * Returns how many particles of the passed-in definition the emitter should spawn, when it wants to spawn the
+     * passed-in quantity at the passed-in distance from the player.  This will be less than the quantity if the
+     * emitter is past the LOD distance or if the budget is full.  The size particles should be spawned at to make
+     * up for this is put in {@link Emitter#sizeScale}.  The returned number of particles should be spawned right away,
+     * as they aren't counted as live until they are added to the world.
+     */
+    public int getParticlesToSpawn(Emitter emitter, JSONParticle definition, int quantity, double distance) {
+        double lodDistance = ConfigSystem.client.renderingSettings.particleLODDistance.value;
+        double spawnRate = lodDistance > 0 && distance > lodDistance ? Math.max(MIN_SPAWN_RATE, lodDistance / distance) : 1;
+
+        //Carry over parts of particles between calls, so slow emitters still spawn sometimes.
+        emitter.spawnCarry += quantity * spawnRate;
+        int particlesToSpawn = (int) emitter.spawnCarry;
+        emitter.spawnCarry -= particlesToSpawn;
+        if (spawnRate < 1) {
+            //Scale up the size to keep the same area as the particles we didn't spawn.
+            emitter.sizeScale = (float) Math.sqrt(1 / spawnRate);
+            mergedParticles += quantity - particlesToSpawn;
+        } else {
+            emitter.sizeScale = 1;
+        }
+
+        int room = getLimit(definition.priority) - liveParticles;
+        if (particlesToSpawn > room) {
+            room = Math.max(room, 0);
+            skippedParticles += particlesToSpawn - room;
+            particlesToSpawn = room;
+        }
+        return particlesToSpawn;
+    }
+
+    /**
+     * Returns a line of text describing the budget, for debug screens.
+     */
+    public String getDebugText() {
+        int maxParticles = ConfigSystem.client.renderingSettings.maxParticles.value;
+        return "MTS Particles: " + liveParticles + "/" + (maxParticles > 0 ? String.valueOf(maxParticles) : "unlimited") + ", Skipped: " + lastTickSkippedParticles + ", Merged: " + lastTickMergedParticles;
+    }
+
+    /**
+     * Spawning state for a single particle definition on an entity.
+     */
+    public static class Emitter {
+        private double spawnCarry;
+        /**
+         * How much to scale the size of the particles spawned in the last call to
+         * {@link ParticleBudget#getParticlesToSpawn(Emitter, JSONParticle, int, double)}.
+         */
+        public float sizeScale = 1;
+    }
+}
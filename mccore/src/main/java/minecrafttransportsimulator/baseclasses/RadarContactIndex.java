@@ -0,0 +1,174 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+
+/**
+ * Snapshot of all vehicles in a world that radars can see, split into aircraft and ground vehicles.
+ * The snapshot is made the first time a radar asks for contacts in a tick, so no matter how many radars
+ * there are, the vehicle list is only gone through once per tick, and not at all if no radars are active.  Contacts in the snapshot are
+ * sorted by X, which lets radars only check contacts that are in their range on that axis.  Radars then
+ * get contacts via {@link #getContacts(AEntityB_Existing, Point3D, Point3D, double, double, boolean, double, boolean, List)},
+ * which returns them sorted closest-first.
+ *
+ * @author don_bruce
+ */
+public class RadarContactIndex {
+    private final EntityManager manager;
+    private volatile Snapshot snapshot;
+
+    public RadarContactIndex(EntityManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Discards the current snapshot, so the next request makes a new one.
+     * This should be called on the main thread at the start of each tick, before any entities update.
+     */
+    public void tick() {
+        snapshot = null;
+    }
+
+    /**
+     * Adds all aircraft or ground vehicles that the passed-in radar can see to the passed-in list, closest first.
+     * The radar can see vehicles that are within the range of its position, and within the cone angle of the
+     * passed-in look vector.  If the min cross-section is more than 0, vehicles smaller than it won't be seen.
+     * See {@link RadarContact#crossSection} for how this is calculated.  If line of sight is required, vehicles
+     * behind blocks won't be seen.  The radar entity itself will never be seen.
+     * It is safe to call this from multiple threads at once.
+     */
+    public void getContacts(AEntityB_Existing radar, Point3D position, Point3D lookVector, double range, double coneAngle, boolean aircraft, double minCrossSection, boolean requireLineOfSight, List<EntityVehicleF_Physics> contacts) {
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            //First request this tick, make a snapshot now.
+            synchronized (this) {
+                currentSnapshot = snapshot;
+                if (currentSnapshot == null) {
+                    currentSnapshot = new Snapshot(manager);
+                    snapshot = currentSnapshot;
+                }
+            }
+        }
+        RadarContact[] snapshotContacts = aircraft ? currentSnapshot.aircraft : currentSnapshot.grounders;
+        double[] snapshotXs = aircraft ? currentSnapshot.aircraftXs : currentSnapshot.grounderXs;
+
+        //Only check contacts that are in range on the X axis.
+        int index = Arrays.binarySearch(snapshotXs, position.x - range);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        double maxX = position.x + range;
+        double rangeSquared = range * range;
+        double lookLength = lookVector.length();
+        double lookX = lookVector.x / lookLength;
+        double lookY = lookVector.y / lookLength;
+        double lookZ = lookVector.z / lookLength;
+        double coneCos = Math.cos(Math.toRadians(coneAngle));
+        List<FoundContact> foundContacts = null;
+        for (; index < snapshotContacts.length && snapshotXs[index] < maxX; ++index) {
+            RadarContact contact = snapshotContacts[index];
+            if (contact.vehicle == radar) {
+                continue;
+            }
+            double deltaX = contact.x - position.x;
+            double deltaY = contact.y - position.y;
+            double deltaZ = contact.z - position.z;
+            double distanceSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+            if (distanceSquared < rangeSquared && contact.crossSection >= minCrossSection) {
+                //Check if we are inside the cone.  This compares the cosine of the angle to the cone's cosine,
+                //squared to avoid getting the length of the delta.
+                double dotProduct = lookX * deltaX + lookY * deltaY + lookZ * deltaZ;
+                double limitSquared = coneCos * coneCos * distanceSquared;
+                boolean insideCone = coneCos >= 0 ? (dotProduct > 0 && dotProduct * dotProduct > limitSquared) : (dotProduct >= 0 || dotProduct * dotProduct < limitSquared);
+                if (insideCone && (!requireLineOfSight || radar.world.getBlockHit(position, new Point3D(deltaX, deltaY, deltaZ)) == null)) {
+                    if (foundContacts == null) {
+                        foundContacts = new ArrayList<>();
+                    }
+                    foundContacts.add(new FoundContact(contact.vehicle, distanceSquared));
+                }
+            }
+        }
+        if (foundContacts != null) {
+            foundContacts.sort((first, second) -> Double.compare(first.distanceSquared, second.distanceSquared));
+            for (FoundContact contact : foundContacts) {
+                contacts.add(contact.vehicle);
+            }
+        }
+    }
+
+    private static class FoundContact {
+        private final EntityVehicleF_Physics vehicle;
+        private final double distanceSquared;
+
+        private FoundContact(EntityVehicleF_Physics vehicle, double distanceSquared) {
+            this.vehicle = vehicle;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+
+    private static class Snapshot {
+        private final RadarContact[] aircraft;
+        private final RadarContact[] grounders;
+        private final double[] aircraftXs;
+        private final double[] grounderXs;
+
+        private Snapshot(EntityManager manager) {
+            List<RadarContact> aircraftList = new ArrayList<>();
+            List<RadarContact> grounderList = new ArrayList<>();
+            for (EntityVehicleF_Physics vehicle : manager.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+                if (!vehicle.outOfHealth) {
+                    if (vehicle.definition.motorized.isAircraft) {
+                        aircraftList.add(new RadarContact(vehicle));
+                    } else {
+                        grounderList.add(new RadarContact(vehicle));
+                    }
+                }
+            }
+            aircraft = toSortedArray(aircraftList);
+            grounders = toSortedArray(grounderList);
+            aircraftXs = getXs(aircraft);
+            grounderXs = getXs(grounders);
+        }
+
+        private static RadarContact[] toSortedArray(List<RadarContact> contactList) {
+            RadarContact[] contacts = contactList.toArray(new RadarContact[contactList.size()]);
+            Arrays.sort(contacts, (first, second) -> Double.compare(first.x, second.x));
+            return contacts;
+        }
+
+        private static double[] getXs(RadarContact[] contacts) {
+            double[] xs = new double[contacts.length];
+            for (int i = 0; i < contacts.length; ++i) {
+                xs[i] = contacts[i].x;
+            }
+            return xs;
+        }
+    }
+
+    /**
+     * A vehicle in a snapshot.  The position is copied so it doesn't change as the vehicle moves during the tick.
+     */
+    public static class RadarContact {
+        public final EntityVehicleF_Physics vehicle;
+        public final double x;
+        public final double y;
+        public final double z;
+        /**
+         * How big the vehicle looks to radars, in square blocks.  This is the largest side of the vehicle's encompassing box.
+         */
+        public final double crossSection;
+
+        private RadarContact(EntityVehicleF_Physics vehicle) {
+            this.vehicle = vehicle;
+            this.x = vehicle.position.x;
+            this.y = vehicle.position.y;
+            this.z = vehicle.position.z;
+            BoundingBox box = vehicle.encompassingBox;
+            this.crossSection = 4 * Math.max(box.widthRadius * box.heightRadius, Math.max(box.depthRadius * box.heightRadius, box.widthRadius * box.depthRadius));
+        }
+    }
+}
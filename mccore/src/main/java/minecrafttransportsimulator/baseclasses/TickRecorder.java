@@ -0,0 +1,260 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.baseclasses.TickRecording.RecordedPacket;
+import minecrafttransportsimulator.baseclasses.TickRecording.RecordedPlayer;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.packloading.PackParser;
+
+/**
+ * Records a window of server ticks into a {@link TickRecording}, so lag seen on a real server can be run
+ * again without MC.  Recording is started with the command, and begins on the next tick of the first server
+ * world to tick.  At the start, all vehicles in that world are saved, along with the players near them and the
+ * loaded packs, and their random sources are seeded like replays seed them.  Then every tick, the ground height of the block columns under and ahead of each vehicle are
+ * recorded, as are all entity packets the server handles, since that's how player inputs get to vehicles.
+ * Once the requested number of ticks are done, the vehicles are saved again and the recording is written
+ * to the game directory on its own thread, as long recordings take a while to write and we don't want to stall the server.
+ * <br><br>
+ * The ground is recorded as the height of the top block in each column, so the world that replays it will
+ * be flat-topped blocks: overhangs, slabs, and liquids aren't kept.  Vehicles that are spawned or removed
+ * during recording, and things that aren't vehicles, aren't recorded either.  When not recording, the hooks
+ * in the ticking and packet code are just a check of a static field.
+ *
+ * @author don_bruce
+ */
+public class TickRecorder {
+    /**Name of the command that runs {@link #handleCommand(String[])}.**/
+    public static final String COMMAND_NAME = "mtsrecord";
+    public static final String COMMAND_USAGE = "/" + COMMAND_NAME + " <start [ticks]|stop|status>";
+    public static final int DEFAULT_TICKS = 200;
+    public static final int MAX_TICKS = 72000;
+    /**How far past each vehicle's bounds to record the ground, in blocks, on top of how far it moves in a tick.**/
+    private static final int GROUND_MARGIN = 2;
+    /**How far from each vehicle to look for players to record.**/
+    private static final double PLAYER_RANGE = 128;
+
+    private static volatile int requestedTicks;
+    private static volatile boolean stopRequested;
+    private static volatile TickRecorder activeRecorder;
+    private static volatile File lastRecordingFile;
+    private static volatile Thread writingThread;
+
+    private final AWrapperWorld world;
+    private final int ticksToRecord;
+    private final TickRecording recording = new TickRecording();
+
+    private TickRecorder(AWrapperWorld world, int ticksToRecord) {
+        this.world = world;
+        this.ticksToRecord = ticksToRecord;
+        recording.packIDs.addAll(PackParser.getAllPackIDs());
+        recording.startTime = world.getTime();
+        Set<UUID> recordedPlayers = new HashSet<>();
+        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            recording.initialEntities.add(saveVehicle(vehicle));
+            vehicle.seedRandom();
+            for (IWrapperPlayer player : world.getPlayersWithin(new BoundingBox(vehicle.position, PLAYER_RANGE))) {
+                if (recordedPlayers.add(player.getID())) {
+                    recording.players.add(new RecordedPlayer(player.getID(), player.getName(), player.getPosition().copy()));
+                }
+            }
+        }
+    }
+
+    private static IWrapperNBT saveVehicle(EntityVehicleF_Physics vehicle) {
+        IWrapperNBT data = vehicle.save(InterfaceManager.coreInterface.getNewNBTWrapper());
+        data.setString(TickRecording.ENTITY_ID_KEY, vehicle.getClass().getSimpleName());
+        return data;
+    }
+
+    /**
+     * Called at the start of each tick of the passed-in manager.  Starts recording if it was requested and this
+     * is a server world, and records the ground around the vehicles if this is the world being recorded.
+     */
+    public static void startTick(EntityManager manager) {
+        if (requestedTicks > 0 && activeRecorder == null && manager instanceof AWrapperWorld && !((AWrapperWorld) manager).isClient()) {
+            stopRequested = false;
+            activeRecorder = new TickRecorder((AWrapperWorld) manager, requestedTicks);
+            requestedTicks = 0;
+        }
+        TickRecorder recorder = activeRecorder;
+        if (recorder != null && recorder.world == manager) {
+            recorder.recordGround();
+        }
+    }
+
+    /**
+     * Called at the end of each tick of the passed-in manager.  Finishes the recording
+     * if this is the world being recorded and it has recorded enough ticks, or was stopped.
+     */
+    public static void endTick(EntityManager manager) {
+        TickRecorder recorder = activeRecorder;
+        if (recorder != null && recorder.world == manager) {
+            if (++recorder.recording.tickCount >= recorder.ticksToRecord || stopRequested) {
+                activeRecorder = null;
+                recorder.finish();
+            }
+        }
+    }
+
+    /**
+     * Records the passed-in packet if the passed-in world is being recorded.
+     * Should be called by the server before it handles the packet.
+     */
+    public static void recordPacket(AWrapperWorld world, APacketBase packet) {
+        TickRecorder recorder = activeRecorder;
+        if (recorder != null && recorder.world == world) {
+            ByteBuf buf = Unpooled.buffer();
+            try {
+                packet.writeToBuffer(buf);
+                byte[] data = new byte[buf.readableBytes()];
+                buf.readBytes(data);
+                recorder.recording.packets.add(new RecordedPacket(recorder.recording.tickCount, data));
+            } finally {
+                buf.release();
+            }
+        }
+    }
+
+    /**
+     * Returns the file the last recording was written to, or null if no recordings have been written.
+     */
+    public static File getLastRecordingFile() {
+        return lastRecordingFile;
+    }
+
+    private void recordGround() {
+        Point3D testPoint = new Point3D();
+        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            BoundingBox box = vehicle.encompassingBox;
+            int margin = GROUND_MARGIN + (int) Math.ceil(vehicle.motion.length() * vehicle.speedFactor);
+            int minX = (int) Math.floor(box.globalCenter.x - box.widthRadius) - margin;
+            int maxX = (int) Math.floor(box.globalCenter.x + box.widthRadius) + margin;
+            int minZ = (int) Math.floor(box.globalCenter.z - box.depthRadius) - margin;
+            int maxZ = (int) Math.floor(box.globalCenter.z + box.depthRadius) + margin;
+            double topY = Math.ceil(box.globalCenter.y + box.heightRadius) + 1;
+            for (int x = minX; x <= maxX; ++x) {
+                for (int z = minZ; z <= maxZ; ++z) {
+                    if (!recording.hasGroundHeight(x, z)) {
+                        testPoint.set(x + 0.5, topY, z + 0.5);
+                        if (world.chunkLoaded(testPoint)) {
+                            recording.setGroundHeight(x, z, (int) Math.round(topY - world.getHeight(testPoint)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void finish() {
+        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
+            recording.finalEntities.add(saveVehicle(vehicle));
+        }
+        File file = new File(InterfaceManager.gameDirectory, "mts_recording_" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".dat");
+
+        //Nothing adds to the recording once it's finished, so it's safe to write it on another thread.
+        //Not a daemon thread, so the server waits for the write if it's shutting down.
+        Thread thread = new Thread(() -> {
+            try {
+                recording.write(new FileOutputStream(file));
+                lastRecordingFile = file;
+            } catch (IOException e) {
+                InterfaceManager.coreInterface.logError("Could not write MTS tick recording to " + file.getAbsolutePath());
+                InterfaceManager.coreInterface.logError(e.getMessage());
+            }
+        }, "MTS Tick Recording Writer");
+        writingThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Waits for the last recording to be written, if it's still being written.
+     */
+    public static void waitForWrite() throws InterruptedException {
+        Thread thread = writingThread;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Handles the recorder command, returning the lines to show to the player that ran it.
+     * The command is registered by the interfaces, as each MC version does commands differently.
+     */
+    public static List<String> handleCommand(String[] args) {
+        List<String> lines = new ArrayList<>();
+        String action = args.length > 0 ? args[0].toLowerCase(Locale.ROOT) : "";
+        TickRecorder recorder = activeRecorder;
+        switch (action) {
+            case "start": {
+                if (recorder != null) {
+                    lines.add("MTS tick recording is already running.  Use /" + COMMAND_NAME + " stop to stop it.");
+                    break;
+                }
+                int ticks = DEFAULT_TICKS;
+                if (args.length > 1) {
+                    try {
+                        ticks = Integer.parseInt(args[1]);
+                    } catch (NumberFormatException e) {
+                        lines.add("Usage: " + COMMAND_USAGE);
+                        break;
+                    }
+                }
+                ticks = Math.max(1, Math.min(ticks, MAX_TICKS));
+                requestedTicks = ticks;
+                lines.add("MTS tick recording will start next tick and run for " + ticks + " ticks.");
+                break;
+            }
+            case "stop": {
+                if (recorder != null) {
+                    stopRequested = true;
+                    lines.add("MTS tick recording will stop at the end of this tick.");
+                } else if (requestedTicks > 0) {
+                    requestedTicks = 0;
+                    lines.add("MTS tick recording cancelled.");
+                } else {
+                    lines.add("No MTS tick recording is running.");
+                }
+                break;
+            }
+            case "status": {
+                if (recorder != null) {
+                    lines.add(String.format(Locale.ROOT, "MTS tick recording: %d/%d ticks, %d vehicles, %d packets.", recorder.recording.tickCount, recorder.ticksToRecord, recorder.recording.initialEntities.size(), recorder.recording.packets.size()));
+                } else if (requestedTicks > 0) {
+                    lines.add("MTS tick recording will start next tick.");
+                } else {
+                    lines.add("No MTS tick recording is running.");
+                }
+                Thread thread = writingThread;
+                if (thread != null && thread.isAlive()) {
+                    lines.add("Last MTS tick recording is still being written.");
+                }
+                File file = lastRecordingFile;
+                if (file != null) {
+                    lines.add("Last recording written to " + file.getAbsolutePath());
+                }
+                break;
+            }
+            default:
+                lines.add("Usage: " + COMMAND_USAGE);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,243 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import minecrafttransportsimulator.mcinterface.IWrapperNBT;
+import minecrafttransportsimulator.mcinterface.InterfaceManager;
+
+/**
+ * A window of server ticks captured by the {@link TickRecorder}.  This has everything needed to run the
+ * same ticks again without MC: the packs that were loaded, snapshots of all vehicles at the start, the players
+ * that were around, every entity packet the server handled and on what tick, and the ground height of every block
+ * column the vehicles were over.  Snapshots of the vehicles at the end are kept too, so whatever re-runs the ticks
+ * can check it ended up in the same place.
+ * <br><br>
+ * Recordings are written as a compressed binary file.  Entity snapshots are written with the packet interface,
+ * so the file can be read by any interface that can read packets from the one that wrote it.
+ *
+ * @author don_bruce
+ */
+public class TickRecording {
+    private static final int MAGIC = 0x4D545352;
+    private static final int VERSION = 1;
+    /**Key entity snapshots store the entity class under, same as the MC interfaces use for saved entities.**/
+    public static final String ENTITY_ID_KEY = "entityid";
+
+    public final List<String> packIDs = new ArrayList<>();
+    public long startTime;
+    public int tickCount;
+    public final List<RecordedPlayer> players = new ArrayList<>();
+    public final List<IWrapperNBT> initialEntities = new ArrayList<>();
+    public final List<RecordedPacket> packets = new ArrayList<>();
+    public final List<IWrapperNBT> finalEntities = new ArrayList<>();
+    private final Map<Long, Integer> groundHeights = new HashMap<>();
+
+    /**
+     * Returns true if the ground height of the block column at the passed-in X/Z is recorded.
+     */
+    public boolean hasGroundHeight(int x, int z) {
+        return groundHeights.containsKey(getColumnKey(x, z));
+    }
+
+    /**
+     * Returns the Y coordinate of the first air block above the ground in the block column at the passed-in X/Z,
+     * or the passed-in default height if that column wasn't recorded.
+     */
+    public int getGroundHeight(int x, int z, int defaultHeight) {
+        Integer height = groundHeights.get(getColumnKey(x, z));
+        return height != null ? height : defaultHeight;
+    }
+
+    /**
+     * Sets the ground height for the block column at the passed-in X/Z.
+     */
+    public void setGroundHeight(int x, int z, int height) {
+        groundHeights.put(getColumnKey(x, z), height);
+    }
+
+    /**
+     * Returns the lowest ground height recorded, or 0 if no heights were recorded.
+     */
+    public int getLowestGroundHeight() {
+        int lowestHeight = Integer.MAX_VALUE;
+        for (int height : groundHeights.values()) {
+            lowestHeight = Math.min(lowestHeight, height);
+        }
+        return groundHeights.isEmpty() ? 0 : lowestHeight;
+    }
+
+    /**
+     * Returns the number of block columns with recorded ground heights.
+     */
+    public int getGroundColumnCount() {
+        return groundHeights.size();
+    }
+
+    private static long getColumnKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Writes this recording to the passed-in stream.  The stream is closed when done.
+     */
+    public void write(OutputStream stream) throws IOException {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            buf.writeInt(MAGIC);
+            buf.writeInt(VERSION);
+            buf.writeInt(packIDs.size());
+            for (String packID : packIDs) {
+                writeString(packID, buf);
+            }
+            buf.writeLong(startTime);
+            buf.writeInt(tickCount);
+            buf.writeInt(players.size());
+            for (RecordedPlayer player : players) {
+                buf.writeLong(player.id.getMostSignificantBits());
+                buf.writeLong(player.id.getLeastSignificantBits());
+                writeString(player.name, buf);
+                buf.writeDouble(player.position.x);
+                buf.writeDouble(player.position.y);
+                buf.writeDouble(player.position.z);
+            }
+            writeEntities(initialEntities, buf);
+            buf.writeInt(groundHeights.size());
+            for (Entry<Long, Integer> groundEntry : groundHeights.entrySet()) {
+                buf.writeLong(groundEntry.getKey());
+                buf.writeInt(groundEntry.getValue());
+            }
+            buf.writeInt(packets.size());
+            for (RecordedPacket packet : packets) {
+                buf.writeInt(packet.tick);
+                buf.writeInt(packet.data.length);
+                buf.writeBytes(packet.data);
+            }
+            writeEntities(finalEntities, buf);
+
+            try (OutputStream compressedStream = new GZIPOutputStream(stream)) {
+                buf.readBytes(compressedStream, buf.readableBytes());
+            }
+        } finally {
+            buf.release();
+        }
+    }
+
+    /**
+     * Reads a recording from the passed-in stream.  The stream is closed when done.
+     */
+    public static TickRecording read(InputStream stream) throws IOException {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (InputStream compressedStream = new GZIPInputStream(stream)) {
+            byte[] buffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = compressedStream.read(buffer)) != -1) {
+                byteStream.write(buffer, 0, bytesRead);
+            }
+        }
+
+        ByteBuf buf = Unpooled.wrappedBuffer(byteStream.toByteArray());
+        TickRecording recording = new TickRecording();
+        try {
+            if (buf.readInt() != MAGIC) {
+                throw new IOException("Not an MTS tick recording.");
+            }
+            int version = buf.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unknown tick recording version " + version);
+            }
+            for (int i = buf.readInt(); i > 0; --i) {
+                recording.packIDs.add(readString(buf));
+            }
+            recording.startTime = buf.readLong();
+            recording.tickCount = buf.readInt();
+            for (int i = buf.readInt(); i > 0; --i) {
+                UUID id = new UUID(buf.readLong(), buf.readLong());
+                String name = readString(buf);
+                recording.players.add(new RecordedPlayer(id, name, new Point3D(buf.readDouble(), buf.readDouble(), buf.readDouble())));
+            }
+            readEntities(recording.initialEntities, buf);
+            for (int i = buf.readInt(); i > 0; --i) {
+                recording.groundHeights.put(buf.readLong(), buf.readInt());
+            }
+            for (int i = buf.readInt(); i > 0; --i) {
+                int tick = buf.readInt();
+                byte[] data = new byte[buf.readInt()];
+                buf.readBytes(data);
+                recording.packets.add(new RecordedPacket(tick, data));
+            }
+            readEntities(recording.finalEntities, buf);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Tick recording is truncated.", e);
+        }
+        return recording;
+    }
+
+    private static void writeEntities(List<IWrapperNBT> entities, ByteBuf buf) {
+        buf.writeInt(entities.size());
+        for (IWrapperNBT data : entities) {
+            InterfaceManager.packetInterface.writeDataToBuffer(data, buf);
+        }
+    }
+
+    private static void readEntities(List<IWrapperNBT> entities, ByteBuf buf) {
+        for (int i = buf.readInt(); i > 0; --i) {
+            entities.add(InterfaceManager.packetInterface.readDataFromBuffer(buf));
+        }
+    }
+
+    private static void writeString(String string, ByteBuf buf) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        buf.writeInt(bytes.length);
+        buf.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readInt()];
+        buf.readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A player that was near the recorded vehicles when recording started.  Packets from players
+     * reference them by ID, so they need to be in the world for those packets to do anything.
+     */
+    public static class RecordedPlayer {
+        public final UUID id;
+        public final String name;
+        public final Point3D position;
+
+        public RecordedPlayer(UUID id, String name, Point3D position) {
+            this.id = id;
+            this.name = name;
+            this.position = position;
+        }
+    }
+
+    /**
+     * A packet that was handled by the server, along with the tick it was handled before.
+     * The data is the packet as it would be sent over the network, including its index.
+     */
+    public static class RecordedPacket {
+        public final int tick;
+        public final byte[] data;
+
+        public RecordedPacket(int tick, byte[] data) {
+            this.tick = tick;
+            this.data = data;
+        }
+    }
+}
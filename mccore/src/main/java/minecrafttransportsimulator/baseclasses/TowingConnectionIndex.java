@@ -0,0 +1,191 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+import minecrafttransportsimulator.entities.components.AEntityG_Towable;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.jsondefs.JSONConnection;
+import minecrafttransportsimulator.jsondefs.JSONConnectionGroup;
+
+/**
+ * Spatial index of the hitches and hookups on all towable entities in a world.  Each entity or part
+ * with connection groups is put into a grid cell based on its position, once for every hitch and
+ * hookup connection type it has.  This lets connection requests only check entities that are both
+ * close by and have a compatible connection, rather than every connection of every vehicle in the world.
+ * Cells are refreshed by {@link #update(AEntityG_Towable)} as entities move.  Only used on servers, as
+ * that's where connections are made.
+ *
+ * @author don_bruce
+ */
+public class TowingConnectionIndex {
+    /**Size of the grid cells, in blocks.**/
+    private static final int CELL_SIZE = 16;
+
+    private final Map<String, Map<Long, Set<AEntityE_Interactable<?>>>> hitchCells = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Set<AEntityE_Interactable<?>>>> hookupCells = new ConcurrentHashMap<>();
+    private final Map<AEntityE_Interactable<?>, IndexedDefiner> indexedDefiners = new ConcurrentHashMap<>();
+
+    /**
+     * Updates the cells of the passed-in towable entity and all its parts.  This should be called every
+     * time the entity moves.  It is safe to call this for different entities from multiple threads at once.
+     */
+    public void update(AEntityG_Towable<?> towable) {
+        updateDefiner(towable, towable);
+        for (APart part : towable.allParts) {
+            updateDefiner(towable, part);
+        }
+    }
+
+    /**
+     * Removes the passed-in entity from this index.  Does nothing if the entity was never added.
+     */
+    public void remove(AEntityE_Interactable<?> definer) {
+        IndexedDefiner indexed = indexedDefiners.remove(definer);
+        if (indexed != null) {
+            indexed.removeFromCells();
+        }
+    }
+
+    /**
+     * Adds all entities that have connections of the passed-in type, and are within the passed-in distance
+     * of the passed-in position, to the passed-in collection.  If hitches is true, entities with hitches
+     * of that type are added, otherwise entities with hookups of that type are added.  Note that the distance
+     * check is done against the cells, so entities slightly outside the distance may also be added.
+     */
+    public void getDefinersNear(Point3D position, double distance, String type, boolean hitches, Collection<AEntityE_Interactable<?>> definers) {
+        Map<Long, Set<AEntityE_Interactable<?>>> cells = (hitches ? hitchCells : hookupCells).get(type);
+        if (cells != null) {
+            int minCellX = getCellCoord(position.x - distance);
+            int maxCellX = getCellCoord(position.x + distance);
+            int minCellZ = getCellCoord(position.z - distance);
+            int maxCellZ = getCellCoord(position.z + distance);
+            for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; ++cellZ) {
+                    Set<AEntityE_Interactable<?>> cell = cells.get(getCellKey(cellX, cellZ));
+                    if (cell != null) {
+                        for (AEntityE_Interactable<?> definer : cell) {
+                            if (definer.isValid) {
+                                definers.add(definer);
+                            } else {
+                                //Removed without telling us, don't keep it around.
+                                remove(definer);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the towable entity the passed-in definer was added with, or null if it isn't in this index.
+     */
+    public AEntityG_Towable<?> getTowable(AEntityE_Interactable<?> definer) {
+        IndexedDefiner indexed = indexedDefiners.get(definer);
+        return indexed != null ? indexed.towable : null;
+    }
+
+    private void updateDefiner(AEntityG_Towable<?> towable, AEntityE_Interactable<?> definer) {
+        IndexedDefiner indexed = indexedDefiners.get(definer);
+        if (indexed != null && indexed.connectionGroups != definer.definition.connectionGroups) {
+            //Definition changed, re-add with new connections.
+            remove(definer);
+            indexed = null;
+        }
+        if (indexed == null) {
+            if (definer.definition.connectionGroups == null || definer.definition.connectionGroups.isEmpty()) {
+                return;
+            }
+            indexed = new IndexedDefiner(towable, definer);
+            indexedDefiners.put(definer, indexed);
+        }
+        long cellKey = getCellKey(getCellCoord(definer.position.x), getCellCoord(definer.position.z));
+        if (cellKey != indexed.cellKey || !indexed.inCells) {
+            indexed.removeFromCells();
+            indexed.cellKey = cellKey;
+            indexed.addToCells();
+        }
+    }
+
+    private static int getCellCoord(double coord) {
+        return (int) Math.floor(coord / CELL_SIZE);
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private class IndexedDefiner {
+        private final AEntityG_Towable<?> towable;
+        private final AEntityE_Interactable<?> definer;
+        private final List<JSONConnectionGroup> connectionGroups;
+        private final Set<String> hitchTypes = new HashSet<>();
+        private final Set<String> hookupTypes = new HashSet<>();
+        private long cellKey;
+        private boolean inCells;
+
+        private IndexedDefiner(AEntityG_Towable<?> towable, AEntityE_Interactable<?> definer) {
+            this.towable = towable;
+            this.definer = definer;
+            this.connectionGroups = definer.definition.connectionGroups;
+            for (JSONConnectionGroup group : definer.definition.connectionGroups) {
+                for (JSONConnection connection : group.connections) {
+                    if (group.isHitch) {
+                        hitchTypes.add(connection.type);
+                    }
+                    if (group.isHookup) {
+                        hookupTypes.add(connection.type);
+                    }
+                }
+            }
+        }
+
+        private void addToCells() {
+            for (String type : hitchTypes) {
+                addToCell(hitchCells.computeIfAbsent(type, k -> new ConcurrentHashMap<>()));
+            }
+            for (String type : hookupTypes) {
+                addToCell(hookupCells.computeIfAbsent(type, k -> new ConcurrentHashMap<>()));
+            }
+            inCells = true;
+        }
+
+        private void removeFromCells() {
+            if (inCells) {
+                for (String type : hitchTypes) {
+                    removeFromCell(hitchCells.get(type));
+                }
+                for (String type : hookupTypes) {
+                    removeFromCell(hookupCells.get(type));
+                }
+                inCells = false;
+            }
+        }
+
+        private void addToCell(Map<Long, Set<AEntityE_Interactable<?>>> cells) {
+            cells.compute(cellKey, (key, cell) -> {
+                if (cell == null) {
+                    cell = ConcurrentHashMap.newKeySet();
+                }
+                cell.add(definer);
+                return cell;
+            });
+        }
+
+        private void removeFromCell(Map<Long, Set<AEntityE_Interactable<?>>> cells) {
+            if (cells != null) {
+                //Remove empty cells, as vehicles that travel would otherwise leave a trail of them.
+                cells.computeIfPresent(cellKey, (key, cell) -> {
+                    cell.remove(definer);
+                    return cell.isEmpty() ? null : cell;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+
+/**
+ * Index of all trigger volumes in a world.  Trigger volumes are areas that want to know when
+ * entities enter and leave them, such as the detection zones of signal controllers.  Volumes are put
+ * into grid cells based on the area they cover, and entities check the volumes in their cell every time
+ * {@link #update(AEntityB_Existing)} is called for them.  Any changes in the volumes the entity is in
+ * are sent to the volumes as enter and exit events.  This lets volumes keep track of what is in them
+ * without having to check every entity in the world every tick.
+ *
+ * @author don_bruce
+ */
+public class TriggerVolumeIndex {
+    /**Size of the grid cells, in blocks.**/
+    private static final int CELL_SIZE = 16;
+
+    private final Map<Long, Set<TriggerVolume>> cells = new ConcurrentHashMap<>();
+    private final Map<AEntityB_Existing, Set<TriggerVolume>> occupiedVolumes = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the passed-in volume to this index.  Any entities already in the volume will have enter events
+     * sent for them, as they may not move again to trigger them.  Volumes may not be added more than once.
+     */
+    public void addVolume(TriggerVolume volume) {
+        volume.isActive = true;
+        for (long cellKey : volume.getCellKeys()) {
+            cells.compute(cellKey, (key, cell) -> {
+                if (cell == null) {
+                    cell = ConcurrentHashMap.newKeySet();
+                }
+                cell.add(volume);
+                return cell;
+            });
+        }
+        for (Map.Entry<AEntityB_Existing, Set<TriggerVolume>> entry : occupiedVolumes.entrySet()) {
+            AEntityB_Existing entity = entry.getKey();
+            if (volume.isInside(entity.position) && entry.getValue().add(volume)) {
+                volume.onEnter(entity);
+            }
+        }
+    }
+
+    /**
+     * Removes the passed-in volume from this index.  No exit events are sent for entities in the
+     * volume, as the volume is going away and doesn't care about them anymore.
+     */
+    public void removeVolume(TriggerVolume volume) {
+        if (volume.isActive) {
+            volume.isActive = false;
+            for (long cellKey : volume.getCellKeys()) {
+                //Remove empty cells, as we'd otherwise leave them behind as volumes get moved.
+                cells.computeIfPresent(cellKey, (key, cell) -> {
+                    cell.remove(volume);
+                    return cell.isEmpty() ? null : cell;
+                });
+            }
+            for (Set<TriggerVolume> volumes : occupiedVolumes.values()) {
+                volumes.remove(volume);
+            }
+        }
+    }
+
+    /**
+     * Updates the volumes the passed-in entity is in, sending enter and exit events for any changes.
+     * This should be called every time the entity moves.
+     */
+    public void update(AEntityB_Existing entity) {
+        Set<TriggerVolume> volumes = occupiedVolumes.computeIfAbsent(entity, k -> ConcurrentHashMap.newKeySet());
+
+        //Check for exits first, then for entries in our current cell.
+        Iterator<TriggerVolume> iterator = volumes.iterator();
+        while (iterator.hasNext()) {
+            TriggerVolume volume = iterator.next();
+            if (!volume.isActive) {
+                iterator.remove();
+            } else if (!volume.isInside(entity.position)) {
+                iterator.remove();
+                volume.onExit(entity);
+            }
+        }
+        Set<TriggerVolume> cell = cells.get(getCellKey(getCellCoord(entity.position.x), getCellCoord(entity.position.z)));
+        if (cell != null) {
+            for (TriggerVolume volume : cell) {
+                if (volume.isActive && volume.isInside(entity.position) && volumes.add(volume)) {
+                    volume.onEnter(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the passed-in entity from this index, sending exit events to all volumes it was in.
+     * Does nothing if the entity was never added.
+     */
+    public void remove(AEntityB_Existing entity) {
+        Set<TriggerVolume> volumes = occupiedVolumes.remove(entity);
+        if (volumes != null) {
+            for (TriggerVolume volume : volumes) {
+                if (volume.isActive) {
+                    volume.onExit(entity);
+                }
+            }
+        }
+    }
+
+    private static int getCellCoord(double coord) {
+        return (int) Math.floor(coord / CELL_SIZE);
+    }
+
+    private static long getCellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A single trigger volume.  This is a rectangular area in the XZ-plane, rotated about its origin,
+     * that goes all the way up and down the world.  Bounds are relative to the origin, and are applied
+     * after rotation, so entities are checked by moving their position into the reference frame of the volume.
+     */
+    public static abstract class TriggerVolume {
+        private final Point3D origin;
+        private final RotationMatrix rotation;
+        private final double minX;
+        private final double maxX;
+        private final double minZ;
+        private final double maxZ;
+        private volatile boolean isActive;
+
+        public TriggerVolume(Point3D origin, RotationMatrix rotation, double minX, double maxX, double minZ, double maxZ) {
+            this.origin = origin.copy();
+            this.rotation = new RotationMatrix().set(rotation);
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minZ = minZ;
+            this.maxZ = maxZ;
+        }
+
+        /**
+         * Returns true if the passed-in position is inside this volume.
+         */
+        public boolean isInside(Point3D position) {
+            //Inline of reOrigin to prevent making a new point for every check.
+            double deltaX = position.x - origin.x;
+            double deltaY = position.y - origin.y;
+            double deltaZ = position.z - origin.z;
+            double localX = rotation.m00 * deltaX + rotation.m10 * deltaY + rotation.m20 * deltaZ;
+            double localZ = rotation.m02 * deltaX + rotation.m12 * deltaY + rotation.m22 * deltaZ;
+            return localX > minX && localX < maxX && localZ > minZ && localZ < maxZ;
+        }
+
+        /**
+         * Called when an entity enters this volume.
+         */
+        protected abstract void onEnter(AEntityB_Existing entity);
+
+        /**
+         * Called when an entity that was in this volume leaves it, or is removed from the world.
+         */
+        protected abstract void onExit(AEntityB_Existing entity);
+
+        private long[] getCellKeys() {
+            //Get the world bounds of the volume by rotating its corners.
+            double worldMinX = Double.MAX_VALUE;
+            double worldMaxX = -Double.MAX_VALUE;
+            double worldMinZ = Double.MAX_VALUE;
+            double worldMaxZ = -Double.MAX_VALUE;
+            Point3D corner = new Point3D();
+            for (int i = 0; i < 4; ++i) {
+                corner.set(i % 2 == 0 ? minX : maxX, 0, i < 2 ? minZ : maxZ).rotate(rotation).add(origin);
+                worldMinX = Math.min(worldMinX, corner.x);
+                worldMaxX = Math.max(worldMaxX, corner.x);
+                worldMinZ = Math.min(worldMinZ, corner.z);
+                worldMaxZ = Math.max(worldMaxZ, corner.z);
+            }
+            int minCellX = getCellCoord(worldMinX);
+            int maxCellX = getCellCoord(worldMaxX);
+            int minCellZ = getCellCoord(worldMinZ);
+            int maxCellZ = getCellCoord(worldMaxZ);
+            long[] cellKeys = new long[(maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1)];
+            int index = 0;
+            for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; ++cellZ) {
+                    cellKeys[index++] = getCellKey(cellX, cellZ);
+                }
+            }
+            return cellKeys;
+        }
+    }
+}
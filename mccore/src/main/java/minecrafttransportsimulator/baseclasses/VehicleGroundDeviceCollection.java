@@ -1,7 +1,7 @@
 package minecrafttransportsimulator.baseclasses;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -24,7 +24,7 @@ public class VehicleGroundDeviceCollection {
     private final Point3D translationApplied = new Point3D();
     private final RotationMatrix rotationApplied = new RotationMatrix();
     private final TransformationMatrix transformApplied = new TransformationMatrix();
-    public final Set<PartGroundDevice> groundedGroundDevices = new HashSet<>();
+    public final Set<PartGroundDevice> groundedGroundDevices = new LinkedHashSet<>();
 
     public VehicleGroundDeviceCollection(EntityVehicleF_Physics vehicle) {
         this.vehicle = vehicle;
@@ -76,6 +76,11 @@ public class TileEntityPole extends ATileEntityBase<JSONPoleComponent> {
                     }
                 }
             }
+
+            //Let any controllers that are waiting on us know we're here.
+            for (TileEntitySignalController controller : world.getEntitiesOfType(TileEntitySignalController.class)) {
+                controller.onPoleLoaded(this);
+            }
         }
     }
 
@@ -10,9 +10,10 @@ import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
+import minecrafttransportsimulator.baseclasses.TriggerVolumeIndex.TriggerVolume;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityPole_Component;
-import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
@@ -46,7 +47,10 @@ public class TileEntitySignalController extends TileEntityDecor {
 
     /*Locations of blocks where signals are.**/
     public final Set<Point3D> componentLocations = new HashSet<>();
-    private final Set<Point3D> missingLocations = new HashSet<>();
+    /**Locations of signal blocks we haven't found yet, keyed by block, as poles won't have the same position objects.**/
+    private final Map<Long, Point3D> missingLocations = new HashMap<>();
+    private boolean checkMissingPoles;
+    private boolean detectionVolumesAdded;
 
     /**
      * Signal blocks used in this controller.  Based on components.
@@ -67,32 +71,30 @@ public class TileEntitySignalController extends TileEntityDecor {
     @Override
     public void update() {
         super.update();
-        //Check every 1 seconds to make sure controlled components are in their correct states.
-        //This could have changed due to chunkloading or the components being destroyed.
-        //We also check if we're doing changes on the client, as that needs to happen instantly.
-        if (ticksExisted % 20 == 0 || unsavedClientChangesPreset) {
-            //Check for any missing components, if we are missing some.
-            if (!missingLocations.isEmpty()) {
-                Iterator<Point3D> iterator = missingLocations.iterator();
-                while (iterator.hasNext()) {
-                    Point3D poleLocation = iterator.next();
-                    TileEntityPole pole = world.getTileEntity(poleLocation);
-                    if (pole != null) {
-                        iterator.remove();
-                        for (Axis axis : Axis.values()) {
-                            if (axis.xzPlanar) {
-                                ATileEntityPole_Component component = pole.components.get(axis);
-                                if (component instanceof TileEntityPole_TrafficSignal) {
-                                    TileEntityPole_TrafficSignal signal = (TileEntityPole_TrafficSignal) component;
-                                    intersectionProperties.get(axis).isActive = true;
-                                    signal.linkedController = this;
-                                    controlledSignals.add(signal);
-                                }
-                            }
-                        }
+        //Check for any missing components, if we are missing some and haven't checked since we were set up.
+        //Components that load after this are linked when they load, so we don't need to keep checking.
+        if (checkMissingPoles) {
+            checkMissingPoles = false;
+            Iterator<Point3D> iterator = missingLocations.values().iterator();
+            while (iterator.hasNext()) {
+                TileEntityPole pole = world.getTileEntity(iterator.next());
+                if (pole != null) {
+                    iterator.remove();
+                    linkPole(pole);
+                }
+            }
+        }
+
+        //Add our detection volumes to the world if we haven't yet.
+        if (!detectionVolumesAdded) {
+            for (Set<SignalGroup> signalGroupSet : signalGroups.values()) {
+                for (SignalGroup signalGroup : signalGroupSet) {
+                    if (signalGroup.detectionVolume != null) {
+                        world.triggerVolumeIndex.addVolume(signalGroup.detectionVolume);
                     }
                 }
             }
+            detectionVolumesAdded = true;
         }
 
         //All valid poles and components found.  Update signal blocks that have signals..
@@ -110,6 +112,37 @@ public class TileEntitySignalController extends TileEntityDecor {
         super.remove();
         //Clear found poles so signals know we don't exist anymore and to remove their references.
         clearFoundPoles();
+        removeDetectionVolumes();
+    }
+
+    /**
+     * Called when a pole is loaded into the world.  If it is one of the poles we are missing, link
+     * it to us.  This is done instead of checking for missing poles every tick, as most controllers
+     * will have found all their poles right after they load.
+     */
+    public void onPoleLoaded(TileEntityPole pole) {
+        if (!missingLocations.isEmpty() && missingLocations.remove(getBlockKey(pole.position)) != null) {
+            linkPole(pole);
+        }
+    }
+
+    private static long getBlockKey(Point3D position) {
+        //Same packing MC uses for block positions: 26 bits for X and Z, and 12 for Y.
+        return (((long) Math.floor(position.x) & 0x3FFFFFFL) << 38) | (((long) Math.floor(position.z) & 0x3FFFFFFL) << 12) | ((long) Math.floor(position.y) & 0xFFFL);
+    }
+
+    private void linkPole(TileEntityPole pole) {
+        for (Axis axis : Axis.values()) {
+            if (axis.xzPlanar) {
+                ATileEntityPole_Component component = pole.components.get(axis);
+                if (component instanceof TileEntityPole_TrafficSignal) {
+                    TileEntityPole_TrafficSignal signal = (TileEntityPole_TrafficSignal) component;
+                    intersectionProperties.get(axis).isActive = true;
+                    signal.linkedController = this;
+                    controlledSignals.add(signal);
+                }
+            }
+        }
     }
 
     @Override
@@ -159,7 +192,8 @@ public class TileEntitySignalController extends TileEntityDecor {
         componentLocations.clear();
         componentLocations.addAll(data.getPoint3dsCompact("componentLocations"));
 
-        //Create all signal groups.
+        //Create all signal groups.  Old groups have their volumes removed, as the new groups make their own.
+        removeDetectionVolumes();
         signalGroups.clear();
         for (Axis axis : Axis.values()) {
             if (axis.xzPlanar) {
@@ -196,7 +230,24 @@ public class TileEntitySignalController extends TileEntityDecor {
     public void clearFoundPoles() {
         controlledSignals.clear();
         missingLocations.clear();
-        missingLocations.addAll(componentLocations);
+        for (Point3D location : componentLocations) {
+            missingLocations.put(getBlockKey(location), location);
+        }
+        checkMissingPoles = true;
+    }
+
+    /**
+     * Removes the detection volumes of all signal groups from the world.  They will be re-added on the next update.
+     */
+    private void removeDetectionVolumes() {
+        for (Set<SignalGroup> signalGroupSet : signalGroups.values()) {
+            for (SignalGroup signalGroup : signalGroupSet) {
+                if (signalGroup.detectionVolume != null) {
+                    world.triggerVolumeIndex.removeVolume(signalGroup.detectionVolume);
+                }
+            }
+        }
+        detectionVolumesAdded = false;
     }
 
     @Override
@@ -306,6 +357,10 @@ public class TileEntitySignalController extends TileEntityDecor {
         public final double signalLineWidth;
         public final Point3D signalLineCenter;
 
+        //Volume vehicles are detected in, and how many are in it.  Volume is null if we don't have any lanes.
+        private final TriggerVolume detectionVolume;
+        private int vehiclesPresent;
+
         private SignalGroup(Axis axis, SignalDirection direction, IWrapperNBT data) {
             this.axis = axis;
             this.direction = direction;
@@ -350,6 +405,23 @@ public class TileEntitySignalController extends TileEntityDecor {
                 default:
                     throw new IllegalStateException("We'll never get here, shut up compiler!");
             }
+
+            //Create detection volume.  This is the 16-block area behind our stop line.
+            if (signalLineWidth != 0) {
+                this.detectionVolume = new TriggerVolume(intersectionCenterPoint, axis.rotation, signalLineCenter.x - signalLineWidth / 2D, signalLineCenter.x + signalLineWidth / 2D, signalLineCenter.z, signalLineCenter.z + 16) {
+                    @Override
+                    protected void onEnter(AEntityB_Existing entity) {
+                        ++vehiclesPresent;
+                    }
+
+                    @Override
+                    protected void onExit(AEntityB_Existing entity) {
+                        --vehiclesPresent;
+                    }
+                };
+            } else {
+                this.detectionVolume = null;
+            }
         }
 
         protected void update() {
@@ -380,22 +452,11 @@ public class TileEntitySignalController extends TileEntityDecor {
                             }
                         } else {
                             //See if we have a vehicle in our intersection bounds and need to change other signals.
-                            //We only do this once every 2 seconds, and only if we aren't a main-central intersection.
-                            if (ticksExisted % 40 == 0) {
-                                if (isMainSignal && direction.equals(SignalDirection.CENTER)) {
-                                    //Just wait until the other signals don't have any cooldown, then set them red.
-                                    stateChangeRequested = true;
-                                } else {
-                                    for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
-                                        Point3D adjustedPos = vehicle.position.copy().subtract(intersectionCenterPoint).reOrigin(axis.rotation);
-                                        if (adjustedPos.x > signalLineCenter.x - signalLineWidth / 2D && adjustedPos.x < signalLineCenter.x + signalLineWidth / 2D && adjustedPos.z > signalLineCenter.z && adjustedPos.z < signalLineCenter.z + 16) {
-                                            //Vehicle present.  If we are blocked, send the respective signal states to the other signals to change them.
-                                            //Flag this signal as pending changes to blocked signals to avoid checking until those signals change.
-                                            stateChangeRequested = true;
-                                            break;
-                                        }
-                                    }
-                                }
+                            //Main-central intersections don't need vehicles, they just wait until the other signals don't have any cooldown, then set them red.
+                            //If we have a vehicle and are blocked, send the respective signal states to the other signals to change them.
+                            //Flag this signal as pending changes to blocked signals to avoid checking until those signals change.
+                            if ((isMainSignal && direction.equals(SignalDirection.CENTER)) || vehiclesPresent > 0) {
+                                stateChangeRequested = true;
                             }
                         }
                     }
@@ -2,6 +2,7 @@ package minecrafttransportsimulator.entities.components;
 
 import java.util.UUID;
 
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 
@@ -42,6 +43,10 @@ public abstract class AEntityA_Base {
      * Counter for how many ticks this entity has existed in the world.  Realistically, it's the number of update cycles.
      **/
     public long ticksExisted;
+    /**
+     * Index of this entity's category in the {@link EntityProfiler}, or -1 if it hasn't been assigned one yet.
+     **/
+    public int profilerCategory = -1;
 
     public AEntityA_Base(AWrapperWorld world, IWrapperNBT data) {
         this.world = world;
@@ -78,6 +83,23 @@ public abstract class AEntityA_Base {
         return true;
     }
 
+    /**
+     * Returns true if the auto-ticking code should call {@link #update()} this tick.
+     * Normally true, but entities that are asleep or far from players may return false to skip updates.
+     * Such entities should make up for the skipped updates in the next one they do.
+     */
+    public boolean shouldUpdateThisTick() {
+        return true;
+    }
+
+    /**
+     * Called when something happens to this entity that it may need to respond to in its update, such as
+     * a packet, an attack, or a connection.  Entities that skip updates should resume normal updates when
+     * this is called.  Does nothing by default.
+     */
+    public void wakeUp() {
+    }
+
     /**
      * Normally, all entities sync across clients and servers via their {@link #uniqueUUID}.
      * However, some entities may be client-side, server-side only, or both sides but spawned so frequently
@@ -81,8 +81,8 @@ public abstract class AEntityB_Existing extends AEntityA_Base {
      **/
     public RotationMatrix riderRelativeOrientation;
     public RotationMatrix prevRiderRelativeOrientation;
-    private static final Point3D riderTempPoint = new Point3D();
-    private static final RotationMatrix riderTempMatrix = new RotationMatrix();
+    private final Point3D riderTempPoint = new Point3D();
+    private final RotationMatrix riderTempMatrix = new RotationMatrix();
 
     //Camera variables.
     public int zoomLevel;
@@ -296,6 +296,7 @@ public abstract class AEntityB_Existing extends AEntityA_Base {
             rider.getYawDelta();
             rider.getPitchDelta();
             rider.setRiding(this);
+            wakeUp();
             if (!world.isClient()) {
                 InterfaceManager.packetInterface.sendToAllClients(new PacketEntityRiderChange(this, rider, facesForwards));
             }
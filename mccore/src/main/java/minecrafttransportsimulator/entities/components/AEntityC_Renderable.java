@@ -1,5 +1,6 @@
 package minecrafttransportsimulator.entities.components;
 
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
@@ -71,6 +72,7 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
     public final void render(boolean blendingEnabled, float partialTicks) {
         //If we need to render, do so now.
         world.beginProfiling("RenderSetup", true);
+        long startTime = EntityProfiler.start();
         if (!disableRendering(partialTicks)) {
 
             //Get interpolated orientation if required.
@@ -113,6 +115,7 @@ public abstract class AEntityC_Renderable extends AEntityB_Existing {
             world.beginProfiling("Sounds", true);
             updateSounds(partialTicks);
         }
+        world.profiler.end(this, EntityProfiler.Phase.RENDER, startTime);
         world.endProfiling();
     }
 
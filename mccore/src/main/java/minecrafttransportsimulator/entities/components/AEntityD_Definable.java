@@ -5,8 +5,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -15,6 +14,7 @@ import java.util.Map.Entry;
 
 import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.ParticleBudget;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.entities.instances.APart;
@@ -46,6 +46,8 @@ import minecrafttransportsimulator.rendering.AModelParser;
 import minecrafttransportsimulator.rendering.DurationDelayClock;
 import minecrafttransportsimulator.rendering.RenderText;
 import minecrafttransportsimulator.rendering.RenderableModelObject;
+import minecrafttransportsimulator.rendering.TextFormatter;
+import minecrafttransportsimulator.rendering.TextFormatter.CachedText;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.CameraSystem;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -83,16 +85,25 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      **/
     protected final Map<String, Double> variables = new HashMap<>();
 
-    private final List<JSONSound> allSoundDefs = new ArrayList<>();
-    private final Map<JSONSound, AnimationSwitchbox> soundActiveSwitchboxes = new HashMap<>();
-    private final Map<JSONSound, SoundSwitchbox> soundVolumeSwitchboxes = new HashMap<>();
-    private final Map<JSONSound, SoundSwitchbox> soundPitchSwitchboxes = new HashMap<>();
-    private final Map<JSONLight, LightSwitchbox> lightBrightnessSwitchboxes = new HashMap<>();
-    private final Map<JSONParticle, AnimationSwitchbox> particleActiveSwitchboxes = new HashMap<>();
-    private final Map<JSONParticle, AnimationSwitchbox> particleSpawningSwitchboxes = new HashMap<>();
-    private final Map<JSONParticle, Long> lastTickParticleSpawned = new HashMap<>();
-    private final Map<JSONParticle, Point3D> lastPositionParticleSpawned = new HashMap<>();
-    private final Map<JSONVariableModifier, VariableModifierSwitchbox> variableModiferSwitchboxes = new LinkedHashMap<>();
+    //Per-definition state.  Arrays are indexed by the index of the definition, and are sized to the lists we
+    //had at the last animation initialization.  We keep those lists rather than using the ones in the definition
+    //as hotloading may replace them before we get re-initialized.
+    private List<JSONSound> soundDefs = Collections.emptyList();
+    private AnimationSwitchbox[] soundActiveSwitchboxes;
+    private SoundSwitchbox[] soundVolumeSwitchboxes;
+    private SoundSwitchbox[] soundPitchSwitchboxes;
+    private double soundAudibleDistance;
+    private List<JSONLight> lightDefs = Collections.emptyList();
+    private LightSwitchbox[] lightBrightnessSwitchboxes;
+    private List<JSONParticle> particleDefs = Collections.emptyList();
+    private AnimationSwitchbox[] particleActiveSwitchboxes;
+    private AnimationSwitchbox[] particleSpawningSwitchboxes;
+    private long[] lastTickParticleSpawned;
+    private Point3D[] lastPositionParticleSpawned;
+    private ParticleBudget.Emitter[] particleEmitters;
+    private VariableModifierSwitchbox[] variableModifierSwitchboxes;
+    private CachedText[] cachedTexts;
+    private TextFormatter[] textFormatters;
     private long lastTickParticlesSpawned;
     private float lastPartialTickParticlesSpawned;
 
@@ -113,14 +124,14 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     public final Map<JSONCameraObject, AnimationSwitchbox> cameraSwitchboxes = new LinkedHashMap<>();
 
     /**
-     * Maps light definitions to their current brightness.  This is updated every frame prior to rendering.
+     * Current brightness of each light, indexed by {@link JSONLight#index}.  This is updated every frame prior to rendering.
      **/
-    public final Map<JSONLight, Float> lightBrightnessValues = new HashMap<>();
+    public float[] lightBrightnessValues;
 
     /**
-     * Maps light definitions to their current color.  This is updated every frame prior to rendering.
+     * Current color of each light, indexed by {@link JSONLight#index}.  This is updated every frame prior to rendering.
      **/
-    public final Map<JSONLight, ColorRGB> lightColorValues = new HashMap<>();
+    public ColorRGB[] lightColorValues;
 
     /**
      * Maps light (model) object names to their definitions.  This is created from the JSON definition to prevent the need to do loops.
@@ -141,7 +152,6 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     private List<EntityVehicleF_Physics> aircraftOnRadar;
     private List<EntityVehicleF_Physics> groundersOnRadar;
     private int radarRequestCooldown;
-    private Comparator<AEntityB_Existing> entityComparator;
 
     /**
      * Constructor for synced entities
@@ -196,44 +206,16 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         }
         //Only update radar once a second, and only if we requested it via variables.
         if (radarRequestCooldown > 0 && ticksExisted % 20 == 0) {
-            if (entityComparator == null) {
-                entityComparator = new Comparator<AEntityB_Existing>() {
-                    @Override
-                    public int compare(AEntityB_Existing o1, AEntityB_Existing o2) {
-                        return position.isFirstCloserThanSecond(o1.position, o2.position) ? -1 : 1;
-                    }
-
-                };
-            }
-
-            Collection<EntityVehicleF_Physics> allVehicles = world.getEntitiesOfType(EntityVehicleF_Physics.class);
             if (aircraftOnRadar == null) {
-                aircraftOnRadar = new ArrayList<EntityVehicleF_Physics>();
+                aircraftOnRadar = new ArrayList<>();
+                groundersOnRadar = new ArrayList<>();
             } else {
                 aircraftOnRadar.clear();
-            }
-            if (groundersOnRadar == null) {
-                groundersOnRadar = new ArrayList<EntityVehicleF_Physics>();
-            } else {
                 groundersOnRadar.clear();
             }
-            Point3D searchVector = new Point3D();
-            Point3D LOSVector = new Point3D();
-            for (EntityVehicleF_Physics vehicle : allVehicles) {
-                searchVector.set(0, 0, definition.general.radarRange).rotate(orientation);
-                LOSVector.set(vehicle.position).subtract(position).normalize();
-                double coneAngle = definition.general.radarWidth;
-                double angle = Math.abs(Math.toDegrees(Math.acos(searchVector.normalize().dotProduct(LOSVector, false))));
-                if (!vehicle.outOfHealth && vehicle != this && (angle < coneAngle && vehicle.position.isDistanceToCloserThan(position, definition.general.radarRange))) {
-                    if (vehicle.definition.motorized.isAircraft) {
-                        aircraftOnRadar.add(vehicle);
-                    } else {
-                        groundersOnRadar.add(vehicle);
-                    }
-                }
-            }
-            aircraftOnRadar.sort(entityComparator);
-            groundersOnRadar.sort(entityComparator);
+            Point3D searchVector = new Point3D(0, 0, 1).rotate(orientation);
+            world.radarContactIndex.getContacts(this, position, searchVector, definition.general.radarRange, definition.general.radarWidth, true, definition.general.radarMinCrossSection, definition.general.radarRequiresLineOfSight, aircraftOnRadar);
+            world.radarContactIndex.getContacts(this, position, searchVector, definition.general.radarRange, definition.general.radarWidth, false, definition.general.radarMinCrossSection, definition.general.radarRequiresLineOfSight, groundersOnRadar);
         }
         world.endProfiling();
     }
@@ -249,7 +231,12 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
             for (Entry<JSONText, String> textEntry : text.entrySet()) {
                 JSONText textDef = textEntry.getKey();
                 if (textDef.variableName != null) {
-                    textEntry.setValue(getAnimatedTextVariableValue(textDef, 0));
+                    CachedText cachedText = cachedTexts[textDef.index];
+                    if (cachedText == null) {
+                        cachedText = new CachedText();
+                        cachedTexts[textDef.index] = cachedText;
+                    }
+                    textEntry.setValue(getAnimatedTextVariableValue(textDef, textDef.variableName, cachedText, 0));
                 }
             }
         }
@@ -286,48 +273,54 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         updateSubDefinition(subDefinition.subName);
 
         if (definition.rendering != null && definition.rendering.sounds != null) {
-            allSoundDefs.clear();
-            soundActiveSwitchboxes.clear();
-            soundVolumeSwitchboxes.clear();
-            soundPitchSwitchboxes.clear();
-            for (JSONSound soundDef : definition.rendering.sounds) {
-                allSoundDefs.add(soundDef);
-                soundActiveSwitchboxes.put(soundDef, new AnimationSwitchbox(this, soundDef.activeAnimations, null));
+            soundDefs = definition.rendering.sounds;
+            soundActiveSwitchboxes = new AnimationSwitchbox[soundDefs.size()];
+            soundVolumeSwitchboxes = new SoundSwitchbox[soundDefs.size()];
+            soundPitchSwitchboxes = new SoundSwitchbox[soundDefs.size()];
+            soundAudibleDistance = 0;
+            for (JSONSound soundDef : soundDefs) {
+                soundAudibleDistance = Math.max(soundAudibleDistance, soundDef.getAudibleDistance());
+                soundActiveSwitchboxes[soundDef.index] = new AnimationSwitchbox(this, soundDef.activeAnimations, null);
 
                 if (soundDef.volumeAnimations != null) {
-                    soundVolumeSwitchboxes.put(soundDef, new SoundSwitchbox(this, soundDef.volumeAnimations));
+                    soundVolumeSwitchboxes[soundDef.index] = new SoundSwitchbox(this, soundDef.volumeAnimations);
                 }
 
                 if (soundDef.pitchAnimations != null) {
-                    soundPitchSwitchboxes.put(soundDef, new SoundSwitchbox(this, soundDef.pitchAnimations));
+                    soundPitchSwitchboxes[soundDef.index] = new SoundSwitchbox(this, soundDef.pitchAnimations);
                 }
             }
         }
 
         if (definition.rendering != null && definition.rendering.lightObjects != null) {
-            lightBrightnessSwitchboxes.clear();
-            lightBrightnessValues.clear();
-            lightColorValues.clear();
+            lightDefs = definition.rendering.lightObjects;
+            lightBrightnessSwitchboxes = new LightSwitchbox[lightDefs.size()];
+            lightBrightnessValues = new float[lightDefs.size()];
+            lightColorValues = new ColorRGB[lightDefs.size()];
             lightObjectDefinitions.clear();
-            for (JSONLight lightDef : definition.rendering.lightObjects) {
+            for (JSONLight lightDef : lightDefs) {
                 lightObjectDefinitions.put(lightDef.objectName, lightDef);
                 if (lightDef.brightnessAnimations != null) {
-                    lightBrightnessSwitchboxes.put(lightDef, new LightSwitchbox(this, lightDef.brightnessAnimations));
+                    lightBrightnessSwitchboxes[lightDef.index] = new LightSwitchbox(this, lightDef.brightnessAnimations);
                 }
-                lightBrightnessValues.put(lightDef, 0F);
-                lightColorValues.put(lightDef, new ColorRGB());
+                lightColorValues[lightDef.index] = ColorRGB.BLACK;
             }
         }
 
         if (definition.rendering != null && definition.rendering.particles != null) {
-            particleActiveSwitchboxes.clear();
-            particleSpawningSwitchboxes.clear();
-            for (JSONParticle particleDef : definition.rendering.particles) {
-                particleActiveSwitchboxes.put(particleDef, new AnimationSwitchbox(this, particleDef.activeAnimations, null));
+            particleDefs = definition.rendering.particles;
+            particleActiveSwitchboxes = new AnimationSwitchbox[particleDefs.size()];
+            particleSpawningSwitchboxes = new AnimationSwitchbox[particleDefs.size()];
+            lastTickParticleSpawned = new long[particleDefs.size()];
+            lastPositionParticleSpawned = new Point3D[particleDefs.size()];
+            particleEmitters = new ParticleBudget.Emitter[particleDefs.size()];
+            for (JSONParticle particleDef : particleDefs) {
+                particleActiveSwitchboxes[particleDef.index] = new AnimationSwitchbox(this, particleDef.activeAnimations, null);
+                particleEmitters[particleDef.index] = new ParticleBudget.Emitter();
                 if (particleDef.spawningAnimations != null) {
-                    particleSpawningSwitchboxes.put(particleDef, new AnimationSwitchbox(this, particleDef.spawningAnimations, null));
+                    particleSpawningSwitchboxes[particleDef.index] = new AnimationSwitchbox(this, particleDef.spawningAnimations, null);
                 }
-                lastTickParticleSpawned.put(particleDef, ticksExisted);
+                lastTickParticleSpawned[particleDef.index] = ticksExisted;
             }
         }
 
@@ -355,6 +348,8 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         List<String> oldTextValues = new ArrayList<>(text.values());
         text.clear();
         if (definition.rendering != null && definition.rendering.textObjects != null) {
+            cachedTexts = new CachedText[definition.rendering.textObjects.size()];
+            textFormatters = new TextFormatter[definition.rendering.textObjects.size()];
             for (int i = 0; i < definition.rendering.textObjects.size(); ++i) {
                 if (i < oldTextValues.size()) {
                     text.put(definition.rendering.textObjects.get(i), oldTextValues.get(i));
@@ -366,10 +361,10 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
         //Add variable modifiers.
         if (definition.variableModifiers != null) {
-            variableModiferSwitchboxes.clear();
+            variableModifierSwitchboxes = new VariableModifierSwitchbox[definition.variableModifiers.size()];
             for (JSONVariableModifier modifier : definition.variableModifiers) {
                 if (modifier.animations != null) {
-                    variableModiferSwitchboxes.put(modifier, new VariableModifierSwitchbox(this, modifier.animations));
+                    variableModifierSwitchboxes[modifier.index] = new VariableModifierSwitchbox(this, modifier.animations);
                 }
             }
 
@@ -465,52 +460,63 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      */
     public void spawnParticles(float partialTicks) {
         //Check all particle defs and update the existing particles accordingly.
-        for (Entry<JSONParticle, AnimationSwitchbox> particleEntry : particleActiveSwitchboxes.entrySet()) {
+        //Distance to the player is only needed if we spawn something, so don't get it until then.
+        double playerDistance = -1;
+        for (JSONParticle particleDef : particleDefs) {
             //Check if the particle should be spawned this tick.
-            JSONParticle particleDef = particleEntry.getKey();
-            AnimationSwitchbox switchbox = particleEntry.getValue();
+            AnimationSwitchbox switchbox = particleActiveSwitchboxes[particleDef.index];
             boolean shouldParticleSpawn = switchbox.runSwitchbox(partialTicks, false);
 
             //Make the particle spawn if able.
             if (shouldParticleSpawn) {
                 if (particleDef.distance > 0) {
-                    Point3D lastParticlePosition = lastPositionParticleSpawned.get(particleDef);
+                    Point3D lastParticlePosition = lastPositionParticleSpawned[particleDef.index];
                     if (lastParticlePosition == null) {
                         lastParticlePosition = position.copy();
-                        lastPositionParticleSpawned.put(particleDef, lastParticlePosition);
+                        lastPositionParticleSpawned[particleDef.index] = lastParticlePosition;
                         continue;//First tick we are active, checks are assured to fail.
                     }
                     while (!lastParticlePosition.isDistanceToCloserThan(position, particleDef.distance)) {
                         double distanceFactor = particleDef.distance / position.distanceTo(lastParticlePosition);
                         Point3D spawningPosition = lastParticlePosition.copy().interpolate(position, distanceFactor);
-                        for (int i = 0; i < particleDef.quantity; ++i) {
-                            AnimationSwitchbox spawningSwitchbox = particleSpawningSwitchboxes.get(particleDef);
-                            if (spawningSwitchbox != null) {
-                                spawningSwitchbox.runSwitchbox(partialTicks, false);
-                            }
-                            world.addEntity(new EntityParticle(this, particleDef, spawningPosition, spawningSwitchbox));
+                        if (playerDistance == -1) {
+                            playerDistance = position.distanceTo(InterfaceManager.clientInterface.getClientPlayer().getPosition());
                         }
+                        spawnParticles(particleDef, spawningPosition, playerDistance, partialTicks);
                         lastParticlePosition.set(spawningPosition);
                     }
                 } else {
-                    if (switchbox.anyClockMovedThisUpdate || (particleDef.spawnEveryTick && ticksExisted > lastTickParticleSpawned.get(particleDef))) {
-                        lastTickParticleSpawned.put(particleDef, ticksExisted);
-                        for (int i = 0; i < particleDef.quantity; ++i) {
-                            AnimationSwitchbox spawningSwitchbox = particleSpawningSwitchboxes.get(particleDef);
-                            if (spawningSwitchbox != null) {
-                                spawningSwitchbox.runSwitchbox(partialTicks, false);
-                            }
-                            world.addEntity(new EntityParticle(this, particleDef, position, spawningSwitchbox));
+                    if (switchbox.anyClockMovedThisUpdate || (particleDef.spawnEveryTick && ticksExisted > lastTickParticleSpawned[particleDef.index])) {
+                        lastTickParticleSpawned[particleDef.index] = ticksExisted;
+                        if (playerDistance == -1) {
+                            playerDistance = position.distanceTo(InterfaceManager.clientInterface.getClientPlayer().getPosition());
                         }
+                        spawnParticles(particleDef, position, playerDistance, partialTicks);
                     }
                 }
             } else if (particleDef.distance != 0) {
                 //Need to remove or we'll foul deltas.
-                lastPositionParticleSpawned.remove(particleDef);
+                lastPositionParticleSpawned[particleDef.index] = null;
             }
         }
     }
 
+    /**
+     * Spawns the passed-in particle at the passed-in position.  The world's {@link ParticleBudget} decides
+     * how many of the particle's quantity actually spawn, and how big they are.
+     */
+    private void spawnParticles(JSONParticle particleDef, Point3D spawningPosition, double playerDistance, float partialTicks) {
+        ParticleBudget.Emitter emitter = particleEmitters[particleDef.index];
+        int particlesToSpawn = world.particleBudget.getParticlesToSpawn(emitter, particleDef, particleDef.quantity, playerDistance);
+        for (int i = 0; i < particlesToSpawn; ++i) {
+            AnimationSwitchbox spawningSwitchbox = particleSpawningSwitchboxes[particleDef.index];
+            if (spawningSwitchbox != null) {
+                spawningSwitchbox.runSwitchbox(partialTicks, false);
+            }
+            world.addEntity(new EntityParticle(this, particleDef, spawningPosition, spawningSwitchbox, emitter.sizeScale));
+        }
+    }
+
     /**
      * Updates the light brightness values contained in {@link #lightBrightnessValues}.  This is done
      * every frame for all light definitions to prevent excess calculations caused by multiple
@@ -518,34 +524,30 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * An example of this is a light with a bean and flare component.
      */
     public void updateLightBrightness(float partialTicks) {
-        if (definition.rendering != null && definition.rendering.lightObjects != null) {
-            for (JSONLight lightDef : definition.rendering.lightObjects) {
-                float lightBrightness = 1;
-                ColorRGB lightColor = null;
-                LightSwitchbox switchbox = lightBrightnessSwitchboxes.get(lightDef);
-                if (switchbox != null) {
-                    if (!switchbox.runLight(partialTicks)) {
-                        lightBrightness = 0;
-                    } else if (switchbox.definedBrightness) {
-                        lightBrightness = switchbox.brightness;
-                    }
-                    if (lightBrightness < 0) {
-                        lightBrightness = 0;
-                    }
-                    lightBrightnessValues.put(lightDef, lightBrightness);
-                    lightColor = switchbox.color;
-                } else {
-                    lightBrightnessValues.put(lightDef, 1.0F);
+        for (JSONLight lightDef : lightDefs) {
+            float lightBrightness = 1;
+            ColorRGB lightColor = null;
+            LightSwitchbox switchbox = lightBrightnessSwitchboxes[lightDef.index];
+            if (switchbox != null) {
+                if (!switchbox.runLight(partialTicks)) {
+                    lightBrightness = 0;
+                } else if (switchbox.definedBrightness) {
+                    lightBrightness = switchbox.brightness;
                 }
-
-                //Set color level.
-                if (lightColor != null) {
-                    lightColorValues.put(lightDef, lightColor);
-                } else if (lightDef.color != null) {
-                    lightColorValues.put(lightDef, lightDef.color);
-                } else {
-                    lightColorValues.put(lightDef, ColorRGB.WHITE);
+                if (lightBrightness < 0) {
+                    lightBrightness = 0;
                 }
+                lightColor = switchbox.color;
+            }
+            lightBrightnessValues[lightDef.index] = lightBrightness;
+
+            //Set color level.
+            if (lightColor != null) {
+                lightColorValues[lightDef.index] = lightColor;
+            } else if (lightDef.color != null) {
+                lightColorValues[lightDef.index] = lightDef.color;
+            } else {
+                lightColorValues[lightDef.index] = ColorRGB.WHITE;
             }
         }
     }
@@ -573,17 +575,17 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         public void runTranslation(DurationDelayClock clock, float partialTicks) {
             definedBrightness = true;
             if (clock.animation.axis.x != 0) {
-                brightness *= entity.getAnimatedVariableValue(clock, clock.animation.axis.x, partialTicks);
+                brightness *= getClockValue(clock, clock.animation.axis.x, partialTicks);
             } else if (clock.animation.axis.y != 0) {
-                brightness += entity.getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
+                brightness += getClockValue(clock, clock.animation.axis.y, partialTicks);
             } else {
-                brightness = (float) (entity.getAnimatedVariableValue(clock, clock.animation.axis.z, partialTicks));
+                brightness = (float) (getClockValue(clock, clock.animation.axis.z, partialTicks));
             }
         }
 
         @Override
         public void runRotation(DurationDelayClock clock, float partialTicks) {
-            double colorFactor = entity.getAnimatedVariableValue(clock, 1.0, -clock.animation.offset, partialTicks);
+            double colorFactor = getClockValue(clock, 1.0, -clock.animation.offset, partialTicks);
             double colorX;
             double colorY;
             double colorZ;
@@ -615,22 +617,44 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     @Override
     public void updateSounds(float partialTicks) {
         super.updateSounds(partialTicks);
+        if (soundDefs.isEmpty()) {
+            return;
+        }
+
+        //If the player is too far away to hear any of our sounds, don't check them.  None of them would start,
+        //so all we need to do is stop any looping ones that are still playing, as checking them would.
+        //This saves running switchboxes for every entity in a world, even if the player can't hear them.
+        IWrapperPlayer player = InterfaceManager.clientInterface.getClientPlayer();
+        Point3D playerPosition = player.getPosition();
+        if (!position.isDistanceToCloserThan(playerPosition, soundAudibleDistance)) {
+            if (!sounds.isEmpty()) {
+                for (JSONSound soundDef : soundDefs) {
+                    if (soundDef.looping && (soundDef.canPlayOnPartialTicks ^ partialTicks == 0)) {
+                        stopLoopingSound(soundDef);
+                    }
+                }
+            }
+            return;
+        }
+
+        //Get what the player is riding.  This is the same for all sounds, so only do it once.
+        AEntityB_Existing entityRiding = player.getEntityRiding();
+        AEntityF_Multipart<?> multipartTopLevel = entityRiding instanceof APart ? ((APart) entityRiding).masterEntity : (entityRiding instanceof AEntityF_Multipart ? (AEntityF_Multipart<?>) entityRiding : null);
+        boolean playerRidingThisEntity = multipartTopLevel != null && (multipartTopLevel.equals(this) || multipartTopLevel.allParts.contains(this));
+        boolean hasOpenTop = multipartTopLevel instanceof EntityVehicleF_Physics && ((EntityVehicleF_Physics) multipartTopLevel).definition.motorized.hasOpenTop;
+
         //Check all sound defs and update the existing sounds accordingly.
-        for (JSONSound soundDef : allSoundDefs) {
+        for (JSONSound soundDef : soundDefs) {
             if (soundDef.canPlayOnPartialTicks ^ partialTicks == 0) {
                 //Check if the sound should be playing before we try to update state.
                 //First check if we are in the right view to play.
-                AEntityB_Existing entityRiding = InterfaceManager.clientInterface.getClientPlayer().getEntityRiding();
-                AEntityF_Multipart<?> multipartTopLevel = entityRiding instanceof APart ? ((APart) entityRiding).masterEntity : (entityRiding instanceof AEntityF_Multipart ? (AEntityF_Multipart<?>) entityRiding : null);
-                boolean playerRidingThisEntity = multipartTopLevel != null && (multipartTopLevel.equals(this) || multipartTopLevel.allParts.contains(this));
-                boolean hasOpenTop = multipartTopLevel instanceof EntityVehicleF_Physics && ((EntityVehicleF_Physics) multipartTopLevel).definition.motorized.hasOpenTop;
                 boolean shouldSoundStartPlaying = hasOpenTop ? true : (playerRidingThisEntity && InterfaceManager.clientInterface.inFirstPerson() && !CameraSystem.runningCustomCameras) ? !soundDef.isExterior : !soundDef.isInterior;
                 boolean anyClockMovedThisUpdate = false;
 
                 //Next, check the distance.
                 double distance = 0;
                 if (shouldSoundStartPlaying) {
-                    distance = position.distanceTo(InterfaceManager.clientInterface.getClientPlayer().getPosition());
+                    distance = position.distanceTo(playerPosition);
                     if (soundDef.maxDistance != soundDef.minDistance) {
                         shouldSoundStartPlaying = distance < soundDef.maxDistance && distance > soundDef.minDistance;
                     } else {
@@ -640,7 +664,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
                 //Next, check animations.
                 if (shouldSoundStartPlaying) {
-                    AnimationSwitchbox activeSwitchbox = soundActiveSwitchboxes.get(soundDef);
+                    AnimationSwitchbox activeSwitchbox = soundActiveSwitchboxes[soundDef.index];
                     shouldSoundStartPlaying = activeSwitchbox.runSwitchbox(partialTicks, true);
                     anyClockMovedThisUpdate = activeSwitchbox.anyClockMovedThisUpdate;
                 }
@@ -669,12 +693,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                     if (soundDef.looping) {
                         //If sound is playing, stop it.
                         //Non-looping sounds are trigger-based and will stop on their own.
-                        for (SoundInstance sound : sounds) {
-                            if (sound.soundName.equals(soundDef.name)) {
-                                sound.stopSound = true;
-                                break;
-                            }
-                        }
+                        stopLoopingSound(soundDef);
                     }
 
                     //Go to the next soundDef.  No need to change properties on sounds that shouldn't play.
@@ -688,9 +707,9 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                         //Adjust volume.
                         if (soundDef.pos != null) {
                             //Change distance to actual distance since this will be different.
-                            distance = sound.position.distanceTo(InterfaceManager.clientInterface.getClientPlayer().getPosition());
+                            distance = sound.position.distanceTo(playerPosition);
                         }
-                        SoundSwitchbox volumeSwitchbox = soundVolumeSwitchboxes.get(soundDef);
+                        SoundSwitchbox volumeSwitchbox = soundVolumeSwitchboxes[soundDef.index];
                         boolean definedVolume = false;
                         if (volumeSwitchbox != null) {
                             volumeSwitchbox.runSound(partialTicks);
@@ -727,7 +746,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
                         }
 
                         //Adjust pitch.
-                        SoundSwitchbox pitchSwitchbox = soundPitchSwitchboxes.get(soundDef);
+                        SoundSwitchbox pitchSwitchbox = soundPitchSwitchboxes[soundDef.index];
                         boolean definedPitch = false;
                         if (pitchSwitchbox != null) {
                             pitchSwitchbox.runSound(partialTicks);
@@ -745,6 +764,18 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         }
     }
 
+    /**
+     * Stops the playing sound for the passed-in looping sound definition, if there is one.
+     */
+    private void stopLoopingSound(JSONSound soundDef) {
+        for (SoundInstance sound : sounds) {
+            if (sound.soundName.equals(soundDef.name)) {
+                sound.stopSound = true;
+                break;
+            }
+        }
+    }
+
     /**
      * Custom sound switchbox class.
      */
@@ -765,14 +796,14 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         @Override
         public void runTranslation(DurationDelayClock clock, float partialTicks) {
             definedValue = true;
-            value += entity.getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
+            value += getClockValue(clock, clock.animation.axis.y, partialTicks);
         }
 
         @Override
         public void runRotation(DurationDelayClock clock, float partialTicks) {
             definedValue = true;
             //Parobola is defined with parameter A being x, and H being z.
-            double parabolaValue = entity.getAnimatedVariableValue(clock, clock.animation.axis.y, -clock.animation.offset, partialTicks);
+            double parabolaValue = getClockValue(clock, clock.animation.axis.y, -clock.animation.offset, partialTicks);
             value += clock.animation.axis.x * Math.pow(parabolaValue - clock.animation.axis.z, 2) + clock.animation.offset;
         }
     }
@@ -843,7 +874,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 
         //Check if this is a radar variable.
         if (variable.startsWith("radar_")) {
-            if (radarRequestCooldown != 0 && entityComparator != null) {
+            if (radarRequestCooldown != 0 && aircraftOnRadar != null) {
                 String[] parsedVariable = variable.split("_");
                 List<? extends AEntityB_Existing> radarList;
                 switch (parsedVariable[1]) {
@@ -918,12 +949,20 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * the scale parameter as only the variable value should be scaled, not the offset..
      */
     public final double getAnimatedVariableValue(DurationDelayClock clock, double scaleFactor, double offset, float partialTicks) {
+        return getAnimatedVariableValue(clock, scaleFactor, offset, partialTicks, DurationDelayClock.getClockTime(this, partialTicks));
+    }
+
+    /**
+     * Like {@link #getAnimatedVariableValue(DurationDelayClock, double, double, float)}, but uses the passed-in clock time
+     * from {@link DurationDelayClock#getClockTime(AEntityD_Definable, float)}.  Used when evaluating many clocks at once.
+     */
+    public final double getAnimatedVariableValue(DurationDelayClock clock, double scaleFactor, double offset, float partialTicks, long clockTime) {
         double value;
-        if (clock.animation.variable.startsWith("!")) {
-            value = getCleanRawVariableValue(clock.animation.variable.substring(1), partialTicks);
+        if (clock.invertVariable) {
+            value = getCleanRawVariableValue(clock.variable, partialTicks);
             value = value == 0 ? 1 : 0;
         } else {
-            value = getRawVariableValue(clock.animation.variable, partialTicks);
+            value = getRawVariableValue(clock.variable, partialTicks);
             if (Double.isNaN(value)) {
                 value = 0;
             }
@@ -931,7 +970,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         if (!clock.isUseful) {
             return clampAndScale(value, clock.animation, scaleFactor, offset);
         } else {
-            return clampAndScale(clock.getFactoredState(this, value, partialTicks), clock.animation, scaleFactor, offset);
+            return clampAndScale(clock.getFactoredState(this, value, clockTime), clock.animation, scaleFactor, offset);
         }
     }
 
@@ -966,12 +1005,43 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      * text definition.
      */
     public final String getAnimatedTextVariableValue(JSONText textDef, float partialTicks) {
+        return getAnimatedTextVariableValue(textDef, textDef.variableName, null, partialTicks);
+    }
+
+    /**
+     * Like {@link #getAnimatedTextVariableValue(JSONText, float)}, but uses the passed-in variable rather than the one
+     * in the text definition.  Used when the variable has been bound to something else, such as a specific part.
+     */
+    public final String getAnimatedTextVariableValue(JSONText textDef, String variableName, float partialTicks) {
+        return getAnimatedTextVariableValue(textDef, variableName, null, partialTicks);
+    }
+
+    /**
+     * Like {@link #getAnimatedTextVariableValue(JSONText, String, float)}, but re-uses the text in the passed-in cache
+     * if the value hasn't changed enough to change it.  The cache should be kept per text field, and may be null.
+     */
+    public final String getAnimatedTextVariableValue(JSONText textDef, String variableName, CachedText cachedText, float partialTicks) {
         //Check text values first, then animated values.
+        TextFormatter formatter = getTextFormatter(textDef, cachedText);
         String value = getRawTextVariableValue(textDef, 0);
         if (value == null) {
-            return String.format(textDef.variableFormat, getCleanRawVariableValue(textDef.variableName, 0) * textDef.variableFactor);
+            double number = getCleanRawVariableValue(variableName, 0) * textDef.variableFactor;
+            return cachedText != null ? cachedText.getText(formatter, number) : formatter.format(number);
+        } else {
+            return cachedText != null ? cachedText.getText(formatter, value) : formatter.format(value);
+        }
+    }
+
+    /**
+     * Returns the formatter for the passed-in text definition's format.  Formatters for our text objects are
+     * kept by their index, so they're only made once.  Text that isn't ours, like instrument text, re-uses
+     * the formatter its cache last used, if it has one.
+     */
+    private TextFormatter getTextFormatter(JSONText textDef, CachedText cachedText) {
+        if (textFormatters != null && textDef.index < textFormatters.length && definition.rendering != null && definition.rendering.textObjects != null && definition.rendering.textObjects.get(textDef.index) == textDef) {
+            return textFormatters[textDef.index] = TextFormatter.get(textFormatters[textDef.index], textDef.variableFormat);
         } else {
-            return String.format(textDef.variableFormat, value);
+            return TextFormatter.get(cachedText != null ? cachedText.getFormatter() : null, textDef.variableFormat);
         }
     }
 
@@ -1047,7 +1117,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
      */
     protected float adjustVariable(JSONVariableModifier modifier, float currentValue) {
         float modifiedValue = modifier.setValue != 0 ? modifier.setValue : currentValue + modifier.addValue;
-        VariableModifierSwitchbox switchbox = variableModiferSwitchboxes.get(modifier);
+        VariableModifierSwitchbox switchbox = variableModifierSwitchboxes != null ? variableModifierSwitchboxes[modifier.index] : null;
         if (switchbox != null) {
             switchbox.modifiedValue = modifiedValue;
             if (switchbox.runSwitchbox(0, true)) {
@@ -1114,18 +1184,18 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
         @Override
         public void runTranslation(DurationDelayClock clock, float partialTicks) {
             if (clock.animation.axis.x != 0) {
-                modifiedValue *= clock.animation.axis.y == 0 ? entity.getAnimatedVariableValue(clock, clock.animation.axis.x, partialTicks) : Math.pow(entity.getAnimatedVariableValue(clock, clock.animation.axis.x, partialTicks), clock.animation.axis.y); //If the Y axis is zero, simply multiply. If it is not zero, multiply the variable raised to the power of Y.
+                modifiedValue *= clock.animation.axis.y == 0 ? getClockValue(clock, clock.animation.axis.x, partialTicks) : Math.pow(getClockValue(clock, clock.animation.axis.x, partialTicks), clock.animation.axis.y); //If the Y axis is zero, simply multiply. If it is not zero, multiply the variable raised to the power of Y.
             } else if (clock.animation.axis.y != 0) {
-                modifiedValue += clock.animation.axis.z == 0 ? entity.getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks) : Math.pow(entity.getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks), clock.animation.axis.z);
+                modifiedValue += clock.animation.axis.z == 0 ? getClockValue(clock, clock.animation.axis.y, partialTicks) : Math.pow(getClockValue(clock, clock.animation.axis.y, partialTicks), clock.animation.axis.z);
             } else {
-                modifiedValue = (float) (entity.getAnimatedVariableValue(clock, clock.animation.axis.z, partialTicks));
+                modifiedValue = (float) (getClockValue(clock, clock.animation.axis.z, partialTicks));
             }
         }
 
         //When a rotation is used, it will return V * (Xsin(V+x) + Ycos(V+y) + Ztan(V+z)) where X, Y, Z is the axis, and x, y, z is the centerPoint. Adding the 'invert' tag will make these inverse trig functions.
         @Override
         public void runRotation(DurationDelayClock clock, float partialTicks) {
-        	modifiedValue *= clock.animation.invert ? (clock.animation.axis.x * Math.toDegrees(Math.asin(entity.getAnimatedVariableValue(clock, 1, partialTicks) + clock.animation.centerPoint.x))) + (clock.animation.axis.y * Math.toDegrees(Math.acos(entity.getAnimatedVariableValue(clock, 1, partialTicks) + clock.animation.centerPoint.y))) + (clock.animation.axis.z * Math.toDegrees(Math.atan(entity.getAnimatedVariableValue(clock, 1, partialTicks) + clock.animation.centerPoint.z))) : (clock.animation.axis.x * Math.sin(Math.toRadians(entity.getAnimatedVariableValue(clock, 1, partialTicks) + clock.animation.centerPoint.x))) + (clock.animation.axis.y * Math.cos(Math.toRadians(entity.getAnimatedVariableValue(clock, 1, partialTicks) + clock.animation.centerPoint.y))) + (clock.animation.axis.z * Math.tan(Math.toRadians(entity.getAnimatedVariableValue(clock, 1, partialTicks) + clock.animation.centerPoint.z)));
+        	modifiedValue *= clock.animation.invert ? (clock.animation.axis.x * Math.toDegrees(Math.asin(getClockValue(clock, 1, partialTicks) + clock.animation.centerPoint.x))) + (clock.animation.axis.y * Math.toDegrees(Math.acos(getClockValue(clock, 1, partialTicks) + clock.animation.centerPoint.y))) + (clock.animation.axis.z * Math.toDegrees(Math.atan(getClockValue(clock, 1, partialTicks) + clock.animation.centerPoint.z))) : (clock.animation.axis.x * Math.sin(Math.toRadians(getClockValue(clock, 1, partialTicks) + clock.animation.centerPoint.x))) + (clock.animation.axis.y * Math.cos(Math.toRadians(getClockValue(clock, 1, partialTicks) + clock.animation.centerPoint.y))) + (clock.animation.axis.z * Math.tan(Math.toRadians(getClockValue(clock, 1, partialTicks) + clock.animation.centerPoint.z)));
         }
     }
 
@@ -1192,6 +1262,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     public static void clearObjectCaches(AJSONMultiModelProvider definition) {
         for (JSONSubDefinition subDef : definition.definitions) {
             String modelLocation = definition.getModelLocation(subDef);
+            AModelParser.clearModelCache(modelLocation);
             List<RenderableModelObject> resetObjects = objectLists.remove(modelLocation);
             if (resetObjects != null) {
                 for (RenderableModelObject modelObject : resetObjects) {
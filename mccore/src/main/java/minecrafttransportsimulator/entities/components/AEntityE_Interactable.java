@@ -1,12 +1,12 @@
 package minecrafttransportsimulator.entities.components;
 
-import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -14,8 +14,8 @@ import java.util.UUID;
 
 import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
-import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
@@ -26,7 +26,6 @@ import minecrafttransportsimulator.jsondefs.JSONCollisionBox;
 import minecrafttransportsimulator.jsondefs.JSONCollisionGroup;
 import minecrafttransportsimulator.jsondefs.JSONConfigLanguage;
 import minecrafttransportsimulator.jsondefs.JSONConnectionGroup;
-import minecrafttransportsimulator.jsondefs.JSONInstrument.JSONInstrumentComponent;
 import minecrafttransportsimulator.jsondefs.JSONInstrumentDefinition;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
@@ -38,8 +37,7 @@ import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
 import minecrafttransportsimulator.packets.instances.PacketPlayerChatMessage;
 import minecrafttransportsimulator.packloading.PackParser;
 import minecrafttransportsimulator.rendering.RenderInstrument;
-import minecrafttransportsimulator.rendering.RenderInstrument.InstrumentSwitchbox;
-import minecrafttransportsimulator.rendering.RenderableObject;
+import minecrafttransportsimulator.rendering.RenderInstrument.InstrumentBinding;
 import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
@@ -68,26 +66,26 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
     /**
      * List of bounding boxes that should be used to check collision of this entity with blocks.
      **/
-    public final Set<BoundingBox> blockCollisionBoxes = new HashSet<>();
+    public final Set<BoundingBox> blockCollisionBoxes = new LinkedHashSet<>();
 
     /**
      * List of bounding boxes that should be used for collision of other entities with this entity.
      * This includes {@link #blockCollisionBoxes}, but may include others.
      **/
-    public final Set<BoundingBox> entityCollisionBoxes = new HashSet<>();
+    public final Set<BoundingBox> entityCollisionBoxes = new LinkedHashSet<>();
 
     /**
      * List of bounding boxes that should be used for interaction of other entities with this entity.
      * This includes all {@link #entityCollisionBoxes}, but may include others, most likely being the
      * core {@link #boundingBox} for this entity.
      **/
-    public final Set<BoundingBox> interactionBoxes = new HashSet<>();
+    public final Set<BoundingBox> interactionBoxes = new LinkedHashSet<>();
 
     /**
      * List of bounding boxes that should be used for bullet collisions with this entity.
      * These can't be clicked by players, and can't be collided with.
      **/
-    public final Set<BoundingBox> bulletCollisionBoxes = new HashSet<>();
+    public final Set<BoundingBox> bulletCollisionBoxes = new LinkedHashSet<>();
 
     /**
      * Box that encompasses all boxes on this entity.  This can be used as a pre-check for collision operations
@@ -100,7 +98,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
      * should NOT do collision checks with this entity, or infinite loops will occur.
      * This set should be cleared after all collisions have been checked.
      **/
-    public final Set<AEntityE_Interactable<?>> collidedEntities = new HashSet<>();
+    public final Set<AEntityE_Interactable<?>> collidedEntities = new LinkedHashSet<>();
 
     /**
      * List of instruments based on their slot in the JSON.  Note that this list is created on first construction
@@ -111,15 +109,10 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
     public final List<ItemInstrument> instruments = new ArrayList<>();
 
     /**
-     * Similar to {@link #instruments}, except this is the renderable bits for them.  There's one entry for each component,
-     * with text being a null entry as text components render via the text rendering system.
+     * Similar to {@link #instruments}, except this is the bindings of those instruments to their slots on this entity.
+     * These contain the renderable bits and animations for each component, with any part-specific variables resolved.
      */
-    public final List<List<RenderableObject>> instrumentRenderables = new ArrayList<>();
-
-    /**
-     * Maps instrument components to their respective switchboxes.
-     **/
-    public final Map<JSONInstrumentComponent, InstrumentSwitchbox> instrumentComponentSwitchboxes = new LinkedHashMap<>();
+    public final List<InstrumentBinding> instrumentBindings = new ArrayList<>();
 
     /**
      * Maps instrument slot transforms to their respective switchboxes.
@@ -170,7 +163,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
             //Need to init lists.
             for (int i = 0; i < definition.instruments.size(); ++i) {
                 instruments.add(null);
-                instrumentRenderables.add(null);
+                instrumentBindings.add(null);
             }
             if (newlyCreated) {
                 for (JSONInstrumentDefinition packInstrument : definition.instruments) {
@@ -238,11 +231,11 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
             //Check for existing instruments and save them.  Then make new ones based on JSON.
             List<ItemInstrument> oldInstruments = new ArrayList<>(instruments);
             instruments.clear();
-            instrumentRenderables.clear();
+            instrumentBindings.clear();
             instrumentSlotSwitchboxes.clear();
             for (int i = 0; i < definition.instruments.size(); ++i) {
                 instruments.add(null);
-                instrumentRenderables.add(null);
+                instrumentBindings.add(null);
                 if (i < oldInstruments.size()) {
                     ItemInstrument oldInstrument = oldInstruments.get(i);
                     if (oldInstrument != null) {
@@ -398,8 +391,10 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         if (requiresDeltaUpdates()) {
             //Update collision boxes to new position.
             world.beginProfiling("CollisionBoxUpdates", true);
+            long startTime = EntityProfiler.start();
             updateCollisionBoxes();
             updateEncompassingBox();
+            world.profiler.end(this, EntityProfiler.Phase.COLLISION, startTime);
             world.endProfiling();
 
             //Move all entities that are touching this entity.
@@ -451,6 +446,14 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
         }
     }
 
+    @Override
+    public void remove() {
+        if (isValid && !world.isClient()) {
+            world.towingConnectionIndex.remove(this);
+        }
+        super.remove();
+    }
+
     /**
      * Returns a collection of BoundingBoxes that make up this entity's collision bounds.
      */
@@ -470,18 +473,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
      */
     public void addInstrument(ItemInstrument instrument, int slot) {
         instruments.set(slot, instrument);
-        List<RenderableObject> renderables = new ArrayList<>();
-        for (JSONInstrumentComponent component : instrument.definition.components) {
-            if (component.textObject != null) {
-                renderables.add(null);
-            } else {
-                renderables.add(new RenderableObject("instrument", null, new ColorRGB(), FloatBuffer.allocate(6 * 8), false));
-            }
-            if (component.animations != null) {
-                instrumentComponentSwitchboxes.put(component, new InstrumentSwitchbox(this, component));
-            }
-        }
-        instrumentRenderables.set(slot, renderables);
+        instrumentBindings.set(slot, new InstrumentBinding(this, instrument, slot));
     }
 
     /**
@@ -490,10 +482,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
     public void removeIntrument(int slot) {
         ItemInstrument removedInstrument = instruments.set(slot, null);
         if (removedInstrument != null) {
-            for (JSONInstrumentComponent component : removedInstrument.definition.components) {
-                instrumentComponentSwitchboxes.remove(component);
-            }
-            instrumentRenderables.set(slot, null);
+            instrumentBindings.set(slot, null);
         }
     }
 
@@ -536,6 +525,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
      * applications, which means one of those may have made this entity invalid.
      */
     public void attack(Damage damage) {
+        wakeUp();
         if (!damage.isWater) {
             damageAmount += damage.amount;
             if (damageAmount > definition.general.health) {
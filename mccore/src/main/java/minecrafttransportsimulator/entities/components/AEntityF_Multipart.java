@@ -13,6 +13,7 @@ import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.entities.instances.APart;
@@ -163,10 +164,12 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
         //Need to do this before updating as these require knowledge of prior states.
         //If we call super, then it will overwrite the prior state.
         //We update both our variables and our part variables here.
+        long startTime = EntityProfiler.start();
         updateVariableModifiers();
         for (APart part : parts) {
             part.updateVariableModifiers();
         }
+        world.profiler.end(this, EntityProfiler.Phase.ANIMATION, startTime);
 
         //Now call super and do the updates.
         super.update();
@@ -376,7 +379,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
         //Update parts prior to doing our post-updates.
         //This is required for trailers, as they may attached to parts.
         //This also ensures that during our post-update loop, all parts are post-updated.
-        world.beginProfiling("PartUpdates_" + parts.size(), true);
+        world.beginProfiling("PartUpdates", true);
         Iterator<APart> iterator = parts.iterator();
         while (iterator.hasNext()) {
             APart part = iterator.next();
@@ -1,13 +1,14 @@
 package minecrafttransportsimulator.entities.components;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.TowingConnection;
 import minecrafttransportsimulator.entities.instances.APart;
-import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.guis.components.AGUIBase;
 import minecrafttransportsimulator.guis.instances.GUIPanel;
 import minecrafttransportsimulator.jsondefs.AJSONPartProvider;
@@ -38,6 +39,8 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
     private final List<TowingConnection> savedDisconnectedTowingConnections = new ArrayList<>();
 
     public static final String TOWING_CONNECTION_REQUEST_VARIABLE = "connection_requested";
+    /**Max distance between the entities or parts defining a hitch and hookup for them to be checked for connection.**/
+    private static final double MAX_CONNECTION_DISTANCE = 25;
 
     public AEntityG_Towable(AWrapperWorld world, IWrapperPlayer placingPlayer, IWrapperNBT data) {
         super(world, placingPlayer, data);
@@ -153,6 +156,11 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
             }
         }
 
+        //Update our connections in the index now that we've moved.
+        if (!world.isClient()) {
+            world.towingConnectionIndex.update(this);
+        }
+
         //If we have a connection request, handle it now.
         int connectionRequestIndex = (int) getVariable(TOWING_CONNECTION_REQUEST_VARIABLE);
         if (connectionRequestIndex != 0) {
@@ -319,6 +327,10 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
      * In all cases, the definer is on our side, either as ourselves or a part.
      */
     private void handleConnectionRequest(AEntityE_Interactable<?> connectionDefiner, int connectionGroupIndex) {
+        //Requests may be deferred, so make sure we weren't removed before handling it.
+        if (!isValid || !connectionDefiner.isValid) {
+            return;
+        }
         JSONConnectionGroup requestedGroup = connectionDefiner.definition.connectionGroups.get(connectionGroupIndex);
         TowingConnection connectionToDisconnect = null;
 
@@ -336,42 +348,37 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
         }
 
         if (connectionToDisconnect == null) {
+            //Only check entities close enough to connect that have a connection of a type we can connect to.
+            //The only result that doesn't cause us to check the next entity is connecting, so skipping the others is fine.
             TrailerConnectionResult result;
-            List<AEntityG_Towable<?>> entitiesToCheck = new ArrayList<>(world.getEntitiesOfType(EntityVehicleF_Physics.class));
-
-            if (requestedGroup.isHitch) {
-                //Find an entity to tow.
-                for (AEntityG_Towable<?> testEntity : entitiesToCheck) {
-                    result = checkIfTrailerCanConnect(this, connectionDefiner, connectionGroupIndex, testEntity, testEntity, -1);
-                    if (result.skip) {
-                        for (APart testPart : testEntity.allParts) {
-                            result = checkIfTrailerCanConnect(this, connectionDefiner, connectionGroupIndex, testEntity, testPart, -1);
-                            if (!result.skip) {
-                                result.handlePacket(connectionDefiner);
-                                return;
-                            }
-                        }
-                    } else {
-                        result.handlePacket(connectionDefiner);
-                        return;
-                    }
+            Set<AEntityE_Interactable<?>> definersToCheck = new LinkedHashSet<>();
+            for (JSONConnection connection : requestedGroup.connections) {
+                if (requestedGroup.isHitch) {
+                    world.towingConnectionIndex.getDefinersNear(connectionDefiner.position, MAX_CONNECTION_DISTANCE, connection.type, false, definersToCheck);
+                }
+                if (requestedGroup.isHookup) {
+                    world.towingConnectionIndex.getDefinersNear(connectionDefiner.position, MAX_CONNECTION_DISTANCE, connection.type, true, definersToCheck);
                 }
             }
-            if (requestedGroup.isHookup) {
-                //Find entity that can tow us.
-                for (AEntityG_Towable<?> testEntity : entitiesToCheck) {
-                    result = testEntity.checkIfTrailerCanConnect(testEntity, testEntity, -1, this, connectionDefiner, connectionGroupIndex);
-                    if (result.skip) {
-                        for (APart testPart : testEntity.allParts) {
-                            result = testEntity.checkIfTrailerCanConnect(testEntity, testPart, -1, this, connectionDefiner, connectionGroupIndex);
-                            if (!result.skip) {
-                                result.handlePacket(connectionDefiner);
-                                return;
-                            }
+
+            for (AEntityE_Interactable<?> testDefiner : definersToCheck) {
+                AEntityG_Towable<?> testEntity = world.towingConnectionIndex.getTowable(testDefiner);
+                if (testEntity != null && testEntity.isValid) {
+                    if (requestedGroup.isHitch) {
+                        //Try to tow the entity.
+                        result = checkIfTrailerCanConnect(this, connectionDefiner, connectionGroupIndex, testEntity, testDefiner, -1);
+                        if (!result.skip) {
+                            result.handlePacket(connectionDefiner);
+                            return;
+                        }
+                    }
+                    if (requestedGroup.isHookup) {
+                        //Try to have the entity tow us.
+                        result = testEntity.checkIfTrailerCanConnect(testEntity, testDefiner, -1, this, connectionDefiner, connectionGroupIndex);
+                        if (!result.skip) {
+                            result.handlePacket(connectionDefiner);
+                            return;
                         }
-                    } else {
-                        result.handlePacket(connectionDefiner);
-                        return;
                     }
                 }
             }
@@ -411,7 +418,7 @@ public abstract class AEntityG_Towable<JSONDefinition extends AJSONPartProvider>
         boolean trailerInRange = false;
 
         //First make sure the entity is even somewhat close.
-        if (hitchConnectionDefiner.position.isDistanceToCloserThan(hookupConnectionDefiner.position, 25)) {
+        if (hitchConnectionDefiner.position.isDistanceToCloserThan(hookupConnectionDefiner.position, MAX_CONNECTION_DISTANCE)) {
             //If we or the other entity don't have connection groups, don't bother checking.
             if (hitchConnectionDefiner.definition.connectionGroups != null && !hitchConnectionDefiner.definition.connectionGroups.isEmpty() && hookupConnectionDefiner.definition.connectionGroups != null && !hookupConnectionDefiner.definition.connectionGroups.isEmpty()) {
                 //Find the requested hitch connection index.
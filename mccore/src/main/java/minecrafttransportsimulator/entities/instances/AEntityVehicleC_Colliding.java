@@ -38,6 +38,13 @@ abstract class AEntityVehicleC_Colliding extends AEntityG_Towable<JSONVehicle> {
      * Cached value for speedFactor.  Saves us from having to use the long form all over.
      */
     public final double speedFactor;
+    /**
+     * How many ticks the current update covers.  This is 1, except for moving vehicles that are updated at a
+     * reduced rate, where it is the number of ticks since their last update.  Forces and movement are scaled by
+     * this so those vehicles go as far in one update as they would have in all the ones they skipped.
+     * This only applies to the movement of this update, {@link #speedFactor} is always the per-tick value.
+     */
+    protected int updateTicks = 1;
 
     public AEntityVehicleC_Colliding(AWrapperWorld world, IWrapperPlayer placingPlayer, IWrapperNBT data) {
         super(world, placingPlayer, data);
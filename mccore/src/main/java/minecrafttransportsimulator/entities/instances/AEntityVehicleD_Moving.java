@@ -1,7 +1,10 @@
 package minecrafttransportsimulator.entities.instances;
 
+import java.util.Random;
+
 import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TowingConnection;
@@ -57,6 +60,11 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     public double weightTransfer = 0;
     public final RotationMatrix rotation = new RotationMatrix();
     private final IWrapperPlayer placingPlayer;
+    /**
+     * Random source for server-side events like wheels popping and engines backfiring.  Unseeded, so these
+     * events differ every time the vehicle is loaded, unless {@link #seedRandom()} is called for recordings and replays.
+     **/
+    public final Random random = new Random();
 
     //Properties
     @ModifiedValue
@@ -106,6 +114,19 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     private AEntityE_Interactable<?> lastCollidedEntity;
     public VehicleGroundDeviceCollection groundDeviceCollective;
 
+    //Sleep and reduced-rate update states.
+    /**How many ticks a vehicle needs to be at rest for before it goes to sleep.**/
+    private static final int SLEEP_DELAY = 100;
+    /**How many ticks sleeping vehicles wait between updates.  These updates make sure they are still at rest.**/
+    private static final int SLEEP_CHECK_INTERVAL = 40;
+    /**Movement, in blocks or degrees per update, below which a vehicle is considered at rest.  Parked vehicles have some floating-point noise in their movement.**/
+    private static final double REST_MOVEMENT = 0.0001;
+    private boolean sleeping;
+    private boolean reducedTickRate;
+    private int ticksAtRest;
+    private int ticksSinceUpdate;
+    private int ticksBetweenUpdates = 1;
+
     public AEntityVehicleD_Moving(AWrapperWorld world, IWrapperPlayer placingPlayer, IWrapperNBT data) {
         super(world, placingPlayer, data);
         this.totalPathDelta = data.getDouble("totalPathDelta");
@@ -120,6 +141,14 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         this.placingPlayer = placingPlayer;
     }
 
+    /**
+     * Seeds {@link #random} from this vehicle's ID.  Called when tick recordings start and when they are
+     * replayed, so both get the same random events, even with vehicles ticking in parallel.
+     */
+    public void seedRandom() {
+        random.setSeed(uniqueUUID.getMostSignificantBits() ^ uniqueUUID.getLeastSignificantBits());
+    }
+
     @Override
     public void update() {
         super.update();
@@ -174,6 +203,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         //Now do update calculations and logic.
         if (!ConfigSystem.settings.general.noclipVehicles.value || groundDeviceCollective.isReady()) {
             world.beginProfiling("GroundForces", false);
+            long startTime = EntityProfiler.start();
             getForcesAndMotions();
             world.beginProfiling("GroundOperations", false);
             if (towedByConnection == null || !towedByConnection.hitchConnection.mounted) {
@@ -181,8 +211,11 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
             } else {
                 slipping = false;
             }
+            world.profiler.end(this, EntityProfiler.Phase.PHYSICS, startTime);
             world.beginProfiling("TotalMovement", false);
+            startTime = EntityProfiler.start();
             moveVehicle();
+            world.profiler.end(this, EntityProfiler.Phase.COLLISION, startTime);
             if (!world.isClient()) {
                 adjustControlSurfaces();
             }
@@ -190,6 +223,120 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         world.endProfiling();
     }
 
+    @Override
+    public boolean shouldUpdateThisTick() {
+        //Only servers put vehicles to sleep.  Clients need updates for sounds, particles and the like, and get woken by the server's packets anyway.
+        if (world.isClient()) {
+            return true;
+        }
+
+        //If we updated last tick, check if we should be sleeping or updating at a reduced rate.
+        if (ticksSinceUpdate == 0) {
+            updateSleepState();
+        }
+        ++ticksSinceUpdate;
+        updateTicks = 1;
+        if (sleeping) {
+            if (ticksSinceUpdate < SLEEP_CHECK_INTERVAL) {
+                return false;
+            }
+        } else if (reducedTickRate) {
+            //Update on a tick offset by our UUID, so vehicles that went out of range together don't all update on the same tick.
+            if (Math.floorMod(world.getTime() + uniqueUUID.hashCode(), (long) ConfigSystem.settings.general.vehicleReducedTickInterval.value) != 0) {
+                return false;
+            }
+        }
+        if (!sleeping && !isAtRest()) {
+            //Moving vehicles go as far in this update as they would have in all the ones they skipped, so they don't fall behind.
+            //This also covers the ticks skipped before a reduced-rate vehicle got woken up.
+            updateTicks = ticksSinceUpdate;
+        }
+        ticksBetweenUpdates = ticksSinceUpdate;
+        ticksSinceUpdate = 0;
+        return true;
+    }
+
+    @Override
+    public void wakeUp() {
+        if (sleeping) {
+            //Nothing moved while we were sleeping, so the next update only needs to cover one tick.
+            ticksSinceUpdate = 0;
+            ticksBetweenUpdates = 1;
+        }
+        sleeping = false;
+        reducedTickRate = false;
+        ticksAtRest = 0;
+    }
+
+    /**
+     * Returns true if this vehicle is sleeping.  Sleeping vehicles only update every {@link #SLEEP_CHECK_INTERVAL}
+     * ticks to make sure they are still at rest, until they are woken up via {@link #wakeUp()}.
+     */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Helper method to update the sleeping and reduced-rate update states.  Called after this vehicle
+     * has updated, so the states reflect what the vehicle did on that update.
+     */
+    private void updateSleepState() {
+        if (ConfigSystem.settings.general.vehicleSleeping.value && canSleep()) {
+            if (!sleeping) {
+                ticksAtRest += ticksBetweenUpdates;
+                if (ticksAtRest >= SLEEP_DELAY) {
+                    //Spread out the checks of vehicles that went to sleep together so they don't all update on the same tick.
+                    sleeping = true;
+                    ticksSinceUpdate = Math.floorMod(uniqueUUID.hashCode(), SLEEP_CHECK_INTERVAL);
+                }
+            }
+        } else {
+            sleeping = false;
+            ticksAtRest = 0;
+        }
+
+        int reducedTickDistance = ConfigSystem.settings.general.vehicleReducedTickDistance.value;
+        reducedTickRate = !sleeping && reducedTickDistance > 0 && ConfigSystem.settings.general.vehicleReducedTickInterval.value > 1 && !hasRiders() && towedByConnection == null && towingConnections.isEmpty() && !world.isPlayerWithin(position, reducedTickDistance);
+    }
+
+    /**
+     * Returns true if this vehicle is at rest and has nothing going on that needs updating, so it can go to sleep.
+     * Sub-classes should add their own checks for anything that can keep the vehicle busy while it isn't moving.
+     */
+    protected boolean canSleep() {
+        if (!isAtRest() || lastCollidedEntity != null || towedByConnection != null || !towingConnections.isEmpty() || hasRiders()) {
+            return false;
+        }
+        for (APart part : allParts) {
+            if (!part.canSleep()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if this vehicle didn't move or rotate on its last update.
+     */
+    private boolean isAtRest() {
+        return motionApplied.length() < REST_MOVEMENT && rotationApplied.angles.length() < REST_MOVEMENT;
+    }
+
+    /**
+     * Returns true if this vehicle, or any of its parts, has a rider.
+     */
+    private boolean hasRiders() {
+        if (rider != null) {
+            return true;
+        }
+        for (APart part : allParts) {
+            if (part.rider != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void updateAllpartList() {
         super.updateAllpartList();
@@ -212,6 +359,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     @Override
     public void connectTrailer(TowingConnection connection) {
         super.connectTrailer(connection);
+        wakeUp();
+        connection.towedVehicle.wakeUp();
         AEntityVehicleD_Moving towedVehicle = connection.towedVehicle;
         if (towedVehicle.parkingBrakeOn) {
             towedVehicle.setVariable(PARKINGBRAKE_VARIABLE, 0);
@@ -237,6 +386,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
     @Override
     public void disconnectTrailer(int connectionIndex) {
         TowingConnection connection = towingConnections.get(connectionIndex);
+        wakeUp();
+        connection.towedVehicle.wakeUp();
         if (connection.towedVehicle.definition.motorized.isTrailer) {
             connection.towedVehicle.setVariable(PARKINGBRAKE_VARIABLE, 1);
         }
@@ -257,20 +408,16 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                 TileEntityRoad road = ((BlockCollision) block).getMasterRoad(world, contactPoint);
                 if (road != null) {
                     //Check to see which lane we are on, if any.
-                    Point3D testPoint = new Point3D();
-                    Point3D testRotation;
                     for (RoadLane lane : road.lanes) {
-                        //Check path-points on the curve.  If our angles and position are close, set this as the curve.
+                        //Find the closest point on the curve.  If our angles and position are close, set this as the curve.
                         for (BezierCurve curve : lane.curves) {
-                            for (float f = 0; f < curve.pathLength; ++f) {
-                                curve.setPointToPositionAt(testPoint, f);
-                                if (testPoint.isDistanceToCloserThan(contactPoint, 1)) {
-                                    testRotation = curve.getRotationAt(f).angles;
-                                    boolean sameDirection = Math.abs(testRotation.getClampedYDelta(orientation.angles.y)) < 10;
-                                    boolean oppositeDirection = Math.abs(testRotation.getClampedYDelta(orientation.angles.y)) > 170;
-                                    if (sameDirection || oppositeDirection) {
-                                        return new RoadFollowingState(lane, curve, sameDirection, f);
-                                    }
+                            float closestSegment = curve.getClosestSegmentPoint(contactPoint, 1);
+                            if (closestSegment != -1) {
+                                Point3D testRotation = curve.getRotationAt(closestSegment).angles;
+                                boolean sameDirection = Math.abs(testRotation.getClampedYDelta(orientation.angles.y)) < 10;
+                                boolean oppositeDirection = Math.abs(testRotation.getClampedYDelta(orientation.angles.y)) > 170;
+                                if (sameDirection || oppositeDirection) {
+                                    return new RoadFollowingState(lane, curve, sameDirection, closestSegment);
                                 }
                             }
                         }
@@ -290,7 +437,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
         //Get braking force and apply it to the motions.
         float brakingFactor = towedByConnection == null ? getBrakingForce() * currentBrakingFactor : 0;
         if (brakingFactor > 0) {
-            double brakingForce = 20F * brakingFactor / currentMass;
+            double brakingForce = 20F * brakingFactor * updateTicks / currentMass;
             if (brakingForce > velocity) {
                 motion.x = 0;
                 motion.z = 0;
@@ -701,7 +848,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                 //whichever is the lower of the two.  If we apply boost, update our collision boxes before the next step.
                 //Note that this logic is not applied on trailers, as they use special checks with only rotations for movement.
                 world.beginProfiling("GroundBoostCheck", false);
-                groundMotion.y = groundDeviceCollective.getMaxCollisionDepth() / speedFactor;
+                groundMotion.y = groundDeviceCollective.getMaxCollisionDepth() / (speedFactor * updateTicks);
                 if (groundMotion.y > 0) {
                     world.beginProfiling("GroundBoostApply", false);
                     //Make sure boost doesn't exceed the config value.
@@ -760,6 +907,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
             //This allows for transports without mounting.
             if (!collidedEntities.isEmpty()) {
                 world.beginProfiling("EntityMoveAlong", false);
+                //Wake up anything we hit, as it may need to react to us.
+                collidedEntities.forEach(AEntityE_Interactable::wakeUp);
                 for (AEntityE_Interactable<?> interactable : collidedEntities) {
                     //Set angluar movement delta.
                     if (interactable instanceof AEntityVehicleD_Moving) {
@@ -799,7 +948,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
 
             //Now that that the movement has been checked, move the vehicle.
             world.beginProfiling("ApplyMotions", false);
-            motionApplied.set(motion).scale(speedFactor).add(groundMotion);
+            motionApplied.set(motion).scale(speedFactor * updateTicks).add(groundMotion);
             rotationApplied.angles.set(rotation.angles);
 
             //Add road contributions.
@@ -812,7 +961,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding {
                         pathingApplied = -pathingApplied;
                     }
                 } else {
-                    pathingApplied = goingInReverse ? -velocity * speedFactor : velocity * speedFactor;
+                    pathingApplied = goingInReverse ? -velocity * speedFactor * updateTicks : velocity * speedFactor * updateTicks;
                 }
             } else {
                 pathingApplied = 0;
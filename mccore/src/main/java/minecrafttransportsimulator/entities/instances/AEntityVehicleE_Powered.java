@@ -185,6 +185,18 @@ public abstract class AEntityVehicleE_Powered extends AEntityVehicleD_Moving {
         world.endProfiling();
     }
 
+    @Override
+    protected boolean canSleep() {
+        return super.canSleep() && !enginesOn && electricFlow == 0 && !beingFueled && missilesIncoming.isEmpty() && (gearMovementTime == 0 || gearMovementTime == definition.motorized.gearSequenceDuration);
+    }
+
+    @Override
+    public void remove() {
+        super.remove();
+        //Fuel tank is in the world on its own, so take it out with us.
+        fuelTank.remove();
+    }
+
     @Override
     public void destroy(BoundingBox box) {
         //Spawn instruments in the world.
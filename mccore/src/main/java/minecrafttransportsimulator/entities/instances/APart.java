@@ -244,6 +244,20 @@ public abstract class APart extends AEntityF_Multipart<JSONPart> {
         return false;
     }
 
+    @Override
+    public void wakeUp() {
+        //Parts are updated by their master entity, so wake that up.
+        masterEntity.wakeUp();
+    }
+
+    /**
+     * Returns true if this part has nothing going on that needs updating, so the vehicle it is on can go to sleep.
+     * Parts that do things while the vehicle is stationary should override this to add their own checks.
+     */
+    public boolean canSleep() {
+        return rider == null;
+    }
+
     @Override
     public boolean requiresDeltaUpdates() {
         return super.requiresDeltaUpdates() || entityOn.requiresDeltaUpdates() || isMoveable;
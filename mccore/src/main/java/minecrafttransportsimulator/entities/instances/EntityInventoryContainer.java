@@ -1,6 +1,9 @@
 package minecrafttransportsimulator.entities.instances;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import minecrafttransportsimulator.baseclasses.IInventoryProvider;
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
@@ -20,6 +23,10 @@ import minecrafttransportsimulator.packets.instances.PacketInventoryContainerCha
 public class EntityInventoryContainer extends AEntityA_Base implements IInventoryProvider {
     private final List<IWrapperItemStack> inventory;
     private final int stackSize;
+    private final Map<Object, Integer> itemCounts = new HashMap<>();
+    private final Map<Object, Integer> itemCountsView = Collections.unmodifiableMap(itemCounts);
+    private final Object[] slotKeys;
+    private final int[] slotCounts;
 
     public EntityInventoryContainer(AWrapperWorld world, IWrapperNBT data, int maxSlots) {
         this(world, data, maxSlots, 64);
@@ -29,6 +36,11 @@ public class EntityInventoryContainer extends AEntityA_Base implements IInventor
         super(world, data);
         this.inventory = data.getStacks(maxSlots);
         this.stackSize = stackSize;
+        this.slotKeys = new Object[inventory.size()];
+        this.slotCounts = new int[inventory.size()];
+        for (int i = 0; i < inventory.size(); ++i) {
+            updateItemCounts(i);
+        }
     }
 
     @Override
@@ -60,11 +72,35 @@ public class EntityInventoryContainer extends AEntityA_Base implements IInventor
     @Override
     public void setStack(IWrapperItemStack stackToSet, int index) {
         inventory.set(index, stackToSet);
+        updateItemCounts(index);
         if (!world.isClient()) {
             InterfaceManager.packetInterface.sendToAllClients(new PacketInventoryContainerChange(this, index, stackToSet));
         }
     }
 
+    @Override
+    public Map<Object, Integer> getItemCounts() {
+        return itemCountsView;
+    }
+
+    /**
+     * Updates the item counts for the stack in the passed-in slot.  The count the slot last added is
+     * removed and the current count is added, so this works even if the stack was modified in-place.
+     */
+    private void updateItemCounts(int index) {
+        if (slotKeys[index] != null) {
+            itemCounts.computeIfPresent(slotKeys[index], (key, count) -> count == slotCounts[index] ? null : count - slotCounts[index]);
+            slotKeys[index] = null;
+            slotCounts[index] = 0;
+        }
+        IWrapperItemStack stack = inventory.get(index);
+        if (!stack.isEmpty()) {
+            slotKeys[index] = InterfaceManager.coreInterface.getOredictMatchKey(stack);
+            slotCounts[index] = stack.getSize();
+            itemCounts.merge(slotKeys[index], slotCounts[index], Integer::sum);
+        }
+    }
+
     /**
      * Saves inventory data to the passed-in NBT.
      */
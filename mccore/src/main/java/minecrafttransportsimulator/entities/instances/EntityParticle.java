@@ -44,6 +44,7 @@ public class EntityParticle extends AEntityC_Renderable {
     private final boolean textureIsTranslucent;
     private final int maxAge;
     private final Point3D initialVelocity;
+    private final float sizeScale;
     private final IWrapperPlayer clientPlayer = InterfaceManager.clientInterface.getClientPlayer();
 
     private ColorRGB startColor;
@@ -64,7 +65,16 @@ public class EntityParticle extends AEntityC_Renderable {
     private int colorDelayIndex;
 
     public EntityParticle(AEntityC_Renderable entitySpawning, JSONParticle definition, Point3D spawingPosition, AnimationSwitchbox switchbox) {
+        this(entitySpawning, definition, spawingPosition, switchbox, 1);
+    }
+
+    /**
+     * Like the normal constructor, but scales the size of the particle.  Used for particles spawned
+     * far away, which are spawned at a lower rate but larger.  See {@link minecrafttransportsimulator.baseclasses.ParticleBudget}.
+     */
+    public EntityParticle(AEntityC_Renderable entitySpawning, JSONParticle definition, Point3D spawingPosition, AnimationSwitchbox switchbox, float sizeScale) {
         super(entitySpawning.world, spawingPosition, ZERO_FOR_CONSTRUCTOR, ZERO_FOR_CONSTRUCTOR);
+        this.sizeScale = sizeScale;
 
         helperTransform.resetTransforms();
         if (definition.spawningOrientation == ParticleSpawningOrientation.ENTITY) {
@@ -369,8 +379,8 @@ public class EntityParticle extends AEntityC_Renderable {
         //Check for sub particles.
         if (definition.subParticles != null) {
             for (JSONSubParticle subDef : definition.subParticles) {
-                if (subDef.particle.spawnEveryTick ? subDef.time >= ticksExisted : subDef.time == ticksExisted) {
-                    world.addEntity(new EntityParticle(this, subDef.particle, position, null));
+                if ((subDef.particle.spawnEveryTick ? subDef.time >= ticksExisted : subDef.time == ticksExisted) && world.particleBudget.hasRoom(subDef.particle.priority)) {
+                    world.addEntity(new EntityParticle(this, subDef.particle, position, null, sizeScale));
                 }
             }
         }
@@ -423,6 +433,7 @@ public class EntityParticle extends AEntityC_Renderable {
             if (definition.fadeScaleTime > maxAge - ticksExisted) {
                 totalScale *= (maxAge - ticksExisted) / (float) definition.fadeScaleTime;
             }
+            totalScale *= sizeScale;
             renderable.transform.applyScaling(totalScale * entitySpawning.scale.x, totalScale * entitySpawning.scale.y, totalScale * entitySpawning.scale.z);
             renderable.worldLightValue = worldLightValue;
             renderable.render();
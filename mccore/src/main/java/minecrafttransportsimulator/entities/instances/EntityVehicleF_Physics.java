@@ -208,14 +208,30 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
             toggleVariable(AUTOPILOT_VALUE_VARIABLE);
         }
 
+        //Let any trigger volumes know where we are now that we've moved.
+        world.triggerVolumeIndex.update(this);
+
         world.endProfiling();
     }
 
+    @Override
+    public void remove() {
+        if (isValid) {
+            world.triggerVolumeIndex.remove(this);
+        }
+        super.remove();
+    }
+
     @Override
     public boolean requiresDeltaUpdates() {
         return true;
     }
 
+    @Override
+    protected boolean canSleep() {
+        return super.canSleep() && repairCooldownTicks == 0 && flapCurrentAngle == flapDesiredAngle && autopilotSetting == 0;
+    }
+
     @Override
     public double getMass() {
         //Need to use a list here to make sure we don't end up with infinite recursion due to bad trailer linkings.
@@ -545,7 +561,7 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered {
             totalForce.add(thrustForce);
             totalForce.addScaled(normalizedVelocityVector, -dragForce);
             totalForce.y += ballastForce - gravitationalForce;
-            motion.addScaled(totalForce, 1 / currentMass);
+            motion.addScaled(totalForce, updateTicks / currentMass);
 
             //Add all torques to the main torque matrix and apply them.
             totalTorque.set(elevatorTorque, rudderTorque, aileronTorque).add(thrustTorque).scale(180D / Math.PI);
@@ -5,6 +5,7 @@ import java.util.List;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.HazardVolumeIndex.HazardVolume;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.jsondefs.JSONConfigLanguage;
@@ -97,6 +98,8 @@ public class PartEngine extends APart {
     private final List<PartPropeller> linkedPropellers = new ArrayList<>();
     private final Point3D engineAxisVector = new Point3D();
     private final Point3D engineForce = new Point3D();
+    private final HazardVolume jetIntakeVolume = new HazardVolume(this, false);
+    private final HazardVolume jetExhaustVolume = new HazardVolume(this, true);
     private double engineForceValue;
 
     //Constants and static variables.
@@ -198,6 +201,11 @@ public class PartEngine extends APart {
         }
     }
 
+    @Override
+    public boolean canSleep() {
+        return super.canSleep() && !running && !magnetoOn && rpm == 0;
+    }
+
     @Override
     public void update() {
         super.update();
@@ -427,7 +435,7 @@ public class PartEngine extends APart {
 
                         //If the engine has high hours, give a chance for a backfire.
                         if (hours >= 500 && !world.isClient()) {
-                            if (Math.random() < (hours / 3) / (500 + (10000 - hours)) * (currentMaxSafeRPM / (rpm + currentMaxSafeRPM / 1.5))) {
+                            if (vehicleOn.random.nextDouble() < (hours / 3) / (500 + (10000 - hours)) * (currentMaxSafeRPM / (rpm + currentMaxSafeRPM / 1.5))) {
                                 backfireEngine();
                                 InterfaceManager.packetInterface.sendToAllClients(new PacketPartEngine(this, Signal.BACKFIRE));
                             }
@@ -627,14 +635,14 @@ public class PartEngine extends APart {
                     boundingBox.globalCenter.add(vehicleOn.headingVector);
                     IWrapperEntity controller = vehicleOn.getController();
                     LanguageEntry language = controller != null ? JSONConfigLanguage.DEATH_JETINTAKE_PLAYER : JSONConfigLanguage.DEATH_JETINTAKE_NULL;
-                    Damage jetIntake = new Damage(definition.engine.jetPowerFactor * ConfigSystem.settings.damage.jetDamageFactor.value * rpm / 1000F, boundingBox, this, controller, language);
-                    world.attackEntities(jetIntake, null, false);
+                    jetIntakeVolume.set(boundingBox, definition.engine.jetPowerFactor * ConfigSystem.settings.damage.jetDamageFactor.value * rpm / 1000F, controller, language);
+                    world.hazardVolumeIndex.activate(jetIntakeVolume);
 
                     boundingBox.globalCenter.subtract(vehicleOn.headingVector);
                     boundingBox.globalCenter.subtract(vehicleOn.headingVector);
                     language = controller != null ? JSONConfigLanguage.DEATH_JETEXHAUST_PLAYER : JSONConfigLanguage.DEATH_JETEXHAUST_NULL;
-                    Damage jetExhaust = new Damage(definition.engine.jetPowerFactor * ConfigSystem.settings.damage.jetDamageFactor.value * rpm / 2000F, boundingBox, this, controller, language).setFire();
-                    world.attackEntities(jetExhaust, null, false);
+                    jetExhaustVolume.set(boundingBox, definition.engine.jetPowerFactor * ConfigSystem.settings.damage.jetDamageFactor.value * rpm / 2000F, controller, language);
+                    world.hazardVolumeIndex.activate(jetExhaustVolume);
 
                     boundingBox.globalCenter.add(vehicleOn.headingVector);
                     boundingBox.widthRadius -= 0.25;
@@ -1,6 +1,7 @@
 package minecrafttransportsimulator.entities.instances;
 
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.HazardVolumeIndex.HazardVolume;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.items.instances.ItemPartGroundDevice;
@@ -58,6 +59,7 @@ public class PartGroundDevice extends APart {
     private final Point3D zeroReferencePosition;
     private final Point3D prevLocalOffset;
     private PartGroundDeviceFake fakePart;
+    private final HazardVolume hazardVolume = new HazardVolume(this, false);
 
     public PartGroundDevice(AEntityF_Multipart<?> entityOn, IWrapperPlayer placingPlayer, JSONPartDefinition placementDefinition, IWrapperNBT data) {
         super(entityOn, placingPlayer, placementDefinition, data);
@@ -99,7 +101,7 @@ public class PartGroundDevice extends APart {
     @Override
     public void attack(Damage damage) {
         super.attack(damage);
-        if (!damage.isWater && (damage.isExplosion || Math.random() < 0.5 || outOfHealth)) {
+        if (!damage.isWater && (damage.isExplosion || (vehicleOn != null ? vehicleOn.random.nextDouble() : Math.random()) < 0.5 || outOfHealth)) {
             setFlatState(true);
         }
     }
@@ -150,7 +152,7 @@ public class PartGroundDevice extends APart {
                             }
                         } else {
                             ++ticksCalcsSkipped;
-                            if (Math.random() * 50000 < ticksCalcsSkipped) {
+                            if (vehicleOn.random.nextDouble() * 50000 < ticksCalcsSkipped) {
                                 setFlatState(true);
                             }
                         }
@@ -169,8 +171,8 @@ public class PartGroundDevice extends APart {
                     }
                     IWrapperEntity controller = vehicleOn.getController();
                     LanguageEntry language = controller != null ? JSONConfigLanguage.DEATH_WHEEL_PLAYER : JSONConfigLanguage.DEATH_WHEEL_NULL;
-                    Damage wheelDamage = new Damage(wheelDamageAmount, boundingBox, this, controller, language);
-                    vehicleOn.world.attackEntities(wheelDamage, null, false);
+                    hazardVolume.set(boundingBox, wheelDamageAmount, controller, language);
+                    vehicleOn.world.hazardVolumeIndex.activate(hazardVolume);
                     boundingBox.widthRadius -= 0.25;
                     boundingBox.depthRadius -= 0.25;
                 }
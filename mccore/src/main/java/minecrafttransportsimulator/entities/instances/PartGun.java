@@ -10,6 +10,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.GunTargetFinder;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
@@ -121,8 +122,7 @@ public class PartGun extends APart {
     private final RotationMatrix firingSpreadRotation = new RotationMatrix();
     private final RotationMatrix pitchMuzzleRotation = new RotationMatrix();
     private final RotationMatrix yawMuzzleRotation = new RotationMatrix();
-    private final Point3D normalizedConeVector = new Point3D();
-    private final Point3D normalizedEntityVector = new Point3D();
+    private final GunTargetFinder targetFinder;
 
     //Global data.
     private static final int RAYTRACE_DISTANCE = 750;
@@ -130,6 +130,7 @@ public class PartGun extends APart {
 
     public PartGun(AEntityF_Multipart<?> entityOn, IWrapperPlayer placingPlayer, JSONPartDefinition placementDefinition, IWrapperNBT data) {
         super(entityOn, placingPlayer, placementDefinition, data);
+        this.targetFinder = new GunTargetFinder(world);
 
         //Set min/max yaw/pitch angles based on our definition and the entity definition.
         //If the entity definition min/max yaw is -180 to 180, set it to that.  Otherwise, get the max bounds.
@@ -241,6 +242,11 @@ public class PartGun extends APart {
         return true;
     }
 
+    @Override
+    public boolean canSleep() {
+        return super.canSleep() && state == GunState.INACTIVE && reloadTimeRemaining == 0 && reloadingBullet == null && windupTimeCurrent == 0;
+    }
+
     @Override
     public void update() {
         //Set gun state and do updates.
@@ -630,19 +636,16 @@ public class PartGun extends APart {
         if (!(controller instanceof IWrapperPlayer)) {
             //Get new target if we don't have one, or if we've gone 1 second and we have a closer target by 5 blocks.
             boolean checkForCloser = entityTarget != null && ticksExisted % 20 == 0;
+            //Distance is checked before validating, as validating may need to raytrace.
             if (entityTarget == null || checkForCloser) {
+                double distanceToBeat = entityTarget != null ? position.distanceTo(entityTarget.getPosition()) + 5 : Double.MAX_VALUE;
                 for (IWrapperEntity entity : world.getEntitiesHostile(controller, 48)) {
-                    if (validateTarget(entity)) {
-                        if (entityTarget != null) {
-                            double distanceToBeat = position.distanceTo(entityTarget.getPosition());
-                            if (checkForCloser) {
-                                distanceToBeat += 5;
-                            }
-                            if (position.distanceTo(entity.getPosition()) > distanceToBeat) {
-                                continue;
-                            }
-                        }
+                    if (position.isDistanceToCloserThan(entity.getPosition(), distanceToBeat) && validateTarget(entity)) {
                         entityTarget = entity;
+                        distanceToBeat = position.distanceTo(entity.getPosition());
+                        if (checkForCloser) {
+                            distanceToBeat += 5;
+                        }
                     }
                 }
             }
@@ -716,27 +719,8 @@ public class PartGun extends APart {
                 if (startPoint != null) {
                     //First check for hard targets, since those are more dangerous.
                     if (definition.gun.targetType == TargetType.ALL || definition.gun.targetType == TargetType.HARD || definition.gun.targetType == TargetType.AIRCRAFT || definition.gun.targetType == TargetType.GROUND) {
-                        normalizedConeVector.set(searchVector).normalize();
-                        EntityVehicleF_Physics vehicleTarget = null;
-                        double smallestDistance = searchVector.length();
-                        for (EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)) {
-                            //Make sure we don't lock-on to our own vehicle.  Also, ensure if we want aircraft, or ground, we only get those.
-                            if (vehicle != vehicleOn && (definition.gun.targetType != TargetType.AIRCRAFT || vehicle.definition.motorized.isAircraft) && (definition.gun.targetType != TargetType.GROUND || !vehicle.definition.motorized.isAircraft)) {
-                                targetVector.set(vehicle.position).subtract(startPoint);
-                                if (world.getBlockHit(startPoint, targetVector) == null) {
-                                    double entityDistance = vehicle.position.distanceTo(startPoint);
-                                    if (entityDistance < smallestDistance) {
-                                        //Potential match by distance, check if the entity is inside the cone.
-                                        normalizedEntityVector.set(vehicle.position).subtract(startPoint).normalize();
-                                        double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
-                                        if (targetAngle < coneAngle) {
-                                            smallestDistance = entityDistance;
-                                            vehicleTarget = vehicle;
-                                        }
-                                    }
-                                }
-                            }
-                        }
+                        //Make sure we don't lock-on to our own vehicle.  Also, ensure if we want aircraft, or ground, we only get those.
+                        EntityVehicleF_Physics vehicleTarget = targetFinder.getVehicleTarget(startPoint, searchVector, coneAngle, vehicle -> vehicle != vehicleOn && (definition.gun.targetType != TargetType.AIRCRAFT || vehicle.definition.motorized.isAircraft) && (definition.gun.targetType != TargetType.GROUND || !vehicle.definition.motorized.isAircraft), ticksExisted);
 
                         //If we found a vehicle, get the engine to target.
                         if (vehicleTarget != null && !vehicleTarget.outOfHealth) {
@@ -751,26 +735,9 @@ public class PartGun extends APart {
 
                     //If we didn't find a hard vehicle target, try and get a soft one.
                     if (engineTarget == null && definition.gun.targetType == TargetType.ALL || definition.gun.targetType == TargetType.SOFT) {
-                        normalizedConeVector.set(searchVector).normalize();
-                        double smallestDistance = searchVector.length();
-                        BoundingBox searchBox = new BoundingBox(position, smallestDistance, smallestDistance, smallestDistance);
-                        for (IWrapperEntity entity : world.getEntitiesWithin(searchBox)) {
-                            if (entity.isValid() && entity != controller) {
-                                targetVector.set(entity.getPosition()).subtract(startPoint);
-                                if (world.getBlockHit(startPoint, targetVector) == null) {
-                                    double entityDistance = entity.getPosition().distanceTo(startPoint);
-                                    if (entityDistance < smallestDistance) {
-                                        //Potential match by distance, check if the entity is inside the cone.
-                                        normalizedEntityVector.set(entity.getPosition()).subtract(startPoint).normalize();
-                                        double targetAngle = Math.abs(Math.toDegrees(Math.acos(normalizedConeVector.dotProduct(normalizedEntityVector, false))));
-                                        if (targetAngle < coneAngle) {
-                                            smallestDistance = entityDistance;
-                                            entityTarget = entity;
-                                        }
-                                    }
-                                }
-                            }
-                        }
+                        double searchDistance = searchVector.length();
+                        BoundingBox searchBox = new BoundingBox(position, searchDistance, searchDistance, searchDistance);
+                        entityTarget = targetFinder.getEntityTarget(startPoint, searchVector, coneAngle, world.getEntitiesWithin(searchBox), controller, ticksExisted);
                     }
                 }
             }
@@ -852,8 +819,8 @@ public class PartGun extends APart {
                 return false;
             }
 
-            //Check block raytracing.
-            return world.getBlockHit(position, targetVector) == null;
+            //Check block raytracing.  This is cached as we check our target every tick.
+            return targetFinder.hasLineOfSight(target, position, targetVector, ticksExisted);
         }
         return false;
     }
@@ -114,6 +114,20 @@ public final class PartInteractable extends APart {
         }
     }
 
+    @Override
+    public boolean canSleep() {
+        if (!super.canSleep() || (furnace != null && (furnace.ticksLeftToSmelt != 0 || furnace.ticksLeftOfFuel != 0)) || linkedVehicle != null || linkedPart != null || !playersInteracting.isEmpty()) {
+            return false;
+        }
+        //Don't let the vehicle sleep if we have fuel to give it, as it pulls fuel from us on its updates.
+        if (vehicleOn != null && isActive && definition.interactable.feedsVehicles && tank != null) {
+            EntityFluidTank vehicleTank = vehicleOn.fuelTank;
+            boolean canFeed = tank.getFluidLevel() > 0 && (vehicleTank.getFluid().isEmpty() || vehicleTank.getFluid().equals(tank.getFluid()));
+            return !canFeed || vehicleTank.getFluidLevel() >= vehicleOn.definition.motorized.fuelCapacity - 100;
+        }
+        return true;
+    }
+
     @Override
     public void update() {
         super.update();
@@ -5,6 +5,7 @@ import java.util.List;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.HazardVolumeIndex.HazardVolume;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.jsondefs.JSONConfigLanguage;
@@ -46,6 +47,7 @@ public class PartPropeller extends APart {
     private final Point3D propellerForce = new Point3D();
     private double propellerForceValue;
     private final BoundingBox damageBounds;
+    private final HazardVolume hazardVolume = new HazardVolume(this, false);
 
     public static final int MIN_DYNAMIC_PITCH = 45;
 
@@ -178,8 +180,8 @@ public class PartPropeller extends APart {
             boundingBox.depthRadius += 0.2;
             IWrapperEntity controller = vehicleOn.getController();
             LanguageEntry language = controller != null ? JSONConfigLanguage.DEATH_PROPELLER_PLAYER : JSONConfigLanguage.DEATH_PROPELLER_NULL;
-            Damage propellerDamage = new Damage(ConfigSystem.settings.damage.propellerDamageFactor.value * currentRPM / 500F, damageBounds, this, controller, language);
-            world.attackEntities(propellerDamage, null, false);
+            hazardVolume.set(damageBounds, ConfigSystem.settings.damage.propellerDamageFactor.value * currentRPM / 500F, controller, language);
+            world.hazardVolumeIndex.activate(hazardVolume);
             boundingBox.widthRadius -= 0.2;
             boundingBox.heightRadius -= 0.2;
             boundingBox.depthRadius -= 0.2;
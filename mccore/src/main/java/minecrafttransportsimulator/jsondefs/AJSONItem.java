@@ -49,6 +49,12 @@ public abstract class AJSONItem extends AJSONBase {
         @JSONDescription("How far away this radar can detect things, in blocks.")
         public double radarRange;
 
+        @JSONDescription("The smallest vehicle this radar can detect, in square blocks.  This is compared to the largest side of the vehicle's collision bounds, so a vehicle 2 blocks wide and 1 block high would be 2 square blocks.  Leave this out to detect all vehicles.")
+        public double radarMinCrossSection;
+
+        @JSONDescription("If true, this radar won't detect vehicles that are behind blocks.")
+        public boolean radarRequiresLineOfSight;
+
         //Moved from multiple locations.
         //Vehicle was deprecated for vehicle type.
         //Part was for part type, and went to generic.
@@ -31,6 +31,41 @@ public abstract class AJSONMultiModelProvider extends AJSONItem {
     @Deprecated
     public List<String> constants;
 
+    /**
+     * Sets the index of every text, light, sound, particle, and variable modifier in this definition to its position in its list.
+     * Entities use these indexes to look up their state for each of them.  This must be called after
+     * the definition is loaded and legacy compats are done, and again if the definition's lists are replaced.
+     */
+    public void assignIndexes() {
+        if (rendering != null) {
+            if (rendering.textObjects != null) {
+                for (int i = 0; i < rendering.textObjects.size(); ++i) {
+                    rendering.textObjects.get(i).index = i;
+                }
+            }
+            if (rendering.lightObjects != null) {
+                for (int i = 0; i < rendering.lightObjects.size(); ++i) {
+                    rendering.lightObjects.get(i).index = i;
+                }
+            }
+            if (rendering.sounds != null) {
+                for (int i = 0; i < rendering.sounds.size(); ++i) {
+                    rendering.sounds.get(i).index = i;
+                }
+            }
+            if (rendering.particles != null) {
+                for (int i = 0; i < rendering.particles.size(); ++i) {
+                    rendering.particles.get(i).index = i;
+                }
+            }
+        }
+        if (variableModifiers != null) {
+            for (int i = 0; i < variableModifiers.size(); ++i) {
+                variableModifiers.get(i).index = i;
+            }
+        }
+    }
+
     /**
      * Returns the model location in the classpath for this definition.
      */
@@ -32,6 +32,11 @@ public class JSONConfigClient {
         public JSONConfigEntry<Boolean> vehicleBeams = new JSONConfigEntry<>(true, "If false, beams on vehicles will not render.");
         public JSONConfigEntry<Boolean> blockBeams = new JSONConfigEntry<>(true, "If false, beams on blocks will not render.");
 
+        public JSONConfigEntry<Integer> instrumentUpdateRate = new JSONConfigEntry<>(0, "How many ticks apart instruments are updated.  Instruments keep showing what they showed at the last update between updates.  0 will update instruments every frame.  Higher values are choppier, but are faster on vehicles with lots of instruments.");
+
+        public JSONConfigEntry<Integer> maxParticles = new JSONConfigEntry<>(4000, "The most particles from vehicles and blocks that can be alive at once.  Once this is hit, new particles won't spawn until old ones go away.  Low-priority particles stop spawning before this is hit to leave room for important ones.  0 means no limit.");
+        public JSONConfigEntry<Double> particleLODDistance = new JSONConfigEntry<>(48D, "How far away, in blocks, particles start spawning at a lower rate.  The ones that do spawn are larger to make up for it.  0 means particles always spawn at the full rate.");
+
         public JSONConfigEntry<Boolean> brightLights = new JSONConfigEntry<>(true, "If false, lights from vehicles and blocks will not do brightness blending and will render as if they were part of the model at that same brightness.  Useful if you have shaders and this is causing troubles.");
         public JSONConfigEntry<Boolean> blendedLights = new JSONConfigEntry<>(true, "If false, beam-based lights from vehicles and blocks will not do brightness blending.  This is different from the general brightness setting as this will do OpenGL blending on the world to make it brighter, not just the beams themselves.");
 
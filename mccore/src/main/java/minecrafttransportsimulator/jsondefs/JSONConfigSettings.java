@@ -36,6 +36,11 @@ public class JSONConfigSettings {
         public JSONConfigEntry<Boolean> noclipVehicles = new JSONConfigEntry<>(false, "If true, vehicles will not be able to collide with blocks.  This also prevents them from moving if they do not have wheels on them, as otherwise they would phase through the ground into the void.");
         public JSONConfigEntry<Boolean> creativeDamage = new JSONConfigEntry<>(false, "If true, damage from vehicles and guns will be applied to creative players.");
         public JSONConfigEntry<Boolean> chunkloadVehicles = new JSONConfigEntry<>(true, "If true, vehicles will be chunkloaded when on roads/tracks.  This allows them to travel into unloaded chunks.");
+        public JSONConfigEntry<Boolean> vehicleSleeping = new JSONConfigEntry<>(true, "If true, vehicles that have been parked with no riders, no engines on, and nothing else going on will go to sleep and stop updating until something wakes them up, such as a player interacting with them or a vehicle hitting them.  Sleeping vehicles still check every few seconds to make sure they haven't lost the ground under them.");
+        public JSONConfigEntry<Integer> vehicleReducedTickDistance = new JSONConfigEntry<>(128, "How far away, in blocks, vehicles without riders need to be from all players to be updated at a reduced rate.  Moving vehicles go as far in each update as they would have in the ones they skipped, so they still end up where they normally would.  Set to 0 to disable reduced-rate updates.");
+        public JSONConfigEntry<Integer> vehicleReducedTickInterval = new JSONConfigEntry<>(4, "How many ticks apart vehicles updated at a reduced rate are updated.  See vehicleReducedTickDistance.");
+        public JSONConfigEntry<Integer> dormantVehicleDistance = new JSONConfigEntry<>(128, "How far away, in blocks, all players need to be from a parked vehicle when its chunk loads for it to be kept dormant.  Dormant vehicles are kept as just their saved data, without any parts or animations, until a player gets within this distance.  This saves a lot of work when chunks with big parked fleets load at the edge of view distance.  Set to 0 to disable dormant vehicles.");
+        public JSONConfigEntry<Integer> dormantVehiclePromotionsPerTick = new JSONConfigEntry<>(8, "How many dormant vehicles are made into full vehicles each tick when players get close to them.  Lower values spread the work out more, but vehicles take longer to show up when lots of them are close at once.  Set to 0 to make them all right away.");
         public JSONConfigEntry<Boolean> doLegacyLightCompats = new JSONConfigEntry<>(true, "If true, legacy compatibility code will be performed on all models to make their lights work with newer versions.  This code will significantly slow down boot times due to needing to parse all models on boot, however, packs may not have functional lights without it.  Choose wisely if you want speed or features.");
         public JSONConfigEntry<Boolean> useHSV = new JSONConfigEntry<>(false, "If enabled, the MTS dev mode will export color values as HSV instead of hex.");
         public JSONConfigEntry<Boolean> allPlanesWithNav = new JSONConfigEntry<>(false, "If true, all planes will have the ability to use beacons for navigation.  This is false to allow pack authors to define new/old planes that have this capability, but can be turned on if you don't care about realism.");
@@ -34,6 +34,12 @@ public class JSONLight {
     @JSONDescription("A listing of blendable components for this light.  Used to allow for multiple flares or beams for a single light object.")
     public List<JSONLightBlendableComponent> blendableComponents;
 
+    /**
+     * Index of this light in the definition's light list.  Set when the pack is loaded, and used by entities to
+     * store their state for this light in arrays rather than maps.
+     */
+    public transient int index;
+
     public static class JSONLightBlendableComponent {
         @JSONDescription("The position at which the blendable component will be rendered at.")
         public Point3D pos;
@@ -36,6 +36,9 @@ public class JSONParticle {
     @JSONDescription("How many of this particle to spawn at a time. Defaults to 1.")
     public int quantity;
 
+    @JSONDescription("How important this particle is.  When there are lots of particles in the world, lower-priority particles stop spawning first to leave room for higher-priority ones.  Defaults to normal.")
+    public ParticlePriority priority;
+
     @JSONDescription("How far apart individual particles should spawn, in blocks.  Note that this overrides spawing rates and will be checked every frame.  Use sparingly!")
     public float distance;
 
@@ -130,6 +133,12 @@ public class JSONParticle {
     @JSONDescription("A list of sub-particles this particle can spawn.  They will be spawned when their conditions are met.  Note that sub-particles do not reference spawningAnimations or activeAnimations.")
     public List<JSONSubParticle> subParticles;
 
+    /**
+     * Position of this particle in the rendering section's particle list.  Assigned at pack load.
+     * Sub-particles are not in that list and don't get one.
+     */
+    public transient int index;
+
     @Deprecated
     public Point3D velocityVector;
 
@@ -151,6 +160,15 @@ public class JSONParticle {
         public int time;
     }
 
+    public enum ParticlePriority {
+        @JSONDescription("Particle is just for looks, like exhaust, and is the first to stop spawning when there are lots of particles.")
+        LOW,
+        @JSONDescription("Particle is normal.")
+        NORMAL,
+        @JSONDescription("Particle is important, like muzzle flashes and explosions, and keeps spawning until there's no room left at all.")
+        HIGH;
+    }
+
     public enum ParticleSpawningOrientation {
         @JSONDescription("Particle spawns relative to the entity that spawned it.")
         ENTITY,
@@ -5,6 +5,7 @@ import java.util.List;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.packloading.JSONParser.JSONDescription;
 import minecrafttransportsimulator.packloading.JSONParser.JSONRequired;
+import minecrafttransportsimulator.sound.SoundInstance;
 
 public class JSONSound {
     @JSONRequired
@@ -65,4 +66,16 @@ public class JSONSound {
 
     @JSONDescription("The volume of the sound at the maximum distance.")
     public double maxDistanceVolume;
+
+    /**
+     * Position of this sound in the rendering section's sound list.  Assigned at pack load.
+     */
+    public transient int index;
+
+    /**
+     * Returns the distance past which this sound can't start playing.
+     */
+    public double getAudibleDistance() {
+        return maxDistance != minDistance ? maxDistance : SoundInstance.DEFAULT_MAX_DISTANCE;
+    }
 }
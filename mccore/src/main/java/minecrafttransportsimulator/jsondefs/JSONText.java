@@ -64,4 +64,9 @@ public class JSONText {
 
     @JSONDescription("If true, this text will be auto-scaled to fit inside the wrapWidth rather than actually wrapping to another line.  Has no affect unless you specify a wrapWidth!")
     public boolean autoScale;
+
+    /**
+     * Position of this text in the rendering section's text list.  Assigned at pack load.  Not set for instrument text.
+     */
+    public transient int index;
 }
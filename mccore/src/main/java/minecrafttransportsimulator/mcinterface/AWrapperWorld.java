@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.DormantVehicleStore;
 import minecrafttransportsimulator.baseclasses.EntityManager;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
@@ -30,6 +31,14 @@ import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
  * @author don_bruce
  */
 public abstract class AWrapperWorld extends EntityManager {
+    public final DormantVehicleStore dormantVehicles = new DormantVehicleStore(this);
+
+    @Override
+    public void tickAll() {
+        //Make vehicles players got close to before updating, so they get their first update this tick.
+        dormantVehicles.tick();
+        super.tickAll();
+    }
 
     /**
      * Returns true if this is a client world, false if we're on the server.
@@ -115,6 +124,13 @@ public abstract class AWrapperWorld extends EntityManager {
      */
     public abstract List<IWrapperPlayer> getPlayersWithin(BoundingBox box);
 
+    /**
+     * Returns true if any player is within the passed-in distance of the passed-in position.
+     * Much cheaper than {@link #getPlayersWithin(BoundingBox)} for large distances, as this
+     * only checks the players in the world rather than all entities in the chunks in range.
+     */
+    public abstract boolean isPlayerWithin(Point3D position, double distance);
+
     /**
      * Returns a list of all hostile entities in the specified radius.
      */
@@ -0,0 +1,129 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Handles the handshakes MC interfaces do to get the data for their builders from the server when they are
+ * created on clients.  Builders are kept in a map by UUID so requests don't need to search the world's entity
+ * list to find them.  Requests and responses are grouped by the chunk the builder is in, so a client joining
+ * a world with lots of builders sends and gets a few packets rather than one per builder.  The MC interfaces
+ * make the actual packets from the batches handed out here.  One of these is made per world.
+ *
+ * @author don_bruce
+ */
+public class BuilderHandshakeManager<BuilderType> {
+    /**
+     * Max number of builders to request in a single packet.  Keeps us well under the client packet size limit.
+     **/
+    public static final int MAX_REQUESTS_PER_PACKET = 256;
+    /**
+     * Max number of builders to send in a single packet.  Builder data can be large, so this is kept small.
+     **/
+    public static final int MAX_RESPONSES_PER_PACKET = 16;
+
+    private final Map<UUID, BuilderType> builders = new HashMap<>();
+    private final Map<Long, List<String>> pendingRequests = new HashMap<>();
+    private final Map<IWrapperPlayer, Map<Long, ResponseBatch>> pendingResponses = new HashMap<>();
+
+    /**
+     * Returns the builder with the passed-in UUID, or null if no such builder is in the world.
+     */
+    public BuilderType getBuilder(UUID builderID) {
+        return builders.get(builderID);
+    }
+
+    /**
+     * Adds the builder to the lookup map.  Called when the builder is added to the world.
+     */
+    public void addBuilder(UUID builderID, BuilderType builder) {
+        builders.put(builderID, builder);
+    }
+
+    /**
+     * Removes the builder from the lookup map.  Called when the builder is removed from the world.
+     * Only removes the builder if it is still the one mapped to the ID, as MC may add a new builder
+     * with the same ID before removing the old one.
+     */
+    public void removeBuilder(UUID builderID, BuilderType builder) {
+        builders.remove(builderID, builder);
+    }
+
+    /**
+     * Queues a request to the server for the data of the builder with the passed-in ID.  Requests
+     * are sent at the end of the client tick by {@link #sendRequests(Consumer)}.
+     */
+    public void queueRequest(String builderID, int chunkX, int chunkZ) {
+        pendingRequests.computeIfAbsent(getChunkKey(chunkX, chunkZ), k -> new ArrayList<>()).add(builderID);
+    }
+
+    /**
+     * Hands all requests queued by {@link #queueRequest(String, int, int)} to the sender, in lists no bigger than
+     * {@link #MAX_REQUESTS_PER_PACKET}.  The sender should send a packet with each list to the server.
+     */
+    public void sendRequests(Consumer<List<String>> requestSender) {
+        if (!pendingRequests.isEmpty()) {
+            for (List<String> builderIDs : pendingRequests.values()) {
+                for (int i = 0; i < builderIDs.size(); i += MAX_REQUESTS_PER_PACKET) {
+                    requestSender.accept(new ArrayList<>(builderIDs.subList(i, Math.min(i + MAX_REQUESTS_PER_PACKET, builderIDs.size()))));
+                }
+            }
+            pendingRequests.clear();
+        }
+    }
+
+    /**
+     * Queues the data of the builder with the passed-in ID to be sent to the player.  Responses are sent at the end
+     * of the world tick by {@link #sendResponses(BiConsumer)}.  If this fills up the batch for the builder's chunk,
+     * the batch is returned and should be sent to the player right away.  Otherwise, null is returned.
+     */
+    public ResponseBatch queueResponse(IWrapperPlayer player, String builderID, IWrapperNBT data, int chunkX, int chunkZ) {
+        Map<Long, ResponseBatch> playerResponses = pendingResponses.computeIfAbsent(player, k -> new HashMap<>());
+        long chunkKey = getChunkKey(chunkX, chunkZ);
+        ResponseBatch batch = playerResponses.computeIfAbsent(chunkKey, k -> new ResponseBatch());
+        batch.builderIDs.add(builderID);
+        batch.builderData.add(data);
+        if (batch.builderIDs.size() == MAX_RESPONSES_PER_PACKET) {
+            playerResponses.remove(chunkKey);
+            return batch;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Hands all responses queued by {@link #queueResponse(IWrapperPlayer, String, IWrapperNBT, int, int)} to the sender.
+     * The sender should send a packet with each batch to the player.
+     */
+    public void sendResponses(BiConsumer<IWrapperPlayer, ResponseBatch> responseSender) {
+        if (!pendingResponses.isEmpty()) {
+            for (Entry<IWrapperPlayer, Map<Long, ResponseBatch>> playerEntry : pendingResponses.entrySet()) {
+                for (ResponseBatch batch : playerEntry.getValue().values()) {
+                    responseSender.accept(playerEntry.getKey(), batch);
+                }
+            }
+            pendingResponses.clear();
+        }
+    }
+
+    /**
+     * Returns the key for the chunk at the passed-in chunk coordinates.  Same as MC's chunk keys.
+     */
+    private static long getChunkKey(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | (chunkZ & 0xFFFFFFFFL) << 32;
+    }
+
+    /**
+     * The data for a set of builders in the same chunk, to be sent to one player in one packet.
+     */
+    public static class ResponseBatch {
+        public final List<String> builderIDs = new ArrayList<>();
+        public final List<IWrapperNBT> builderData = new ArrayList<>();
+    }
+}
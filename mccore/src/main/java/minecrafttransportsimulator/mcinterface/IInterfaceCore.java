@@ -76,6 +76,12 @@ public interface IInterfaceCore {
      */
     boolean isOredictMatch(IWrapperItemStack stackA, IWrapperItemStack stackB);
 
+    /**
+     * Returns a key for the passed-in stack for use in maps.  Two non-empty stacks have equal keys
+     * if, and only if, {@link #isOredictMatch(IWrapperItemStack, IWrapperItemStack)} is true for them.
+     */
+    Object getOredictMatchKey(IWrapperItemStack stack);
+
     /**
      * Returns all possible stacks that could be used for the passed-in OreDict name.
      */
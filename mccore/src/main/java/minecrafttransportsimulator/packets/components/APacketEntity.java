@@ -3,6 +3,8 @@ package minecrafttransportsimulator.packets.components;
 import java.util.UUID;
 
 import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
+import minecrafttransportsimulator.baseclasses.TickRecorder;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
@@ -36,12 +38,21 @@ public abstract class APacketEntity<EntityType extends AEntityA_Base> extends AP
     @Override
     public void handle(AWrapperWorld world) {
         EntityType entity = world.getEntity(uniqueUUID);
-        if (entity != null && handle(world, entity) && !world.isClient()) {
-            InterfaceManager.packetInterface.sendToAllClients(this);
-            if (entity instanceof ATileEntityBase) {
-                //Need to set TEs as updated, as they don't normally do this.
-                world.markTileEntityChanged(((ATileEntityBase<?>) entity).position);
+        if (entity != null) {
+            if (!world.isClient()) {
+                TickRecorder.recordPacket(world, this);
             }
+            //Wake the entity up, as the packet may have changed something it needs to respond to.
+            entity.wakeUp();
+            long startTime = EntityProfiler.start();
+            if (handle(world, entity) && !world.isClient()) {
+                InterfaceManager.packetInterface.sendToAllClients(this);
+                if (entity instanceof ATileEntityBase) {
+                    //Need to set TEs as updated, as they don't normally do this.
+                    world.markTileEntityChanged(((ATileEntityBase<?>) entity).position);
+                }
+            }
+            world.profiler.end(entity, EntityProfiler.Phase.PACKETS, startTime);
         }
     }
 
@@ -543,6 +543,7 @@ public class JSONParser {
                     ((AJSONMultiModelProvider) definitionToOverride).variableModifiers = ((AJSONMultiModelProvider) loadedDefinition).variableModifiers;
                     ((AJSONMultiModelProvider) definitionToOverride).rendering = ((AJSONMultiModelProvider) loadedDefinition).rendering;
                     ((AJSONMultiModelProvider) definitionToOverride).constantValues = ((AJSONMultiModelProvider) loadedDefinition).constantValues;
+                    ((AJSONMultiModelProvider) definitionToOverride).assignIndexes();
 
                     //Reload item subdefs, since it will have changed.
                     for (JSONSubDefinition subDefinition : ((AJSONMultiModelProvider) definitionToOverride).definitions) {
@@ -63,6 +63,7 @@ import minecrafttransportsimulator.jsondefs.JSONText;
 import minecrafttransportsimulator.jsondefs.JSONVehicle;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.rendering.AModelParser;
+import minecrafttransportsimulator.rendering.ModelObjectHeader;
 import minecrafttransportsimulator.rendering.RenderableObject;
 import minecrafttransportsimulator.rendering.TreadRoller;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -2358,21 +2359,25 @@ public final class LegacyCompatSystem {
         }
 
         try {
-            List<RenderableObject> parsedModel = AModelParser.parseModel(definition.getModelLocation(definition.definitions.get(0)));
+            //Scan the model rather than parse it, we only need object names for most of these.
+            //If we do need vertices, parse the model, but only keep what we get from it, not the vertices.
+            String modelLocation = definition.getModelLocation(definition.definitions.get(0));
+            List<ModelObjectHeader> modelHeaders = AModelParser.scanModel(modelLocation);
+            List<RenderableObject> parsedModel = null;
 
             //If we don't have lights, check for them.
             if (definition.rendering.lightObjects == null) {
                 definition.rendering.lightObjects = new ArrayList<>();
-                for (RenderableObject object : parsedModel) {
-                    if (object.name.contains("&")) {
+                for (ModelObjectHeader header : modelHeaders) {
+                    if (header.name.contains("&")) {
                         JSONLight lightDef = new JSONLight();
-                        lightDef.objectName = object.name;
+                        lightDef.objectName = header.name;
                         lightDef.brightnessAnimations = new ArrayList<>();
-                        lightDef.color = new ColorRGB(object.name.substring(object.name.indexOf('_') + 1, object.name.indexOf('_') + 7));
+                        lightDef.color = new ColorRGB(header.name.substring(header.name.indexOf('_') + 1, header.name.indexOf('_') + 7));
                         lightDef.brightnessAnimations = new ArrayList<>();
 
                         //Add standard animation variable for light name.
-                        String lowerCaseName = object.name.toLowerCase();
+                        String lowerCaseName = header.name.toLowerCase();
                         JSONAnimationDefinition activeAnimation = new JSONAnimationDefinition();
                         if (lowerCaseName.contains("brakelight")) {
                             activeAnimation.variable = EntityVehicleF_Physics.BRAKE_VARIABLE;
@@ -2472,7 +2477,7 @@ public final class LegacyCompatSystem {
 
                         //Get flashing cycle rate and convert to cycle variable if required.
                         //Look at flash bits from right to left until we hit one that's not on.  Count how many ticks are on and use that for cycle.
-                        int flashBits = Integer.decode("0x" + object.name.substring(object.name.indexOf('_', object.name.indexOf('_') + 7) + 1, object.name.lastIndexOf('_')));
+                        int flashBits = Integer.decode("0x" + header.name.substring(header.name.indexOf('_', header.name.indexOf('_') + 7) + 1, header.name.lastIndexOf('_')));
                         int ticksTillOn = 0;
                         int ticksOn = 0;
                         boolean foundOn = false;
@@ -2500,7 +2505,7 @@ public final class LegacyCompatSystem {
                             lightDef.brightnessAnimations.add(cycleAnimation);
                         }
 
-                        String lightProperties = object.name.substring(object.name.lastIndexOf('_') + 1);
+                        String lightProperties = header.name.substring(header.name.lastIndexOf('_') + 1);
                         boolean renderFlare = Integer.parseInt(lightProperties.substring(0, 1)) > 0;
                         lightDef.emissive = Integer.parseInt(lightProperties.substring(1, 2)) > 0;
                         lightDef.covered = Integer.parseInt(lightProperties.substring(2, 3)) > 0;
@@ -2511,36 +2516,50 @@ public final class LegacyCompatSystem {
                                 lightDef.blendableComponents = new ArrayList<>();
                             }
 
-                            float[] masterVertex = new float[8];
-                            for (int i = 0; i < object.vertices.capacity(); i += 8 * 3) {
-                                float minX = 999;
-                                float maxX = -999;
-                                float minY = 999;
-                                float maxY = -999;
-                                float minZ = 999;
-                                float maxZ = -999;
-                                for (byte j = 0; j < 8 * 3; j += 8) {
-                                    object.vertices.get(masterVertex);
-                                    minX = Math.min(masterVertex[5], minX);
-                                    maxX = Math.max(masterVertex[5], maxX);
-                                    minY = Math.min(masterVertex[6], minY);
-                                    maxY = Math.max(masterVertex[6], maxY);
-                                    minZ = Math.min(masterVertex[7], minZ);
-                                    maxZ = Math.max(masterVertex[7], maxZ);
-                                }
-                                JSONLightBlendableComponent blendable = new JSONLightBlendableComponent();
-                                if (renderFlare) {
-                                    blendable.flareHeight = 3 * Math.max(Math.max((maxX - minX), (maxY - minY)), (maxZ - minZ));
-                                    blendable.flareWidth = blendable.flareHeight;
-                                }
-                                if (renderBeam) {
-                                    blendable.beamDiameter = Math.max(Math.max(maxX - minX, maxZ - minZ), maxY - minY) * 64F;
-                                    blendable.beamLength = blendable.beamDiameter * 3;
+                            if (parsedModel == null) {
+                                parsedModel = AModelParser.parseModel(modelLocation);
+                            }
+                            RenderableObject object = null;
+                            for (RenderableObject testObject : parsedModel) {
+                                if (testObject.name.equals(header.name)) {
+                                    object = testObject;
+                                    break;
                                 }
-                                blendable.pos = new Point3D(minX + (maxX - minX) / 2D, minY + (maxY - minY) / 2D, minZ + (maxZ - minZ) / 2D);
-                                blendable.axis = new Point3D(masterVertex[0], masterVertex[1], masterVertex[2]);
+                            }
 
-                                lightDef.blendableComponents.add(blendable);
+                            if (object != null) {
+                                float[] masterVertex = new float[8];
+                                for (int i = 0; i < object.vertices.capacity(); i += 8 * 3) {
+                                    float minX = 999;
+                                    float maxX = -999;
+                                    float minY = 999;
+                                    float maxY = -999;
+                                    float minZ = 999;
+                                    float maxZ = -999;
+                                    for (byte j = 0; j < 8 * 3; j += 8) {
+                                        object.vertices.get(masterVertex);
+                                        minX = Math.min(masterVertex[5], minX);
+                                        maxX = Math.max(masterVertex[5], maxX);
+                                        minY = Math.min(masterVertex[6], minY);
+                                        maxY = Math.max(masterVertex[6], maxY);
+                                        minZ = Math.min(masterVertex[7], minZ);
+                                        maxZ = Math.max(masterVertex[7], maxZ);
+                                    }
+                                    JSONLightBlendableComponent blendable = new JSONLightBlendableComponent();
+                                    if (renderFlare) {
+                                        blendable.flareHeight = 3 * Math.max(Math.max((maxX - minX), (maxY - minY)), (maxZ - minZ));
+                                        blendable.flareWidth = blendable.flareHeight;
+                                    }
+                                    if (renderBeam) {
+                                        blendable.beamDiameter = Math.max(Math.max(maxX - minX, maxZ - minZ), maxY - minY) * 64F;
+                                        blendable.beamLength = blendable.beamDiameter * 3;
+                                    }
+                                    blendable.pos = new Point3D(minX + (maxX - minX) / 2D, minY + (maxY - minY) / 2D, minZ + (maxZ - minZ) / 2D);
+                                    blendable.axis = new Point3D(masterVertex[0], masterVertex[1], masterVertex[2]);
+
+                                    lightDef.blendableComponents.add(blendable);
+                                }
+                                object.vertices.rewind();
                             }
                         }
 
@@ -2553,13 +2572,13 @@ public final class LegacyCompatSystem {
             //We need to convert them into the new path system.
             List<String> leftRollers = new ArrayList<>();
             List<String> rightRollers = new ArrayList<>();
-            for (RenderableObject object : parsedModel) {
-                if (object.name.toLowerCase().contains("roller")) {
+            for (ModelObjectHeader header : modelHeaders) {
+                if (header.name.toLowerCase().contains("roller")) {
                     //Add roller to roller lists.
-                    if (object.name.toLowerCase().startsWith("l") || object.name.toLowerCase().startsWith("$l")) {
-                        leftRollers.add(object.name);
+                    if (header.name.toLowerCase().startsWith("l") || header.name.toLowerCase().startsWith("$l")) {
+                        leftRollers.add(header.name);
                     } else {
-                        rightRollers.add(object.name);
+                        rightRollers.add(header.name);
                     }
                 }
             }
@@ -2618,12 +2637,12 @@ public final class LegacyCompatSystem {
 
                     if (!animationPresent) {
                         //Get the model object for the roller.
-                        RenderableObject rollerObject = null;
+                        ModelObjectHeader rollerHeader = null;
                         TreadRoller roller = null;
-                        for (RenderableObject object : parsedModel) {
-                            if (object.name.equals(rollerName)) {
-                                rollerObject = object;
-                                roller = new TreadRoller(object);
+                        for (ModelObjectHeader header : modelHeaders) {
+                            if (header.name.equals(rollerName)) {
+                                rollerHeader = header;
+                                roller = new TreadRoller(header);
                                 break;
                             }
                         }
@@ -2650,7 +2669,7 @@ public final class LegacyCompatSystem {
                             definition.rendering.animatedObjects = new ArrayList<>();
                         }
                         JSONAnimatedObject animatedObject = new JSONAnimatedObject();
-                        animatedObject.objectName = rollerObject.name;
+                        animatedObject.objectName = rollerHeader.name;
                         animatedObject.animations = new ArrayList<>();
                         animatedObject.animations.add(animation);
                         definition.rendering.animatedObjects.add(animatedObject);
@@ -1,10 +1,13 @@
 package minecrafttransportsimulator.packloading;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import minecrafttransportsimulator.baseclasses.IInventoryProvider;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.AItemSubTyped;
 import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
@@ -21,7 +24,13 @@ public class PackMaterialComponent {
     public final int qty;
     public final int meta;
     public final List<IWrapperItemStack> possibleItems;
+    /**
+     * The match keys for {@link #possibleItems}, without duplicates.  Used to look up counts in inventories via
+     * {@link IInventoryProvider#getItemCounts()}.
+     **/
+    public final List<Object> possibleItemKeys;
     public static String lastErrorMessage;
+    private static final Map<AItemPack<?>, Map<Integer, List<PackMaterialComponent>>> cachedComponents = new ConcurrentHashMap<>();
     public static final Map<String, String> flattenedNames = generateFlattnedMappings();
     public static final Map<String, String> unflattenedNames = generateUnflattnedMappings();
 
@@ -92,6 +101,14 @@ public class PackMaterialComponent {
                 possibleItems.add(stack);
             }
         }
+
+        possibleItemKeys = new ArrayList<>();
+        for (IWrapperItemStack stack : possibleItems) {
+            Object key = InterfaceManager.coreInterface.getOredictMatchKey(stack);
+            if (!possibleItemKeys.contains(key)) {
+                possibleItemKeys.add(key);
+            }
+        }
     }
 
     /**
@@ -101,8 +118,31 @@ public class PackMaterialComponent {
      * multiple items to be used.  If this component is not for crafting checks, set forCraftingCheck to false.
      * This prevents the returned stacks from having the wildcard value in their metadata and not being actual items.
      * If an error occured during parsing, then null is returned and {@link #lastErrorMessage} is set to the error.
+     * Successfully parsed components are cached, so the returned list is shared and may not be modified.
      */
     public static List<PackMaterialComponent> parseFromJSON(AItemPack<?> item, int recipeIndex, boolean includeMain, boolean includeSub, boolean forRepair, boolean includeRepair) {
+        int cacheKey = recipeIndex << 4 | (includeMain ? 1 : 0) | (includeSub ? 2 : 0) | (forRepair ? 4 : 0) | (includeRepair ? 8 : 0);
+        Map<Integer, List<PackMaterialComponent>> itemComponents = cachedComponents.computeIfAbsent(item, k -> new ConcurrentHashMap<>());
+        List<PackMaterialComponent> components = itemComponents.get(cacheKey);
+        if (components == null) {
+            components = parseComponents(item, recipeIndex, includeMain, includeSub, forRepair, includeRepair);
+            if (components != null) {
+                components = Collections.unmodifiableList(components);
+                itemComponents.put(cacheKey, components);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Clears all components cached by {@link #parseFromJSON(AItemPack, int, boolean, boolean, boolean, boolean)}.
+     * Needs to be called whenever the material lists of items change, such as when packs are loaded.
+     */
+    public static void clearCache() {
+        cachedComponents.clear();
+    }
+
+    private static List<PackMaterialComponent> parseComponents(AItemPack<?> item, int recipeIndex, boolean includeMain, boolean includeSub, boolean forRepair, boolean includeRepair) {
         //Get all the strings that represent the items.
         List<String> itemTexts = new ArrayList<String>();
         String currentSubName = "";
@@ -182,6 +182,9 @@ public final class PackParser {
         //Also handle crafting overrides, now that we have all packs.
         ConfigSystem.saveToDisk();
         ConfigSystem.initOverrides();
+
+        //Overrides may have changed materials, so clear any materials parsed before now.
+        PackMaterialComponent.clearCache();
     }
 
     /**
@@ -468,6 +471,8 @@ public final class PackParser {
 
             //Create all required items.
             if (itemDef instanceof AJSONMultiModelProvider) {
+                ((AJSONMultiModelProvider) itemDef).assignIndexes();
+
                 //Check if the definition is a skin.  If so, we need to just add it to the skin map for processing later.
                 //We don't create skin items right away as the pack they go to might not yet be loaded.
                 if (itemDef instanceof JSONSkin) {
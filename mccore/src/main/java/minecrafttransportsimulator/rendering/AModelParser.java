@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 
@@ -13,11 +14,17 @@ import minecrafttransportsimulator.entities.components.AEntityD_Definable;
  * It also stores a list of created parsers for use when requesting a model be parsed.
  * By default, an OBJ parser is created when this class is first accessed, but one may
  * add other parsers as they see fit.
+ * <p>
+ * Models may also be scanned rather than parsed.  Scanning only gets the object names and bounds,
+ * which is far cheaper than building vertex buffers.  Scans are cached, so the scan done during
+ * pack loading is the same one used at render time.  Full parses are never cached, as they hold all
+ * of a model's vertices, so anything that needs vertices before rendering should parse, use them, and let them go.
  *
  * @author don_bruce
  */
 public abstract class AModelParser {
     private static final Map<String, AModelParser> parsers = new HashMap<>();
+    private static final Map<String, List<ModelObjectHeader>> modelHeaders = new ConcurrentHashMap<>();
     public static final String WINDOW_OBJECT_NAME = "window";
     public static final String ONLINE_TEXTURE_OBJECT_NAME = "url";
     public static final String TRANSLUCENT_OBJECT_NAME = "translucent";
@@ -43,14 +50,54 @@ public abstract class AModelParser {
      */
     protected abstract List<RenderableObject> parseModelInternal(String modelLocation);
 
+    /**
+     * Scans the model at the passed-in location.  The return value is a list of headers for the objects
+     * in the model.  This should not create any vertex buffers, nor call any rendering methods.
+     */
+    protected abstract List<ModelObjectHeader> scanModelInternal(String modelLocation);
+
     /**
      * Attempts to obtain the parser for the passed-in modelLocation.  After this, the model
-     * is parsed and returned.  If no parser is found, an exception is thrown.
+     * is parsed and returned.  If no parser is found, an exception is thrown.  The returned
+     * objects are the caller's to modify as they see fit.
      */
     public static List<RenderableObject> parseModel(String modelLocation) {
+        List<RenderableObject> parsedObjects = getParser(modelLocation).parseModelInternal(modelLocation);
+        if (!modelHeaders.containsKey(modelLocation)) {
+            List<ModelObjectHeader> headers = new ArrayList<>();
+            for (RenderableObject parsedObject : parsedObjects) {
+                headers.add(new ModelObjectHeader(parsedObject));
+            }
+            modelHeaders.put(modelLocation, headers);
+        }
+        return parsedObjects;
+    }
+
+    /**
+     * Returns the object headers for the model at the passed-in location.  If the model has been scanned
+     * or parsed before, the cached headers are returned.  Otherwise, the model is scanned.  If no parser
+     * is found, an exception is thrown.
+     */
+    public static List<ModelObjectHeader> scanModel(String modelLocation) {
+        List<ModelObjectHeader> headers = modelHeaders.get(modelLocation);
+        if (headers == null) {
+            headers = getParser(modelLocation).scanModelInternal(modelLocation);
+            modelHeaders.put(modelLocation, headers);
+        }
+        return headers;
+    }
+
+    /**
+     * Clears any cached scans for the passed-in model.  Call this when the model file may have changed.
+     */
+    public static void clearModelCache(String modelLocation) {
+        modelHeaders.remove(modelLocation);
+    }
+
+    private static AModelParser getParser(String modelLocation) {
         AModelParser parser = parsers.get(modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
         if (parser != null) {
-            return parser.parseModelInternal(modelLocation);
+            return parser;
         } else {
             throw new IllegalArgumentException("No parser found for model format of " + modelLocation.substring(modelLocation.lastIndexOf(".") + 1));
         }
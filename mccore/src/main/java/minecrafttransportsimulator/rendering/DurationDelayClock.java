@@ -4,6 +4,7 @@ import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
 import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition.AnimationComponentType;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition.AnimationEasingType;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.sound.SoundInstance;
 
@@ -11,7 +12,9 @@ import minecrafttransportsimulator.sound.SoundInstance;
  * Class designed for maintaining the state of a duration/delay for an animation.
  * This is used anything that queries animation states.
  * This also contains a method for calculating easing equations and returning the interpolated values
- * This is used for interpolating animation values with non-linear equations.
+ * This is used for interpolating animation values with non-linear equations.  Since these equations are
+ * the same for every animation, they are sampled into tables once, and clocks interpolate those tables
+ * rather than doing the math on every call.
  *
  * @author don_bruce, TurboDefender
  */
@@ -23,26 +26,70 @@ public class DurationDelayClock {
     private static final double c5 = (2 * Math.PI) / 4.5;
     private static final double n1 = 7.5625;
     private static final double d1 = 2.75;
+    private static final int EASING_TABLE_SEGMENTS = 512;
+    private static final double[][] EASING_TABLES = new double[AnimationEasingType.values().length][];
+
+    static {
+        //Only the trig and power-based easings get tables.  The polynomial ones are cheaper to just do,
+        //and the circular and bounce ones have slopes and corners that tables don't do well.
+        for (AnimationEasingType easingType : AnimationEasingType.values()) {
+            if (easingType.name().endsWith("SINE") || easingType.name().endsWith("BACK") || easingType.name().endsWith("ELASTIC")) {
+                double[] table = new double[EASING_TABLE_SEGMENTS + 1];
+                for (int i = 0; i <= EASING_TABLE_SEGMENTS; ++i) {
+                    table[i] = getEasingType(easingType, i / (double) EASING_TABLE_SEGMENTS);
+                }
+                EASING_TABLES[easingType.ordinal()] = table;
+            }
+        }
+    }
 
     public final JSONAnimationDefinition animation;
+    /**
+     * The variable this clock reads, without any leading "!".  Normally the animation's variable, but may be bound
+     * to a specific variable, such as a part-specific one, without modifying the shared animation definition.
+     **/
+    public final String variable;
+    /**
+     * True if the animation's variable started with "!", meaning the value is inverted.
+     **/
+    public final boolean invertVariable;
     public final double animationAxisMagnitude;
     public final Point3D animationAxisNormalized;
     public final boolean isUseful;
     public boolean movedThisUpdate;
-    private Long timeCommandedForwards = 0L;
-    private Long timeCommandedReverse = 0L;
+    private long timeCommandedForwards = 0L;
+    private long timeCommandedReverse = 0L;
 
     private final boolean shouldDoFactoring;
+    /**
+     * Times from the animation, in milliseconds.  These are constant, so we get them once rather than every call.
+     **/
+    private final long forwardsDelayTime;
+    private final long reverseDelayTime;
+    private final long durationTime;
+    private final long forwardsCycleTime;
+    private final long reverseCycleTime;
     private boolean startedForwardsMovement = false;
     private boolean endedForwardsMovement = false;
     private boolean startedReverseMovement = false;
     private boolean endedReverseMovement = false;
 
     public DurationDelayClock(JSONAnimationDefinition animation) {
+        this(animation, animation.variable);
+    }
+
+    public DurationDelayClock(JSONAnimationDefinition animation, String variable) {
         this.animation = animation;
+        this.invertVariable = variable != null && variable.startsWith("!");
+        this.variable = invertVariable ? variable.substring(1) : variable;
         this.animationAxisMagnitude = animation.axis != null ? animation.axis.length() : 1.0;
         this.animationAxisNormalized = animation.axis != null ? animation.axis.copy().normalize() : null;
         this.shouldDoFactoring = animation.duration != 0 || animation.forwardsDelay != 0 || animation.reverseDelay != 0;
+        this.forwardsDelayTime = animation.forwardsDelay * 50L;
+        this.reverseDelayTime = animation.reverseDelay * 50L;
+        this.durationTime = animation.duration * 50L;
+        this.forwardsCycleTime = animation.skipForwardsMovement ? forwardsDelayTime : forwardsDelayTime + durationTime + reverseDelayTime;
+        this.reverseCycleTime = animation.skipReverseMovement ? reverseDelayTime : reverseDelayTime + durationTime + forwardsDelayTime;
         this.isUseful = shouldDoFactoring || animation.animationType.equals(AnimationComponentType.VISIBILITY) || animation.animationType.equals(AnimationComponentType.INHIBITOR) || animation.animationType.equals(AnimationComponentType.ACTIVATOR) || animation.forwardsStartSound != null || animation.forwardsEndSound != null || animation.reverseStartSound != null || animation.reverseEndSound != null;
     }
 
@@ -51,17 +98,25 @@ public class DurationDelayClock {
      * Optionally plays sounds if the state changes appropriately.
      */
     public double getFactoredState(AEntityD_Definable<?> entity, double value, float partialTicks) {
-        boolean commandForwards = value > 0;
+        return getFactoredState(entity, value, getClockTime(entity, partialTicks));
+    }
+
+    /**
+     * Returns the time that clocks on the passed-in entity should use for the passed-in partial tick.
+     * Things that update many clocks at once, like {@link minecrafttransportsimulator.baseclasses.AnimationSwitchbox},
+     * should get this once and pass it to {@link #getFactoredState(AEntityD_Definable, double, long)} for all their clocks.
+     */
+    public static long getClockTime(AEntityD_Definable<?> entity, float partialTicks) {
         //We do all time here in milliseconds, not ticks.  This allows for partial ticks.
-        long currentTime = (long) ((entity.ticksExisted + partialTicks) * 50D);
-        long forwardsCycleTime = animation.forwardsDelay * 50L;
-        if (!animation.skipForwardsMovement) {
-            forwardsCycleTime += animation.duration * 50L + animation.reverseDelay * 50L;
-        }
-        long reverseCycleTime = animation.reverseDelay * 50L;
-        if (!animation.skipReverseMovement) {
-            reverseCycleTime += animation.duration * 50L + animation.forwardsDelay * 50L;
-        }
+        return (long) ((entity.ticksExisted + partialTicks) * 50D);
+    }
+
+    /**
+     * Like {@link #getFactoredState(AEntityD_Definable, double, float)}, but uses the passed-in time from
+     * {@link #getClockTime(AEntityD_Definable, float)} rather than calculating it.
+     */
+    public double getFactoredState(AEntityD_Definable<?> entity, double value, long currentTime) {
+        boolean commandForwards = value > 0;
         movedThisUpdate = false;
 
         //If we don't have an existing command, just set ourselves to the end of our command path.
@@ -110,13 +165,13 @@ public class DurationDelayClock {
         double movementFactor = 0;
         if (commandForwards) {
             long timedelayed = currentTime - timeCommandedForwards;
-            if (timedelayed >= animation.forwardsDelay * 50L) {
-                long timeMoved = currentTime - (timeCommandedForwards + animation.forwardsDelay * 50L);
-                if (timeMoved < animation.duration * 50L && !animation.skipForwardsMovement) {
+            if (timedelayed >= forwardsDelayTime) {
+                long timeMoved = currentTime - (timeCommandedForwards + forwardsDelayTime);
+                if (timeMoved < durationTime && !animation.skipForwardsMovement) {
                     movedThisUpdate = true;
-                    movementFactor = timeMoved / (double) (animation.duration * 50);
+                    movementFactor = timeMoved / (double) durationTime;
                     if (animation.forwardsEasing != null) {
-                        movementFactor = getEasingType(animation.forwardsEasing, movementFactor);
+                        movementFactor = getEasedFactor(animation.forwardsEasing, movementFactor);
                     }
                 } else {
                     movementFactor = 1;
@@ -147,13 +202,13 @@ public class DurationDelayClock {
             }
         } else {
             long timedelayed = currentTime - timeCommandedReverse;
-            if (timedelayed >= animation.reverseDelay * 50L) {
-                long timeMoved = currentTime - (timeCommandedReverse + animation.reverseDelay * 50L);
-                if (timeMoved < animation.duration * 50L && !animation.skipReverseMovement) {
+            if (timedelayed >= reverseDelayTime) {
+                long timeMoved = currentTime - (timeCommandedReverse + reverseDelayTime);
+                if (timeMoved < durationTime && !animation.skipReverseMovement) {
                     movedThisUpdate = true;
-                    movementFactor = timeMoved / (double) (animation.duration * 50);
+                    movementFactor = timeMoved / (double) durationTime;
                     if (animation.reverseEasing != null) {
-                        movementFactor = getEasingType(animation.reverseEasing, movementFactor);
+                        movementFactor = getEasedFactor(animation.reverseEasing, movementFactor);
                     }
                 } else {
                     movementFactor = 1;
@@ -188,6 +243,26 @@ public class DurationDelayClock {
         return shouldDoFactoring ? movementFactor : value;
     }
 
+    /**
+     * Returns the eased value for the passed-in 0-1 time.  If the passed-in easing type has a table,
+     * the value is interpolated from it.  Otherwise, the easing equation is used directly.
+     */
+    private static double getEasedFactor(AnimationEasingType easingType, double time) {
+        double[] table = EASING_TABLES[easingType.ordinal()];
+        if (table == null) {
+            return getEasingType(easingType, time);
+        }
+        double tableIndex = time * EASING_TABLE_SEGMENTS;
+        int lowerIndex = (int) tableIndex;
+        if (lowerIndex < 0) {
+            return table[0];
+        } else if (lowerIndex >= EASING_TABLE_SEGMENTS) {
+            return table[EASING_TABLE_SEGMENTS];
+        } else {
+            return table[lowerIndex] + (table[lowerIndex + 1] - table[lowerIndex]) * (tableIndex - lowerIndex);
+        }
+    }
+
     /**
      * This is used to check the easing type defined in the JSON fields
      * and call the respective easing function to return a value
@@ -195,7 +270,7 @@ public class DurationDelayClock {
      * @param direction The JSON field either {@code forwardsEasing} or {@code reverseEasing}.
      * @param time      The time that has elapsed for an animation or the percent complete from 0 to 1.
      */
-    private static double getEasingType(JSONAnimationDefinition.AnimationEasingType direction, double time) {
+    private static double getEasingType(AnimationEasingType direction, double time) {
         switch (direction) {
             case LINEAR:
                 return time;
@@ -271,7 +346,7 @@ public class DurationDelayClock {
                 }
             }
             case EASEINBOUNCE:
-                return 1 - getEasingType(JSONAnimationDefinition.AnimationEasingType.EASEOUTBOUNCE, 1 - time);
+                return 1 - getEasingType(AnimationEasingType.EASEOUTBOUNCE, 1 - time);
             case EASEOUTBOUNCE: {
                 if (time < 1 / d1) {
                     return n1 * time * time;
@@ -284,7 +359,7 @@ public class DurationDelayClock {
                 }
             }
             case EASEINOUTBOUNCE:
-                return time < 0.5 ? (1 - getEasingType(JSONAnimationDefinition.AnimationEasingType.EASEOUTBOUNCE, 1 - 2 * time)) / 2 : (1 + getEasingType(JSONAnimationDefinition.AnimationEasingType.EASEINBOUNCE, 2 * time - 1)) / 2;
+                return time < 0.5 ? (1 - getEasingType(AnimationEasingType.EASEOUTBOUNCE, 1 - 2 * time)) / 2 : (1 + getEasingType(AnimationEasingType.EASEINBOUNCE, 2 * time - 1)) / 2;
 
             //Easing type is invalid. Default to linear.
             default:
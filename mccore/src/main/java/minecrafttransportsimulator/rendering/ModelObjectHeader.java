@@ -0,0 +1,42 @@
+package minecrafttransportsimulator.rendering;
+
+import minecrafttransportsimulator.baseclasses.Point3D;
+
+/**
+ * Header information for a single object in a model.  This contains the object's name and the
+ * bounds of all its vertices, but not the vertices themselves.  Created by {@link AModelParser#scanModel(String)}
+ * for things that need to know what is in a model, but don't need to render it.
+ *
+ * @author don_bruce
+ */
+public class ModelObjectHeader {
+    public final String name;
+    public final Point3D min;
+    public final Point3D max;
+
+    public ModelObjectHeader(String name, Point3D min, Point3D max) {
+        this.name = name;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Creates a header from an already-parsed object.  The object's vertices are not modified.
+     */
+    public ModelObjectHeader(RenderableObject object) {
+        this.name = object.name;
+        this.min = new Point3D(999, 999, 999);
+        this.max = new Point3D(-999, -999, -999);
+        for (int i = 0; i < object.vertices.limit(); i += 8) {
+            addVertex(object.vertices.get(i + 5), object.vertices.get(i + 6), object.vertices.get(i + 7));
+        }
+    }
+
+    /**
+     * Expands the bounds of this header to include the passed-in vertex.
+     */
+    protected void addVertex(double x, double y, double z) {
+        min.set(Math.min(min.x, x), Math.min(min.y, y), Math.min(min.z, z));
+        max.set(Math.max(max.x, x), Math.max(max.y, y), Math.max(max.z, z));
+    }
+}
@@ -123,6 +123,42 @@ public final class ModelParserLT extends AModelParser {
         }
     }
 
+    @Override
+    protected List<ModelObjectHeader> scanModelInternal(String modelLocation) {
+        List<ModelObjectHeader> headerList = new ArrayList<>();
+        InputStream stream;
+        try {
+            stream = InterfaceManager.coreInterface.getPackResource(modelLocation);
+        } catch (Exception e) {
+            throw new NullPointerException("Attempted to scan the Little Tiles model at: " + modelLocation + " but could not find it.  Check the path and try again.");
+        }
+
+        try {
+            LTMainModel model = JSONParser.parseStream(stream, LTMainModel.class, null, null);
+
+            //Each tile is one object, and its bounds are just the bounds of its boxes.
+            //No need to get textures here, which is good as we may not be able to render.
+            float scale = 1F / model.grid;
+            for (LTTileEntry tile : model.tiles) {
+                ModelObjectHeader header = new ModelObjectHeader("little_tiles_generated", new Point3D(999, 999, 999), new Point3D(-999, -999, -999));
+                if (tile.bBox != null) {
+                    header.addVertex(tile.bBox.pos1[0] * scale, tile.bBox.pos1[1] * scale, tile.bBox.pos1[2] * scale);
+                    header.addVertex(tile.bBox.pos2[0] * scale, tile.bBox.pos2[1] * scale, tile.bBox.pos2[2] * scale);
+                } else {
+                    for (LTBox box : tile.boxes) {
+                        header.addVertex(box.pos1[0] * scale, box.pos1[1] * scale, box.pos1[2] * scale);
+                        header.addVertex(box.pos2[0] * scale, box.pos2[1] * scale, box.pos2[2] * scale);
+                    }
+                }
+                headerList.add(header);
+            }
+
+            return headerList;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not finish scanning: " + modelLocation + " due to IOException error.  Did the file change state during scanning?");
+        }
+    }
+
     private static void addFaceToBuffer(Point3D min, Point3D max, Point3D normal, float u, float U, float v, float V, boolean horzontalFace, FloatBuffer buffer) {
         for (int i = 0; i < 6; ++i) {
             //Normals are just what the point has.
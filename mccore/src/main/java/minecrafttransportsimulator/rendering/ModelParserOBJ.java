@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import minecrafttransportsimulator.baseclasses.ColorRGB;
+import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 
 /**
@@ -25,96 +26,199 @@ public final class ModelParserOBJ extends AModelParser {
 
     @Override
     protected List<RenderableObject> parseModelInternal(String modelLocation) {
-        List<RenderableObject> objectList = new ArrayList<>();
+        final List<RenderableObject> objectList = new ArrayList<>();
+        final List<float[]> vertexList = new ArrayList<>();
+        final List<float[]> normalList = new ArrayList<>();
+        final List<float[]> textureList = new ArrayList<>();
+        final List<String> faceList = new ArrayList<>();
+        readModel(modelLocation, "parse", new OBJLineHandler(true) {
+            private String objectName;
+
+            @Override
+            protected void handleObject(String name, int lineNumber) {
+                //Found new object name.  If we are parsing an object, finish up parsing and compile the points for it.
+                if (objectName != null) {
+                    if (faceList.isEmpty()) {
+                        InterfaceManager.coreInterface.logError("Object " + objectName + " found with no faces defined at line: " + lineNumber + " in: " + modelLocation);
+                    } else {
+                        compileVertexArray(objectList, vertexList, normalList, textureList, faceList, modelLocation, objectName);
+                        objectName = null;
+                    }
+                }
+                if (name != null) {
+                    objectName = name;
+                }
+            }
+
+            @Override
+            protected void handleVertex(float[] coords) {
+                vertexList.add(coords);
+            }
+
+            @Override
+            protected void handleTexture(float[] coords) {
+                textureList.add(coords);
+            }
+
+            @Override
+            protected void handleNormal(float[] coords) {
+                normalList.add(coords);
+            }
+
+            @Override
+            protected void handleFace(String faceString) {
+                faceList.add(faceString);
+            }
+
+            @Override
+            protected void handleEnd() {
+                //End of file.  Save the last part in process.
+                compileVertexArray(objectList, vertexList, normalList, textureList, faceList, modelLocation, objectName);
+            }
+        });
+        return objectList;
+    }
+
+    @Override
+    protected List<ModelObjectHeader> scanModelInternal(String modelLocation) {
+        //Only vertex positions and the faces that use them matter for bounds.
+        //Textures and normals are skipped, and faces are checked as they are read rather than stored.
+        //Errors aren't logged here, as the parser will log them if the model is ever parsed.
+        final List<ModelObjectHeader> headerList = new ArrayList<>();
+        final List<float[]> vertexList = new ArrayList<>();
+        readModel(modelLocation, "scan", new OBJLineHandler(false) {
+            private ModelObjectHeader header;
+            private boolean foundFaces;
+
+            @Override
+            protected void handleObject(String name, int lineNumber) {
+                //Objects without faces get skipped by the parser, so skip them here too.
+                if (header != null && foundFaces) {
+                    headerList.add(header);
+                }
+                if (name != null) {
+                    header = new ModelObjectHeader(name, new Point3D(999, 999, 999), new Point3D(-999, -999, -999));
+                    foundFaces = false;
+                }
+            }
+
+            @Override
+            protected void handleVertex(float[] coords) {
+                vertexList.add(coords);
+            }
+
+            @Override
+            protected void handleFace(String faceString) {
+                if (header == null) {
+                    header = new ModelObjectHeader("model", new Point3D(999, 999, 999), new Point3D(-999, -999, -999));
+                }
+                foundFaces = true;
+                for (String faceDef : faceString.split(" ")) {
+                    try {
+                        int firstSlash = faceDef.indexOf('/');
+                        float[] vertex = vertexList.get(Integer.parseInt(firstSlash != -1 ? faceDef.substring(0, firstSlash) : faceDef) - 1);
+                        header.addVertex(vertex[0], vertex[1], vertex[2]);
+                    } catch (Exception e) {
+                        //Bad face, the parser will log this.
+                    }
+                }
+            }
+
+            @Override
+            protected void handleEnd() {
+                //The parser always compiles the last object, so always add it.
+                if (header != null) {
+                    headerList.add(header);
+                }
+            }
+        });
+        return headerList;
+    }
+
+    /**
+     * Reads the OBJ model at the passed-in location line by line, and hands each line to the handler.
+     * This is the only place OBJ lines are split up, so parsing and scanning always read models the same way.
+     * The action is only used for error messages.
+     */
+    private static void readModel(String modelLocation, String action, OBJLineHandler handler) {
         BufferedReader reader;
         try {
             reader = new BufferedReader(new InputStreamReader(InterfaceManager.coreInterface.getPackResource(modelLocation)));
         } catch (Exception e) {
-            throw new NullPointerException("Attempted to parse the OBJ model at: " + modelLocation + " but could not find it.  Check the path and try again.");
+            throw new NullPointerException("Attempted to " + action + " the OBJ model at: " + modelLocation + " but could not find it.  Check the path and try again.");
         }
 
-        String objectName = null;
-        final List<float[]> vertexList = new ArrayList<>();
-        final List<float[]> normalList = new ArrayList<>();
-        final List<float[]> textureList = new ArrayList<>();
-        final List<String> faceList = new ArrayList<>();
-
         try {
             int lineNumber = 0;
             while (reader.ready()) {
                 String line = reader.readLine();
                 ++lineNumber;
 
-                //Do normal parsing.
                 if (line.startsWith("o ")) {
-                    //Found new object name.  If we are parsing an object, finish up parsing and compile the points for it.
-                    if (objectName != null) {
-                        if (faceList.isEmpty()) {
-                            InterfaceManager.coreInterface.logError("Object " + objectName + " found with no faces defined at line: " + lineNumber + " in: " + modelLocation);
-                        } else {
-                            compileVertexArray(objectList, vertexList, normalList, textureList, faceList, modelLocation, objectName);
-                            objectName = null;
-                        }
-                    }
+                    String objectName = null;
                     try {
                         objectName = line.trim().substring(2, line.length());
                     } catch (Exception e) {
-                        InterfaceManager.coreInterface.logError("Object found with no name at line: " + lineNumber + " of: " + modelLocation + ".  Make sure your model exporter isn't making things into groups rather than objects.");
+                        handler.logError("Object found with no name at line: " + lineNumber + " of: " + modelLocation + ".  Make sure your model exporter isn't making things into groups rather than objects.");
                     }
+                    handler.handleObject(objectName, lineNumber);
                 } else if (line.startsWith("v ")) {
                     try {
-                        float[] coords = new float[3];
-                        line = line.trim().substring(2).trim();
-                        coords[0] = Float.parseFloat(line.substring(0, line.indexOf(' ')));
-                        coords[1] = Float.parseFloat(line.substring(line.indexOf(' ') + 1, line.lastIndexOf(' ')));
-                        coords[2] = Float.parseFloat(line.substring(line.lastIndexOf(' ') + 1));
-                        vertexList.add(coords);
+                        handler.handleVertex(parsePoint(line.trim().substring(2).trim()));
                     } catch (Exception e) {
-                        InterfaceManager.coreInterface.logError("Could not parse vertex info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex lines must consist of only three numbers (X, Y, Z).");
+                        handler.logError("Could not parse vertex info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex lines must consist of only three numbers (X, Y, Z).");
                     }
                 } else if (line.startsWith("vt ")) {
-                    try {
-                        float[] coords = new float[2];
-                        line = line.trim().substring(3).trim();
-                        int space = line.indexOf(' ');
-                        int vertexEnd = line.lastIndexOf(' ') == space ? line.length() : line.lastIndexOf(' ');
-                        coords[0] = Float.parseFloat(line.substring(0, space));
-                        //Need to invert the V of the UV to change from texture origin being top-left to OpenGL origin being bottom-left.
-                        coords[1] = 1 - Float.parseFloat(line.substring(space + 1, vertexEnd));
-                        textureList.add(coords);
-                    } catch (Exception e) {
-                        InterfaceManager.coreInterface.logError("Could not parse vertex texture info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex texture lines must consist of only two numbers (U, V).");
+                    if (handler.parsing) {
+                        try {
+                            float[] coords = new float[2];
+                            line = line.trim().substring(3).trim();
+                            int space = line.indexOf(' ');
+                            int vertexEnd = line.lastIndexOf(' ') == space ? line.length() : line.lastIndexOf(' ');
+                            coords[0] = Float.parseFloat(line.substring(0, space));
+                            //Need to invert the V of the UV to change from texture origin being top-left to OpenGL origin being bottom-left.
+                            coords[1] = 1 - Float.parseFloat(line.substring(space + 1, vertexEnd));
+                            handler.handleTexture(coords);
+                        } catch (Exception e) {
+                            handler.logError("Could not parse vertex texture info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Vertex texture lines must consist of only two numbers (U, V).");
+                        }
                     }
                 } else if (line.startsWith("vn ")) {
-                    try {
-                        float[] coords = new float[3];
-                        line = line.trim().substring(2).trim();
-                        coords[0] = Float.parseFloat(line.substring(0, line.indexOf(' ')));
-                        coords[1] = Float.parseFloat(line.substring(line.indexOf(' ') + 1, line.lastIndexOf(' ')));
-                        coords[2] = Float.parseFloat(line.substring(line.lastIndexOf(' ') + 1));
-                        normalList.add(coords);
-                    } catch (Exception e) {
-                        InterfaceManager.coreInterface.logError("Could not parse normals info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Normals lines must consist of only three numbers (Xn, Yn, Zn).");
+                    if (handler.parsing) {
+                        try {
+                            handler.handleNormal(parsePoint(line.trim().substring(2).trim()));
+                        } catch (Exception e) {
+                            handler.logError("Could not parse normals info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Normals lines must consist of only three numbers (Xn, Yn, Zn).");
+                        }
                     }
                 } else if (line.startsWith("f ")) {
                     try {
-                        faceList.add(line.trim().substring(2));
+                        handler.handleFace(line.trim().substring(2));
                     } catch (Exception e) {
-                        InterfaceManager.coreInterface.logError("Could not parse face info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Face lines must consist of sets of three numbers in the format (V1/T1/N1, V2/T2/N2, ...).");
+                        handler.logError("Could not parse face info at line: " + lineNumber + " of: " + modelLocation + " due to bad formatting.  Face lines must consist of sets of three numbers in the format (V1/T1/N1, V2/T2/N2, ...).");
                     }
                 }
             }
 
-            //End of file.  Save the last part in process and close the file.
-            compileVertexArray(objectList, vertexList, normalList, textureList, faceList, modelLocation, objectName);
+            //End of file.  Let the handler finish up and close the file.
+            handler.handleEnd();
             reader.close();
-            return objectList;
-
         } catch (IOException e) {
-            throw new IllegalStateException("Could not finish parsing: " + modelLocation + " due to IOException error.  Did the file change state during parsing?");
+            throw new IllegalStateException("Could not finish " + action + "ing: " + modelLocation + " due to IOException error.  Did the file change state during " + action + "ing?");
         }
     }
 
+    /**
+     * Parses three space-separated numbers, as used by vertex and normal lines.
+     */
+    private static float[] parsePoint(String line) {
+        float[] coords = new float[3];
+        coords[0] = Float.parseFloat(line.substring(0, line.indexOf(' ')));
+        coords[1] = Float.parseFloat(line.substring(line.indexOf(' ') + 1, line.lastIndexOf(' ')));
+        coords[2] = Float.parseFloat(line.substring(line.lastIndexOf(' ') + 1));
+        return coords;
+    }
+
     private static void compileVertexArray(List<RenderableObject> objectList, List<float[]> vertexList, List<float[]> normalList, List<float[]> textureList, List<String> faceList, String modelLocation, String objectName) {
         if (objectName == null) {
             InterfaceManager.coreInterface.logError("No object name found in the entire OBJ model file of " + modelLocation + ".  Resorting to 'model' as default.  Are you using groups instead of objects by mistake?");
@@ -177,4 +281,40 @@ public final class ModelParserOBJ extends AModelParser {
         //Clear face list as we don't want to compile them on the next pass.
         faceList.clear();
     }
+
+    /**
+     * Handler for the lines read by {@link ModelParserOBJ#readModel(String, String, OBJLineHandler)}.
+     * Lines are only handed out after they are split into their values.  Texture and normal lines are only
+     * read, and errors only logged, when parsing, as scans just need object names and vertex positions.
+     */
+    private static abstract class OBJLineHandler {
+        private final boolean parsing;
+
+        private OBJLineHandler(boolean parsing) {
+            this.parsing = parsing;
+        }
+
+        /**
+         * Called for object lines.  The name will be null if the line didn't have a valid one.
+         */
+        protected abstract void handleObject(String name, int lineNumber);
+
+        protected abstract void handleVertex(float[] coords);
+
+        protected void handleTexture(float[] coords) {
+        }
+
+        protected void handleNormal(float[] coords) {
+        }
+
+        protected abstract void handleFace(String faceString);
+
+        protected abstract void handleEnd();
+
+        private void logError(String message) {
+            if (parsing) {
+                InterfaceManager.coreInterface.logError(message);
+            }
+        }
+    }
 }
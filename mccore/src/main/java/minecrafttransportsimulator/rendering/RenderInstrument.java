@@ -1,6 +1,9 @@
 package minecrafttransportsimulator.rendering;
 
+import java.nio.FloatBuffer;
+
 import minecrafttransportsimulator.baseclasses.AnimationSwitchbox;
+import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.baseclasses.RotationMatrix;
 import minecrafttransportsimulator.baseclasses.TransformationMatrix;
@@ -9,8 +12,10 @@ import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
 import minecrafttransportsimulator.entities.components.AEntityF_Multipart;
 import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.items.instances.ItemInstrument;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition.AnimationComponentType;
 import minecrafttransportsimulator.jsondefs.JSONInstrument.JSONInstrumentComponent;
 import minecrafttransportsimulator.jsondefs.JSONInstrumentDefinition;
+import minecrafttransportsimulator.rendering.TextFormatter.CachedText;
 import minecrafttransportsimulator.systems.ConfigSystem;
 
 /**
@@ -21,8 +26,6 @@ import minecrafttransportsimulator.systems.ConfigSystem;
  * @author don_bruce
  */
 public final class RenderInstrument {
-    private static int partNumber = 0;
-    private static RenderableObject renderObject = null;
     private static final TransformationMatrix textTransform = new TransformationMatrix();
     private static final Point3D bottomLeft = new Point3D();
     private static final Point3D topLeft = new Point3D();
@@ -30,7 +33,6 @@ public final class RenderInstrument {
     private static final Point3D bottomRight = new Point3D();
     private static final RotationMatrix helperRotation = new RotationMatrix();
     private static final RotationMatrix helperRotationMatrix = new RotationMatrix();
-    private static final float[][] instrumentSingleComponentPoints = new float[6][8];
 
     /**
      * Renders the passed-in instrument using the entity's current state.  Note that this method does NOT take any
@@ -40,8 +42,8 @@ public final class RenderInstrument {
      * negations in translation transforms.
      */
     public static void drawInstrument(AEntityE_Interactable<?> entity, TransformationMatrix transform, int slot, boolean onGUI, boolean blendingEnabled, float partialTicks) {
-        //Get the item and slot definition here, as that's needed for future calls.
-        ItemInstrument instrument = entity.instruments.get(slot);
+        //Get the binding and slot definition here, as that's needed for future calls.
+        InstrumentBinding binding = entity.instrumentBindings.get(slot);
         JSONInstrumentDefinition slotDefinition = entity.definition.instruments.get(slot);
 
         //Check if the lights are on.  If so, render the overlays and the text lit if requested.
@@ -50,15 +52,23 @@ public final class RenderInstrument {
         //Get scale of the instrument, before component scaling.
         float slotScale = onGUI ? slotDefinition.hudScale : slotDefinition.scale;
 
-        //Set the part number for switchbox reference.
-        partNumber = slotDefinition.optionalPartNumber;
+        //Check if we need to re-evaluate the component states, or if we can use the ones from the last update.
+        int updateRate = ConfigSystem.client.renderingSettings.instrumentUpdateRate.value;
 
-        //Finally, render the instrument based on the JSON instrument.definitions.
+        //Finally, render the instrument based on the binding's components.
         //We cache up all the draw calls for this blend pass, and then render them all at once.
         //This is more efficient than rendering each one individually.
-        for (int i = 0; i < instrument.definition.components.size(); ++i) {
-            JSONInstrumentComponent component = instrument.definition.components.get(i);
+        for (int i = 0; i < binding.components.length; ++i) {
+            BoundComponent boundComponent = binding.components[i];
+            JSONInstrumentComponent component = boundComponent.component;
             if (component.overlayTexture == blendingEnabled) {
+                if (updateRate == 0 || boundComponent.lastUpdateTick == -1 || entity.ticksExisted - boundComponent.lastUpdateTick >= updateRate || entity.ticksExisted < boundComponent.lastUpdateTick) {
+                    boundComponent.update(entity, partialTicks);
+                }
+                if (!boundComponent.visible) {
+                    continue;
+                }
+
                 //If we have text, do a text render.  Otherwise, do a normal instrument render.
                 if (component.textObject != null) {
                     //Also translate slightly away from the instrument location to prevent clipping.
@@ -66,66 +76,174 @@ public final class RenderInstrument {
                     textTransform.applyTranslation(0, 0, i * RenderableObject.Z_BUFFER_OFFSET);
                     double totalScaling = slotScale * component.scale;
                     textTransform.applyScaling(totalScaling, totalScaling, totalScaling);
-
-                    //Render if we don't have transforms, or of those transforms said we were good.
-                    InstrumentSwitchbox switchbox = entity.instrumentComponentSwitchboxes.get(component);
-                    if (switchbox == null || switchbox.runSwitchbox(partialTicks, true)) {
-                        int variablePartNumber = AEntityF_Multipart.getVariableNumber(component.textObject.variableName);
-                        final boolean addSuffix = variablePartNumber == -1 && ((component.textObject.variableName.startsWith("engine_") || component.textObject.variableName.startsWith("propeller_") || component.textObject.variableName.startsWith("gun_") || component.textObject.variableName.startsWith("seat_")));
-                        if (addSuffix) {
-                            String oldName = component.textObject.variableName;
-                            component.textObject.variableName += "_" + partNumber;
-                            RenderText.draw3DText(entity.getAnimatedTextVariableValue(component.textObject, partialTicks), entity, textTransform, component.textObject, true);
-                            component.textObject.variableName = oldName;
-                        } else {
-                            RenderText.draw3DText(entity.getAnimatedTextVariableValue(component.textObject, partialTicks), entity, textTransform, component.textObject, true);
-                        }
-                    }
+                    textTransform.multiply(boundComponent.animationTransform);
+                    RenderText.draw3DText(boundComponent.text, entity, textTransform, component.textObject, true);
                 } else {
-                    //Init variables.
-                    renderObject = entity.instrumentRenderables.get(slot).get(i);
-                    renderObject.isTranslucent = component.overlayTexture;
-                    renderObject.texture = "/assets/" + instrument.definition.packID + "/textures/" + instrument.definition.textureName;
+                    RenderableObject renderObject = boundComponent.renderable;
                     renderObject.transform.set(transform);
                     renderObject.transform.applyTranslation(0.0, 0.0, i * RenderableObject.Z_BUFFER_OFFSET);
                     renderObject.transform.applyScaling(slotScale, slotScale, slotScale);
-                    bottomLeft.set(-component.textureWidth / 2D, component.textureHeight / 2D, 0);
-                    topLeft.set(-component.textureWidth / 2D, -component.textureHeight / 2D, 0);
-                    topRight.set(component.textureWidth / 2D, -component.textureHeight / 2D, 0);
-                    bottomRight.set(component.textureWidth / 2D, component.textureHeight / 2D, 0);
+                    renderObject.transform.multiply(boundComponent.animationTransform);
 
-                    //Render if we don't have transforms, or of those transforms said we were good.
-                    InstrumentSwitchbox switchbox = entity.instrumentComponentSwitchboxes.get(component);
-                    if (switchbox == null || switchbox.runSwitchbox(partialTicks, true)) {
-                        //Add the instrument UV-map offsets.
-                        //These don't get added to the initial points to allow for rotation.
-                        bottomLeft.add(component.textureXCenter, component.textureYCenter, 0);
-                        topLeft.add(component.textureXCenter, component.textureYCenter, 0);
-                        topRight.add(component.textureXCenter, component.textureYCenter, 0);
-                        bottomRight.add(component.textureXCenter, component.textureYCenter, 0);
+                    //Translate to the component.
+                    renderObject.transform.applyTranslation(component.xCenter, -component.yCenter, 0);
 
-                        //Divide the Points by 1024.  This converts the points from pixels to the 0-1 UV values.
-                        bottomLeft.scale(1D / 1024D);
-                        topLeft.scale(1D / 1024D);
-                        topRight.scale(1D / 1024D);
-                        bottomRight.scale(1D / 1024D);
+                    //Scale to match definition.
+                    renderObject.transform.applyScaling(component.scale, component.scale, component.scale);
 
-                        //Translate to the component.
-                        renderObject.transform.applyTranslation(component.xCenter, -component.yCenter, 0);
+                    //Set points to the variables here and render them.
+                    //If the shape is lit, disable lighting for blending.
+                    renderObject.worldLightValue = entity.worldLightValue;
+                    renderObject.ignoreWorldShading = onGUI;
+                    renderObject.disableLighting = component.lightUpTexture && lightsOn && ConfigSystem.client.renderingSettings.brightLights.value;
+                    for (float[] vertex : boundComponent.vertices) {
+                        renderObject.vertices.put(vertex);
+                    }
+                    renderObject.vertices.flip();
+                    renderObject.render();
+                }
+            }
+        }
+    }
 
-                        //Scale to match definition.
-                        renderObject.transform.applyScaling(component.scale, component.scale, component.scale);
+    /**
+     * Returns the variable to use for the passed-in variable for an instrument in a slot with the passed-in part number.
+     * If the variable is part-specific and doesn't already have a part suffix, we need to let the animation system know
+     * which part to use by adding a suffix to the variable.  Otherwise, as we don't pass-in the part, it will assume
+     * it's an entity variable.  A part number of 0 on a part-specific variable uses the first part.
+     */
+    private static String bindVariable(String variable, int partNumber) {
+        if (AEntityF_Multipart.getVariableNumber(variable) == -1 && (variable.startsWith("engine_") || variable.startsWith("propeller_") || variable.startsWith("gun_") || variable.startsWith("seat_"))) {
+            return variable + "_" + (partNumber == 0 ? 1 : partNumber);
+        } else {
+            return variable;
+        }
+    }
 
-                        //Set points to the variables here and render them.
-                        //If the shape is lit, disable lighting for blending.
-                        renderObject.worldLightValue = entity.worldLightValue;
-                        renderObject.ignoreWorldShading = onGUI;
-                        renderObject.disableLighting = component.lightUpTexture && lightsOn && ConfigSystem.client.renderingSettings.brightLights.value;
-                        renderComponentFromState(component);
+    /**
+     * A binding of an instrument to a specific slot on a specific entity.  All the things that depend on that
+     * combination, like part-specific variable names, the texture, and the vertices for each component, are
+     * resolved once here when the instrument is added rather than every time it is rendered.  This also lets
+     * the last-evaluated state of each component be kept, so the panel doesn't have to be re-evaluated every frame.
+     */
+    public static class InstrumentBinding {
+        public final ItemInstrument instrument;
+        private final BoundComponent[] components;
+
+        public InstrumentBinding(AEntityE_Interactable<?> entity, ItemInstrument instrument, int slot) {
+            this.instrument = instrument;
+            this.components = new BoundComponent[instrument.definition.components.size()];
+            int partNumber = entity.definition.instruments.get(slot).optionalPartNumber;
+            String texture = "/assets/" + instrument.definition.packID + "/textures/" + instrument.definition.textureName;
+            for (int i = 0; i < components.length; ++i) {
+                components[i] = new BoundComponent(entity, instrument.definition.components.get(i), partNumber, texture);
+            }
+        }
+    }
+
+    /**
+     * A single component of an {@link InstrumentBinding}.  Holds the state from the last time the component was
+     * evaluated, which is what gets rendered.
+     */
+    private static class BoundComponent {
+        private final JSONInstrumentComponent component;
+        private final RenderableObject renderable;
+        private final InstrumentSwitchbox switchbox;
+        private final String textVariable;
+        private final CachedText cachedText;
+        private final float[][] vertices;
+        private final TransformationMatrix animationTransform = new TransformationMatrix();
+        private long lastUpdateTick = -1;
+        private boolean visible;
+        private String text;
+
+        private BoundComponent(AEntityE_Interactable<?> entity, JSONInstrumentComponent component, int partNumber, String texture) {
+            this.component = component;
+            this.switchbox = component.animations != null ? new InstrumentSwitchbox(entity, this, partNumber) : null;
+            if (component.textObject != null) {
+                this.renderable = null;
+                this.textVariable = bindVariable(component.textObject.variableName, partNumber);
+                this.cachedText = new CachedText();
+                this.vertices = null;
+            } else {
+                this.renderable = new RenderableObject("instrument", texture, new ColorRGB(), FloatBuffer.allocate(6 * 8), false);
+                this.renderable.isTranslucent = component.overlayTexture;
+                this.textVariable = null;
+                this.cachedText = null;
+
+                //Set X, Y, and normal Z.  All other values are 0.  UVs are set when the component is updated.
+                //Also invert Y, as we're going off of pixel-coords here.
+                this.vertices = new float[6][8];
+                for (int i = 0; i < vertices.length; ++i) {
+                    float[] vertex = vertices[i];
+                    switch (i) {
+                        case (0):
+                        case (3): {//Bottom-right
+                            vertex[5] = component.textureWidth / 2;
+                            vertex[6] = -component.textureHeight / 2;
+                            break;
+                        }
+                        case (1): {//Top-right
+                            vertex[5] = component.textureWidth / 2;
+                            vertex[6] = component.textureHeight / 2;
+                            break;
+                        }
+                        case (2):
+                        case (4): {//Top-left
+                            vertex[5] = -component.textureWidth / 2;
+                            vertex[6] = component.textureHeight / 2;
+                            break;
+                        }
+                        case (5): {//Bottom-left
+                            vertex[5] = -component.textureWidth / 2;
+                            vertex[6] = -component.textureHeight / 2;
+                            break;
+                        }
                     }
+                    vertex[2] = 1.0F;
                 }
             }
         }
+
+        /**
+         * Evaluates the animations of this component, and sets the visibility, transform, and text or UVs to match.
+         */
+        private void update(AEntityE_Interactable<?> entity, float partialTicks) {
+            lastUpdateTick = entity.ticksExisted;
+            animationTransform.resetTransforms();
+            bottomLeft.set(-component.textureWidth / 2D, component.textureHeight / 2D, 0);
+            topLeft.set(-component.textureWidth / 2D, -component.textureHeight / 2D, 0);
+            topRight.set(component.textureWidth / 2D, -component.textureHeight / 2D, 0);
+            bottomRight.set(component.textureWidth / 2D, component.textureHeight / 2D, 0);
+
+            //Render if we don't have transforms, or of those transforms said we were good.
+            visible = switchbox == null || switchbox.runSwitchbox(partialTicks, true);
+            if (visible) {
+                if (component.textObject != null) {
+                    text = entity.getAnimatedTextVariableValue(component.textObject, textVariable, cachedText, partialTicks);
+                } else {
+                    //Add the instrument UV-map offsets.
+                    //These don't get added to the initial points to allow for rotation.
+                    //Then divide the Points by 1024.  This converts the points from pixels to the 0-1 UV values.
+                    //Also invert V, as we're going off of pixel-coords here.
+                    bottomLeft.add(component.textureXCenter, component.textureYCenter, 0).scale(1D / 1024D);
+                    topLeft.add(component.textureXCenter, component.textureYCenter, 0).scale(1D / 1024D);
+                    topRight.add(component.textureXCenter, component.textureYCenter, 0).scale(1D / 1024D);
+                    bottomRight.add(component.textureXCenter, component.textureYCenter, 0).scale(1D / 1024D);
+                    setUV(vertices[0], bottomRight);
+                    setUV(vertices[1], topRight);
+                    setUV(vertices[2], topLeft);
+                    setUV(vertices[3], bottomRight);
+                    setUV(vertices[4], topLeft);
+                    setUV(vertices[5], bottomLeft);
+                }
+            }
+        }
+
+        private static void setUV(float[] vertex, Point3D uv) {
+            vertex[3] = (float) uv.x;
+            vertex[4] = (float) uv.y;
+        }
     }
 
     /**
@@ -133,39 +251,34 @@ public final class RenderInstrument {
      */
     public static class InstrumentSwitchbox extends AnimationSwitchbox {
         private final JSONInstrumentComponent component;
+        private final TransformationMatrix animationTransform;
 
-        public InstrumentSwitchbox(AEntityD_Definable<?> entity, JSONInstrumentComponent component) {
-            super(entity, component.animations, null);
-            this.component = component;
-        }
+        private InstrumentSwitchbox(AEntityD_Definable<?> entity, BoundComponent boundComponent, int partNumber) {
+            super(entity, boundComponent.component.animations, null);
+            this.component = boundComponent.component;
+            this.animationTransform = boundComponent.animationTransform;
 
-        private String convertAnimationPartNumber(DurationDelayClock clock) {
-            //If the partNumber is non-zero, we need to check if we are applying a part-based animation.
-            //If so, we need to let the animation system know by adding a suffix to the variable.
-            //Otherwise, as we don't pass-in the part, it will assume it's an entity variable.
-            //We also need to set the partNumber to 1 if we have a part number of 0 and we're
-            //doing a part-specific animation.
-            //Skip adding a suffix if one already exists.
-            int variablePartNumber = AEntityF_Multipart.getVariableNumber(clock.animation.variable);
-            final boolean addSuffix = variablePartNumber == -1 && !(entity instanceof APart) && (clock.animation.variable.startsWith("engine_") || clock.animation.variable.startsWith("propeller_") || clock.animation.variable.startsWith("gun_") || clock.animation.variable.startsWith("seat_"));
-            if (partNumber == 0 && addSuffix) {
-                partNumber = 1;
-            }
-            String oldVariable = clock.animation.variable;
-            if (addSuffix) {
-                clock.animation.variable += "_" + partNumber;
+            //Bind the translation and rotation clocks to this slot's part, if they are part-specific.
+            //Parts don't need this, as they already use their own variables.
+            if (!(entity instanceof APart)) {
+                for (int i = 0; i < clocks.size(); ++i) {
+                    DurationDelayClock clock = clocks.get(i);
+                    if (clock.animation.animationType == AnimationComponentType.TRANSLATION || clock.animation.animationType == AnimationComponentType.ROTATION) {
+                        String boundVariable = bindVariable(clock.animation.variable, partNumber);
+                        if (!boundVariable.equals(clock.animation.variable)) {
+                            clocks.set(i, new DurationDelayClock(clock.animation, boundVariable));
+                        }
+                    }
+                }
             }
-            return oldVariable;
         }
 
         @Override
         public void runTranslation(DurationDelayClock clock, float partialTicks) {
             //Offset the coords based on the translated amount.
             //Adjust the window to either move or scale depending on settings.
-            String oldVariable = convertAnimationPartNumber(clock);
-            double xTranslation = entity.getAnimatedVariableValue(clock, clock.animation.axis.x, partialTicks);
-            double yTranslation = entity.getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
-            clock.animation.variable = oldVariable;
+            double xTranslation = getClockValue(clock, clock.animation.axis.x, partialTicks);
+            double yTranslation = getClockValue(clock, clock.animation.axis.y, partialTicks);
 
             if (component.extendWindow) {
                 //We need to add to the edge of the window in this case rather than move the entire window.
@@ -185,10 +298,10 @@ public final class RenderInstrument {
                 }
             } else if (component.moveComponent) {
                 //Translate the rather than adjust the window coords.
-                renderObject.transform.applyTranslation(xTranslation, yTranslation, 0);
+                animationTransform.applyTranslation(xTranslation, yTranslation, 0);
             } else if (component.textObject != null) {
                 //Text object needs translating with basic operations.
-                textTransform.applyTranslation(xTranslation, yTranslation, 0);
+                animationTransform.applyTranslation(xTranslation, yTranslation, 0);
             } else {
                 //Offset the window coords to the appropriate section of the texture sheet.
                 //We don't want to do an OpenGL translation here as that would move the texture's
@@ -210,9 +323,7 @@ public final class RenderInstrument {
 
         @Override
         public void runRotation(DurationDelayClock clock, float partialTicks) {
-            String oldVariable = convertAnimationPartNumber(clock);
-            double variableValue = -entity.getAnimatedVariableValue(clock, clock.animation.axis.z, partialTicks);
-            clock.animation.variable = oldVariable;
+            double variableValue = -getClockValue(clock, clock.animation.axis.z, partialTicks);
 
             //Depending on what variables are set we do different rendering operations.
             //If we are rotating the window, but not the texture we should offset the texture points to that rotated point.
@@ -236,64 +347,12 @@ public final class RenderInstrument {
                 topLeft.subtract(clock.animation.centerPoint);
                 topRight.subtract(clock.animation.centerPoint);
                 bottomRight.subtract(clock.animation.centerPoint);
-            } else if (component.textObject != null) {
-                textTransform.applyTranslation((component.xCenter + clock.animation.centerPoint.x), -(component.yCenter + clock.animation.centerPoint.y), 0.0);
-                helperRotationMatrix.setToAxisAngle(0, 0, 1, variableValue);
-                textTransform.applyRotation(helperRotationMatrix);
-                textTransform.applyTranslation(-(component.xCenter + clock.animation.centerPoint.x), (component.yCenter + clock.animation.centerPoint.y), 0.0);
             } else {
-                renderObject.transform.applyTranslation((component.xCenter + clock.animation.centerPoint.x), -(component.yCenter + clock.animation.centerPoint.y), 0.0);
+                animationTransform.applyTranslation((component.xCenter + clock.animation.centerPoint.x), -(component.yCenter + clock.animation.centerPoint.y), 0.0);
                 helperRotationMatrix.setToAxisAngle(0, 0, 1, variableValue);
-                renderObject.transform.applyRotation(helperRotationMatrix);
-                renderObject.transform.applyTranslation(-(component.xCenter + clock.animation.centerPoint.x), (component.yCenter + clock.animation.centerPoint.y), 0.0);
-            }
-        }
-    }
-
-    /**
-     * Helper method for setting points for rendering.
-     */
-    private static void renderComponentFromState(JSONInstrumentComponent component) {
-        //Set X, Y, U, V, and normal Z.  All other values are 0.
-        //Also invert V, as we're going off of pixel-coords here.
-        for (int i = 0; i < instrumentSingleComponentPoints.length; ++i) {
-            float[] vertex = instrumentSingleComponentPoints[i];
-            switch (i) {
-                case (0):
-                case (3): {//Bottom-right
-                    vertex[5] = component.textureWidth / 2;
-                    vertex[6] = -component.textureHeight / 2;
-                    vertex[3] = (float) bottomRight.x;
-                    vertex[4] = (float) bottomRight.y;
-                    break;
-                }
-                case (1): {//Top-right
-                    vertex[5] = component.textureWidth / 2;
-                    vertex[6] = component.textureHeight / 2;
-                    vertex[3] = (float) topRight.x;
-                    vertex[4] = (float) topRight.y;
-                    break;
-                }
-                case (2):
-                case (4): {//Top-left
-                    vertex[5] = -component.textureWidth / 2;
-                    vertex[6] = component.textureHeight / 2;
-                    vertex[3] = (float) topLeft.x;
-                    vertex[4] = (float) topLeft.y;
-                    break;
-                }
-                case (5): {//Bottom-left
-                    vertex[5] = -component.textureWidth / 2;
-                    vertex[6] = -component.textureHeight / 2;
-                    vertex[3] = (float) bottomLeft.x;
-                    vertex[4] = (float) bottomLeft.y;
-                    break;
-                }
+                animationTransform.applyRotation(helperRotationMatrix);
+                animationTransform.applyTranslation(-(component.xCenter + clock.animation.centerPoint.x), (component.yCenter + clock.animation.centerPoint.y), 0.0);
             }
-            vertex[2] = 1.0F;
-            renderObject.vertices.put(vertex);
         }
-        renderObject.vertices.flip();
-        renderObject.render();
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,20 @@
 package minecrafttransportsimulator.rendering;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.imageio.ImageIO;
@@ -136,11 +146,16 @@ public class RenderText {
         private static final ColorRGB[] COLORS = new ColorRGB[]{new ColorRGB(0, 0, 0), new ColorRGB(0, 0, 170), new ColorRGB(0, 170, 0), new ColorRGB(0, 170, 170), new ColorRGB(170, 0, 0), new ColorRGB(170, 0, 170), new ColorRGB(255, 170, 0), new ColorRGB(170, 170, 170), new ColorRGB(85, 85, 85), new ColorRGB(85, 85, 255), new ColorRGB(85, 255, 85), new ColorRGB(85, 255, 255), new ColorRGB(255, 85, 85), new ColorRGB(255, 85, 255), new ColorRGB(255, 255, 85), new ColorRGB(255, 255, 255)};
         private static final FontRenderState[] STATES = FontRenderState.generateDefaults();
         private static final int MAX_VERTCIES_PER_RENDER = 1000 * 6;
+        private static final int MAX_CACHED_MESHES = 256;
         private static final Point3D adjustmentOffset = new Point3D();
 
         private final boolean isDefault;
         /*Texture locations for the font files.**/
         private final String[] fontLocations = new String[Character.MAX_VALUE / CHARS_PER_TEXTURE_SHEET];
+        /**
+         * Pages that have had their char widths and offsets parsed.  Pages are only parsed once a char on them is used.
+         **/
+        private final boolean[] loadedPages = new boolean[fontLocations.length];
         /**
          * Char width, in actual game texture pixels (not font texture pixels).  May be fractions of a pixel if the font is up-scaled.
          **/
@@ -174,6 +189,40 @@ public class RenderText {
          * At the end, it will be populated and should be looped over for drawing.
          */
         private final Set<RenderableObject> activeRenderObjects = new LinkedHashSet<>();
+        /**
+         * Cached text meshes.  Most text doesn't change from frame to frame, so rather than re-doing the layout
+         * every render we keep the final vertices and re-use them until the text changes.  Least-recently
+         * rendered meshes are removed once we have too many, as text that changes often will fill this up.
+         */
+        private final Map<TextMeshKey, TextMesh> cachedMeshes = new LinkedHashMap<TextMeshKey, TextMesh>(16, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Entry<TextMeshKey, TextMesh> eldest) {
+                if (size() > MAX_CACHED_MESHES) {
+                    eldest.getValue().destroy();
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+        };
+        /**
+         * Text that has been rendered once but isn't cached yet.  Meshes are only cached when text is rendered
+         * a second time, so text that changes every render, like gauge readouts, doesn't make new buffers each render.
+         */
+        private final Set<TextMeshKey> uncachedMeshes = Collections.newSetFromMap(new LinkedHashMap<TextMeshKey, Boolean>(16, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Entry<TextMeshKey, Boolean> eldest) {
+                return size() > MAX_CACHED_MESHES;
+            }
+        });
+        /**
+         * Mutable key for looking up meshes in {@link #cachedMeshes} without making a new key every render.
+         **/
+        private final TextMeshKey lookupKey = new TextMeshKey();
         /**
          * Mutable helper for doing vertex-building operations.
          **/
@@ -201,29 +250,82 @@ public class RenderText {
                 fontBaseLocation = "/assets/" + fontName.substring(0, fontName.indexOf(":")) + "/textures/fonts/" + fontName.substring(fontName.indexOf(":") + 1) + "/unicode_page_";
             }
 
-            //Parse char widths.
+            //Check if this is default font by checking against the default font itself.
+            //Char widths are parsed per-page on first use, as most text never leaves the first page.
             boolean isDefault = true;
             for (int i = 0; i < fontLocations.length; ++i) {
                 fontLocations[i] = String.format("%s%02x.png", fontBaseLocation, i);
-                BufferedImage bufferedImage;
-                try {
-                    bufferedImage = ImageIO.read(InterfaceManager.renderingInterface.getTextureStream(fontLocations[i]));
-                    if (isDefault) {
-                        //Check if this is default font by checking against the default font itself.
-                        BufferedImage defaultImage = ImageIO.read(InterfaceManager.coreInterface.getPackResource(fontLocations[i]));
-                        if (bufferedImage.getHeight() == defaultImage.getHeight()) {
-                            for (int pixelCol = 0; isDefault && pixelCol < bufferedImage.getWidth(); ++pixelCol) {
-                                for (int pixelRow = 0; isDefault && pixelRow < bufferedImage.getHeight(); ++pixelRow) {
-                                    if (bufferedImage.getRGB(pixelCol, pixelRow) != defaultImage.getRGB(pixelCol, pixelRow)) {
-                                        isDefault = false;
-                                    }
-                                }
+                if (isDefault && !isDefaultPage(fontLocations[i])) {
+                    isDefault = false;
+                }
+            }
+            this.isDefault = isDefault;
+        }
+
+        /**
+         * Returns true if the passed-in page matches the default font page.  Pages are compared by their raw
+         * file contents first, as this is far faster than decoding them and is the case for all but re-textured fonts.
+         * Pages that don't exist don't count, as not all files may be present for any given font.
+         */
+        private static boolean isDefaultPage(String fontLocation) {
+            byte[] pageBytes;
+            byte[] defaultBytes;
+            try {
+                pageBytes = readAllBytes(InterfaceManager.renderingInterface.getTextureStream(fontLocation));
+                defaultBytes = readAllBytes(InterfaceManager.coreInterface.getPackResource(fontLocation));
+            } catch (Exception e) {
+                return true;
+            }
+            if (Arrays.equals(pageBytes, defaultBytes)) {
+                return true;
+            }
+
+            //Files differ, check if the images do.
+            try {
+                BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(pageBytes));
+                BufferedImage defaultImage = ImageIO.read(new ByteArrayInputStream(defaultBytes));
+                if (bufferedImage.getHeight() == defaultImage.getHeight()) {
+                    for (int pixelCol = 0; pixelCol < bufferedImage.getWidth(); ++pixelCol) {
+                        for (int pixelRow = 0; pixelRow < bufferedImage.getHeight(); ++pixelRow) {
+                            if (bufferedImage.getRGB(pixelCol, pixelRow) != defaultImage.getRGB(pixelCol, pixelRow)) {
+                                return false;
                             }
                         }
                     }
+                }
+                return true;
+            } catch (Exception e) {
+                return true;
+            }
+        }
+
+        private static byte[] readAllBytes(InputStream stream) throws IOException {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int bytesRead;
+                while ((bytesRead = stream.read(buffer)) != -1) {
+                    bytes.write(buffer, 0, bytesRead);
+                }
+                return bytes.toByteArray();
+            } finally {
+                stream.close();
+            }
+        }
+
+        /**
+         * Parses the char widths and UV bounds for the page the passed-in char is on, if that hasn't been done yet.
+         */
+        private void loadPageFor(char textChar) {
+            int page = textChar / CHARS_PER_TEXTURE_SHEET;
+            if (page < loadedPages.length && !loadedPages[page]) {
+                loadedPages[page] = true;
+                BufferedImage bufferedImage;
+                try {
+                    bufferedImage = ImageIO.read(InterfaceManager.renderingInterface.getTextureStream(fontLocations[page]));
                 } catch (Exception e) {
-                    //Just continue, as we don't care about this file.  Not all files may be present for any given font.
-                    continue;
+                    //Just return, as we don't care about this file.  Not all files may be present for any given font.
+                    return;
                 }
 
                 //Calculate min/max.
@@ -236,7 +338,7 @@ public class RenderText {
                 for (int charRow = 0; charRow < CHARS_PER_ROWCOL; ++charRow) {
                     for (int charCol = 0; charCol < CHARS_PER_ROWCOL; ++charCol) {
                         //Get char and set defaults.
-                        char charChecking = (char) (i * CHARS_PER_TEXTURE_SHEET + charRow * CHARS_PER_ROWCOL + charCol);
+                        char charChecking = (char) (page * CHARS_PER_TEXTURE_SHEET + charRow * CHARS_PER_ROWCOL + charCol);
                         if (charChecking == ' ') {
                             //Space isn't rendered, but is half-width.
                             charWidths[charChecking] = DEFAULT_PIXELS_PER_CHAR / 2;
@@ -292,8 +394,6 @@ public class RenderText {
                     }
                 }
             }
-
-            this.isDefault = isDefault;
         }
 
         private void renderText(String text, TransformationMatrix transform, RotationMatrix rotation, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords, ColorRGB color, boolean renderLit, int worldLightValue) {
@@ -303,18 +403,39 @@ public class RenderText {
             }
             activeRenderObjects.clear();
 
+            //If we've already done the layout for this text, just render that.
+            //Random chars change every render, so text with them can't be cached.
+            boolean hasRandomChars = text.indexOf("" + FORMATTING_CHAR + RANDOM_FORMATTING_CHAR) != -1;
+            boolean cacheMesh = false;
+            if (!hasRandomChars) {
+                lookupKey.set(text, alignment, scale, autoScale, wrapWidth, pixelCoords, color);
+                TextMesh mesh = cachedMeshes.get(lookupKey);
+                if (mesh != null) {
+                    renderObjects(mesh.objects, transform, rotation, mesh.scale, mesh.offset, renderLit, worldLightValue);
+                    return;
+                }
+                cacheMesh = uncachedMeshes.remove(lookupKey);
+                if (!cacheMesh) {
+                    uncachedMeshes.add(lookupKey.copy());
+                }
+            }
+
             //Cull text to total chars.
             //This is all we can render in one pass.
             if (text.length() > MAX_VERTCIES_PER_RENDER / 6) {
                 text = text.substring(0, MAX_VERTCIES_PER_RENDER / 6);
             }
 
+            //Make sure the first page is loaded, as random and effect chars come from it.
+            //All other pages are loaded when we get the width of the text.
+            loadPageFor(' ');
+
             //Pre-calculate normals, as these won't change.
             float[] normals = new float[]{0.0F, 0.0F, 1.0F};
 
             //Check the string for a random font code char.  If we have one, we need to substitute chars.
             //Do this prior to rendering operations as this will affect string length and blocks.
-            if (text.indexOf(FORMATTING_CHAR + RANDOM_FORMATTING_CHAR) != -1) {
+            if (hasRandomChars) {
                 char[] textArray = text.toCharArray();
                 boolean randomActive = false;
                 for (int i = 0; i < textArray.length; ++i) {
@@ -635,8 +756,21 @@ public class RenderText {
                 }
             }
 
-            //All points obtained, render.
+            //All points obtained.  Cache them if we can, and render.
             for (RenderableObject object : activeRenderObjects) {
+                object.vertices.flip();
+            }
+            if (cacheMesh) {
+                TextMesh mesh = new TextMesh(activeRenderObjects, scale, adjustmentOffset);
+                cachedMeshes.put(lookupKey.copy(), mesh);
+                renderObjects(mesh.objects, transform, rotation, mesh.scale, mesh.offset, renderLit, worldLightValue);
+            } else {
+                renderObjects(activeRenderObjects, transform, rotation, scale, adjustmentOffset, renderLit, worldLightValue);
+            }
+        }
+
+        private static void renderObjects(Iterable<RenderableObject> objects, TransformationMatrix transform, RotationMatrix rotation, float scale, Point3D offset, boolean renderLit, int worldLightValue) {
+            for (RenderableObject object : objects) {
                 object.worldLightValue = worldLightValue;
                 object.disableLighting = renderLit;
                 object.transform.set(transform);
@@ -644,8 +778,7 @@ public class RenderText {
                     object.transform.applyRotation(rotation);
                 }
                 object.transform.applyScaling(scale, scale, scale);
-                object.transform.applyTranslation(adjustmentOffset);
-                object.vertices.flip();
+                object.transform.applyTranslation(offset);
                 object.render();
             }
         }
@@ -678,6 +811,7 @@ public class RenderText {
                 } else if (skipNext) {
                     skipNext = false;
                 } else {
+                    loadPageFor(textChar);
                     stringWidth += charWidths[textChar];
                     ++totalChars;
                 }
@@ -685,6 +819,90 @@ public class RenderText {
             return stringWidth + totalChars * CHAR_SPACING;
         }
 
+        /**
+         * The finished layout of a string.  Holds copies of the vertices from the font blocks, so they don't get
+         * cleared by the next render.  These are cached objects, so they only need to be sent to the GPU once.
+         */
+        private static class TextMesh {
+            private final List<RenderableObject> objects = new ArrayList<>();
+            private final float scale;
+            private final Point3D offset;
+
+            private TextMesh(Set<RenderableObject> fontBlocks, float scale, Point3D offset) {
+                for (RenderableObject fontBlock : fontBlocks) {
+                    FloatBuffer vertices = FloatBuffer.allocate(fontBlock.vertices.limit());
+                    vertices.put(fontBlock.vertices);
+                    vertices.flip();
+                    fontBlock.vertices.rewind();
+                    ColorRGB color = new ColorRGB();
+                    color.setTo(fontBlock.color);
+                    objects.add(new RenderableObject(fontBlock.name, fontBlock.texture, color, vertices, true));
+                }
+                this.scale = scale;
+                this.offset = offset.copy();
+            }
+
+            private void destroy() {
+                for (RenderableObject object : objects) {
+                    object.destroy();
+                }
+            }
+        }
+
+        /**
+         * Everything passed to {@link FontData#renderText} that changes the layout of the text.
+         * Transforms and lighting don't, so they aren't part of this.
+         */
+        private static class TextMeshKey {
+            private String text;
+            private TextAlignment alignment;
+            private float scale;
+            private boolean autoScale;
+            private int wrapWidth;
+            private boolean pixelCoords;
+            private ColorRGB color;
+
+            private void set(String text, TextAlignment alignment, float scale, boolean autoScale, int wrapWidth, boolean pixelCoords, ColorRGB color) {
+                this.text = text;
+                this.alignment = alignment;
+                this.scale = scale;
+                this.autoScale = autoScale;
+                this.wrapWidth = wrapWidth;
+                this.pixelCoords = pixelCoords;
+                this.color = color;
+            }
+
+            private TextMeshKey copy() {
+                //Colors may be changed after we render, so we need our own.
+                TextMeshKey key = new TextMeshKey();
+                key.set(text, alignment, scale, autoScale, wrapWidth, pixelCoords, new ColorRGB());
+                key.color.setTo(color);
+                return key;
+            }
+
+            @Override
+            public boolean equals(Object object) {
+                if (object instanceof TextMeshKey) {
+                    TextMeshKey otherKey = (TextMeshKey) object;
+                    return text.equals(otherKey.text) && alignment == otherKey.alignment && scale == otherKey.scale && autoScale == otherKey.autoScale && wrapWidth == otherKey.wrapWidth && pixelCoords == otherKey.pixelCoords && color.equals(otherKey.color);
+                } else {
+                    return false;
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                //Done by hand as this is called for every text render, and Objects.hash allocates.
+                int hash = text.hashCode();
+                hash = 31 * hash + alignment.ordinal();
+                hash = 31 * hash + Float.floatToIntBits(scale);
+                hash = 31 * hash + (autoScale ? 1 : 0);
+                hash = 31 * hash + wrapWidth;
+                hash = 31 * hash + (pixelCoords ? 1 : 0);
+                return 31 * hash + color.rgbInt;
+            }
+        }
+
         private static class FontRenderState {
             private static final int BOLD_BIT_INDEX = 1;
             private static final int ITALIC_BIT_INDEX = 2;
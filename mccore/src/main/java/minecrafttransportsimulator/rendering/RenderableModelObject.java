@@ -107,7 +107,7 @@ public class RenderableModelObject {
                     switchbox.runSwitchbox(partialTicks, false);
                 }
 
-                float lightLevel = lightDef != null ? entity.lightBrightnessValues.get(lightDef) : 0;
+                float lightLevel = lightDef != null ? entity.lightBrightnessValues[lightDef.index] : 0;
                 object.worldLightValue = entity.worldLightValue;
                 object.transform.set(transform);
 
@@ -145,7 +145,7 @@ public class RenderableModelObject {
                 //If we are a light, get the actual light level as calculated.
                 //We do this here as there's no reason to calculate this if we're not gonna render.
                 if (lightDef != null) {
-                    lightLevel = entity.lightBrightnessValues.get(lightDef);
+                    lightLevel = entity.lightBrightnessValues[lightDef.index];
                     if (lightDef.isElectric && entity instanceof EntityVehicleF_Physics) {
                         //Light start dimming at 10V, then go dark at 3V.
                         double electricPower = ((EntityVehicleF_Physics) entity).electricPower;
@@ -195,7 +195,7 @@ public class RenderableModelObject {
 
                     //Check if we are a light that's not a beam.  If so, do light-specific rendering.
                     if (lightDef != null && !lightDef.isBeam) {
-                        doLightRendering(entity, lightDef, lightLevel, entity.lightColorValues.get(lightDef), blendingEnabled);
+                        doLightRendering(entity, lightDef, lightLevel, entity.lightColorValues[lightDef.index], blendingEnabled);
                     }
 
                     //Render text on this object.  Only do this on the solid pass.
@@ -625,16 +625,16 @@ public class RenderableModelObject {
     private static <TreadEntity extends AEntityD_Definable<?>> List<Double[]> generateTreads(TreadEntity entityTreadAttachedTo, String treadPathModel, Map<Float, List<Double[]>> treadPointsMap, PartGroundDevice tread) {
         //If we don't have the deltas, calculate them based on the points of the rollers defined in the JSON.			
         //Search through rotatable parts on the model and grab the rollers.
-        List<RenderableObject> parsedModel = AModelParser.parseModel(entityTreadAttachedTo.definition.getModelLocation(entityTreadAttachedTo.definition.definitions.get(0)));
+        List<ModelObjectHeader> modelHeaders = AModelParser.scanModel(entityTreadAttachedTo.definition.getModelLocation(entityTreadAttachedTo.definition.definitions.get(0)));
         List<TreadRoller> rollers = new ArrayList<>();
         if (tread.placementDefinition.treadPath == null) {
             throw new IllegalArgumentException("No tread path found for part slot on " + entityTreadAttachedTo + "!");
         }
         for (String rollerName : tread.placementDefinition.treadPath) {
             boolean foundRoller = false;
-            for (RenderableObject modelObject : parsedModel) {
-                if (modelObject.name.equals(rollerName)) {
-                    rollers.add(new TreadRoller(modelObject));
+            for (ModelObjectHeader modelHeader : modelHeaders) {
+                if (modelHeader.name.equals(rollerName)) {
+                    rollers.add(new TreadRoller(modelHeader));
                     foundRoller = true;
                     break;
                 }
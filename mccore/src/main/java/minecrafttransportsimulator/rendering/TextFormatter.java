@@ -0,0 +1,356 @@
+package minecrafttransportsimulator.rendering;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import minecrafttransportsimulator.jsondefs.JSONText;
+
+/**
+ * Pre-compiled version of a {@link JSONText#variableFormat}.  Most formats are a single %f or %s with some
+ * flags, a width, and a precision, with text around them.  These are parsed once, and then formatted by
+ * appending the digits directly, rather than going through {@link String#format(String, Object...)}, which
+ * makes a new {@link java.util.Formatter} and parses the format every call.  Any format we don't understand,
+ * and any value we can't be sure to round the same way, is passed to {@link String#format(String, Object...)}
+ * as before, so the text is always the same as it would be from there.
+ * <br><br>
+ * Formatters don't have any state, so they may be shared.  Use {@link #get(TextFormatter, String)} to get the one for
+ * a format, and a {@link CachedText} per text field to only format values that would change the text.
+ *
+ * @author don_bruce
+ */
+public class TextFormatter {
+    /**Returned by {@link #getStep(double)} for values that don't have a step.**/
+    private static final long NO_STEP = Long.MIN_VALUE;
+    /**Max precision we format ourselves.  Also the size of {@link #POWERS_OF_TEN}.**/
+    private static final int MAX_PRECISION = 9;
+    /**Max value we format ourselves, after scaling by the precision.  Keeps rounding errors well under the rounding cutoff.**/
+    private static final double MAX_SCALED_VALUE = 1E9;
+    /**How close to a half a scaled value can be before we let the Formatter decide which way it rounds.**/
+    private static final double ROUNDING_TOLERANCE = 1E-5;
+    private static final long[] POWERS_OF_TEN = new long[MAX_PRECISION + 1];
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; ++i) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final String pattern;
+    private final boolean compiled;
+    private final String prefix;
+    private final String suffix;
+    private final char conversion;
+    private final boolean leftJustify;
+    private final boolean zeroPad;
+    private final char positiveSign;
+    private final int width;
+    private final int precision;
+    private final char decimalSeparator;
+
+    private TextFormatter(String pattern) {
+        this.pattern = pattern;
+        StringBuilder prefixBuilder = new StringBuilder();
+        StringBuilder suffixBuilder = new StringBuilder();
+        boolean parsed = true;
+        char parsedConversion = 0;
+        boolean parsedLeftJustify = false;
+        boolean parsedZeroPad = false;
+        char parsedPositiveSign = 0;
+        int parsedWidth = -1;
+        int parsedPrecision = -1;
+
+        int index = 0;
+        while (parsed && index < pattern.length()) {
+            char c = pattern.charAt(index++);
+            StringBuilder literalBuilder = parsedConversion == 0 ? prefixBuilder : suffixBuilder;
+            if (c != '%') {
+                literalBuilder.append(c);
+            } else if (index < pattern.length() && pattern.charAt(index) == '%') {
+                literalBuilder.append('%');
+                ++index;
+            } else if (parsedConversion != 0) {
+                //Only one argument is ever passed, so more specifiers are an error we let the Formatter throw.
+                parsed = false;
+            } else {
+                //Flags.  Duplicate or conflicting flags are also left to the Formatter.
+                boolean parsingFlags = true;
+                while (parsingFlags && index < pattern.length()) {
+                    switch (pattern.charAt(index)) {
+                        case '-':
+                            parsed &= !parsedLeftJustify && !parsedZeroPad;
+                            parsedLeftJustify = true;
+                            break;
+                        case '0':
+                            parsed &= !parsedLeftJustify && !parsedZeroPad;
+                            parsedZeroPad = true;
+                            break;
+                        case '+':
+                            parsed &= parsedPositiveSign == 0;
+                            parsedPositiveSign = '+';
+                            break;
+                        case ' ':
+                            parsed &= parsedPositiveSign == 0;
+                            parsedPositiveSign = ' ';
+                            break;
+                        default:
+                            parsingFlags = false;
+                            continue;
+                    }
+                    ++index;
+                }
+
+                //Width and precision.
+                int widthStart = index;
+                while (index < pattern.length() && Character.isDigit(pattern.charAt(index))) {
+                    ++index;
+                }
+                if (index > widthStart) {
+                    parsedWidth = index - widthStart < 9 ? Integer.parseInt(pattern.substring(widthStart, index)) : -1;
+                    parsed &= parsedWidth != -1;
+                }
+                if (index < pattern.length() && pattern.charAt(index) == '.') {
+                    int precisionStart = ++index;
+                    while (index < pattern.length() && Character.isDigit(pattern.charAt(index))) {
+                        ++index;
+                    }
+                    parsedPrecision = index > precisionStart && index - precisionStart < 9 ? Integer.parseInt(pattern.substring(precisionStart, index)) : -1;
+                    parsed &= parsedPrecision != -1;
+                }
+
+                //Conversion.  Only the ones we can do ourselves, with the flags that are valid for them.
+                if (index < pattern.length()) {
+                    parsedConversion = pattern.charAt(index++);
+                    switch (parsedConversion) {
+                        case 'f':
+                            if (parsedPrecision == -1) {
+                                parsedPrecision = 6;
+                            }
+                            parsed &= parsedPrecision <= MAX_PRECISION;
+                            break;
+                        case 's':
+                            parsed &= !parsedZeroPad && parsedPositiveSign == 0;
+                            break;
+                        default:
+                            parsed = false;
+                    }
+                    //Padding flags need a width to pad to.
+                    parsed &= parsedWidth != -1 || (!parsedLeftJustify && !parsedZeroPad);
+                } else {
+                    parsed = false;
+                }
+            }
+        }
+
+        //Formatter uses the locale's digits and separator.  We only do western digits.
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        parsed &= symbols.getZeroDigit() == '0';
+
+        this.compiled = parsed;
+        this.prefix = prefixBuilder.toString();
+        this.suffix = suffixBuilder.toString();
+        this.conversion = parsedConversion;
+        this.leftJustify = parsedLeftJustify;
+        this.zeroPad = parsedZeroPad;
+        this.positiveSign = parsedPositiveSign;
+        this.width = parsedWidth;
+        this.precision = parsedPrecision;
+        this.decimalSeparator = symbols.getDecimalSeparator();
+    }
+
+    /**
+     * Returns the formatter for the passed-in format.  If the passed-in formatter is for that format, it is returned,
+     * otherwise a new one is made.  Callers should keep the returned formatter and pass it in next time.
+     */
+    public static TextFormatter get(TextFormatter formatter, String pattern) {
+        return formatter != null && formatter.pattern.equals(pattern) ? formatter : new TextFormatter(pattern);
+    }
+
+    /**
+     * Formats the passed-in number.
+     */
+    public String format(double value) {
+        if (compiled) {
+            if (conversion == 's') {
+                return formatString(Double.toString(value));
+            } else if (conversion == 0) {
+                return prefix;
+            } else {
+                long step = getStep(value);
+                if (step != NO_STEP) {
+                    return formatStep(step);
+                }
+            }
+        }
+        return String.format(pattern, value);
+    }
+
+    /**
+     * Formats the passed-in text.
+     */
+    public String format(String value) {
+        if (compiled) {
+            if (conversion == 's') {
+                return formatString(value);
+            } else if (conversion == 0) {
+                return prefix;
+            }
+        }
+        return String.format(pattern, value);
+    }
+
+    /**
+     * Returns the step the passed-in value falls in.  This is the value, rounded to the precision and scaled up
+     * to a whole number, with the sign folded in.  Two values with the same step always give the same text.
+     * Returns {@link #NO_STEP} if we can't format this value ourselves.
+     */
+    private long getStep(double value) {
+        if (!compiled || conversion != 'f') {
+            return NO_STEP;
+        }
+        //Check the sign bit rather than the value, as the Formatter prints -0.0 with a sign.
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        double scaledValue = Math.abs(value) * POWERS_OF_TEN[precision];
+        if (!(scaledValue < MAX_SCALED_VALUE)) {
+            //Too big, infinite, or NaN.
+            return NO_STEP;
+        }
+        double floorValue = Math.floor(scaledValue);
+        double fraction = scaledValue - floorValue;
+        if (Math.abs(fraction - 0.5) < ROUNDING_TOLERANCE) {
+            //Too close to a half to know which way the Formatter will round it.
+            return NO_STEP;
+        }
+        long units = (long) floorValue + (fraction > 0.5 ? 1 : 0);
+        return negative ? -units - 1 : units;
+    }
+
+    private String formatStep(long step) {
+        boolean negative = step < 0;
+        long units = negative ? -(step + 1) : step;
+        StringBuilder builder = new StringBuilder(prefix.length() + suffix.length() + Math.max(width, 12));
+        builder.append(prefix);
+        int numberStart = builder.length();
+        if (negative) {
+            builder.append('-');
+        } else if (positiveSign != 0) {
+            builder.append(positiveSign);
+        }
+        int digitStart = builder.length();
+        builder.append(units / POWERS_OF_TEN[precision]);
+        if (precision > 0) {
+            builder.append(decimalSeparator);
+            long fractionalUnits = units % POWERS_OF_TEN[precision];
+            for (int i = precision - 1; i > 0 && fractionalUnits < POWERS_OF_TEN[i]; --i) {
+                builder.append('0');
+            }
+            builder.append(fractionalUnits);
+        }
+        int padding = width - (builder.length() - numberStart);
+        if (padding > 0) {
+            if (leftJustify) {
+                appendRepeated(builder, ' ', padding);
+            } else if (zeroPad) {
+                builder.insert(digitStart, zeros(padding));
+            } else {
+                builder.insert(numberStart, spaces(padding));
+            }
+        }
+        return builder.append(suffix).toString();
+    }
+
+    private String formatString(String value) {
+        if (precision != -1 && value.length() > precision) {
+            value = value.substring(0, precision);
+        }
+        int padding = width - value.length();
+        if (padding <= 0 && prefix.isEmpty() && suffix.isEmpty()) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(prefix.length() + suffix.length() + Math.max(width, value.length()));
+        builder.append(prefix);
+        if (padding > 0 && !leftJustify) {
+            appendRepeated(builder, ' ', padding);
+        }
+        builder.append(value);
+        if (padding > 0 && leftJustify) {
+            appendRepeated(builder, ' ', padding);
+        }
+        return builder.append(suffix).toString();
+    }
+
+    private static void appendRepeated(StringBuilder builder, char c, int count) {
+        for (int i = 0; i < count; ++i) {
+            builder.append(c);
+        }
+    }
+
+    private static String zeros(int count) {
+        StringBuilder builder = new StringBuilder(count);
+        appendRepeated(builder, '0', count);
+        return builder.toString();
+    }
+
+    private static String spaces(int count) {
+        StringBuilder builder = new StringBuilder(count);
+        appendRepeated(builder, ' ', count);
+        return builder.toString();
+    }
+
+    /**
+     * The text for a single text field bound to a variable.  This remembers the last value it was given, and
+     * only formats the new value if it would give different text, so fields like speedometers and odometers
+     * don't make a new string every tick while the value sits still or moves by less than the shown precision.
+     */
+    public static class CachedText {
+        private TextFormatter formatter;
+        private boolean hasNumber;
+        private double lastNumber;
+        private long lastStep;
+        private String lastString;
+        private String text;
+
+        /**
+         * Returns the formatter last used by this cache, or null if it hasn't been used.
+         */
+        public TextFormatter getFormatter() {
+            return formatter;
+        }
+
+        /**
+         * Returns the text for the passed-in number, formatted by the passed-in formatter.
+         */
+        public String getText(TextFormatter formatter, double value) {
+            if (formatter == this.formatter && hasNumber) {
+                if (Double.doubleToLongBits(value) == Double.doubleToLongBits(lastNumber)) {
+                    return text;
+                }
+                long step = formatter.getStep(value);
+                if (step != NO_STEP && step == lastStep) {
+                    lastNumber = value;
+                    return text;
+                }
+            }
+            long step = formatter.getStep(value);
+            text = step != NO_STEP ? formatter.formatStep(step) : formatter.format(value);
+            this.formatter = formatter;
+            hasNumber = true;
+            lastNumber = value;
+            lastStep = step;
+            lastString = null;
+            return text;
+        }
+
+        /**
+         * Returns the text for the passed-in text value, formatted by the passed-in formatter.
+         */
+        public String getText(TextFormatter formatter, String value) {
+            if (formatter != this.formatter || !value.equals(lastString)) {
+                text = formatter.format(value);
+                this.formatter = formatter;
+                hasNumber = false;
+                lastString = value;
+            }
+            return text;
+        }
+    }
+}
@@ -4,7 +4,7 @@ import minecrafttransportsimulator.baseclasses.Point3D;
 
 /**
  * Helper class of sorts that stores a tread roller object.  Created from
- * the vertices of the roller in the model, and used for pathing math.
+ * the bounds of the roller in the model, and used for pathing math.
  *
  * @author don_bruce
  */
@@ -20,22 +20,10 @@ public class TreadRoller {
     public double endZ;
     public double endAngle;
 
-    public TreadRoller(RenderableObject object) {
-        //Calculate the center and radius from the model.
-        float minY = 999;
-        float maxY = -999;
-        float minZ = 999;
-        float maxZ = -999;
-        for (int i = 0; i < object.vertices.capacity(); i += 8) {
-            float y = object.vertices.get(i + 6);
-            float z = object.vertices.get(i + 7);
-            minY = Math.min(minY, y);
-            maxY = Math.max(maxY, y);
-            minZ = Math.min(minZ, z);
-            maxZ = Math.max(maxZ, z);
-        }
-        this.centerPoint = new Point3D(0, minY + (maxY - minY) / 2D, minZ + (maxZ - minZ) / 2D);
-        this.radius = (maxZ - minZ) / 2D;
+    public TreadRoller(ModelObjectHeader header) {
+        //Calculate the center and radius from the model bounds.
+        this.centerPoint = new Point3D(0, header.min.y + (header.max.y - header.min.y) / 2D, header.min.z + (header.max.z - header.min.z) / 2D);
+        this.radius = (header.max.z - header.min.z) / 2D;
         this.circumference = 2 * Math.PI * radius;
     }
 
@@ -0,0 +1,50 @@
+package mcinterface1122;
+
+import java.util.List;
+import java.util.function.Function;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentString;
+
+/**
+ * Builder for MC commands.  Commands are handled by a function in the core code that takes the
+ * command arguments and returns the lines of text to send back to whoever ran the command.
+ * Commands built here can only be run by operators.
+ *
+ * @author don_bruce
+ */
+public class BuilderCommand extends CommandBase {
+    private final String name;
+    private final String usage;
+    private final Function<String[], List<String>> handler;
+
+    public BuilderCommand(String name, String usage, Function<String[], List<String>> handler) {
+        this.name = name;
+        this.usage = usage;
+        this.handler = handler;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return usage;
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return 2;
+    }
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) {
+        for (String line : handler.apply(args)) {
+            sender.sendMessage(new TextComponentString(line));
+        }
+    }
+}
@@ -7,6 +7,8 @@ import javax.annotation.Nullable;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.DormantVehicleStore;
+import minecrafttransportsimulator.baseclasses.DormantVehicleStore.DormantVehicle;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
@@ -58,6 +60,10 @@ public class BuilderEntityExisting extends ABuilderEntityBase {
      * Current entity we are built around.  This MAY be null if we haven't loaded NBT from the server yet.
      **/
     protected AEntityB_Existing entity;
+    /**
+     * Dormant vehicle we are holding the data of until it's made.  Null if we aren't dormant.
+     **/
+    private DormantVehicle dormantVehicle;
     /**
      * Last saved explosion position (used for damage calcs).
      **/
@@ -119,32 +125,55 @@ public class BuilderEntityExisting extends ABuilderEntityBase {
             }
         } else {
             //If we have NBT, and haven't loaded it, do so now.
-            if (!loadedFromSavedNBT && loadFromSavedNBT) {
+            //Parked vehicles are handed to the dormant store instead, which will load them when it's their turn.
+            //We keep the NBT until then, so we still save and send it to clients while dormant.
+            if (!loadedFromSavedNBT && loadFromSavedNBT && dormantVehicle == null) {
                 WrapperWorld worldWrapper = WrapperWorld.getWrapperFor(world);
-                try {
-                    WrapperNBT data = new WrapperNBT(lastLoadedNBT);
-                    entity = entityMap.get(lastLoadedNBT.getString("entityid")).createEntity(worldWrapper, null, data);
-                    if (entity instanceof AEntityF_Multipart) {
-                        ((AEntityF_Multipart<?>) entity).addPartsPostAddition(null, data);
+                WrapperNBT data = new WrapperNBT(lastLoadedNBT);
+                if (DormantVehicleStore.shouldLoadDormant(lastLoadedNBT.getString("entityid"), data)) {
+                    dormantVehicle = worldWrapper.dormantVehicles.add(data, () -> loadEntity(worldWrapper, data));
+
+                    //Use the dormant vehicle's collision boxes until we are made, so things don't go through us.
+                    BoundingBox encompassingBox = dormantVehicle.encompassingBox;
+                    interactionBoxes = new WrapperAABBCollective(encompassingBox, dormantVehicle.collisionBoxes);
+                    collisionBoxes = interactionBoxes;
+                    setSize((float) Math.max(encompassingBox.widthRadius * 2F, encompassingBox.depthRadius * 2F), (float) encompassingBox.heightRadius * 2F);
+                    if (World.MAX_ENTITY_RADIUS < encompassingBox.widthRadius || World.MAX_ENTITY_RADIUS < encompassingBox.heightRadius || World.MAX_ENTITY_RADIUS < encompassingBox.depthRadius) {
+                        World.MAX_ENTITY_RADIUS = Math.max(Math.max(encompassingBox.widthRadius, encompassingBox.depthRadius), encompassingBox.heightRadius);
                     }
-                    entity.world.addEntity(entity);
-                    loadedFromSavedNBT = true;
-                    lastLoadedNBT = null;
-                } catch (Exception e) {
-                    InterfaceManager.coreInterface.logError("Failed to load entity on builder from saved NBT.  Did a pack change?");
-                    InterfaceManager.coreInterface.logError(e.getMessage());
-                    setDead();
+                } else {
+                    loadEntity(worldWrapper, data);
                 }
             }
         }
     }
 
+    private void loadEntity(WrapperWorld worldWrapper, WrapperNBT data) {
+        dormantVehicle = null;
+        try {
+            entity = entityMap.get(data.getString("entityid")).createEntity(worldWrapper, null, data);
+            if (entity instanceof AEntityF_Multipart) {
+                ((AEntityF_Multipart<?>) entity).addPartsPostAddition(null, data);
+            }
+            entity.world.addEntity(entity);
+            loadedFromSavedNBT = true;
+            lastLoadedNBT = null;
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Failed to load entity on builder from saved NBT.  Did a pack change?");
+            InterfaceManager.coreInterface.logError(e.getMessage());
+            setDead();
+        }
+    }
+
     @Override
     public void setDead() {
         super.setDead();
         //Notify internal entity of it being invalid.
         if (entity != null) {
             entity.remove();
+        } else if (dormantVehicle != null) {
+            WrapperWorld.getWrapperFor(world).dormantVehicles.remove(dormantVehicle);
+            dormantVehicle = null;
         }
     }
 
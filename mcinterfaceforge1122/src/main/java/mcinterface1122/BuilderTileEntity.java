@@ -101,16 +101,17 @@ public class BuilderTileEntity<TileEntityType extends ATileEntityBase<?>> extend
                 ///Although we could call this in the constructor, Minecraft changes the
                 //entity IDs after spawning and that fouls things up.
                 if (needDataFromServer) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityCSHandshakeClient(InterfaceManager.clientInterface.getClientPlayer(), this));
+                    WrapperWorld.getWrapperFor(world).queueHandshakeRequest(PacketEntityCSHandshakeClient.getBuilderID(this), pos.getX() >> 4, pos.getZ() >> 4);
                     needDataFromServer = false;
                 }
             } else {
                 //Send any packets to clients that requested them.
                 if (!playersRequestingData.isEmpty()) {
+                    WrapperWorld worldWrapper = WrapperWorld.getWrapperFor(world);
                     for (IWrapperPlayer player : playersRequestingData) {
                         IWrapperNBT data = InterfaceManager.coreInterface.getNewNBTWrapper();
                         writeToNBT(((WrapperNBT) data).tag);
-                        player.sendPacket(new PacketEntityCSHandshakeServer(this, data));
+                        worldWrapper.queueHandshakeResponse(player, PacketEntityCSHandshakeClient.getBuilderID(this), data, pos.getX() >> 4, pos.getZ() >> 4);
                     }
                     playersRequestingData.clear();
                 }
@@ -238,6 +238,10 @@ public class InterfaceClient implements IInterfaceClient {
                         gun.doPostUpdateLogic();
                     }
 
+                    //Request data for any builders that were created this tick.
+                    world.beginProfiling("MTS_HandshakeRequests", false);
+                    world.sendHandshakeRequests();
+
                     changedCameraState = false;
                     if (actuallyFirstPerson ^ Minecraft.getMinecraft().gameSettings.thirdPersonView == 0) {
                         changedCameraState = true;
@@ -79,6 +79,12 @@ class InterfaceCore implements IInterfaceCore {
         return OreDictionary.itemMatches(((WrapperItemStack) stackA).stack, ((WrapperItemStack) stackB).stack, false);
     }
 
+    @Override
+    public Object getOredictMatchKey(IWrapperItemStack stack) {
+        ItemStack mcStack = ((WrapperItemStack) stack).stack;
+        return Item.getIdFromItem(mcStack.getItem()) << 16 | (mcStack.getMetadata() & 0xFFFF);
+    }
+
     @Override
     public List<IWrapperItemStack> getOredictMaterials(String oreName, int stackSize) {
         NonNullList<ItemStack> oreDictStacks = OreDictionary.getOres(oreName, false);
@@ -7,6 +7,8 @@ import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
+import minecrafttransportsimulator.baseclasses.TickRecorder;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.packloading.PackParser;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -16,6 +18,7 @@ import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.event.FMLConstructionEvent;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
 
 /**
  * Loader interface for the mod.  This class is not actually an interface, unlike everything else.
@@ -95,4 +98,11 @@ public final class InterfaceLoader {
             ConfigSystem.saveToDisk();
         }
     }
+
+    @EventHandler
+    public void serverStarting(FMLServerStartingEvent event) {
+        //Register commands.
+        event.registerServerCommand(new BuilderCommand(EntityProfiler.COMMAND_NAME, EntityProfiler.COMMAND_USAGE, EntityProfiler::handleCommand));
+        event.registerServerCommand(new BuilderCommand(TickRecorder.COMMAND_NAME, TickRecorder.COMMAND_USAGE, TickRecorder::handleCommand));
+    }
 }
@@ -1,64 +1,74 @@
 package mcinterface1122;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.BuilderHandshakeManager;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
 import minecrafttransportsimulator.packets.components.APacketBase;
-import net.minecraft.entity.Entity;
 import net.minecraft.util.math.BlockPos;
 
 /**
  * Packet used to send NBT data to clients when requested for it.  Driven by the arrival of a
  * {@link PacketEntityCSHandshakeClient} on the server.  This is used for both normal and tile
- * entities, depending on the format of the string passed-in.
+ * entities, depending on the format of the strings passed-in.  Data for all builders in the same
+ * chunk requested by the same player in the same tick is sent in one packet, up to a limit.
  *
  * @author don_bruce
  */
 public class PacketEntityCSHandshakeServer extends APacketBase {
-    private final String builderID;
-    private final IWrapperNBT data;
-
-    public PacketEntityCSHandshakeServer(ABuilderEntityBase builder, IWrapperNBT data) {
-        super(null);
-        this.builderID = builder.getCachedUniqueIdString();
-        this.data = data;
-    }
+    private final List<String> builderIDs;
+    private final List<IWrapperNBT> builderData;
 
-    public PacketEntityCSHandshakeServer(BuilderTileEntity<?> builder, IWrapperNBT data) {
+    public PacketEntityCSHandshakeServer(BuilderHandshakeManager.ResponseBatch batch) {
         super(null);
-        this.builderID = builder.getPos().getX() + "," + builder.getPos().getY() + "," + builder.getPos().getZ();
-        this.data = data;
+        this.builderIDs = batch.builderIDs;
+        this.builderData = batch.builderData;
     }
 
     public PacketEntityCSHandshakeServer(ByteBuf buf) {
         super(buf);
-        this.builderID = readStringFromBuffer(buf);
-        this.data = readDataFromBuffer(buf);
+        int builderCount = buf.readInt();
+        this.builderIDs = new ArrayList<>(builderCount);
+        this.builderData = new ArrayList<>(builderCount);
+        for (int i = 0; i < builderCount; ++i) {
+            builderIDs.add(readStringFromBuffer(buf));
+            builderData.add(readDataFromBuffer(buf));
+        }
     }
 
     @Override
     public void writeToBuffer(ByteBuf buf) {
         super.writeToBuffer(buf);
-        writeStringToBuffer(builderID, buf);
-        writeDataToBuffer(data, buf);
+        buf.writeInt(builderIDs.size());
+        for (int i = 0; i < builderIDs.size(); ++i) {
+            writeStringToBuffer(builderIDs.get(i), buf);
+            writeDataToBuffer(builderData.get(i), buf);
+        }
     }
 
     @Override
     public void handle(AWrapperWorld world) {
-        if (builderID.contains(",")) {
-            String[] stringPos = builderID.split(",");
-            BuilderTileEntity<?> tile = (BuilderTileEntity<?>) ((WrapperWorld) world).world.getTileEntity(new BlockPos(Integer.parseInt(stringPos[0]), Integer.parseInt(stringPos[1]), Integer.parseInt(stringPos[2])));
-            if (tile != null) {
-                tile.lastLoadedNBT = ((WrapperNBT) data).tag;
-                tile.loadFromSavedNBT = true;
-            }
-        } else {
-            for (Entity entity : ((WrapperWorld) world).world.loadedEntityList) {
-                if (entity.getCachedUniqueIdString().equals(builderID)) {
+        WrapperWorld worldWrapper = (WrapperWorld) world;
+        for (int i = 0; i < builderIDs.size(); ++i) {
+            String builderID = builderIDs.get(i);
+            WrapperNBT data = (WrapperNBT) builderData.get(i);
+            if (builderID.contains(",")) {
+                String[] stringPos = builderID.split(",");
+                BuilderTileEntity<?> tile = (BuilderTileEntity<?>) worldWrapper.world.getTileEntity(new BlockPos(Integer.parseInt(stringPos[0]), Integer.parseInt(stringPos[1]), Integer.parseInt(stringPos[2])));
+                if (tile != null) {
+                    tile.lastLoadedNBT = data.tag;
+                    tile.loadFromSavedNBT = true;
+                }
+            } else {
+                ABuilderEntityBase builder = worldWrapper.getBuilderEntity(UUID.fromString(builderID));
+                if (builder != null) {
                     //Set last loaded NBT.
-                    ((ABuilderEntityBase) entity).lastLoadedNBT = ((WrapperNBT) data).tag;
-                    ((ABuilderEntityBase) entity).loadFromSavedNBT = true;
-                    break;
+                    builder.lastLoadedNBT = data.tag;
+                    builder.loadFromSavedNBT = true;
                 }
             }
         }
@@ -36,6 +36,9 @@ public class WrapperPlayer extends WrapperEntity implements IWrapperPlayer {
     private static final Map<EntityPlayer, WrapperPlayer> playerServerWrappers = new HashMap<>();
 
     protected final EntityPlayer player;
+    private Map<Object, Integer> itemCounts;
+    private int itemCountsInventoryChanges;
+    private int itemCountsTick;
 
     /**
      * Returns a wrapper instance for the passed-in player instance.
@@ -153,6 +156,23 @@ public class WrapperPlayer extends WrapperEntity implements IWrapperPlayer {
             public int getSize() {
                 return player.inventory.mainInventory.size();
             }
+
+            @Override
+            public Map<Object, Integer> getItemCounts() {
+                //Clients query counts every frame in crafting GUIs, so cache them until the inventory changes.
+                //Stacks can change without marking the inventory as changed, so also re-count every tick.
+                //Servers always re-count, as they need to be exact when checking for materials.
+                if (player.world.isRemote) {
+                    if (itemCounts == null || itemCountsInventoryChanges != player.inventory.getTimesChanged() || itemCountsTick != player.ticksExisted) {
+                        itemCounts = super.getItemCounts();
+                        itemCountsInventoryChanges = player.inventory.getTimesChanged();
+                        itemCountsTick = player.ticksExisted;
+                    }
+                    return itemCounts;
+                } else {
+                    return super.getItemCounts();
+                }
+            }
         };
     }
 
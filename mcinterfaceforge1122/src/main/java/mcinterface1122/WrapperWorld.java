@@ -29,6 +29,7 @@ import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.BuilderHandshakeManager;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
@@ -71,6 +72,7 @@ import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.world.WorldEvent;
@@ -95,6 +97,7 @@ public class WrapperWorld extends AWrapperWorld {
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
     private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
     private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BuilderHandshakeManager<ABuilderEntityBase> builderHandshakes = new BuilderHandshakeManager<>();
 
     protected final World world;
     private final IWrapperNBT savedData;
@@ -202,14 +205,80 @@ public class WrapperWorld extends AWrapperWorld {
 
     @Override
     public WrapperEntity getExternalEntity(UUID entityID) {
-        for (Entity entity : world.loadedEntityList) {
-            if (entity.getUniqueID().equals(entityID)) {
-                return WrapperEntity.getWrapperFor(entity);
+        if (world instanceof WorldServer) {
+            return WrapperEntity.getWrapperFor(((WorldServer) world).getEntityFromUuid(entityID));
+        } else {
+            for (Entity entity : world.loadedEntityList) {
+                if (entity.getUniqueID().equals(entityID)) {
+                    return WrapperEntity.getWrapperFor(entity);
+                }
             }
         }
         return null;
     }
 
+    /**
+     * Returns the builder entity with the passed-in UUID, or null if no such builder is in this world.
+     * Builders are added and removed from the lookup map as they are added to and removed from the world,
+     * so this doesn't need to search the world's entity list like {@link #getExternalEntity(UUID)}.
+     */
+    public ABuilderEntityBase getBuilderEntity(UUID builderID) {
+        return builderHandshakes.getBuilder(builderID);
+    }
+
+    /**
+     * Adds the builder to the lookup map.  Called when the builder is added to this world.
+     */
+    protected void addBuilderEntity(ABuilderEntityBase builder) {
+        builderHandshakes.addBuilder(builder.getUniqueID(), builder);
+    }
+
+    /**
+     * Removes the builder from the lookup map of its world.  Called when the builder is removed from the world.
+     * Static as this may happen after the world is unloaded, and we don't want to create a new wrapper for it.
+     */
+    protected static void removeBuilderEntity(ABuilderEntityBase builder) {
+        WrapperWorld wrapper = worldWrappers.get(builder.world);
+        if (wrapper != null) {
+            wrapper.builderHandshakes.removeBuilder(builder.getUniqueID(), builder);
+        }
+    }
+
+    /**
+     * Queues a request to the server for the data of the builder with the passed-in ID.  Requests are
+     * grouped by the chunk the builder is in, and are sent at the end of the client tick by {@link #sendHandshakeRequests()}.
+     */
+    protected void queueHandshakeRequest(String builderID, int chunkX, int chunkZ) {
+        builderHandshakes.queueRequest(builderID, chunkX, chunkZ);
+    }
+
+    /**
+     * Sends all requests queued by {@link #queueHandshakeRequest(String, int, int)}.
+     */
+    protected void sendHandshakeRequests() {
+        IWrapperPlayer player = InterfaceManager.clientInterface.getClientPlayer();
+        builderHandshakes.sendRequests(builderIDs -> InterfaceManager.packetInterface.sendToServer(new PacketEntityCSHandshakeClient(player, builderIDs)));
+    }
+
+    /**
+     * Queues the data of the builder with the passed-in ID to be sent to the player.  Responses are grouped
+     * by player and by the chunk the builder is in, and are sent at the end of the world tick by {@link #sendHandshakeResponses()}.
+     * Full packets are sent right away.
+     */
+    protected void queueHandshakeResponse(IWrapperPlayer player, String builderID, IWrapperNBT data, int chunkX, int chunkZ) {
+        BuilderHandshakeManager.ResponseBatch fullBatch = builderHandshakes.queueResponse(player, builderID, data, chunkX, chunkZ);
+        if (fullBatch != null) {
+            player.sendPacket(new PacketEntityCSHandshakeServer(fullBatch));
+        }
+    }
+
+    /**
+     * Sends all responses queued by {@link #queueHandshakeResponse(IWrapperPlayer, String, IWrapperNBT, int, int)}.
+     */
+    private void sendHandshakeResponses() {
+        builderHandshakes.sendResponses((player, batch) -> player.sendPacket(new PacketEntityCSHandshakeServer(batch)));
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesWithin(BoundingBox box) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -230,6 +299,11 @@ public class WrapperWorld extends AWrapperWorld {
         return players;
     }
 
+    @Override
+    public boolean isPlayerWithin(Point3D position, double distance) {
+        return world.isAnyPlayerWithinRangeAt(position.x, position.y, position.z, distance);
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -975,6 +1049,10 @@ public class WrapperWorld extends AWrapperWorld {
                     gun.update();
                     gun.doPostUpdateLogic();
                 }
+
+                //Send data to any clients that requested it from builders this tick.
+                beginProfiling("MTS_HandshakeResponses", false);
+                sendHandshakeResponses();
             }
             endProfiling();
         }
@@ -90,16 +90,18 @@ public abstract class ABuilderEntityBase extends Entity {
             //entities on the client.  By waiting for an update, we will know we're valid.
             //I'm looking at YOU: The One Probe!
             if (needDataFromServer) {
-                InterfaceManager.packetInterface.sendToServer(new PacketEntityCSHandshakeClient(InterfaceManager.clientInterface.getClientPlayer(), this));
+                WrapperWorld.getWrapperFor(level).queueHandshakeRequest(getStringUUID(), xChunk, zChunk);
                 needDataFromServer = false;
             }
-        } else if (loadedFromSavedNBT) {
+        } else if (loadedFromSavedNBT || loadFromSavedNBT) {
             //Send any packets to clients that requested them.
+            //If we haven't loaded our NBT yet, such as when we are a dormant vehicle, the NBT we send is just what we loaded.
             if (!playersRequestingData.isEmpty()) {
+                WrapperWorld worldWrapper = WrapperWorld.getWrapperFor(level);
                 for (IWrapperPlayer player : playersRequestingData) {
                     IWrapperNBT data = InterfaceManager.coreInterface.getNewNBTWrapper();
                     saveWithoutId(((WrapperNBT) data).tag);
-                    player.sendPacket(new PacketEntityCSHandshakeServer(this, data));
+                    worldWrapper.queueHandshakeResponse(player, getStringUUID(), data, xChunk, zChunk);
                 }
                 playersRequestingData.clear();
             }
@@ -116,9 +118,16 @@ public abstract class ABuilderEntityBase extends Entity {
         //Overridden due to stupid tracker behavior.
     }
 
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+        WrapperWorld.getWrapperFor(level).addBuilderEntity(this);
+    }
+
     @Override
     public void onRemovedFromWorld() {
         super.onRemovedFromWorld();
+        WrapperWorld.removeBuilderEntity(this);
         //Catch unloaded entities from when the chunk goes away.
         if (isAlive()) {
             remove();
@@ -0,0 +1,49 @@
+package mcinterface1165;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+
+import minecrafttransportsimulator.baseclasses.EntityProfiler;
+import minecrafttransportsimulator.baseclasses.TickRecorder;
+import net.minecraft.command.CommandSource;
+import net.minecraft.command.Commands;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+/**
+ * Builder for MC commands.  Commands are handled by a function in the core code that takes the
+ * command arguments and returns the lines of text to send back to whoever ran the command.
+ * Commands built here can only be run by operators.
+ *
+ * @author don_bruce
+ */
+@EventBusSubscriber
+public class BuilderCommand {
+    private static final String ARGUMENTS_NAME = "arguments";
+
+    /**
+     * Registers all commands.
+     */
+    @SubscribeEvent
+    public static void on(RegisterCommandsEvent event) {
+        register(event.getDispatcher(), EntityProfiler.COMMAND_NAME, EntityProfiler::handleCommand);
+        register(event.getDispatcher(), TickRecorder.COMMAND_NAME, TickRecorder::handleCommand);
+    }
+
+    private static void register(CommandDispatcher<CommandSource> dispatcher, String name, Function<String[], List<String>> handler) {
+        dispatcher.register(Commands.literal(name).requires(source -> source.hasPermission(2)).executes(context -> runCommand(context.getSource(), "", handler)).then(Commands.argument(ARGUMENTS_NAME, StringArgumentType.greedyString()).executes(context -> runCommand(context.getSource(), StringArgumentType.getString(context, ARGUMENTS_NAME), handler))));
+    }
+
+    private static int runCommand(CommandSource source, String arguments, Function<String[], List<String>> handler) {
+        String[] args = arguments.isEmpty() ? new String[0] : arguments.trim().split("\\s+");
+        for (String line : handler.apply(args)) {
+            source.sendSuccess(new StringTextComponent(line), false);
+        }
+        return 1;
+    }
+}
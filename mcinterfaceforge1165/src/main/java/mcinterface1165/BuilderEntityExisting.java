@@ -6,6 +6,8 @@ import java.util.Optional;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.DormantVehicleStore;
+import minecrafttransportsimulator.baseclasses.DormantVehicleStore.DormantVehicle;
 import minecrafttransportsimulator.baseclasses.Point3D;
 import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
@@ -58,6 +60,10 @@ public class BuilderEntityExisting extends ABuilderEntityBase {
      * Current entity we are built around.  This MAY be null if we haven't loaded NBT from the server yet.
      **/
     protected AEntityB_Existing entity;
+    /**
+     * Dormant vehicle we are holding the data of until it's made.  Null if we aren't dormant.
+     **/
+    private DormantVehicle dormantVehicle;
     /**
      * Last saved explosion position (used for damage calcs).
      **/
@@ -118,26 +124,47 @@ public class BuilderEntityExisting extends ABuilderEntityBase {
             }
         } else {
             //If we have NBT, and haven't loaded it, do so now.
-            if (!loadedFromSavedNBT && loadFromSavedNBT) {
+            //Parked vehicles are handed to the dormant store instead, which will load them when it's their turn.
+            //We keep the NBT until then, so we still save and send it to clients while dormant.
+            if (!loadedFromSavedNBT && loadFromSavedNBT && dormantVehicle == null) {
                 WrapperWorld worldWrapper = WrapperWorld.getWrapperFor(level);
-                try {
-                    WrapperNBT data = new WrapperNBT(lastLoadedNBT);
-                    entity = entityMap.get(lastLoadedNBT.getString("entityid")).createEntity(worldWrapper, null, data);
-                    if (entity instanceof AEntityF_Multipart) {
-                        ((AEntityF_Multipart<?>) entity).addPartsPostAddition(null, data);
+                WrapperNBT data = new WrapperNBT(lastLoadedNBT);
+                if (DormantVehicleStore.shouldLoadDormant(lastLoadedNBT.getString("entityid"), data)) {
+                    dormantVehicle = worldWrapper.dormantVehicles.add(data, () -> loadEntity(worldWrapper, data));
+
+                    //Use the dormant vehicle's collision boxes until we are made, so things don't go through us.
+                    BoundingBox encompassingBox = dormantVehicle.encompassingBox;
+                    interactionBoxes = new WrapperAABBCollective(encompassingBox, dormantVehicle.collisionBoxes);
+                    collisionBoxes = interactionBoxes;
+                    mutableDims = new EntitySize((float) Math.max(encompassingBox.widthRadius * 2F, encompassingBox.depthRadius * 2F), (float) encompassingBox.heightRadius * 2F, false);
+                    double maxEntityRadius = level.getMaxEntityRadius();
+                    if (maxEntityRadius < encompassingBox.widthRadius || maxEntityRadius < encompassingBox.heightRadius || maxEntityRadius < encompassingBox.depthRadius) {
+                        level.increaseMaxEntityRadius(Math.max(Math.max(encompassingBox.widthRadius, encompassingBox.depthRadius), encompassingBox.heightRadius));
                     }
-                    entity.world.addEntity(entity);
-                    loadedFromSavedNBT = true;
-                    lastLoadedNBT = null;
-                } catch (Exception e) {
-                    InterfaceManager.coreInterface.logError("Failed to load entity on builder from saved NBT.  Did a pack change?");
-                    InterfaceManager.coreInterface.logError(e.getMessage());
-                    remove();
+                } else {
+                    loadEntity(worldWrapper, data);
                 }
             }
         }
     }
 
+    private void loadEntity(WrapperWorld worldWrapper, WrapperNBT data) {
+        dormantVehicle = null;
+        try {
+            entity = entityMap.get(data.getString("entityid")).createEntity(worldWrapper, null, data);
+            if (entity instanceof AEntityF_Multipart) {
+                ((AEntityF_Multipart<?>) entity).addPartsPostAddition(null, data);
+            }
+            entity.world.addEntity(entity);
+            loadedFromSavedNBT = true;
+            lastLoadedNBT = null;
+        } catch (Exception e) {
+            InterfaceManager.coreInterface.logError("Failed to load entity on builder from saved NBT.  Did a pack change?");
+            InterfaceManager.coreInterface.logError(e.getMessage());
+            remove();
+        }
+    }
+
     @Override
     public EntitySize getDimensions(Pose pPose) {
         return mutableDims;
@@ -149,6 +176,9 @@ public class BuilderEntityExisting extends ABuilderEntityBase {
         //Notify internal entity of it being invalid.
         if (entity != null) {
             entity.remove();
+        } else if (dormantVehicle != null) {
+            WrapperWorld.getWrapperFor(level).dormantVehicles.remove(dormantVehicle);
+            dormantVehicle = null;
         }
     }
 
@@ -117,16 +117,17 @@ public class BuilderTileEntity extends TileEntity implements ITickableTileEntity
                 ///Although we could call this in the constructor, Minecraft changes the
                 //entity IDs after spawning and that fouls things up.
                 if (needDataFromServer) {
-                    InterfaceManager.packetInterface.sendToServer(new PacketEntityCSHandshakeClient(InterfaceManager.clientInterface.getClientPlayer(), this));
+                    WrapperWorld.getWrapperFor(level).queueHandshakeRequest(PacketEntityCSHandshakeClient.getBuilderID(this), worldPosition.getX() >> 4, worldPosition.getZ() >> 4);
                     needDataFromServer = false;
                 }
             } else {
                 //Send any packets to clients that requested them.
                 if (!playersRequestingData.isEmpty()) {
+                    WrapperWorld worldWrapper = WrapperWorld.getWrapperFor(level);
                     for (IWrapperPlayer player : playersRequestingData) {
                         IWrapperNBT data = InterfaceManager.coreInterface.getNewNBTWrapper();
                         save(((WrapperNBT) data).tag);
-                        player.sendPacket(new PacketEntityCSHandshakeServer(this, data));
+                        worldWrapper.queueHandshakeResponse(player, PacketEntityCSHandshakeClient.getBuilderID(this), data, worldPosition.getX() >> 4, worldPosition.getZ() >> 4);
                     }
                     playersRequestingData.clear();
                 }
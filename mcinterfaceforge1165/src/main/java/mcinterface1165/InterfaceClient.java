@@ -266,6 +266,10 @@ public class InterfaceClient implements IInterfaceClient {
                         gun.doPostUpdateLogic();
                     }
 
+                    //Request data for any builders that were created this tick.
+                    world.beginProfiling("MTS_HandshakeRequests", false);
+                    ((WrapperWorld) world).sendHandshakeRequests();
+
                     changedCameraState = false;
                     if (actuallyFirstPerson ^ Minecraft.getInstance().options.getCameraType() == PointOfView.FIRST_PERSON) {
                         changedCameraState = true;
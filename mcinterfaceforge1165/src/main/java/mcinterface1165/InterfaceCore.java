@@ -99,6 +99,11 @@ class InterfaceCore implements IInterfaceCore {
         return ((WrapperItemStack) stackA).stack.sameItem(((WrapperItemStack) stackB).stack);
     }
 
+    @Override
+    public Object getOredictMatchKey(IWrapperItemStack stack) {
+        return ((WrapperItemStack) stack).stack.getItem();
+    }
+
     @Override
     public List<IWrapperItemStack> getOredictMaterials(String oreName, int stackSize) {
         //Convert to lowercase in case we are camelCase from oreDict systems.
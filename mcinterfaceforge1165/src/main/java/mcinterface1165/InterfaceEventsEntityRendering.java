@@ -9,6 +9,7 @@ import minecrafttransportsimulator.baseclasses.TransformationMatrix;
 import minecrafttransportsimulator.entities.components.AEntityB_Existing;
 import minecrafttransportsimulator.entities.instances.EntityPlayerGun;
 import minecrafttransportsimulator.entities.instances.PartSeat;
+import minecrafttransportsimulator.mcinterface.AWrapperWorld;
 import minecrafttransportsimulator.mcinterface.IWrapperPlayer;
 import minecrafttransportsimulator.mcinterface.InterfaceManager;
 import minecrafttransportsimulator.systems.CameraSystem;
@@ -90,6 +91,19 @@ public class InterfaceEventsEntityRendering {
         }
     }
 
+    /**
+     * Adds our particle budget to the debug screen.
+     */
+    @SubscribeEvent
+    public static void on(RenderGameOverlayEvent.Text event) {
+        if (Minecraft.getInstance().options.renderDebug) {
+            AWrapperWorld world = InterfaceManager.clientInterface.getClientWorld();
+            if (world != null) {
+                event.getLeft().add(world.particleBudget.getDebugText());
+            }
+        }
+    }
+
     /**
      * Renders all overlay things.  This is essentially anything that's a 2D render, such as the main overlay,
      * vehicle HUds, GUIs, camera overlays, etc.
@@ -76,13 +76,13 @@ class InterfacePacket implements IInterfacePacket {
 
     @Override
     public void writeDataToBuffer(IWrapperNBT data, ByteBuf buf) {
-        //We know this will be a PacketBuffer, so we can cast rather than wrap.
-        ((PacketBuffer) buf).writeNbt(((WrapperNBT) data).tag);
+        //Network buffers will be PacketBuffers, so we can cast rather than wrap.  Others, like recordings, need wrapping.
+        (buf instanceof PacketBuffer ? (PacketBuffer) buf : new PacketBuffer(buf)).writeNbt(((WrapperNBT) data).tag);
     }
 
     @Override
     public WrapperNBT readDataFromBuffer(ByteBuf buf) {
-        return new WrapperNBT(((PacketBuffer) buf).readNbt());
+        return new WrapperNBT((buf instanceof PacketBuffer ? (PacketBuffer) buf : new PacketBuffer(buf)).readNbt());
     }
 
     /**
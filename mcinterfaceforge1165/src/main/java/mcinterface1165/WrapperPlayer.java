@@ -34,6 +34,9 @@ public class WrapperPlayer extends WrapperEntity implements IWrapperPlayer {
     private static final Map<PlayerEntity, WrapperPlayer> playerWrappers = new HashMap<>();
 
     protected final PlayerEntity player;
+    private Map<Object, Integer> itemCounts;
+    private int itemCountsInventoryChanges;
+    private int itemCountsTick;
 
     /**
      * Returns a wrapper instance for the passed-in player instance.
@@ -150,6 +153,23 @@ public class WrapperPlayer extends WrapperEntity implements IWrapperPlayer {
             public int getSize() {
                 return player.inventory.items.size();
             }
+
+            @Override
+            public Map<Object, Integer> getItemCounts() {
+                //Clients query counts every frame in crafting GUIs, so cache them until the inventory changes.
+                //Stacks can change without marking the inventory as changed, so also re-count every tick.
+                //Servers always re-count, as they need to be exact when checking for materials.
+                if (player.level.isClientSide) {
+                    if (itemCounts == null || itemCountsInventoryChanges != player.inventory.getTimesChanged() || itemCountsTick != player.tickCount) {
+                        itemCounts = super.getItemCounts();
+                        itemCountsInventoryChanges = player.inventory.getTimesChanged();
+                        itemCountsTick = player.tickCount;
+                    }
+                    return itemCounts;
+                } else {
+                    return super.getItemCounts();
+                }
+            }
         };
     }
 
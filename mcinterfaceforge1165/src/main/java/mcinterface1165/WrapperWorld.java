@@ -30,6 +30,7 @@ import minecrafttransportsimulator.items.components.AItemBase;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
 import minecrafttransportsimulator.mcinterface.AWrapperWorld;
+import minecrafttransportsimulator.mcinterface.BuilderHandshakeManager;
 import minecrafttransportsimulator.mcinterface.IWrapperEntity;
 import minecrafttransportsimulator.mcinterface.IWrapperItemStack;
 import minecrafttransportsimulator.mcinterface.IWrapperNBT;
@@ -106,6 +107,7 @@ public class WrapperWorld extends AWrapperWorld {
     private final Map<UUID, Integer> ticksSincePlayerJoin = new HashMap<>();
     private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<>();
     private final Set<BlockPos> knownAirBlocks = new HashSet<>();
+    private final BuilderHandshakeManager<ABuilderEntityBase> builderHandshakes = new BuilderHandshakeManager<>();
 
 
     protected final World world;
@@ -243,6 +245,68 @@ public class WrapperWorld extends AWrapperWorld {
         return null;
     }
 
+    /**
+     * Returns the builder entity with the passed-in UUID, or null if no such builder is in this world.
+     * Builders are added and removed from the lookup map as they are added to and removed from the world,
+     * so this doesn't need to search the world's entity list like {@link #getExternalEntity(UUID)}.
+     */
+    public ABuilderEntityBase getBuilderEntity(UUID builderID) {
+        return builderHandshakes.getBuilder(builderID);
+    }
+
+    /**
+     * Adds the builder to the lookup map.  Called when the builder is added to this world.
+     */
+    protected void addBuilderEntity(ABuilderEntityBase builder) {
+        builderHandshakes.addBuilder(builder.getUUID(), builder);
+    }
+
+    /**
+     * Removes the builder from the lookup map of its world.  Called when the builder is removed from the world.
+     * Static as this may happen after the world is unloaded, and we don't want to create a new wrapper for it.
+     */
+    protected static void removeBuilderEntity(ABuilderEntityBase builder) {
+        WrapperWorld wrapper = worldWrappers.get(builder.level);
+        if (wrapper != null) {
+            wrapper.builderHandshakes.removeBuilder(builder.getUUID(), builder);
+        }
+    }
+
+    /**
+     * Queues a request to the server for the data of the builder with the passed-in ID.  Requests are
+     * grouped by the chunk the builder is in, and are sent at the end of the client tick by {@link #sendHandshakeRequests()}.
+     */
+    protected void queueHandshakeRequest(String builderID, int chunkX, int chunkZ) {
+        builderHandshakes.queueRequest(builderID, chunkX, chunkZ);
+    }
+
+    /**
+     * Sends all requests queued by {@link #queueHandshakeRequest(String, int, int)}.
+     */
+    protected void sendHandshakeRequests() {
+        IWrapperPlayer player = InterfaceManager.clientInterface.getClientPlayer();
+        builderHandshakes.sendRequests(builderIDs -> InterfaceManager.packetInterface.sendToServer(new PacketEntityCSHandshakeClient(player, builderIDs)));
+    }
+
+    /**
+     * Queues the data of the builder with the passed-in ID to be sent to the player.  Responses are grouped
+     * by player and by the chunk the builder is in, and are sent at the end of the world tick by {@link #sendHandshakeResponses()}.
+     * Full packets are sent right away.
+     */
+    protected void queueHandshakeResponse(IWrapperPlayer player, String builderID, IWrapperNBT data, int chunkX, int chunkZ) {
+        BuilderHandshakeManager.ResponseBatch fullBatch = builderHandshakes.queueResponse(player, builderID, data, chunkX, chunkZ);
+        if (fullBatch != null) {
+            player.sendPacket(new PacketEntityCSHandshakeServer(fullBatch));
+        }
+    }
+
+    /**
+     * Sends all responses queued by {@link #queueHandshakeResponse(IWrapperPlayer, String, IWrapperNBT, int, int)}.
+     */
+    private void sendHandshakeResponses() {
+        builderHandshakes.sendResponses((player, batch) -> player.sendPacket(new PacketEntityCSHandshakeServer(batch)));
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesWithin(BoundingBox box) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -263,6 +327,11 @@ public class WrapperWorld extends AWrapperWorld {
         return players;
     }
 
+    @Override
+    public boolean isPlayerWithin(Point3D position, double distance) {
+        return world.hasNearbyAlivePlayer(position.x, position.y, position.z, distance);
+    }
+
     @Override
     public List<IWrapperEntity> getEntitiesHostile(IWrapperEntity lookingEntity, double radius) {
         List<IWrapperEntity> entities = new ArrayList<>();
@@ -987,6 +1056,9 @@ public class WrapperWorld extends AWrapperWorld {
                     gun.update();
                     gun.doPostUpdateLogic();
                 }
+                //Send data to any clients that requested it from builders this tick.
+                beginProfiling("MTS_HandshakeResponses", false);
+                sendHandshakeResponses();
             }
         }
     }